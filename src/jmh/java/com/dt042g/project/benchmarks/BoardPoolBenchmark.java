@@ -0,0 +1,102 @@
+package com.dt042g.project.benchmarks;
+
+import com.dt042g.project.mvc.models.BoardPool;
+import com.dt042g.project.mvc.models.GameModel;
+import com.dt042g.project.solver.NoGuessGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark measuring the first click of a game; with the board taken from a
+ * *BoardPool* or created right away. Before each first click the pool is
+ * given time to refill, as it would be while a game is played. The metrics
+ * of the pool are printed after each trial.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = { "-Xmx4g" })
+public class BoardPoolBenchmark {
+    @Param({ "random/1000x1000/120000", "noguess/30x16/99" })
+    public String configuration;
+
+    @Param({ "true", "false" })
+    public boolean pooled;
+
+    private BoardPool pool;
+    private GameModel model;
+    private int x;
+    private int y;
+
+    /**
+     * Method for parsing the configuration, and creating the model.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        String[] parts = configuration.split("[x/]");
+        int width = Integer.parseInt(parts[1]);
+        int height = Integer.parseInt(parts[2]);
+        boolean noGuess = parts[0].equals("noguess");
+
+        pool = new BoardPool(2, BoardPool.DEFAULT_MEMORY_BUDGET);
+        model = new GameModel(width, height, Integer.parseInt(parts[3]));
+
+        if(pooled)
+            model.setBoardSource(noGuess ? pool.source(new NoGuessGenerator()) : pool.random());
+        else if(noGuess)
+            model.setBoardSource(new NoGuessGenerator());
+    }
+
+    /**
+     * Method for resetting the model, and waiting for the pool to refill.
+     *
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    @Setup(Level.Invocation)
+    public void refill() throws InterruptedException {
+        model.reset();
+        x = (x + 7) % model.getWidth();
+        y = (y + 3) % model.getHeight();
+
+        for(int wait = 0; pooled && wait < 1000 && pool.getPooledBoardCount() < pool.getPoolSize(); wait++)
+            Thread.sleep(1);
+    }
+
+    /**
+     * Method for printing the metrics of the pool, and closing it.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("hits %d, misses %d, rejected %d, evictions %d%n",
+                pool.getHits(), pool.getMisses(), pool.getRejected(), pool.getEvictions());
+        pool.close();
+    }
+
+    /**
+     * Method for benchmarking the first click of a game.
+     *
+     * @return The model.
+     */
+    @Benchmark
+    public GameModel firstClick() {
+        model.selectSquare(x, y);
+        return model;
+    }
+}
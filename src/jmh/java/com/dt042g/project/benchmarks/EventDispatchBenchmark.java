@@ -0,0 +1,137 @@
+package com.dt042g.project.benchmarks;
+
+import com.dt042g.project.mvc.observer.EventType;
+import com.dt042g.project.mvc.observer.Observed;
+import com.dt042g.project.mvc.observer.Observer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.awt.Point;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark comparing event dispatch by name, where every observer receives
+ * every event and switches on the name, against typed dispatch, where only
+ * the observer attached to the type is invoked and it switches on the enum.
+ *
+ * Each observed has *observerCount* observers, of which only one handles the
+ * pushed event; mirroring how the controller is the only observer interested
+ * in model events.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventDispatchBenchmark {
+    @Param({ "1", "4", "16" })
+    public int observerCount;
+
+    private final Observed byName = new Observed() {};
+    private final Observed typed = new Observed() {};
+    private final List<Point> locations = List.of(new Point(1, 2));
+    private Blackhole sink;
+
+    /**
+     * Observer which, like *Controller* used to, switches on the event name.
+     */
+    private class NameObserver implements Observer {
+        private final String _handled;
+
+        /**
+         * Constructor to initialize the observer.
+         *
+         * @param handled The name of the only event this observer acts on.
+         */
+        NameObserver(String handled) {
+            _handled = handled;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void handleEvent(String eventName, List<Point> locations) {
+            switch(eventName) {
+                case "VIEW_SELECT_SQUARE_EVENT", "VIEW_FLAG_SQUARE_EVENT", "VIEW_CHORD_SQUARE_EVENT", "VIEW_RESET_GAME_EVENT",
+                        "MODEL_REVEAL_SQUARE_EVENT", "MODEL_MINE_HIT_EVENT", "MODEL_WIN_EVENT" -> {
+                    if(eventName.equals(_handled))
+                        sink.consume(locations);
+                }
+            }
+        }
+    }
+
+    /**
+     * Observer which switches on the event type.
+     */
+    private class TypedObserver implements Observer {
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void handleEvent(String eventName, List<Point> locations) {
+            handleTypedEvent(EventType.fromName(eventName), locations);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void handleTypedEvent(EventType type, List<Point> locations) {
+            switch(type) {
+                case MODEL_MINE_HIT_EVENT -> sink.consume(locations);
+                default -> { }
+            }
+        }
+    }
+
+    /**
+     * Method for attaching the observers.
+     *
+     * @param blackhole Sink for the handled events.
+     */
+    @Setup
+    public void setup(Blackhole blackhole) {
+        sink = blackhole;
+
+        byName.attachObserver(new NameObserver(EventType.MODEL_MINE_HIT_EVENT.name()));
+        typed.attachObserver(new TypedObserver(), EventType.MODEL_MINE_HIT_EVENT);
+
+        // The remaining observers are not interested in the pushed event
+        for(int i = 1; i < observerCount; i++) {
+            byName.attachObserver(new NameObserver(EventType.VIEW_SELECT_SQUARE_EVENT.name()));
+            typed.attachObserver(new TypedObserver(), EventType.VIEW_SELECT_SQUARE_EVENT);
+        }
+    }
+
+    /**
+     * Method for benchmarking pushing an event by name to every observer.
+     */
+    @Benchmark
+    public void pushByName() {
+        byName.pushEvent("MODEL_MINE_HIT_EVENT", locations);
+    }
+
+    /**
+     * Method for benchmarking pushing a typed event to the attached observer.
+     */
+    @Benchmark
+    public void pushTyped() {
+        typed.pushEvent(EventType.MODEL_MINE_HIT_EVENT, locations);
+    }
+}
@@ -0,0 +1,91 @@
+package com.dt042g.project.benchmarks;
+
+import com.dt042g.project.mvc.models.BoardGenerator;
+import com.dt042g.project.mvc.models.PackedBoard;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Point;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark measuring how parallel board generation scales with the number of
+ * worker threads, compared to sequential generation of the same board.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = { "-Xmx4g" })
+public class GenerationScalingBenchmark {
+    @Param({ "4096" })
+    public int boardSize;
+
+    @Param({ "0.15" })
+    public double mineChance;
+
+    @Param({ "1", "2", "4", "8" })
+    public int threads;
+
+    private BoardGenerator generator;
+    private ForkJoinPool pool;
+    private int mineCount;
+    private Point first;
+    private long seed;
+
+    /**
+     * Method for creating the generator and the pool.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        generator = new BoardGenerator(boardSize, boardSize);
+        pool = new ForkJoinPool(threads);
+        mineCount = (int) Math.round(mineChance * boardSize * boardSize);
+        first = new Point(boardSize / 2, boardSize / 2);
+    }
+
+    /**
+     * Method for shutting down the pool.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Method for benchmarking sequential generation; independent of the
+     * number of threads, and included as the baseline.
+     *
+     * @return The generated board.
+     */
+    @Benchmark
+    public PackedBoard sequential() {
+        return generator.generate(mineCount, seed++, first);
+    }
+
+    /**
+     * Method for benchmarking parallel generation with the configured number
+     * of threads.
+     *
+     * @return The generated board.
+     */
+    @Benchmark
+    public PackedBoard parallel() {
+        return generator.generate(mineCount, seed++, first, pool);
+    }
+}
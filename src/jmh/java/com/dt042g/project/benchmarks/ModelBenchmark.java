@@ -0,0 +1,303 @@
+package com.dt042g.project.benchmarks;
+
+import com.dt042g.project.mvc.models.GameModel;
+import com.dt042g.project.mvc.models.Model;
+import com.dt042g.project.mvc.observer.Observer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.awt.Point;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the hot paths of *GameModel*; parameterised over board sizes
+ * and mine chances.
+ *
+ * Run through the *benchmark* Maven profile, which also writes the results as
+ * JSON to *target/jmh-result.json* so they can be compared between builds.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelBenchmark {
+    /**
+     * State holding the parameters shared by all model benchmarks.
+     */
+    @State(Scope.Thread)
+    public static class BoardState {
+        @Param({ "16", "256", "1024" })
+        public int boardSize;
+
+        @Param({ "0.10", "0.15", "0.20" })
+        public double mineChance;
+
+        Point center;
+
+        /**
+         * Method for calculating the shared locations.
+         */
+        @Setup(Level.Trial)
+        public void setupTrial() {
+            center = new Point(boardSize / 2, boardSize / 2);
+        }
+
+        /**
+         * Method for creating a new, not yet generated, model.
+         *
+         * @return The model.
+         */
+        GameModel newModel() {
+            return new GameModel(boardSize, mineChance);
+        }
+
+        /**
+         * Method for creating a model and generating its board around the
+         * center square, without revealing anything.
+         *
+         * @return The generated model.
+         */
+        GameModel newGeneratedModel() {
+            GameModel model = newModel();
+            generateSquares(model, center);
+            return model;
+        }
+    }
+
+    /**
+     * State holding a freshly generated board for each invocation, along with
+     * the locations of every hidden "value" square on it.
+     */
+    @State(Scope.Thread)
+    public static class GeneratedState {
+        GameModel model;
+        List<Point> nonZeroSquares;
+        List<Point> valueSquares;
+
+        /**
+         * Method for generating a new board before each invocation.
+         *
+         * @param board The shared parameters.
+         */
+        @Setup(Level.Invocation)
+        public void setupInvocation(BoardState board) {
+            model = board.newGeneratedModel();
+            nonZeroSquares = new ArrayList<>();
+            valueSquares = new ArrayList<>();
+
+            for(int x = 0; x < board.boardSize; x++) {
+                for(int y = 0; y < board.boardSize; y++) {
+                    Point location = new Point(x, y);
+                    int value = model.getSquareValue(location);
+
+                    if(value >= 0)
+                        valueSquares.add(location);
+                    if(value > 0)
+                        nonZeroSquares.add(location);
+                }
+            }
+        }
+    }
+
+    /**
+     * State holding a generated board which is only used for flagging, so it
+     * can be kept for the whole trial.
+     */
+    @State(Scope.Thread)
+    public static class FlagState {
+        GameModel model;
+        Point[] locations;
+        int next;
+
+        /**
+         * Method for generating the board and the locations to toggle.
+         *
+         * @param board The shared parameters.
+         */
+        @Setup(Level.Trial)
+        public void setupTrial(BoardState board) {
+            model = board.newGeneratedModel();
+            locations = new Point[board.boardSize * board.boardSize];
+
+            for(int i = 0; i < locations.length; i++)
+                locations[i] = new Point(i % board.boardSize, i / board.boardSize);
+        }
+    }
+
+    /**
+     * State holding a model with an entirely mine-free board; the worst case
+     * for the zero-value flood fill.
+     */
+    @State(Scope.Thread)
+    public static class CascadeState {
+        @Param({ "256", "1024", "2048" })
+        public int cascadeSize;
+
+        GameModel model;
+
+        /**
+         * Method for creating a new mine-free model before each invocation.
+         */
+        @Setup(Level.Invocation)
+        public void setupInvocation() {
+            model = new GameModel(cascadeSize, 0);
+        }
+    }
+
+    private static final Method generateSquares;
+
+    static {
+        try {
+            generateSquares = GameModel.class.getDeclaredMethod("generateSquares", Point.class);
+            generateSquares.setAccessible(true);
+        } catch(NoSuchMethodException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Helper method for generating the board of a model without revealing any
+     * squares.
+     *
+     * @param model The model.
+     * @param firstLocation The protected first location.
+     */
+    private static void generateSquares(GameModel model, Point firstLocation) {
+        try {
+            generateSquares.invoke(model, firstLocation);
+        } catch(ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Method for benchmarking board generation on its own.
+     *
+     * @param board The shared parameters.
+     *
+     * @return The generated model.
+     */
+    @Benchmark
+    public GameModel generateBoard(BoardState board) {
+        return board.newGeneratedModel();
+    }
+
+    /**
+     * Method for benchmarking the first click of a game; I.E. board
+     * generation plus the initial reveal.
+     *
+     * @param board The shared parameters.
+     *
+     * @return The model.
+     */
+    @Benchmark
+    public GameModel firstClick(BoardState board) {
+        GameModel model = board.newModel();
+        model.selectSquare(board.center);
+        return model;
+    }
+
+    /**
+     * Method for benchmarking the worst case cascade; revealing an entire
+     * mine-free board with one click.
+     *
+     * @param state The mine-free model.
+     *
+     * @return The model.
+     */
+    @Benchmark
+    public GameModel worstCaseCascade(CascadeState state) {
+        state.model.selectSquare(new Point(0, 0));
+        return state.model;
+    }
+
+    /**
+     * Method for benchmarking single square reveals; revealing every non-zero
+     * "value" square of a board one at a time, so that no reveal cascades.
+     *
+     * @param state The generated board.
+     *
+     * @return The model.
+     */
+    @Benchmark
+    public GameModel singleCellReveals(GeneratedState state) {
+        for(Point location : state.nonZeroSquares)
+            state.model.selectSquare(location);
+
+        return state.model;
+    }
+
+    /**
+     * Method for benchmarking toggling the flag of a square.
+     *
+     * @param state The flagging board.
+     * @param blackhole Sink for the flag values.
+     */
+    @Benchmark
+    public void toggleFlag(FlagState state, Blackhole blackhole) {
+        Point location = state.locations[state.next];
+        state.next = (state.next + 1) % state.locations.length;
+
+        state.model.setSquareFlag(location, !state.model.isFlagged(location));
+        blackhole.consume(state.model.isFlagged(location));
+    }
+
+    /**
+     * Method for benchmarking toggling the flag of a square by its
+     * coordinates; I.E. without going through a *Point*.
+     *
+     * @param state The flagging board.
+     * @param blackhole Sink for the flag values.
+     */
+    @Benchmark
+    public void toggleFlagByCoordinates(FlagState state, Blackhole blackhole) {
+        Point location = state.locations[state.next];
+        state.next = (state.next + 1) % state.locations.length;
+
+        state.model.setSquareFlag(location.x, location.y, !state.model.isFlagged(location.x, location.y));
+        blackhole.consume(state.model.isFlagged(location.x, location.y));
+    }
+
+    /**
+     * Method for benchmarking playing a full game until the win is detected;
+     * revealing every "value" square in order and checking for the win event
+     * after each move.
+     *
+     * @param state The generated board.
+     *
+     * @return Whether the game was won.
+     */
+    @Benchmark
+    public boolean playToWin(GeneratedState state) {
+        boolean[] won = new boolean[1];
+        Observer observer = (eventName, locations) -> won[0] |= Model.MODEL_WIN_EVENT.equals(eventName);
+        state.model.attachObserver(observer);
+
+        for(Point location : state.valueSquares) {
+            state.model.selectSquare(location);
+
+            if(won[0])
+                break;
+        }
+
+        state.model.detachObserver(observer);
+        return won[0];
+    }
+}
@@ -0,0 +1,122 @@
+package com.dt042g.project.benchmarks;
+
+import com.dt042g.project.mvc.models.PackedBoard;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark comparing the original *List&lt;Point&gt;* based neighbor lookup
+ * against the allocation-free *PackedBoard.getNeighbors*. Each operation
+ * visits the neighbors of every square on the board and counts the mines.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NeighborBenchmark {
+    @Param({ "64", "512" })
+    public int boardSize;
+
+    private PackedBoard board;
+    private final int[] neighbors = new int[8];
+
+    /**
+     * Method for generating a board with roughly 15% mines.
+     */
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        board = new PackedBoard(boardSize, boardSize);
+
+        for(int i = 0; i < board.size(); i++)
+            board.setMine(i, random.nextDouble() < 0.15);
+    }
+
+    /**
+     * Method for counting neighboring mines through the original
+     * *List&lt;Point&gt;* neighbor lookup.
+     *
+     * @return The total number of neighboring mines.
+     */
+    @Benchmark
+    public int legacyPointList() {
+        int total = 0;
+
+        for(int x = 0; x < boardSize; x++)
+            for(int y = 0; y < boardSize; y++)
+                for(Point neighbor : legacyGetNeighbors(new Point(x, y)))
+                    total += board.isMine(board.indexOf(neighbor)) ? 1 : 0;
+
+        return total;
+    }
+
+    /**
+     * Method for counting neighboring mines through the packed index neighbor
+     * lookup.
+     *
+     * @return The total number of neighboring mines.
+     */
+    @Benchmark
+    public int packedIndices() {
+        int total = 0;
+
+        for(int index = 0; index < board.size(); index++) {
+            int count = board.getNeighbors(index, neighbors);
+
+            for(int i = 0; i < count; i++)
+                total += board.isMine(neighbors[i]) ? 1 : 0;
+        }
+
+        return total;
+    }
+
+    /**
+     * Copy of the neighbor lookup which *GameModel* used before the packed
+     * board was introduced; kept as the baseline.
+     *
+     * @param location The location of the subject.
+     *
+     * @return The neighbors.
+     */
+    private List<Point> legacyGetNeighbors(Point location) {
+        List<Point> neighbors = new ArrayList<>();
+
+        if(location.x > 0)
+            neighbors.add(new Point(location.x - 1, location.y)); // West
+        if(location.x < boardSize - 1)
+            neighbors.add(new Point(location.x + 1, location.y)); // East
+        if(location.y > 0)
+            neighbors.add(new Point(location.x, location.y - 1)); // North
+        if(location.y < boardSize - 1)
+            neighbors.add(new Point(location.x, location.y + 1)); // South
+        if(location.x > 0 && location.y > 0)
+            neighbors.add(new Point(location.x - 1, location.y - 1)); // North-west
+        if(location.x < boardSize - 1 && location.y < boardSize - 1)
+            neighbors.add(new Point(location.x + 1, location.y + 1)); // South-east
+        if(location.x > 0 && location.y < boardSize - 1)
+            neighbors.add(new Point(location.x - 1, location.y + 1)); // South-west
+        if(location.x < boardSize - 1 && location.y > 0)
+            neighbors.add(new Point(location.x + 1, location.y - 1)); // North-east
+
+        return neighbors;
+    }
+}
@@ -0,0 +1,76 @@
+package com.dt042g.project.benchmarks;
+
+import com.dt042g.project.mvc.models.PackedBoard;
+import com.dt042g.project.solver.NoGuessGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Point;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark measuring the time to create a board which can be solved without
+ * guessing; for the classic configurations and a large board. The statistics
+ * of the attempts are printed after each trial.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = { "-Xmx4g" })
+public class NoGuessBenchmark {
+    @Param({ "9x9/10", "16x16/40", "30x16/99", "200x200/4800" })
+    public String configuration;
+
+    private NoGuessGenerator generator;
+    private int width;
+    private int height;
+    private int mineCount;
+    private Point first;
+    private long seed;
+
+    /**
+     * Method for parsing the configuration, and creating the generator.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        String[] parts = configuration.split("[x/]");
+        width = Integer.parseInt(parts[0]);
+        height = Integer.parseInt(parts[1]);
+        mineCount = Integer.parseInt(parts[2]);
+        first = new Point(width / 2, height / 2);
+        generator = new NoGuessGenerator();
+    }
+
+    /**
+     * Method for printing the statistics of the attempts.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        generator.getStats().values().forEach(System.out::println);
+    }
+
+    /**
+     * Method for benchmarking creating a board.
+     *
+     * @return The board.
+     */
+    @Benchmark
+    public PackedBoard createBoard() {
+        return generator.createBoard(width, height, mineCount, seed++, first);
+    }
+}
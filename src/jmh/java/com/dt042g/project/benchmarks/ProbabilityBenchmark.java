@@ -0,0 +1,63 @@
+package com.dt042g.project.benchmarks;
+
+import com.dt042g.project.mvc.models.GameModel;
+import com.dt042g.project.solver.MineProbabilities;
+import com.dt042g.project.solver.ProbabilityEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark measuring how long the probability engine takes for a board with
+ * only its opening revealed; the widest frontier relative to what is known.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = { "-Xmx4g" })
+public class ProbabilityBenchmark {
+    @Param({ "100", "1000" })
+    public int boardSize;
+
+    @Param({ "0.2" })
+    public double mineChance;
+
+    private GameModel model;
+    private ProbabilityEngine engine;
+
+    /**
+     * Method for creating the board, with the opening selected.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        model = new GameModel(boardSize, boardSize, mineChance);
+        model.setSeed(1);
+        model.selectSquare(boardSize / 2, boardSize / 2);
+        engine = new ProbabilityEngine();
+    }
+
+    /**
+     * Method for benchmarking computing the probabilities.
+     *
+     * @return The probabilities.
+     */
+    @Benchmark
+    public MineProbabilities compute() {
+        return engine.compute(model);
+    }
+}
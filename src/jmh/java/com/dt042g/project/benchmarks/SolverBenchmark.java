@@ -0,0 +1,63 @@
+package com.dt042g.project.benchmarks;
+
+import com.dt042g.project.mvc.models.GameModel;
+import com.dt042g.project.solver.SolveResult;
+import com.dt042g.project.solver.Solver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark measuring how long the deterministic solver takes to play a whole
+ * board; from the opening until it wins or has to guess.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = { "-Xmx4g" })
+public class SolverBenchmark {
+    @Param({ "100", "1000" })
+    public int boardSize;
+
+    @Param({ "0.12" })
+    public double mineChance;
+
+    private GameModel model;
+    private long seed;
+
+    /**
+     * Method for creating a fresh board, with the opening already selected;
+     * so that only the solving is measured.
+     */
+    @Setup(Level.Invocation)
+    public void setup() {
+        model = new GameModel(boardSize, boardSize, mineChance);
+        model.setSeed(seed++);
+        model.selectSquare(boardSize / 2, boardSize / 2);
+    }
+
+    /**
+     * Method for benchmarking solving the board.
+     *
+     * @return The result.
+     */
+    @Benchmark
+    public SolveResult solve() {
+        return Solver.solve(model);
+    }
+}
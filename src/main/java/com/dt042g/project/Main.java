@@ -2,6 +2,7 @@ package com.dt042g.project;
 
 import com.dt042g.project.mvc.controllers.GameController;
 import com.dt042g.project.mvc.models.GameModel;
+import com.dt042g.project.mvc.views.CoalescingView;
 import com.dt042g.project.mvc.views.GameView;
 
 import javax.swing.SwingUtilities;
@@ -21,6 +22,7 @@ public class Main {
         System.out.println("Minesweeper!");
 
         final int boardSize = 20;
-        SwingUtilities.invokeLater(() -> new GameController(new GameModel(boardSize), new GameView(boardSize)));
+        SwingUtilities.invokeLater(() -> new GameController(
+                new GameModel(boardSize), new CoalescingView(new GameView(boardSize), boardSize, boardSize)));
     }
 }
@@ -1,8 +1,8 @@
 package com.dt042g.project.mvc.controllers;
 
-import com.dt042g.project.mvc.models.Model;
+import com.dt042g.project.mvc.observer.EventType;
 import com.dt042g.project.mvc.observer.Observer;
-import com.dt042g.project.mvc.views.View;
+import com.dt042g.project.mvc.observer.RevealBatch;
 
 import java.awt.Point;
 import java.util.List;
@@ -21,13 +21,62 @@ public abstract class Controller implements Observer {
      */
     @Override
     public void handleEvent(String eventName, List<Point> locations) {
-        switch(eventName) {
-            case View.VIEW_SELECT_SQUARE_EVENT -> handleSelectSquareEvent(locations.get(0));
-            case View.VIEW_FLAG_SQUARE_EVENT -> handleFlagSquareEvent(locations.get(0));
-            case View.VIEW_RESET_GAME_EVENT -> handleResetGameEvent();
-            case Model.MODEL_REVEAL_SQUARE_EVENT -> handleRevealSquareEvent(locations);
-            case Model.MODEL_MINE_HIT_EVENT -> handleMineHitEvent(locations.get(0));
-            case Model.MODEL_WIN_EVENT -> handleWinEvent();
+        EventType type = EventType.fromName(eventName);
+
+        if(type != null)
+            handleTypedEvent(type, locations);
+    }
+
+    /**
+     * Method which is triggered by observed objects when a typed event occurs.
+     *
+     * @param type The type of the event.
+     * @param locations An optional list of square locations relevant to the event.
+     */
+    @Override
+    public void handleTypedEvent(EventType type, List<Point> locations) {
+        switch(type) {
+            case VIEW_SELECT_SQUARE_EVENT -> handleSelectSquareEvent(locations.get(0));
+            case VIEW_FLAG_SQUARE_EVENT -> handleFlagSquareEvent(locations.get(0));
+            case VIEW_CHORD_SQUARE_EVENT -> handleChordSquareEvent(locations.get(0));
+            case VIEW_RESET_GAME_EVENT -> handleResetGameEvent();
+            case MODEL_REVEAL_SQUARE_EVENT -> handleRevealSquareEvent(locations);
+            case MODEL_MINE_HIT_EVENT -> handleMineHitEvent(locations.get(0));
+            case MODEL_WIN_EVENT -> handleWinEvent();
+        }
+    }
+
+    /**
+     * Method which is triggered by observed objects when an event with a
+     * reveal batch occurs.
+     *
+     * @param type The type of the event.
+     * @param batch The revealed squares and their values.
+     */
+    @Override
+    public void handleBatchEvent(EventType type, RevealBatch batch) {
+        if(type == EventType.MODEL_REVEAL_SQUARE_EVENT)
+            handleRevealBatchEvent(batch);
+        else
+            handleTypedEvent(type, batch);
+    }
+
+    /**
+     * Method which is triggered by observed objects when an event about a
+     * single square occurs.
+     *
+     * @param type The type of the event.
+     * @param x The x coordinate of the square.
+     * @param y The y coordinate of the square.
+     */
+    @Override
+    public void handleSquareEvent(EventType type, int x, int y) {
+        switch(type) {
+            case VIEW_SELECT_SQUARE_EVENT -> handleSelectSquareEvent(x, y);
+            case VIEW_FLAG_SQUARE_EVENT -> handleFlagSquareEvent(x, y);
+            case VIEW_CHORD_SQUARE_EVENT -> handleChordSquareEvent(x, y);
+            case MODEL_MINE_HIT_EVENT -> handleMineHitEvent(x, y);
+            default -> Observer.super.handleSquareEvent(type, x, y);
         }
     }
 
@@ -38,6 +87,17 @@ public abstract class Controller implements Observer {
      */
     abstract public void handleSelectSquareEvent(Point location);
 
+    /**
+     * Method used to handle "select square" events by coordinates. By default
+     * this calls the *Point* based method.
+     *
+     * @param x The x coordinate of the square.
+     * @param y The y coordinate of the square.
+     */
+    public void handleSelectSquareEvent(int x, int y) {
+        handleSelectSquareEvent(new Point(x, y));
+    }
+
     /**
      * Method used to handle "flag square" events.
      *
@@ -45,6 +105,35 @@ public abstract class Controller implements Observer {
      */
     abstract public void handleFlagSquareEvent(Point location);
 
+    /**
+     * Method used to handle "flag square" events by coordinates. By default
+     * this calls the *Point* based method.
+     *
+     * @param x The x coordinate of the square.
+     * @param y The y coordinate of the square.
+     */
+    public void handleFlagSquareEvent(int x, int y) {
+        handleFlagSquareEvent(new Point(x, y));
+    }
+
+    /**
+     * Method used to handle "chord square" events.
+     *
+     * @param location The square location.
+     */
+    abstract public void handleChordSquareEvent(Point location);
+
+    /**
+     * Method used to handle "chord square" events by coordinates. By default
+     * this calls the *Point* based method.
+     *
+     * @param x The x coordinate of the square.
+     * @param y The y coordinate of the square.
+     */
+    public void handleChordSquareEvent(int x, int y) {
+        handleChordSquareEvent(new Point(x, y));
+    }
+
     /**
      * Method used to handle "reset" events.
      */
@@ -57,6 +146,16 @@ public abstract class Controller implements Observer {
      */
     abstract public void handleRevealSquareEvent(List<Point> locations);
 
+    /**
+     * Method used to handle "reveal square" events carrying a reveal batch.
+     * By default the batch is handled as a regular list of locations.
+     *
+     * @param batch The revealed squares and their values.
+     */
+    public void handleRevealBatchEvent(RevealBatch batch) {
+        handleRevealSquareEvent(batch);
+    }
+
     /**
      * Method used to handle "mine hit" (game over) events.
      *
@@ -64,6 +163,17 @@ public abstract class Controller implements Observer {
      */
     abstract public void handleMineHitEvent(Point location);
 
+    /**
+     * Method used to handle "mine hit" (game over) events by coordinates. By
+     * default this calls the *Point* based method.
+     *
+     * @param x The x coordinate of the mine.
+     * @param y The y coordinate of the mine.
+     */
+    public void handleMineHitEvent(int x, int y) {
+        handleMineHitEvent(new Point(x, y));
+    }
+
     /**
      * Method used to handle "win" events.
      */
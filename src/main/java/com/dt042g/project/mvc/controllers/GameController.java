@@ -1,6 +1,8 @@
 package com.dt042g.project.mvc.controllers;
 
 import com.dt042g.project.mvc.models.Model;
+import com.dt042g.project.mvc.observer.EventType;
+import com.dt042g.project.mvc.observer.RevealBatch;
 import com.dt042g.project.mvc.views.View;
 
 import java.awt.Point;
@@ -17,7 +19,8 @@ public class GameController extends Controller {
 
     /**
      * Constructor to initialize the Model and View superclasses and adding this component as an
-     * observer according to the observer pattern.
+     * observer according to the observer pattern. The controller is only attached to the event
+     * types it handles from each component.
      * @param model the model superclass
      * @param view the view superclass
      */
@@ -25,8 +28,10 @@ public class GameController extends Controller {
         _model = model;
         _view = view;
 
-        _model.attachObserver(this);
-        _view.attachObserver(this);
+        _model.attachObserver(this, EventType.MODEL_REVEAL_SQUARE_EVENT,
+                EventType.MODEL_MINE_HIT_EVENT, EventType.MODEL_WIN_EVENT);
+        _view.attachObserver(this, EventType.VIEW_SELECT_SQUARE_EVENT, EventType.VIEW_FLAG_SQUARE_EVENT,
+                EventType.VIEW_CHORD_SQUARE_EVENT, EventType.VIEW_RESET_GAME_EVENT);
     }
 
     /**
@@ -37,6 +42,14 @@ public class GameController extends Controller {
         _model.selectSquare(location);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void handleSelectSquareEvent(final int x, final int y) {
+        _model.selectSquare(x, y);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -52,6 +65,37 @@ public class GameController extends Controller {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void handleFlagSquareEvent(final int x, final int y) {
+        _model.setSquareFlag(x, y, !_model.isFlagged(x, y));
+
+        if (_model.isFlagged(x, y)) {
+            _view.setFlagged(x, y);
+
+        } else {
+            _view.setHidden(x, y);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void handleChordSquareEvent(final Point location) {
+        _model.chordSquare(location);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void handleChordSquareEvent(final int x, final int y) {
+        _model.chordSquare(x, y);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -71,6 +115,14 @@ public class GameController extends Controller {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void handleRevealBatchEvent(final RevealBatch batch) {
+        _view.setValues(batch);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -79,6 +131,14 @@ public class GameController extends Controller {
         _view.gameOver(location);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void handleMineHitEvent(final int x, final int y) {
+        _view.gameOver(x, y);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -1,7 +1,9 @@
 package com.dt042g.project.mvc.models;
 
 /**
- * Class serving as the backing storage for squares in the model.
+ * Class serving as an object representation of a single square in the model.
+ * The model itself stores its squares in a *PackedBoard*; this class is kept
+ * for snapshots (see *PackedBoard.getSquare*) and compatibility.
  *
  * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
  */
@@ -0,0 +1,403 @@
+package com.dt042g.project.mvc.models;
+
+import java.awt.Point;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Class responsible for generating the mine layout of a board.
+ *
+ * Generation is fully deterministic; the same seed, dimensions, mine count and
+ * first location always produce the same board. The board is split into bands
+ * of *BAND_ROWS* rows, and each band draws its mines from its own sub-stream
+ * of a *SplittableRandom*, split off from the seed in band order. The number
+ * of mines in each band is decided up front (proportionally to its size), so
+ * the content of a band does not depend on any other band; which means bands
+ * can be generated in any order, or in parallel, with identical results.
+ *
+ * Within a band, mines are placed using Floyd's sampling algorithm, which
+ * picks an exact number of distinct squares in time proportional to the
+ * number of mines; rather than the number of squares. The first clicked square
+ * and its neighbors are excluded from the sampling altogether, so no mines
+ * ever have to be moved or removed afterwards.
+ *
+ * Large boards can be generated in parallel on a *ForkJoinPool*; each band is
+ * then a separate task which only places the mines within it, followed by a
+ * second parallel pass which computes the neighboring mine counts band by
+ * band (reading across band borders). Sequential and parallel generation
+ * produce identical boards.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+public class BoardGenerator {
+    public static final int BAND_ROWS = 64;
+    public static final int NO_FIRST_SQUARE = -1;
+
+    private final int _width;
+    private final int _height;
+
+    /**
+     * Constructor to initialize a generator for boards of a specific size.
+     *
+     * @param width The number of squares along the x-axis.
+     * @param height The number of squares along the y-axis.
+     *
+     * @throws IllegalArgumentException If a dimension is negative or the board is too large to be stored.
+     */
+    public BoardGenerator(int width, int height) {
+        if(width < 0 || height < 0 || (long) width * height > Integer.MAX_VALUE)
+            throw new IllegalArgumentException(String.format("Invalid board dimensions %dx%d!", width, height));
+
+        _width = width;
+        _height = height;
+    }
+
+    /**
+     * Method for getting the number of bands the board is split into.
+     *
+     * @return The number of bands.
+     */
+    public int getBandCount() {
+        return (_height + BAND_ROWS - 1) / BAND_ROWS;
+    }
+
+    /**
+     * Method for generating a new board.
+     *
+     * If there are not enough squares outside of the first location and its
+     * neighbors, the board is instead filled with as many mines as fit.
+     *
+     * @param mineCount The requested number of mines.
+     * @param seed The seed to generate the board from.
+     * @param firstLocation The location of the first clicked square, which
+     *                      (along with its neighbors) never is a mine; or null
+     *                      to skip the "first square protection".
+     *
+     * @return The generated board.
+     *
+     * @throws IndexOutOfBoundsException If the first location is outside the size of the board.
+     */
+    public PackedBoard generate(int mineCount, long seed, Point firstLocation) {
+        return generate(mineCount, seed, firstLocation == null ? NO_FIRST_SQUARE : indexOf(firstLocation.x, firstLocation.y));
+    }
+
+    /**
+     * Method for generating a new board, with the first location given as a
+     * packed cell index; so that no *Point* is needed.
+     *
+     * @param mineCount The requested number of mines.
+     * @param seed The seed to generate the board from.
+     * @param firstSquare The packed cell index of the first clicked square,
+     *                    or *NO_FIRST_SQUARE* to skip the "first square
+     *                    protection".
+     *
+     * @return The generated board.
+     *
+     * @throws IndexOutOfBoundsException If the first square is outside the size of the board.
+     */
+    public PackedBoard generate(int mineCount, long seed, int firstSquare) {
+        PackedBoard board = new PackedBoard(_width, _height);
+        int[] protectedSquares = getProtectedSquares(board, firstSquare);
+        int[] bandMines = allocateMines(mineCount, seed, protectedSquares);
+        SplittableRandom[] streams = splitStreams(seed, bandMines.length);
+
+        for(int band = 0; band < bandMines.length; band++)
+            generateBand(board, band, bandMines[band], streams[band], protectedSquares, true);
+
+        return board;
+    }
+
+    /**
+     * Method for generating a new board in parallel. The result is identical
+     * to *generate(mineCount, seed, firstLocation)*.
+     *
+     * @param mineCount The requested number of mines.
+     * @param seed The seed to generate the board from.
+     * @param firstLocation The location of the first clicked square, or null.
+     * @param pool The pool to run the band tasks on.
+     *
+     * @return The generated board.
+     *
+     * @throws IndexOutOfBoundsException If the first location is outside the size of the board.
+     */
+    public PackedBoard generate(int mineCount, long seed, Point firstLocation, ForkJoinPool pool) {
+        return generate(mineCount, seed, firstLocation == null ? NO_FIRST_SQUARE : indexOf(firstLocation.x, firstLocation.y), pool);
+    }
+
+    /**
+     * Method for generating a new board in parallel, with the first location
+     * given as a packed cell index. The result is identical to
+     * *generate(mineCount, seed, firstSquare)*.
+     *
+     * @param mineCount The requested number of mines.
+     * @param seed The seed to generate the board from.
+     * @param firstSquare The packed cell index of the first clicked square, or *NO_FIRST_SQUARE*.
+     * @param pool The pool to run the band tasks on.
+     *
+     * @return The generated board.
+     *
+     * @throws IndexOutOfBoundsException If the first square is outside the size of the board.
+     */
+    public PackedBoard generate(int mineCount, long seed, int firstSquare, ForkJoinPool pool) {
+        PackedBoard board = new PackedBoard(_width, _height);
+        int[] protectedSquares = getProtectedSquares(board, firstSquare);
+        int[] bandMines = allocateMines(mineCount, seed, protectedSquares);
+        SplittableRandom[] streams = splitStreams(seed, bandMines.length);
+
+        // First pass; place the mines of each band. Bands only ever write to
+        // their own squares, so they can run concurrently.
+        pool.invoke(new BandTask(0, bandMines.length, band ->
+                generateBand(board, band, bandMines[band], streams[band], protectedSquares, false)));
+
+        // Second pass; compute the neighboring mine counts. This reads the
+        // mines of neighboring bands, which are all placed by now.
+        pool.invoke(new BandTask(0, bandMines.length, band ->
+                board.computeNeighborMineCounts(band * BAND_ROWS, (int) Math.min((long) (band + 1) * BAND_ROWS, _height))));
+
+        board.setMineCount(Arrays.stream(bandMines).sum());
+        return board;
+    }
+
+    /**
+     * Method for splitting off one random sub-stream per band, in band order.
+     *
+     * @param seed The seed of the board.
+     * @param bands The number of bands.
+     *
+     * @return The sub-streams.
+     */
+    private static SplittableRandom[] splitStreams(long seed, int bands) {
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] streams = new SplittableRandom[bands];
+
+        for(int band = 0; band < bands; band++)
+            streams[band] = root.split();
+
+        return streams;
+    }
+
+    /**
+     * Method for converting a coordinate into a packed cell index.
+     *
+     * @param x The x coordinate of the square.
+     * @param y The y coordinate of the square.
+     *
+     * @return The packed cell index.
+     *
+     * @throws IndexOutOfBoundsException If the coordinate is outside the size of the board.
+     */
+    public int indexOf(int x, int y) {
+        if(x < 0 || x >= _width || y < 0 || y >= _height)
+            throw new IndexOutOfBoundsException(String.format(
+                    "Square (%d, %d) is outside the %dx%d board!", x, y, _width, _height));
+
+        return y * _width + x;
+    }
+
+    /**
+     * Method for getting the sorted packed cell indices of the first square
+     * and its neighbors.
+     *
+     * @param board The board.
+     * @param first The packed cell index of the first square, or *NO_FIRST_SQUARE*.
+     *
+     * @return The protected squares, in ascending order.
+     *
+     * @throws IndexOutOfBoundsException If the first square is outside the size of the board.
+     */
+    private int[] getProtectedSquares(PackedBoard board, int first) {
+        if(first == NO_FIRST_SQUARE)
+            return new int[0];
+        if(first < 0 || first >= board.size())
+            throw new IndexOutOfBoundsException(String.format("Square %d is outside the board!", first));
+
+        int[] squares = new int[9];
+        int count = board.getNeighbors(first, squares);
+        squares[count++] = first;
+
+        int[] result = Arrays.copyOf(squares, count);
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Method for deciding how many mines each band gets. Each band gets its
+     * proportional share of the mines (rounded down), and the remaining mines
+     * are handed out one each to randomly chosen bands.
+     *
+     * @param mineCount The requested number of mines.
+     * @param seed The seed of the board.
+     * @param protectedSquares The protected squares.
+     *
+     * @return The number of mines for each band.
+     */
+    private int[] allocateMines(int mineCount, long seed, int[] protectedSquares) {
+        int bands = getBandCount();
+        long[] candidates = new long[bands];
+        long totalCandidates = 0;
+
+        for(int band = 0; band < bands; band++) {
+            candidates[band] = bandCandidates(band, protectedSquares);
+            totalCandidates += candidates[band];
+        }
+
+        int mines = (int) Math.min(mineCount, totalCandidates);
+        int[] bandMines = new int[bands];
+        int remaining = mines;
+
+        if(mines == 0)
+            return bandMines;
+
+        for(int band = 0; band < bands; band++) {
+            bandMines[band] = (int) (mines * candidates[band] / totalCandidates);
+            remaining -= bandMines[band];
+        }
+
+        // Hand out the remainder; at most one extra per band, and only to
+        // bands with room left. Since every share was rounded down, there is
+        // always at least one such band per remaining mine.
+        SplittableRandom random = new SplittableRandom(~seed);
+        boolean[] extra = new boolean[bands];
+        while(remaining > 0) {
+            int band = random.nextInt(bands);
+
+            if(extra[band] || bandMines[band] >= candidates[band])
+                continue;
+
+            extra[band] = true;
+            bandMines[band]++;
+            remaining--;
+        }
+
+        return bandMines;
+    }
+
+    /**
+     * Method for placing the mines of a single band using Floyd's algorithm.
+     *
+     * @param board The board.
+     * @param band The band number.
+     * @param mines The number of mines to place in the band.
+     * @param random The random sub-stream of the band.
+     * @param protectedSquares The protected squares.
+     * @param updateCounts Whether to update neighboring mine counts as mines
+     *                     are placed; otherwise they must be computed afterwards.
+     */
+    private void generateBand(PackedBoard board, int band, int mines, SplittableRandom random, int[] protectedSquares, boolean updateCounts) {
+        int start = bandStart(band);
+        int candidates = bandCandidates(band, protectedSquares);
+
+        // For each j, pick a random candidate in [0, j], and if it is already
+        // a mine then j itself cannot be, so use j instead.
+        for(int j = candidates - mines; j < candidates; j++) {
+            int candidate = candidateToIndex(start, random.nextInt(j + 1), protectedSquares);
+
+            if(board.isMine(candidate))
+                candidate = candidateToIndex(start, j, protectedSquares);
+
+            if(updateCounts)
+                board.setMine(candidate, true);
+            else
+                board.placeMine(candidate);
+        }
+    }
+
+    /**
+     * Method for getting the first packed cell index of a band.
+     *
+     * @param band The band number.
+     *
+     * @return The packed cell index.
+     */
+    private int bandStart(int band) {
+        return (int) Math.min((long) band * BAND_ROWS * _width, (long) _width * _height);
+    }
+
+    /**
+     * Method for getting the number of non-protected squares in a band.
+     *
+     * @param band The band number.
+     * @param protectedSquares The protected squares.
+     *
+     * @return The number of squares which may become mines.
+     */
+    private int bandCandidates(int band, int[] protectedSquares) {
+        int start = bandStart(band);
+        int end = bandStart(band + 1);
+        int count = end - start;
+
+        for(int square : protectedSquares)
+            if(square >= start && square < end)
+                count--;
+
+        return count;
+    }
+
+    /**
+     * Method for mapping a candidate number within a band to the packed cell
+     * index of the square, skipping all protected squares.
+     *
+     * @param start The first packed cell index of the band.
+     * @param candidate The candidate number; 0 to the number of non-protected squares in the band.
+     * @param protectedSquares The protected squares, in ascending order.
+     *
+     * @return The packed cell index.
+     */
+    private static int candidateToIndex(int start, int candidate, int[] protectedSquares) {
+        int index = start + candidate;
+
+        for(int square : protectedSquares) {
+            if(square < start)
+                continue;
+            if(square > index)
+                break;
+
+            index++;
+        }
+
+        return index;
+    }
+
+    /**
+     * Task which applies an action to a range of bands; splitting the range in
+     * half until only a single band remains.
+     */
+    @SuppressWarnings("serial")
+    private static class BandTask extends RecursiveAction {
+        private final int _from;
+        private final int _to;
+        private final IntConsumer _action;
+
+        /**
+         * Constructor to initialize the task.
+         *
+         * @param from The first band (inclusive).
+         * @param to The last band (exclusive).
+         * @param action The action to apply to each band.
+         */
+        BandTask(int from, int to, IntConsumer action) {
+            _from = from;
+            _to = to;
+            _action = action;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected void compute() {
+            if(_to - _from <= 1) {
+                for(int band = _from; band < _to; band++)
+                    _action.accept(band);
+
+                return;
+            }
+
+            int middle = (_from + _to) >>> 1;
+            invokeAll(new BandTask(_from, middle, _action), new BandTask(middle, _to, _action));
+        }
+    }
+}
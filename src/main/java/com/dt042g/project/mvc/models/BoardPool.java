@@ -0,0 +1,550 @@
+package com.dt042g.project.mvc.models;
+
+import java.awt.Point;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Class holding boards generated ahead of time in the background; so that
+ * the first click of a game does not have to wait for its board to be
+ * generated, which is noticeable for large boards or boards which can be
+ * solved without guessing.
+ *
+ * The pool is used through the board sources it hands out; *random* for
+ * random boards, or *source* for any other kind of board (the mode), such as
+ * *NoGuessGenerator*. Boards are pooled by their size, number of mines and
+ * mode; and each time a board is taken, the pool of that configuration is
+ * refilled to the pool size on the executor.
+ *
+ * Since the first click is not known when a board is generated, any mines
+ * on or around the first location are moved to random squares elsewhere when
+ * the board is taken. The mode then decides whether the board may be used
+ * (see *BoardSource.isValidStart*); otherwise the next board is tried. If the
+ * pool has no usable board, the board is created by the mode right away, as
+ * if there were no pool.
+ *
+ * The boards of every configuration share a memory budget. When it is
+ * exceeded, boards are evicted from the configuration least recently taken
+ * from.
+ *
+ * Boards from the pool do not depend on the seed given by the model, except
+ * for where mines are moved to; so a model with a pinned seed should not use
+ * a pool.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+public class BoardPool implements AutoCloseable {
+    public static final int DEFAULT_POOL_SIZE = 4;
+    public static final long DEFAULT_MEMORY_BUDGET = 64L << 20;
+    private static final long BOARD_OVERHEAD_BYTES = 128;
+    private static final int RELOCATION_TRIES = 64;
+
+    // Random boards are generated without a protected first location; mines are moved away from it once known
+    private static final BoardSource RANDOM = (width, height, mineCount, seed, firstLocation) ->
+            new BoardGenerator(width, height).generate(mineCount, seed, null);
+
+    private final Executor _executor;
+    private final ExecutorService _ownedExecutor;
+    private final int _poolSize;
+    private final long _memoryBudget;
+
+    // Guarded by this; in order of when each configuration was last taken from
+    private final LinkedHashMap<Key, Boards> _entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final SplittableRandom _seeds = new SplittableRandom();
+    private long _pooledBytes = 0;
+    private int _pooledBoards = 0;
+    private boolean _closed = false;
+
+    private final AtomicLong _hits = new AtomicLong();
+    private final AtomicLong _misses = new AtomicLong();
+    private final AtomicLong _rejected = new AtomicLong();
+    private final AtomicLong _evictions = new AtomicLong();
+    private final AtomicLong _generated = new AtomicLong();
+
+    /**
+     * Constructor to initialize a pool with the default size and memory
+     * budget, generating on a background thread of its own.
+     */
+    public BoardPool() {
+        this(DEFAULT_POOL_SIZE, DEFAULT_MEMORY_BUDGET);
+    }
+
+    /**
+     * Constructor to initialize a pool generating on a background thread of
+     * its own; which is stopped when the pool is closed.
+     *
+     * @param poolSize The number of boards to keep of each configuration.
+     * @param memoryBudget The number of bytes the boards of every configuration may use together.
+     *
+     * @throws IllegalArgumentException If the pool size is less than one, or the memory budget is negative.
+     */
+    public BoardPool(int poolSize, long memoryBudget) {
+        this(null, poolSize, memoryBudget, true);
+    }
+
+    /**
+     * Constructor to initialize a pool generating on an executor; which is
+     * not stopped when the pool is closed.
+     *
+     * @param executor The executor to generate the boards on.
+     * @param poolSize The number of boards to keep of each configuration.
+     * @param memoryBudget The number of bytes the boards of every configuration may use together.
+     *
+     * @throws IllegalArgumentException If the pool size is less than one, or the memory budget is negative.
+     */
+    public BoardPool(Executor executor, int poolSize, long memoryBudget) {
+        this(executor, poolSize, memoryBudget, false);
+    }
+
+    /**
+     * Constructor to initialize the pool.
+     *
+     * @param executor The executor to generate the boards on; ignored if owned.
+     * @param poolSize The number of boards to keep of each configuration.
+     * @param memoryBudget The number of bytes the boards of every configuration may use together.
+     * @param owned Whether the pool should generate on a background thread of its own.
+     *
+     * @throws IllegalArgumentException If the pool size is less than one, or the memory budget is negative.
+     */
+    private BoardPool(Executor executor, int poolSize, long memoryBudget, boolean owned) {
+        if(poolSize < 1)
+            throw new IllegalArgumentException(String.format("Invalid pool size %d!", poolSize));
+        if(memoryBudget < 0)
+            throw new IllegalArgumentException(String.format("Invalid memory budget %d!", memoryBudget));
+
+        _ownedExecutor = owned ? Executors.newSingleThreadExecutor(BoardPool::daemon) : null;
+        _executor = owned ? _ownedExecutor : executor;
+        _poolSize = poolSize;
+        _memoryBudget = memoryBudget;
+    }
+
+    /**
+     * Helper method for creating the background thread; as a daemon, so that
+     * the pool never keeps the JVM alive.
+     *
+     * @param runnable The task of the thread.
+     *
+     * @return The thread.
+     */
+    private static Thread daemon(Runnable runnable) {
+        Thread thread = new Thread(runnable, "board-pool");
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * Method for getting a board source which takes random boards from the
+     * pool.
+     *
+     * @return The board source.
+     */
+    public BoardSource random() {
+        return source(RANDOM);
+    }
+
+    /**
+     * Method for getting a board source which takes boards of a mode from the
+     * pool; generating them with the mode.
+     *
+     * @param mode The source of the boards of the mode.
+     *
+     * @return The board source.
+     *
+     * @throws IllegalArgumentException If the mode is null.
+     */
+    public BoardSource source(BoardSource mode) {
+        if(mode == null)
+            throw new IllegalArgumentException("Invalid board source null!");
+
+        return (width, height, mineCount, seed, firstLocation) ->
+                take(new Key(width, height, mineCount, mode), firstLocation, seed);
+    }
+
+    /**
+     * Method for filling the pool of a configuration ahead of the first game;
+     * so that even the first board is taken from the pool.
+     *
+     * @param mode The source of the boards; or null for random boards.
+     * @param width The number of squares along the x-axis.
+     * @param height The number of squares along the y-axis.
+     * @param mineCount The number of mines.
+     */
+    public void warm(BoardSource mode, int width, int height, int mineCount) {
+        refill(new Key(width, height, mineCount, mode != null ? mode : RANDOM));
+    }
+
+    /**
+     * Method for taking a board from the pool; or creating it right away if
+     * the pool has no usable board. The pool is then refilled.
+     *
+     * @param key The configuration of the board.
+     * @param firstLocation The location of the first clicked square.
+     * @param seed The seed given by the model; used for moving mines.
+     *
+     * @return The board.
+     */
+    private PackedBoard take(Key key, Point firstLocation, long seed) {
+        for(PackedBoard board; (board = poll(key)) != null;) {
+            relocate(board, firstLocation, seed);
+
+            if(key._mode.isValidStart(board, firstLocation)) {
+                _hits.incrementAndGet();
+                refill(key);
+                return board;
+            }
+
+            _rejected.incrementAndGet();
+        }
+
+        _misses.incrementAndGet();
+        PackedBoard board = key._mode.createBoard(key._width, key._height, key._mineCount, seed, firstLocation);
+        relocate(board, firstLocation, seed);
+        refill(key);
+        return board;
+    }
+
+    /**
+     * Method for removing the oldest board of a configuration from the pool.
+     * This marks the configuration as the most recently taken from.
+     *
+     * @param key The configuration.
+     *
+     * @return The board; or null if there is none.
+     */
+    private synchronized PackedBoard poll(Key key) {
+        Boards boards = _entries.get(key);
+
+        if(boards == null || boards._boards.isEmpty())
+            return null;
+
+        PackedBoard board = boards._boards.pollFirst();
+        _pooledBytes -= footprint(key._width, key._height);
+        _pooledBoards--;
+        return board;
+    }
+
+    /**
+     * Method for generating boards of a configuration on the executor, until
+     * its pool is full (or as full as the memory budget allows) once they are
+     * done.
+     *
+     * @param key The configuration.
+     */
+    private synchronized void refill(Key key) {
+        if(_closed)
+            return;
+
+        Boards boards = _entries.computeIfAbsent(key, k -> new Boards());
+        long target = Math.min(_poolSize, _memoryBudget / footprint(key._width, key._height));
+
+        while(!boards._removed && boards._boards.size() + boards._pending < target) {
+            long seed = _seeds.nextLong();
+            Point location = new Point(_seeds.nextInt(Math.max(key._width, 1)), _seeds.nextInt(Math.max(key._height, 1)));
+            boards._pending++;
+
+            try {
+                _executor.execute(() -> generate(key, boards, seed, location));
+            } catch(RejectedExecutionException e) {
+                boards._pending--;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Method for generating a board, and adding it to the pool.
+     *
+     * @param key The configuration of the board.
+     * @param boards The pool of the configuration.
+     * @param seed The seed of the board.
+     * @param location The location the board is generated as if first clicked.
+     */
+    private void generate(Key key, Boards boards, long seed, Point location) {
+        PackedBoard board = null;
+
+        try {
+            board = key._mode.createBoard(key._width, key._height, key._mineCount, seed, location);
+            _generated.incrementAndGet();
+        } finally {
+            offer(key, boards, board);
+        }
+    }
+
+    /**
+     * Method for adding a generated board to the pool; evicting boards if
+     * the memory budget is exceeded.
+     *
+     * @param key The configuration of the board.
+     * @param boards The pool of the configuration.
+     * @param board The board; or null if it could not be generated.
+     */
+    private synchronized void offer(Key key, Boards boards, PackedBoard board) {
+        boards._pending--;
+
+        if(board == null || _closed || boards._removed)
+            return;
+
+        boards._boards.addLast(board);
+        _pooledBytes += footprint(key._width, key._height);
+        _pooledBoards++;
+
+        Iterator<Map.Entry<Key, Boards>> iterator = _entries.entrySet().iterator();
+
+        while(_pooledBytes > _memoryBudget && iterator.hasNext()) {
+            Map.Entry<Key, Boards> next = iterator.next();
+            Boards evicted = next.getValue();
+
+            while(_pooledBytes > _memoryBudget && !evicted._boards.isEmpty()) {
+                evicted._boards.pollFirst();
+                _pooledBytes -= footprint(next.getKey()._width, next.getKey()._height);
+                _pooledBoards--;
+                _evictions.incrementAndGet();
+            }
+
+            if(evicted._boards.isEmpty() && evicted._pending == 0) {
+                evicted._removed = true;
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Method for moving every mine on or around the first location to a
+     * random square elsewhere. If there are not enough squares elsewhere,
+     * the board is instead left with as many mines as fit; as when generated.
+     *
+     * @param board The board.
+     * @param firstLocation The location of the first clicked square.
+     * @param seed The seed of where the mines are moved to.
+     *
+     * @throws IndexOutOfBoundsException If the first location is outside the size of the board.
+     */
+    static void relocate(PackedBoard board, Point firstLocation, long seed) {
+        int first = board.indexOf(firstLocation);
+        int[] squares = new int[9];
+        int count = board.getNeighbors(first, squares);
+        squares[count++] = first;
+
+        int moved = 0;
+        for(int i = 0; i < count; i++) {
+            if(board.isMine(squares[i])) {
+                board.setMine(squares[i], false);
+                moved++;
+            }
+        }
+
+        if(moved == 0)
+            return;
+
+        // Random squares until the board is nearly full, then the first free squares in order
+        SplittableRandom random = new SplittableRandom(seed);
+        int size = board.size();
+
+        for(int tries = 0; moved > 0 && tries < RELOCATION_TRIES * moved; tries++) {
+            int square = random.nextInt(size);
+
+            if(!board.isMine(square) && !isAround(board, square, firstLocation)) {
+                board.setMine(square, true);
+                moved--;
+            }
+        }
+
+        for(int square = 0; moved > 0 && square < size; square++) {
+            if(!board.isMine(square) && !isAround(board, square, firstLocation)) {
+                board.setMine(square, true);
+                moved--;
+            }
+        }
+    }
+
+    /**
+     * Helper method for checking if a square is on or around a location.
+     *
+     * @param board The board.
+     * @param index The packed cell index of the square.
+     * @param location The location.
+     *
+     * @return Whether the square is the location or one of its neighbors.
+     */
+    private static boolean isAround(PackedBoard board, int index, Point location) {
+        return Math.abs(board.xOf(index) - location.x) <= 1 && Math.abs(board.yOf(index) - location.y) <= 1;
+    }
+
+    /**
+     * Helper method for estimating the number of bytes used by a board.
+     *
+     * @param width The number of squares along the x-axis.
+     * @param height The number of squares along the y-axis.
+     *
+     * @return The number of bytes.
+     */
+    private static long footprint(int width, int height) {
+        return (long) width * height + BOARD_OVERHEAD_BYTES;
+    }
+
+    /**
+     * Method for getting the number of boards taken from the pool.
+     *
+     * @return The number of boards.
+     */
+    public long getHits() {
+        return _hits.get();
+    }
+
+    /**
+     * Method for getting the number of boards which had to be created right
+     * away; as the pool had no usable board.
+     *
+     * @return The number of boards.
+     */
+    public long getMisses() {
+        return _misses.get();
+    }
+
+    /**
+     * Method for getting the number of boards taken from the pool but not
+     * used; as the mode did not accept them from the first location.
+     *
+     * @return The number of boards.
+     */
+    public long getRejected() {
+        return _rejected.get();
+    }
+
+    /**
+     * Method for getting the number of boards evicted to stay within the
+     * memory budget.
+     *
+     * @return The number of boards.
+     */
+    public long getEvictions() {
+        return _evictions.get();
+    }
+
+    /**
+     * Method for getting the number of boards generated in the background.
+     *
+     * @return The number of boards.
+     */
+    public long getGenerated() {
+        return _generated.get();
+    }
+
+    /**
+     * Method for getting the number of boards currently in the pool.
+     *
+     * @return The number of boards.
+     */
+    public synchronized int getPooledBoardCount() {
+        return _pooledBoards;
+    }
+
+    /**
+     * Method for getting the estimated number of bytes used by the boards
+     * currently in the pool.
+     *
+     * @return The number of bytes.
+     */
+    public synchronized long getPooledBytes() {
+        return _pooledBytes;
+    }
+
+    /**
+     * Method for getting the number of boards kept of each configuration.
+     *
+     * @return The number of boards.
+     */
+    public int getPoolSize() {
+        return _poolSize;
+    }
+
+    /**
+     * Method for getting the number of bytes the boards of every
+     * configuration may use together.
+     *
+     * @return The number of bytes.
+     */
+    public long getMemoryBudget() {
+        return _memoryBudget;
+    }
+
+    /**
+     * Method for closing the pool; dropping every pooled board, and stopping
+     * the background thread if the pool has its own. The board sources of the
+     * pool keep working, but create every board right away.
+     */
+    @Override
+    public void close() {
+        synchronized(this) {
+            _closed = true;
+
+            for(Boards boards : _entries.values())
+                boards._removed = true;
+
+            _entries.clear();
+            _pooledBytes = 0;
+            _pooledBoards = 0;
+        }
+
+        if(_ownedExecutor != null)
+            _ownedExecutor.shutdownNow();
+    }
+
+    /**
+     * Class serving as the configuration of a pooled board.
+     */
+    private static final class Key {
+        private final int _width;
+        private final int _height;
+        private final int _mineCount;
+        private final BoardSource _mode;
+
+        /**
+         * Constructor to initialize the configuration.
+         *
+         * @param width The number of squares along the x-axis.
+         * @param height The number of squares along the y-axis.
+         * @param mineCount The number of mines.
+         * @param mode The source of the boards.
+         */
+        private Key(int width, int height, int mineCount, BoardSource mode) {
+            _width = width;
+            _height = height;
+            _mineCount = mineCount;
+            _mode = mode;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if(!(other instanceof Key))
+                return false;
+
+            Key key = (Key) other;
+            return _width == key._width && _height == key._height
+                    && _mineCount == key._mineCount && _mode == key._mode;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(_width, _height, _mineCount, System.identityHashCode(_mode));
+        }
+    }
+
+    /**
+     * Class serving as the pool of a configuration; guarded by the pool.
+     */
+    private static final class Boards {
+        private final ArrayDeque<PackedBoard> _boards = new ArrayDeque<>();
+        private int _pending = 0;
+        private boolean _removed = false;
+    }
+}
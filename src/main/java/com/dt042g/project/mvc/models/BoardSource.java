@@ -0,0 +1,44 @@
+package com.dt042g.project.mvc.models;
+
+import java.awt.Point;
+
+/**
+ * Interface for anything which can create the board of a *GameModel*; in
+ * place of generating a random board on the first click.
+ *
+ * A board source must leave the first location and its neighbors free of
+ * mines, and should give the same board for the same arguments; so that a
+ * model with a pinned seed stays reproducible.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+@FunctionalInterface
+public interface BoardSource {
+    /**
+     * Method for creating a board.
+     *
+     * @param width The number of squares along the x-axis.
+     * @param height The number of squares along the y-axis.
+     * @param mineCount The number of mines.
+     * @param seed The seed of the board.
+     * @param firstLocation The location of the first clicked square.
+     *
+     * @return The board; with every square hidden and not flagged.
+     */
+    PackedBoard createBoard(int width, int height, int mineCount, long seed, Point firstLocation);
+
+    /**
+     * Method for checking if a board created ahead of time (before the first
+     * click was known) may be started from a first location; once any mines
+     * around it have been moved elsewhere. Used by *BoardPool*, for sources
+     * which promise more of their boards than first click safety.
+     *
+     * @param board The board; with the first location and its neighbors free of mines.
+     * @param firstLocation The location of the first clicked square.
+     *
+     * @return Whether the board may be used; true unless overridden.
+     */
+    default boolean isValidStart(PackedBoard board, Point firstLocation) {
+        return true;
+    }
+}
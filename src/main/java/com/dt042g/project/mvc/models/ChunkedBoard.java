@@ -0,0 +1,495 @@
+package com.dt042g.project.mvc.models;
+
+import java.awt.Point;
+import java.util.SplittableRandom;
+
+/**
+ * Class serving as a lazily materialised backing storage for very large
+ * boards.
+ *
+ * The board is split into chunks of *CHUNK_SIZE* x *CHUNK_SIZE* squares, and
+ * a chunk is only generated the first time one of its squares (or one of
+ * their neighbors) is accessed. The mines of a chunk are derived from the
+ * seed of the board and the coordinates of the chunk alone, so the content of
+ * a chunk is the same regardless of which chunks were generated before it,
+ * and memory use is proportional to the explored area rather than the size of
+ * the board.
+ *
+ * Since chunks are generated independently, each square is a mine with the
+ * given chance; the total number of mines is therefore not exact. The first
+ * clicked square and its neighbors are never mines.
+ *
+ * Each square is stored as a single byte, with the same state bits as
+ * *PackedBoard*. The neighboring mine count is calculated the first time it
+ * is requested, and then cached in the upper four bits.
+ *
+ * The chunks are kept in an open-addressing table keyed by the packed chunk
+ * coordinates, along with the most recently accessed chunk; so that looking
+ * up a square never allocates.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+public class ChunkedBoard {
+    public static final int CHUNK_SIZE = 64;
+    private static final int CHUNK_SHIFT = 6;
+    private static final byte MINE = 0b0000_0001;
+    private static final byte FLAGGED = 0b0000_0010;
+    private static final byte REVEALED = 0b0000_0100;
+    private static final byte VALUE_KNOWN = 0b0000_1000;
+    private static final int VALUE_SHIFT = 4;
+    private static final int INITIAL_CHUNK_CAPACITY = 64;
+
+    private final int _width;
+    private final int _height;
+    private final double _mineChance;
+    private final long _seed;
+    private final boolean _firstProtected;
+    private final int _firstX;
+    private final int _firstY;
+    private long[] _chunkKeys = new long[INITIAL_CHUNK_CAPACITY];
+    private byte[][] _chunks = new byte[INITIAL_CHUNK_CAPACITY][];
+    private int _chunkCount = 0;
+    private long _lastKey = -1;
+    private byte[] _lastChunk = null;
+    private long _mineCount = 0;
+
+    /**
+     * Constructor to initialize the board. Note that this does not generate
+     * any chunks; these are generated as they are accessed.
+     *
+     * @param width The number of squares along the x-axis.
+     * @param height The number of squares along the y-axis.
+     * @param mineChance The chance of each square being a mine; 0 to 1.
+     * @param seed The seed to generate the chunks from.
+     * @param firstLocation The location of the first clicked square, which
+     *                      (along with its neighbors) never is a mine; or null
+     *                      to skip the "first square protection".
+     *
+     * @throws IllegalArgumentException If a dimension is negative, or the mine chance is not within 0 to 1.
+     */
+    public ChunkedBoard(int width, int height, double mineChance, long seed, Point firstLocation) {
+        this(width, height, mineChance, seed, firstLocation != null,
+                firstLocation == null ? 0 : firstLocation.x, firstLocation == null ? 0 : firstLocation.y);
+    }
+
+    /**
+     * Constructor to initialize the board, with the first clicked square given
+     * by its coordinates. Note that this does not generate any chunks.
+     *
+     * @param width The number of squares along the x-axis.
+     * @param height The number of squares along the y-axis.
+     * @param mineChance The chance of each square being a mine; 0 to 1.
+     * @param seed The seed to generate the chunks from.
+     * @param firstX The x coordinate of the first clicked square.
+     * @param firstY The y coordinate of the first clicked square.
+     *
+     * @throws IllegalArgumentException If a dimension is negative, or the mine chance is not within 0 to 1.
+     */
+    public ChunkedBoard(int width, int height, double mineChance, long seed, int firstX, int firstY) {
+        this(width, height, mineChance, seed, true, firstX, firstY);
+    }
+
+    /**
+     * Constructor to initialize the board.
+     *
+     * @param width The number of squares along the x-axis.
+     * @param height The number of squares along the y-axis.
+     * @param mineChance The chance of each square being a mine; 0 to 1.
+     * @param seed The seed to generate the chunks from.
+     * @param firstProtected Whether the first clicked square (and its neighbors) are protected.
+     * @param firstX The x coordinate of the first clicked square.
+     * @param firstY The y coordinate of the first clicked square.
+     *
+     * @throws IllegalArgumentException If a dimension is negative, or the mine chance is not within 0 to 1.
+     */
+    private ChunkedBoard(int width, int height, double mineChance, long seed, boolean firstProtected, int firstX, int firstY) {
+        if(width < 0 || height < 0)
+            throw new IllegalArgumentException(String.format("Invalid board dimensions %dx%d!", width, height));
+        if(!(mineChance >= 0 && mineChance <= 1))
+            throw new IllegalArgumentException(String.format("Invalid mine chance %f!", mineChance));
+
+        _width = width;
+        _height = height;
+        _mineChance = mineChance;
+        _seed = seed;
+        _firstProtected = firstProtected;
+        _firstX = firstX;
+        _firstY = firstY;
+    }
+
+    /**
+     * Method for getting the width of the board.
+     *
+     * @return The number of squares along the x-axis.
+     */
+    public int getWidth() {
+        return _width;
+    }
+
+    /**
+     * Method for getting the height of the board.
+     *
+     * @return The number of squares along the y-axis.
+     */
+    public int getHeight() {
+        return _height;
+    }
+
+    /**
+     * Method for getting the total number of squares on the board.
+     *
+     * @return The number of squares.
+     */
+    public long size() {
+        return (long) _width * _height;
+    }
+
+    /**
+     * Method for getting the number of chunks which have been generated.
+     *
+     * @return The number of generated chunks.
+     */
+    public int getChunkCount() {
+        return _chunkCount;
+    }
+
+    /**
+     * Method for getting the total number of chunks the board is split into.
+     *
+     * @return The number of chunks.
+     */
+    public long getTotalChunkCount() {
+        return chunksAlong(_width) * chunksAlong(_height);
+    }
+
+    /**
+     * Method for checking if every chunk of the board has been generated.
+     *
+     * @return Whether the whole board is generated.
+     */
+    public boolean isFullyGenerated() {
+        return _chunkCount == getTotalChunkCount();
+    }
+
+    /**
+     * Method for getting the number of mines within the generated chunks.
+     * Only equal to the number of mines on the board once it is fully
+     * generated.
+     *
+     * @return The number of generated mines.
+     */
+    public long getGeneratedMineCount() {
+        return _mineCount;
+    }
+
+    /**
+     * Method for checking if a square is a mine.
+     *
+     * @param x The x coordinate of the square.
+     * @param y The y coordinate of the square.
+     *
+     * @return Whether the square is a mine.
+     *
+     * @throws IndexOutOfBoundsException If the coordinate is outside the size of the board.
+     */
+    public boolean isMine(int x, int y) {
+        return (cell(x, y) & MINE) != 0;
+    }
+
+    /**
+     * Method for checking if a square is currently flagged.
+     *
+     * @param x The x coordinate of the square.
+     * @param y The y coordinate of the square.
+     *
+     * @return Whether the square is flagged.
+     *
+     * @throws IndexOutOfBoundsException If the coordinate is outside the size of the board.
+     */
+    public boolean isFlagged(int x, int y) {
+        return (cell(x, y) & FLAGGED) != 0;
+    }
+
+    /**
+     * Method for setting if a square is currently flagged.
+     *
+     * @param x The x coordinate of the square.
+     * @param y The y coordinate of the square.
+     * @param flagged Whether the square should be flagged.
+     *
+     * @throws IndexOutOfBoundsException If the coordinate is outside the size of the board.
+     */
+    public void setFlagged(int x, int y, boolean flagged) {
+        set(x, y, FLAGGED, flagged);
+    }
+
+    /**
+     * Method for checking if a square is currently revealed.
+     *
+     * @param x The x coordinate of the square.
+     * @param y The y coordinate of the square.
+     *
+     * @return Whether the square is revealed.
+     *
+     * @throws IndexOutOfBoundsException If the coordinate is outside the size of the board.
+     */
+    public boolean isRevealed(int x, int y) {
+        return (cell(x, y) & REVEALED) != 0;
+    }
+
+    /**
+     * Method for setting if a square is currently revealed.
+     *
+     * @param x The x coordinate of the square.
+     * @param y The y coordinate of the square.
+     * @param revealed Whether the square should be revealed.
+     *
+     * @throws IndexOutOfBoundsException If the coordinate is outside the size of the board.
+     */
+    public void setRevealed(int x, int y, boolean revealed) {
+        set(x, y, REVEALED, revealed);
+    }
+
+    /**
+     * Method for checking if a square is either revealed, flagged or a mine;
+     * I.E. whether it must be skipped when revealing squares.
+     *
+     * @param x The x coordinate of the square.
+     * @param y The y coordinate of the square.
+     *
+     * @return Whether the square cannot be revealed.
+     *
+     * @throws IndexOutOfBoundsException If the coordinate is outside the size of the board.
+     */
+    public boolean isBlocked(int x, int y) {
+        return (cell(x, y) & (MINE | FLAGGED | REVEALED)) != 0;
+    }
+
+    /**
+     * Method for getting the number of neighboring mines of a square. The
+     * first call for a square generates any neighboring chunk it borders.
+     *
+     * @param x The x coordinate of the square.
+     * @param y The y coordinate of the square.
+     *
+     * @return The number of neighboring mines; 0 to 8.
+     *
+     * @throws IndexOutOfBoundsException If the coordinate is outside the size of the board.
+     */
+    public int getNeighborMineCount(int x, int y) {
+        byte[] chunk = chunkOf(x, y);
+        int offset = offsetOf(x, y);
+
+        if((chunk[offset] & VALUE_KNOWN) != 0)
+            return (chunk[offset] & 0xFF) >>> VALUE_SHIFT;
+
+        int value = 0;
+        for(int ny = Math.max(y - 1, 0); ny <= Math.min(y + 1, _height - 1); ny++)
+            for(int nx = Math.max(x - 1, 0); nx <= Math.min(x + 1, _width - 1); nx++)
+                if((nx != x || ny != y) && isMine(nx, ny))
+                    value++;
+
+        chunk[offset] |= (byte) (VALUE_KNOWN | (value << VALUE_SHIFT));
+        return value;
+    }
+
+    /**
+     * Helper method for getting the state byte of a square.
+     *
+     * @param x The x coordinate of the square.
+     * @param y The y coordinate of the square.
+     *
+     * @return The state byte.
+     */
+    private byte cell(int x, int y) {
+        return chunkOf(x, y)[offsetOf(x, y)];
+    }
+
+    /**
+     * Helper method for setting or clearing a state bit of a square.
+     *
+     * @param x The x coordinate of the square.
+     * @param y The y coordinate of the square.
+     * @param bit The state bit.
+     * @param value Whether the bit should be set.
+     */
+    private void set(int x, int y, byte bit, boolean value) {
+        byte[] chunk = chunkOf(x, y);
+        int offset = offsetOf(x, y);
+
+        if(value)
+            chunk[offset] |= bit;
+        else
+            chunk[offset] &= (byte) ~bit;
+    }
+
+    /**
+     * Helper method for getting the offset of a square within its chunk.
+     *
+     * @param x The x coordinate of the square.
+     * @param y The y coordinate of the square.
+     *
+     * @return The offset.
+     */
+    private static int offsetOf(int x, int y) {
+        return ((y & (CHUNK_SIZE - 1)) << CHUNK_SHIFT) | (x & (CHUNK_SIZE - 1));
+    }
+
+    /**
+     * Helper method for getting the chunk of a square; generating it if it
+     * does not exist yet.
+     *
+     * @param x The x coordinate of the square.
+     * @param y The y coordinate of the square.
+     *
+     * @return The chunk.
+     *
+     * @throws IndexOutOfBoundsException If the coordinate is outside the size of the board.
+     */
+    private byte[] chunkOf(int x, int y) {
+        if(x < 0 || x >= _width || y < 0 || y >= _height)
+            throw new IndexOutOfBoundsException(String.format(
+                    "Square (%d, %d) is outside the %dx%d board!", x, y, _width, _height));
+
+        int chunkX = x >>> CHUNK_SHIFT;
+        int chunkY = y >>> CHUNK_SHIFT;
+        long key = ((long) chunkX << 32) | chunkY;
+
+        // Most accesses are to the same chunk as the previous one
+        if(key == _lastKey)
+            return _lastChunk;
+
+        int mask = _chunks.length - 1;
+        int slot = (int) mix(key) & mask;
+
+        while(_chunks[slot] != null && _chunkKeys[slot] != key)
+            slot = (slot + 1) & mask;
+
+        byte[] chunk = _chunks[slot];
+        if(chunk == null) {
+            chunk = generateChunk(chunkX, chunkY);
+            _chunkKeys[slot] = key;
+            _chunks[slot] = chunk;
+
+            // Keep the table at most half full
+            if(++_chunkCount * 2 > _chunks.length)
+                growChunks();
+        }
+
+        _lastKey = key;
+        _lastChunk = chunk;
+        return chunk;
+    }
+
+    /**
+     * Helper method for doubling the capacity of the chunk table, and
+     * re-inserting every chunk.
+     */
+    private void growChunks() {
+        long[] keys = _chunkKeys;
+        byte[][] chunks = _chunks;
+        int mask = chunks.length * 2 - 1;
+
+        _chunkKeys = new long[chunks.length * 2];
+        _chunks = new byte[chunks.length * 2][];
+
+        for(int i = 0; i < chunks.length; i++) {
+            if(chunks[i] == null)
+                continue;
+
+            int slot = (int) mix(keys[i]) & mask;
+            while(_chunks[slot] != null)
+                slot = (slot + 1) & mask;
+
+            _chunkKeys[slot] = keys[i];
+            _chunks[slot] = chunks[i];
+        }
+    }
+
+    /**
+     * Method for generating the mines of a chunk. Squares outside of the
+     * board, and the protected squares around the first location, are never
+     * mines.
+     *
+     * @param chunkX The x coordinate of the chunk.
+     * @param chunkY The y coordinate of the chunk.
+     *
+     * @return The new chunk.
+     */
+    private byte[] generateChunk(int chunkX, int chunkY) {
+        byte[] chunk = new byte[CHUNK_SIZE * CHUNK_SIZE];
+        SplittableRandom random = new SplittableRandom(chunkSeed(chunkX, chunkY));
+
+        int startX = chunkX << CHUNK_SHIFT;
+        int startY = chunkY << CHUNK_SHIFT;
+
+        for(int offset = 0; offset < chunk.length; offset++) {
+            // Always draw, so the stream stays aligned with the offsets.
+            boolean mine = random.nextDouble() < _mineChance;
+
+            long x = startX + (offset & (CHUNK_SIZE - 1));
+            long y = startY + (offset >>> CHUNK_SHIFT);
+
+            if(!mine || x >= _width || y >= _height || isProtected(x, y))
+                continue;
+
+            chunk[offset] = MINE;
+            _mineCount++;
+        }
+
+        return chunk;
+    }
+
+    /**
+     * Helper method for checking if a square is the first location or one of
+     * its neighbors.
+     *
+     * @param x The x coordinate of the square.
+     * @param y The y coordinate of the square.
+     *
+     * @return Whether the square is protected.
+     */
+    private boolean isProtected(long x, long y) {
+        return _firstProtected
+                && Math.abs(x - _firstX) <= 1
+                && Math.abs(y - _firstY) <= 1;
+    }
+
+    /**
+     * Method for deriving the seed of a chunk from the seed of the board and
+     * the coordinates of the chunk.
+     *
+     * @param chunkX The x coordinate of the chunk.
+     * @param chunkY The y coordinate of the chunk.
+     *
+     * @return The seed of the chunk.
+     */
+    private long chunkSeed(int chunkX, int chunkY) {
+        return mix(mix(_seed + chunkX * 0x9E3779B97F4A7C15L) + chunkY * 0xC2B2AE3D27D4EB4FL);
+    }
+
+    /**
+     * Helper method for scrambling the bits of a value (the finalizer of
+     * SplitMix64), so that nearby chunks get unrelated seeds.
+     *
+     * @param value The value.
+     *
+     * @return The scrambled value.
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    /**
+     * Helper method for getting the number of chunks along an axis.
+     *
+     * @param squares The number of squares along the axis.
+     *
+     * @return The number of chunks.
+     */
+    private static long chunksAlong(int squares) {
+        return ((long) squares + CHUNK_SIZE - 1) >>> CHUNK_SHIFT;
+    }
+}
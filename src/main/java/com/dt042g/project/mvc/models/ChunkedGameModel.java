@@ -0,0 +1,462 @@
+package com.dt042g.project.mvc.models;
+
+import com.dt042g.project.mvc.observer.RevealBatch;
+
+import java.awt.Point;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+import java.util.SplittableRandom;
+
+/**
+ * The game model component for very large boards; a concrete implementation
+ * of a Model backed by a lazily generated *ChunkedBoard*.
+ *
+ * Unlike *GameModel*, nothing is generated up front; only the chunks touched
+ * by reveals, flags and value queries are, so the dimensions of the board
+ * may be (almost) arbitrarily large. The trade-off is that the number of
+ * mines is not exact, since each square independently is a mine with the
+ * given chance. The win event is only pushed once every chunk has been
+ * generated, since the number of mines is not known before then. Like
+ * *GameModel*, squares are no longer selected or chorded once the game is
+ * won or lost, until it is reset.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+public class ChunkedGameModel extends Model {
+    private final int INITIAL_REVEAL_BUFFER_SIZE = 1024;
+    private final int _width;
+    private final int _height;
+    private final double _mineChance;
+
+    private ChunkedBoard _board;
+    private GameState _state = GameState.NOT_STARTED;
+    private long _revealedCount;
+    private long[] _revealBuffer = new long[INITIAL_REVEAL_BUFFER_SIZE];
+    private final SplittableRandom _seedSource = new SplittableRandom();
+    private long _seed;
+    private boolean _seedPinned = false;
+
+    /**
+     * Constructor to initialize the model. Note that this does not generate
+     * anything; chunks are only generated as they are accessed, after the
+     * first call to *selectSquare*.
+     *
+     * @param width The number of squares along the x-axis.
+     * @param height The number of squares along the y-axis.
+     * @param mineChance The chance of each square being a mine; 0 to 1.
+     *
+     * @throws IllegalArgumentException If a dimension is negative, or the mine chance is not within 0 to 1.
+     */
+    public ChunkedGameModel(int width, int height, double mineChance) {
+        if(width < 0 || height < 0)
+            throw new IllegalArgumentException(String.format("Invalid board dimensions %dx%d!", width, height));
+        if(!(mineChance >= 0 && mineChance <= 1))
+            throw new IllegalArgumentException(String.format("Invalid mine chance %f!", mineChance));
+
+        _width = width;
+        _height = height;
+        _mineChance = mineChance;
+        _board = null;
+        _revealedCount = 0;
+    }
+
+    /**
+     * Method for getting the width of the board.
+     *
+     * @return The number of squares along the x-axis.
+     */
+    public int getWidth() {
+        return _width;
+    }
+
+    /**
+     * Method for getting the height of the board.
+     *
+     * @return The number of squares along the y-axis.
+     */
+    public int getHeight() {
+        return _height;
+    }
+
+    /**
+     * Method for getting the number of chunks generated for the current board.
+     *
+     * @return The number of generated chunks; 0 if there is no board.
+     */
+    public int getChunkCount() {
+        return _board == null ? 0 : _board.getChunkCount();
+    }
+
+    /**
+     * Method for getting the state of the game.
+     *
+     * @return The state.
+     */
+    public GameState getState() {
+        return _state;
+    }
+
+    /**
+     * Method for pinning the seed used to generate the board. As long as the
+     * seed is pinned, every generated board is identical given the same first
+     * location; including after a reset.
+     *
+     * @param seed The seed.
+     */
+    public void setSeed(long seed) {
+        _seed = seed;
+        _seedPinned = true;
+    }
+
+    /**
+     * Method for un-pinning the seed; so that each new board is generated from
+     * a new random seed.
+     */
+    public void clearSeed() {
+        _seedPinned = false;
+    }
+
+    /**
+     * Method for getting the seed of the current board; or the pinned seed if
+     * no board has been generated.
+     *
+     * @return The seed.
+     */
+    public long getSeed() {
+        return _seed;
+    }
+
+    /**
+     * Method for creating a new (not yet generated) board.
+     *
+     * @param firstX The x coordinate of the first clicked square.
+     * @param firstY The y coordinate of the first clicked square.
+     */
+    private void generateSquares(int firstX, int firstY) {
+        if(!_seedPinned)
+            _seed = _seedSource.nextLong();
+
+        _board = new ChunkedBoard(_width, _height, _mineChance, _seed, firstX, firstY);
+        _revealedCount = 0;
+        _state = GameState.RUNNING;
+    }
+
+    /**
+     * Method for getting the number of neighboring mines to a square.
+     *
+     * @param x The x coordinate of the square to check.
+     * @param y The y coordinate of the square to check.
+     * @return The number of neighboring mines, or -1 if the square is a mine.
+     * @throws IndexOutOfBoundsException If the coordinate is outside the size of the board.
+     */
+    @Override
+    public int getSquareValue(int x, int y) {
+        if(_board == null)
+            return -1;
+
+        return _board.isMine(x, y) ? -1 : _board.getNeighborMineCount(x, y);
+    }
+
+    /**
+     * Method for checking if a square is currently flagged.
+     *
+     * @param x The x coordinate of the square to check.
+     * @param y The y coordinate of the square to check.
+     * @return Whether the square is flagged.
+     * @throws IndexOutOfBoundsException If the coordinate is outside the size of the board.
+     */
+    @Override
+    public boolean isFlagged(int x, int y) {
+        return _board != null && _board.isFlagged(x, y);
+    }
+
+    /**
+     * Method for checking if a square is a mine.
+     *
+     * @param x The x coordinate of the square to check.
+     * @param y The y coordinate of the square to check.
+     * @return Whether the square is a mine.
+     * @throws IndexOutOfBoundsException If the coordinate is outside the size of the board.
+     */
+    @Override
+    public boolean isMine(int x, int y) {
+        return _board != null && _board.isMine(x, y);
+    }
+
+    /**
+     * Method for checking if a square is revealed.
+     *
+     * @param x The x coordinate of the square to check.
+     * @param y The y coordinate of the square to check.
+     * @return Whether the square is revealed.
+     * @throws IndexOutOfBoundsException If the coordinate is outside the size of the board.
+     */
+    @Override
+    public boolean isRevealed(int x, int y) {
+        return _board != null && _board.isRevealed(x, y);
+    }
+
+    /**
+     * Method for selecting a square to be revealed. Once the game is won or
+     * lost, squares are no longer selected until the game is reset.
+     *
+     * @param x The x coordinate of the square to reveal.
+     * @param y The y coordinate of the square to reveal.
+     * @throws IndexOutOfBoundsException If the coordinate is outside the size of the board.
+     */
+    @Override
+    public void selectSquare(int x, int y) {
+        if(_state == GameState.WON || _state == GameState.LOST)
+            return;
+
+        if(_board == null)
+            generateSquares(x, y);
+
+        if(isRevealed(x, y) || isFlagged(x, y))
+            return;
+
+        if(isMine(x, y)) {
+            _state = GameState.LOST;
+            pushMineHitEvent(x, y);
+            return;
+        }
+
+        pushRevealed(findAndRevealZeroValueNeighbors(x, y));
+    }
+
+    /**
+     * Method for "chording" a square; see *GameModel*. Every neighbor is
+     * enqueued in the same fill, and a single event is pushed.
+     *
+     * @param x The x coordinate of the square to chord.
+     * @param y The y coordinate of the square to chord.
+     * @throws IndexOutOfBoundsException If the coordinate is outside the size of the board.
+     */
+    @Override
+    public void chordSquare(int x, int y) {
+        if(_board == null || _state == GameState.WON || _state == GameState.LOST)
+            return;
+        if(!isRevealed(x, y) || isMine(x, y))
+            return;
+
+        int minX = Math.max(x - 1, 0);
+        int maxX = Math.min(x + 1, _width - 1);
+        int minY = Math.max(y - 1, 0);
+        int maxY = Math.min(y + 1, _height - 1);
+        int flagged = 0;
+        int mineX = -1;
+        int mineY = -1;
+
+        // Only the neighbors count; the square itself may be flagged too
+        for(int ny = minY; ny <= maxY; ny++) {
+            for(int nx = minX; nx <= maxX; nx++) {
+                if(nx == x && ny == y)
+                    continue;
+
+                if(_board.isFlagged(nx, ny))
+                    flagged++;
+                else if(mineX < 0 && !_board.isRevealed(nx, ny) && _board.isMine(nx, ny)) {
+                    mineX = nx;
+                    mineY = ny;
+                }
+            }
+        }
+
+        if(flagged != _board.getNeighborMineCount(x, y))
+            return;
+
+        if(mineX >= 0) {
+            _state = GameState.LOST;
+            pushMineHitEvent(mineX, mineY);
+            return;
+        }
+
+        int tail = 0;
+        for(int ny = minY; ny <= maxY; ny++)
+            for(int nx = minX; nx <= maxX; nx++)
+                if(nx != x || ny != y)
+                    tail = enqueueReveal(nx, ny, tail);
+
+        if(tail > 0)
+            pushRevealed(fillReveal(tail));
+    }
+
+    /**
+     * Method for pushing the squares revealed by a fill as a single "reveal
+     * square" event; followed by a "win" event if every square without a
+     * mine is now revealed.
+     *
+     * The squares are pushed as a *RevealBatch* if their cell indices fit in
+     * an int; as every view does. Otherwise they are pushed as a list over a
+     * copy of the packed coordinates, which creates a location only when an
+     * element is accessed.
+     *
+     * @param revealed The number of revealed squares; stored at the start of *_revealBuffer*.
+     */
+    private void pushRevealed(int revealed) {
+        _revealedCount += revealed;
+
+        if(_board.size() <= Integer.MAX_VALUE) {
+            int[] indices = new int[revealed];
+            byte[] values = new byte[revealed];
+
+            for(int i = 0; i < revealed; i++) {
+                int x = (int) (_revealBuffer[i] >> 32);
+                int y = (int) _revealBuffer[i];
+
+                indices[i] = y * _width + x;
+                values[i] = (byte) _board.getNeighborMineCount(x, y);
+            }
+
+            pushRevealSquareEvent(new RevealBatch(indices, values, _width));
+        } else {
+            pushRevealSquareEvent(new PackedLocations(Arrays.copyOf(_revealBuffer, revealed)));
+        }
+
+        if(_board.isFullyGenerated() && _revealedCount + _board.getGeneratedMineCount() == _board.size()) {
+            _state = GameState.WON;
+            pushWinEvent();
+        }
+    }
+
+    /**
+     * Method for getting (and revealing) all "zero-value" related neighbors of
+     * a square; see *GameModel*. The queue is the reusable *_revealBuffer*,
+     * holding each square as its x coordinate in the upper and its y
+     * coordinate in the lower half of a long.
+     *
+     * @param x The x coordinate of the original square.
+     * @param y The y coordinate of the original square.
+     *
+     * @return The number of revealed squares; stored at the start of *_revealBuffer*.
+     */
+    private int findAndRevealZeroValueNeighbors(int x, int y) {
+        return fillReveal(enqueueReveal(x, y, 0));
+    }
+
+    /**
+     * Method for enqueueing a square to be revealed by *fillReveal*; unless
+     * it is already revealed, flagged or a mine. The square is set to
+     * revealed when it is enqueued, to make sure each square is only
+     * enqueued once.
+     *
+     * @param x The x coordinate of the square.
+     * @param y The y coordinate of the square.
+     * @param tail The number of squares already in the queue.
+     *
+     * @return The new number of squares in the queue.
+     */
+    private int enqueueReveal(int x, int y, int tail) {
+        // Don't check already revealed squares, flagged squares and mines.
+        if(_board.isBlocked(x, y))
+            return tail;
+
+        if(tail == _revealBuffer.length)
+            _revealBuffer = Arrays.copyOf(_revealBuffer, _revealBuffer.length * 2);
+
+        _board.setRevealed(x, y, true);
+        _revealBuffer[tail] = pack(x, y);
+        return tail + 1;
+    }
+
+    /**
+     * Method for revealing the enqueued squares, and every "zero-value"
+     * related neighbor of them.
+     *
+     * @param tail The number of squares already in the queue.
+     *
+     * @return The number of revealed squares; stored at the start of *_revealBuffer*.
+     */
+    private int fillReveal(int tail) {
+        int head = 0;
+
+        while(head < tail) {
+            long current = _revealBuffer[head++];
+            int cx = (int) (current >> 32);
+            int cy = (int) current;
+
+            // Only expand the fill from zero-value squares
+            if(getSquareValue(cx, cy) != 0)
+                continue;
+
+            for(int ny = Math.max(cy - 1, 0); ny <= Math.min(cy + 1, _height - 1); ny++)
+                for(int nx = Math.max(cx - 1, 0); nx <= Math.min(cx + 1, _width - 1); nx++)
+                    tail = enqueueReveal(nx, ny, tail);
+        }
+
+        return tail;
+    }
+
+    /**
+     * Helper method for packing a coordinate into a long.
+     *
+     * @param x The x coordinate.
+     * @param y The y coordinate.
+     *
+     * @return The packed coordinate.
+     */
+    private static long pack(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Method for setting the flagged value of a square.
+     *
+     * @param x The x coordinate of the square to flag.
+     * @param y The y coordinate of the square to flag.
+     * @param value The flag value; true = flagged, false = not flagged.
+     * @throws IndexOutOfBoundsException If the coordinate is outside the size of the board.
+     */
+    @Override
+    public void setSquareFlag(int x, int y, boolean value) {
+        if(_board == null)
+            return;
+
+        _board.setFlagged(x, y, value);
+    }
+
+    /**
+     * Method for resetting the backing game board; I.E. restarting the game.
+     * This drops every generated chunk.
+     */
+    @Override
+    public void reset() {
+        _board = null;
+        _state = GameState.NOT_STARTED;
+    }
+
+    /**
+     * Class serving as an immutable list of locations over coordinates packed
+     * into longs; see *pack*.
+     */
+    private static class PackedLocations extends AbstractList<Point> implements RandomAccess {
+        private final long[] _coordinates;
+
+        /**
+         * Constructor to initialize the list. Note that the array is not
+         * copied, so it must not be modified afterwards.
+         *
+         * @param coordinates The packed coordinates.
+         */
+        PackedLocations(long[] coordinates) {
+            _coordinates = coordinates;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Point get(int position) {
+            return new Point((int) (_coordinates[position] >> 32), (int) _coordinates[position]);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int size() {
+            return _coordinates.length;
+        }
+    }
+}
@@ -1,22 +1,44 @@
 package com.dt042g.project.mvc.models;
 
+import com.dt042g.project.mvc.observer.RevealBatch;
+
 import java.awt.Point;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Random;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * The game model component containing a concrete implementation of a Model.
  *
+ * The number of revealed and flagged squares are kept up to date as the game
+ * is played, along with the state of the game; so none of them ever requires
+ * walking the board.
+ *
  * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
  */
 public class GameModel extends Model {
-    private final double MINE_CHANCE = 0.15;
-    private final int _boardSize;
-
-    private List<List<BackingSquare>> _board;
+    public static final double DEFAULT_MINE_CHANCE = 0.15;
+    private static final int DENSITY_MODE = -1;
+    private final int INITIAL_REVEAL_BUFFER_SIZE = 1024;
+    private final int PARALLEL_GENERATION_THRESHOLD = 1 << 20;
+    private final int _width;
+    private final int _height;
+    private final double _mineChance;
+    private final int _requestedMineCount;
+
+    private PackedBoard _board;
     private int _mineCount;
     private int _revealedCount;
+    private int _flaggedCount;
+    private GameState _state;
+    private int[] _revealBuffer;
+    private byte[] _valueBuffer;
+    private final int[] _neighborBuffer = new int[8];
+    private final int[] _chordBuffer = new int[8];
+    private final SplittableRandom _seedSource = new SplittableRandom();
+    private long _seed;
+    private boolean _seedPinned = false;
+    private BoardSource _boardSource = null;
 
     /**
      * Constructor to initialize the model. Note that this
@@ -26,246 +48,582 @@ public class GameModel extends Model {
      * @param boardSize The size of the board.
      */
     public GameModel(int boardSize) {
-        _boardSize = boardSize;
+        this(boardSize, DEFAULT_MINE_CHANCE);
+    }
+
+    /**
+     * Constructor to initialize the model with a custom chance of each square
+     * being a mine. Note that this does not generate the board; this is only
+     * done after the first call to *selectSquare*.
+     *
+     * @param boardSize The size of the board.
+     * @param mineChance The chance of each square being a mine; 0 to 1.
+     *
+     * @throws IllegalArgumentException If the mine chance is not within 0 to 1.
+     */
+    public GameModel(int boardSize, double mineChance) {
+        this(boardSize, boardSize, mineChance);
+    }
+
+    /**
+     * Constructor to initialize a rectangular model in "density" mode; where
+     * the number of mines is the mine chance times the number of squares,
+     * rounded to the nearest integer. Note that this does not generate the
+     * board; this is only done after the first call to *selectSquare*.
+     *
+     * @param width The number of squares along the x-axis.
+     * @param height The number of squares along the y-axis.
+     * @param mineChance The chance of each square being a mine; 0 to 1.
+     *
+     * @throws IllegalArgumentException If a dimension is negative, or the mine chance is not within 0 to 1.
+     */
+    public GameModel(int width, int height, double mineChance) {
+        this(width, height, mineChance, DENSITY_MODE);
+    }
+
+    /**
+     * Constructor to initialize a rectangular model with an exact number of
+     * mines. Note that this does not generate the board; this is only done
+     * after the first call to *selectSquare*.
+     *
+     * If there are not enough squares outside of the first clicked square and
+     * its neighbors, the board is instead filled with as many mines as fit.
+     *
+     * @param width The number of squares along the x-axis.
+     * @param height The number of squares along the y-axis.
+     * @param mineCount The exact number of mines.
+     *
+     * @throws IllegalArgumentException If a dimension or the mine count is negative.
+     */
+    public GameModel(int width, int height, int mineCount) {
+        this(width, height, 0, requireValidMineCount(mineCount));
+    }
+
+    /**
+     * Common constructor for all board configurations.
+     *
+     * @param width The number of squares along the x-axis.
+     * @param height The number of squares along the y-axis.
+     * @param mineChance The chance of each square being a mine; 0 to 1.
+     * @param mineCount The exact number of mines, or *DENSITY_MODE* to derive it from the mine chance.
+     *
+     * @throws IllegalArgumentException If a dimension is negative, or the mine chance is not within 0 to 1.
+     */
+    private GameModel(int width, int height, double mineChance, int mineCount) {
+        if(width < 0 || height < 0 || (long) width * height > Integer.MAX_VALUE)
+            throw new IllegalArgumentException(String.format("Invalid board dimensions %dx%d!", width, height));
+        if(mineCount == DENSITY_MODE && !(mineChance >= 0 && mineChance <= 1))
+            throw new IllegalArgumentException(String.format("Invalid mine chance %f!", mineChance));
+
+        _width = width;
+        _height = height;
+        _mineChance = mineChance;
+        _requestedMineCount = mineCount;
         _board = null;
         _mineCount = 0;
         _revealedCount = 0;
+        _flaggedCount = 0;
+        _state = GameState.NOT_STARTED;
     }
 
     /**
-     * Method for (re)generating every square on the board.
+     * Helper method for validating an exact mine count.
+     *
+     * @param mineCount The mine count.
+     *
+     * @return The same mine count.
+     *
+     * @throws IllegalArgumentException If the mine count is negative.
      */
-    private void generateSquares(Point firstLocation)  {
-        _board = new ArrayList<>();
-        _mineCount = 0;
-        _revealedCount = 0;
+    private static int requireValidMineCount(int mineCount) {
+        if(mineCount < 0)
+            throw new IllegalArgumentException(String.format("Invalid mine count %d!", mineCount));
 
-        Random random = new Random();
+        return mineCount;
+    }
+
+    /**
+     * Method for getting the width of the board.
+     *
+     * @return The number of squares along the x-axis.
+     */
+    public int getWidth() {
+        return _width;
+    }
 
-        // Add "rows" to board
-        for(int i = _board.size(); i < _boardSize; i++)
-            _board.add(i, new ArrayList<>());
+    /**
+     * Method for getting the height of the board.
+     *
+     * @return The number of squares along the y-axis.
+     */
+    public int getHeight() {
+        return _height;
+    }
 
-        // Iterate through each "row"
-        for(List<BackingSquare> row : _board) {
-            // Iterate through each square in row
-            for(int i = 0; i < _boardSize; i++) {
-                // Create a new backing square
-                row.add(i, new BackingSquare());
+    /**
+     * Method for getting the number of mines on the board; as a player would
+     * be told. Before the board is generated, this is the number of mines it
+     * will be generated with (unless the first click leaves too few squares).
+     *
+     * @return The number of mines.
+     */
+    public int getMineCount() {
+        return _board != null ? _mineCount : getRequestedMineCount();
+    }
 
-                // Randomize whether the square is a mine
-                boolean isMine = random.nextDouble() < MINE_CHANCE;
+    /**
+     * Method for getting the number of mines not yet flagged; as a mine
+     * counter would show it. This is negative if more squares are flagged
+     * than there are mines.
+     *
+     * @return The number of mines minus the number of flagged squares.
+     */
+    public int getRemainingMineCount() {
+        return getMineCount() - _flaggedCount;
+    }
 
-                // Set whether it is a mine
-                row.get(i).setMine(isMine);
+    /**
+     * Method for getting the number of flagged squares.
+     *
+     * @return The number of squares.
+     */
+    public int getFlaggedCount() {
+        return _flaggedCount;
+    }
 
-                // Increment the mine count if appropriate
-                _mineCount += isMine ? 1 : 0;
-            }
-        }
+    /**
+     * Method for getting the number of revealed squares.
+     *
+     * @return The number of squares.
+     */
+    public int getRevealedCount() {
+        return _revealedCount;
+    }
 
-        // Skip "first square protection" if first location is null
-        if(firstLocation == null)
-            return;
+    /**
+     * Method for getting the state of the game.
+     *
+     * @return The state.
+     */
+    public GameState getState() {
+        return _state;
+    }
 
-        // The first square clicked is a mine, make it not a mine.
-        if(isMine(firstLocation)) {
-            _board.get(firstLocation.x).get(firstLocation.y).setMine(false);
-            _mineCount--;
-        }
+    /**
+     * Helper method for getting the number of mines to generate a board with.
+     *
+     * @return The number of mines.
+     */
+    private int getRequestedMineCount() {
+        return _requestedMineCount != DENSITY_MODE
+                ? _requestedMineCount
+                : (int) Math.round(_mineChance * _width * _height);
+    }
 
-        // Check each neighbour of the first clicked square.
-        for(Point neighbor : getNeighbors(firstLocation)) {
-            // If the neighbor is a mine, make it not a mine.
-            if(isMine(neighbor)) {
-                _board.get(neighbor.x).get(neighbor.y).setMine(false);
-                _mineCount--;
-            }
-        }
+    /**
+     * Method for setting where the boards of this model come from; for
+     * example boards which can be solved without guessing. The source is used
+     * from the next generated board.
+     *
+     * @param boardSource The source; or null to generate random boards.
+     */
+    public void setBoardSource(BoardSource boardSource) {
+        _boardSource = boardSource;
     }
 
     /**
-     * Method for getting all the neighbor squares of a location.
+     * Method for pinning the seed used to generate the board. As long as the
+     * seed is pinned, every generated board is identical given the same first
+     * location; including after a reset. Mainly intended for debugging,
+     * benchmarking and replays.
      *
-     * @param location The location of the subject.
+     * @param seed The seed.
+     */
+    public void setSeed(long seed) {
+        _seed = seed;
+        _seedPinned = true;
+    }
+
+    /**
+     * Method for un-pinning the seed; so that each new board is generated from
+     * a new random seed.
+     */
+    public void clearSeed() {
+        _seedPinned = false;
+    }
+
+    /**
+     * Method for getting the seed of the current board; or the pinned seed if
+     * no board has been generated. Passing this to *setSeed* on a model of the
+     * same configuration, and selecting the same first square, reproduces the
+     * board.
      *
-     * @return The neighbors.
+     * @return The seed.
      */
-    private List<Point> getNeighbors(Point location) {
-        List<Point> neighbors = new ArrayList<>();
+    public long getSeed() {
+        return _seed;
+    }
 
-        if(location == null)
-            return neighbors;
+    /**
+     * Method for (re)generating every square on the board. Boards of at
+     * least *PARALLEL_GENERATION_THRESHOLD* squares are generated in parallel
+     * on the common pool (if it has more than one worker), which gives the
+     * exact same board. On a single worker the extra neighbor count pass of
+     * parallel generation makes it slower than sequential generation.
+     *
+     * If a board source is set, the board is created by it instead.
+     *
+     * @param firstLocation The location of the first clicked square, or null.
+     */
+    private void generateSquares(Point firstLocation)  {
+        BoardGenerator generator = new BoardGenerator(_width, _height);
+        generateSquares(generator, firstLocation == null
+                ? BoardGenerator.NO_FIRST_SQUARE : generator.indexOf(firstLocation.x, firstLocation.y));
+    }
 
-        if(location.x > 0)
-            neighbors.add(new Point(location.x - 1, location.y)); // West
-        if(location.x < _boardSize - 1)
-            neighbors.add(new Point(location.x + 1, location.y)); // East
-        if(location.y > 0)
-            neighbors.add(new Point(location.x, location.y - 1)); // North
-        if(location.y < _boardSize - 1)
-            neighbors.add(new Point(location.x, location.y + 1)); // South
-        if(location.x > 0 && location.y > 0)
-            neighbors.add(new Point(location.x - 1, location.y - 1)); // North-west
-        if(location.x < _boardSize - 1 && location.y < _boardSize - 1)
-            neighbors.add(new Point(location.x + 1, location.y + 1)); // South-east
-        if(location.x > 0 && location.y < _boardSize - 1)
-            neighbors.add(new Point(location.x - 1, location.y + 1)); // South-west
-        if(location.x < _boardSize - 1 && location.y > 0)
-            neighbors.add(new Point(location.x + 1, location.y - 1)); // North-east
+    /**
+     * Method for (re)generating every square on the board, with the first
+     * clicked square given as a packed cell index. A *Point* is only created
+     * for a board source.
+     *
+     * @param generator The generator for boards of this size.
+     * @param firstSquare The packed cell index of the first clicked square, or *NO_FIRST_SQUARE*.
+     */
+    private void generateSquares(BoardGenerator generator, int firstSquare) {
+        if(!_seedPinned)
+            _seed = _seedSource.nextLong();
+
+        int mines = getRequestedMineCount();
+
+        if(_boardSource != null) {
+            Point firstLocation = firstSquare == BoardGenerator.NO_FIRST_SQUARE
+                    ? null : new Point(firstSquare % _width, firstSquare / _width);
+            _board = _boardSource.createBoard(_width, _height, mines, _seed, firstLocation);
+        } else {
+            boolean parallel = ForkJoinPool.getCommonPoolParallelism() > 1
+                    && (long) _width * _height >= PARALLEL_GENERATION_THRESHOLD;
+
+            _board = parallel
+                    ? generator.generate(mines, _seed, firstSquare, ForkJoinPool.commonPool())
+                    : generator.generate(mines, _seed, firstSquare);
+        }
 
-        return neighbors;
+        _mineCount = _board.getMineCount();
+        _revealedCount = 0;
+        _flaggedCount = 0;
+        _state = GameState.RUNNING;
     }
 
     /**
      * Method for getting the number of neighboring mines to a square.
      *
-     * @param location The location of the square to check.
+     * @param x The x coordinate of the square to check.
+     * @param y The y coordinate of the square to check.
      * @return The number of neighboring mines.
-     * @throws IndexOutOfBoundsException If the location is outside the size of the board.
+     * @throws IndexOutOfBoundsException If the coordinate is outside the size of the board.
      */
     @Override
-    public int getSquareValue(Point location) {
-        if(_board == null || isMine(location))
+    public int getSquareValue(int x, int y) {
+        if(_board == null)
             return -1;
 
-        int value = 0;
-
-        for (Point neighbor : getNeighbors(location)) {
-            value += _board.get(neighbor.x).get(neighbor.y).isMine() ? 1 : 0;
-        }
-
-        return value;
+        return getSquareValue(_board.indexOf(x, y));
     }
 
     /**
      * Method for checking if a square is currently flagged.
      *
-     * @param location The location of the square to check.
+     * @param x The x coordinate of the square to check.
+     * @param y The y coordinate of the square to check.
      * @return Whether the square is flagged.
-     * @throws IndexOutOfBoundsException If the location is outside the size of the board.
+     * @throws IndexOutOfBoundsException If the coordinate is outside the size of the board.
      */
     @Override
-    public boolean isFlagged(Point location) {
+    public boolean isFlagged(int x, int y) {
         if(_board == null)
             return false;
 
-        return _board.get(location.x).get(location.y).isFlagged();
+        return _board.isFlagged(_board.indexOf(x, y));
     }
 
     /**
      * Method for checking if a square is a mine.
      *
-     * @param location The location of the square to check.
+     * @param x The x coordinate of the square to check.
+     * @param y The y coordinate of the square to check.
      *
      * @return Whether the square is a mine.
      *
-     * @throws IndexOutOfBoundsException If the location is outside the size of the board.
-     * @throws NullPointerException If the location is null.
+     * @throws IndexOutOfBoundsException If the coordinate is outside the size of the board.
      */
     @Override
-    public boolean isMine(Point location) {
+    public boolean isMine(int x, int y) {
         if(_board == null)
             return false;
 
-        return _board.get(location.x).get(location.y).isMine();
+        return _board.isMine(_board.indexOf(x, y));
     }
 
     /**
      * Method for checking if a square is revealed.
      *
-     * @param location The location of the square to check.
+     * @param x The x coordinate of the square to check.
+     * @param y The y coordinate of the square to check.
      * @return Whether the square is revealed.
-     * @throws IndexOutOfBoundsException If the location is outside the size of the board.
+     * @throws IndexOutOfBoundsException If the coordinate is outside the size of the board.
      */
     @Override
-    public boolean isRevealed(Point location) {
-        return _board != null && _board.get(location.x).get(location.y).isRevealed();
+    public boolean isRevealed(int x, int y) {
+        return _board != null && _board.isRevealed(_board.indexOf(x, y));
     }
 
     /**
-     * Method for selecting a square to be revealed.
+     * Method for selecting a square to be revealed. Once the game is won or
+     * lost, squares are no longer selected until the game is reset.
      *
-     * @param location The location of the square to reveal.
-     * @throws IndexOutOfBoundsException If the location is outside the size of the board.
+     * @param x The x coordinate of the square to reveal.
+     * @param y The y coordinate of the square to reveal.
+     * @throws IndexOutOfBoundsException If the coordinate is outside the size of the board.
      */
     @Override
-    public void selectSquare(Point location) {
-        if(_board == null)
-            generateSquares(location);
+    public void selectSquare(int x, int y) {
+        if(_state == GameState.WON || _state == GameState.LOST)
+            return;
 
-        if(isRevealed(location) || isFlagged(location))
+        if(_board == null) {
+            BoardGenerator generator = new BoardGenerator(_width, _height);
+            generateSquares(generator, generator.indexOf(x, y));
+        }
+
+        int index = _board.indexOf(x, y);
+
+        if(_board.isRevealed(index) || _board.isFlagged(index))
             return;
 
-        if(isMine(location)) {
-            pushMineHitEvent(location);
+        if(_board.isMine(index)) {
+            _state = GameState.LOST;
+            pushMineHitEvent(x, y);
             return;
         }
 
-        List<Point> locations = findAndRevealZeroValueNeighbors(location);
-        _revealedCount += locations.size();
-        pushRevealSquareEvent(locations);
+        pushRevealed(findAndRevealZeroValueNeighbors(index));
+    }
+
+    /**
+     * Method for "chording" a square; I.E. revealing every hidden, not
+     * flagged neighbor of a revealed square at once, if the number of flagged
+     * neighbors is the value of the square. Ignored if the square is not
+     * revealed or the flags do not match, and once the game is won or lost.
+     *
+     * If a revealed neighbor is a mine (I.E. a flag is wrong), nothing is
+     * revealed and a single "mine hit" event is pushed. Otherwise every
+     * neighbor is enqueued in the same fill, so squares reachable from more
+     * than one neighbor are only revealed once; and a single "reveal square"
+     * event is pushed.
+     *
+     * @param x The x coordinate of the square to chord.
+     * @param y The y coordinate of the square to chord.
+     * @throws IndexOutOfBoundsException If the coordinate is outside the size of the board.
+     */
+    @Override
+    public void chordSquare(int x, int y) {
+        if(_board == null || _state == GameState.WON || _state == GameState.LOST)
+            return;
+
+        int index = _board.indexOf(x, y);
+
+        if(!_board.isRevealed(index) || _board.isMine(index))
+            return;
+
+        int neighborCount = _board.getNeighbors(index, _chordBuffer);
+        int flagged = 0;
+        int mine = -1;
+
+        for(int i = 0; i < neighborCount; i++) {
+            int neighbor = _chordBuffer[i];
+
+            if(_board.isFlagged(neighbor))
+                flagged++;
+            else if(mine < 0 && !_board.isRevealed(neighbor) && _board.isMine(neighbor))
+                mine = neighbor;
+        }
+
+        if(flagged != _board.getNeighborMineCount(index))
+            return;
+
+        if(mine >= 0) {
+            _state = GameState.LOST;
+            pushMineHitEvent(_board.xOf(mine), _board.yOf(mine));
+            return;
+        }
+
+        int tail = 0;
+        for(int i = 0; i < neighborCount; i++)
+            tail = enqueueReveal(_chordBuffer[i], tail);
+
+        if(tail > 0)
+            pushRevealed(fillReveal(tail));
+    }
+
+    /**
+     * Method for pushing the squares revealed by a fill as a single "reveal
+     * square" event; followed by a "win" event if every square without a
+     * mine is now revealed.
+     *
+     * @param revealed The number of revealed squares; stored at the start of *_revealBuffer*.
+     */
+    private void pushRevealed(int revealed) {
+        _revealedCount += revealed;
+        pushRevealSquareEvent(new RevealBatch(
+                Arrays.copyOf(_revealBuffer, revealed), Arrays.copyOf(_valueBuffer, revealed), _board.getWidth()));
 
-        if(_revealedCount + _mineCount == _boardSize * _boardSize)
+        if(_revealedCount + _mineCount == _board.size()) {
+            _state = GameState.WON;
             pushWinEvent();
+        }
     }
 
     /**
-     * Method for getting (and revealing) all "zero-value" related (recursive)
-     * neighbors of a square.
+     * Method for getting (and revealing) all "zero-value" related neighbors of
+     * a square.
      *
-     * This method checks the provided location to see if it is zero. If it is,
-     * then all of its neighbors are included. Then it checks each of the
-     * neighbors for zero-value squares. If one is found, the method recurses to
-     * also include its neighbors and to again look for zero-value neighbors.
+     * This method checks the provided square to see if it is zero. If it is,
+     * then all of its neighbors are included. Each included neighbor is in
+     * turn checked for a zero value, and if so its neighbors are included as
+     * well; until no more zero-value squares are found.
      *
-     * The result being the original location, plus any "zero-value" related
+     * The result being the original square, plus any "zero-value" related
      * squares. This is used when revealing squares, to give the player extra
      * vision by automatically revealing zero-value squares.
      *
-     * @param location The original location.
+     * The fill is iterative (breadth-first) rather than recursive, so it
+     * cannot overflow the stack regardless of the board size. The queue is the
+     * reusable *_revealBuffer*, and since every square is revealed as it is
+     * enqueued (and therefore enqueued at most once), the first *n* entries of
+     * the buffer are exactly the squares revealed by this call. The value of
+     * each square is looked up as it is dequeued, and stored at the same
+     * position in *_valueBuffer*.
+     *
+     * @param index The packed cell index of the original square.
      *
-     * @return All zero-value related squares.
+     * @return The number of revealed squares; stored at the start of *_revealBuffer*.
      */
-    private List<Point> findAndRevealZeroValueNeighbors(Point location) {
-        List<Point> locations = new ArrayList<>();
+    private int findAndRevealZeroValueNeighbors(int index) {
+        return fillReveal(enqueueReveal(index, 0));
+    }
 
+    /**
+     * Method for enqueueing a square to be revealed by *fillReveal*; unless
+     * it is already revealed, flagged or a mine.
+     *
+     * Set the square to revealed when it is enqueued, since it is to be
+     * shown. But also to make sure each square is only enqueued once. So be
+     * careful if you are making modifications to this.
+     *
+     * @param index The packed cell index of the square.
+     * @param tail The number of squares already in the queue.
+     *
+     * @return The new number of squares in the queue.
+     */
+    private int enqueueReveal(int index, int tail) {
         // Don't check already revealed squares, flagged squares and mines.
-        if(isRevealed(location) || isFlagged(location) || isMine(location))
-            return locations;
-
-        // Set the current square to revealed, since it is to be shown. But also
-        // to avoid infinite recursion loops. So be careful if you are making
-        // modifications to this.
-        _board.get(location.x).get(location.y).setRevealed(true);
-        locations.add(location);
-
-        // Check if the current square is zero
-        if(getSquareValue(location) == 0) {
-            // If so recurse for each neighbor, and check for their zero value
-            // neighbors. Note that this also adds all the current squares
-            // neighbors to the "locations" list, since this method at a minimum
-            // returns the original provided location.
-            for(Point neighbor : getNeighbors(location))
-                locations.addAll(findAndRevealZeroValueNeighbors(neighbor));
+        if(_board.isBlocked(index))
+            return tail;
+
+        if(_revealBuffer == null || tail == _revealBuffer.length)
+            ensureRevealBuffer(tail + 1);
+
+        _board.setRevealed(index, true);
+        _revealBuffer[tail] = index;
+        return tail + 1;
+    }
+
+    /**
+     * Method for revealing the enqueued squares, and every "zero-value"
+     * related neighbor of them; see *findAndRevealZeroValueNeighbors*.
+     *
+     * @param tail The number of squares already in the queue.
+     *
+     * @return The number of revealed squares; stored at the start of *_revealBuffer*.
+     */
+    private int fillReveal(int tail) {
+        int head = 0;
+
+        while(head < tail) {
+            int current = _revealBuffer[head];
+            int value = getSquareValue(current);
+            _valueBuffer[head++] = (byte) value;
+
+            // Only expand the fill from zero-value squares
+            if(value != 0)
+                continue;
+
+            int neighborCount = _board.getNeighbors(current, _neighborBuffer);
+
+            for(int i = 0; i < neighborCount; i++)
+                tail = enqueueReveal(_neighborBuffer[i], tail);
         }
 
-        return locations;
+        return tail;
+    }
+
+    /**
+     * Method for making sure the reusable reveal (and value) buffer can hold
+     * at least the requested number of squares. The buffers only ever grow
+     * (doubling, but never beyond the board size), and are kept between calls
+     * so that repeated reveals don't allocate.
+     *
+     * @param capacity The minimum required capacity.
+     *
+     * @return The reveal buffer.
+     */
+    private int[] ensureRevealBuffer(int capacity) {
+        if(_revealBuffer == null) {
+            _revealBuffer = new int[Math.max(capacity, Math.min(INITIAL_REVEAL_BUFFER_SIZE, _board.size()))];
+        } else if(_revealBuffer.length < capacity) {
+            long grown = Math.max((long) _revealBuffer.length * 2, capacity);
+            _revealBuffer = Arrays.copyOf(_revealBuffer, (int) Math.min(grown, _board.size()));
+        }
+
+        if(_valueBuffer == null)
+            _valueBuffer = new byte[_revealBuffer.length];
+        else if(_valueBuffer.length < _revealBuffer.length)
+            _valueBuffer = Arrays.copyOf(_valueBuffer, _revealBuffer.length);
+
+        return _revealBuffer;
+    }
+
+    /**
+     * Method for getting the number of neighboring mines to a square.
+     *
+     * @param index The packed cell index of the square to check.
+     *
+     * @return The number of neighboring mines, or -1 if the square is a mine.
+     */
+    private int getSquareValue(int index) {
+        return _board.isMine(index) ? -1 : _board.getNeighborMineCount(index);
     }
 
     /**
      * Method for setting the flagged value of a square.
      *
-     * @param location The location of the square to flag.
-     * @param value    The flag value; true = flagged, false = not flagged.
-     * @throws IndexOutOfBoundsException If the location is outside the size of the board.
+     * @param x The x coordinate of the square to flag.
+     * @param y The y coordinate of the square to flag.
+     * @param value The flag value; true = flagged, false = not flagged.
+     * @throws IndexOutOfBoundsException If the coordinate is outside the size of the board.
      */
     @Override
-    public void setSquareFlag(Point location, boolean value) {
+    public void setSquareFlag(int x, int y, boolean value) {
         if(_board == null)
             return;
 
-        _board.get(location.x).get(location.y).setFlagged(value);
+        int index = _board.indexOf(x, y);
+
+        if(_board.isFlagged(index) == value)
+            return;
+
+        _board.setFlagged(index, value);
+        _flaggedCount += value ? 1 : -1;
     }
 
     /**
@@ -274,5 +632,8 @@ public class GameModel extends Model {
     @Override
     public void reset() {
         _board = null;
+        _revealedCount = 0;
+        _flaggedCount = 0;
+        _state = GameState.NOT_STARTED;
     }
 }
@@ -0,0 +1,29 @@
+package com.dt042g.project.mvc.models;
+
+/**
+ * Enum of the states a game of a *GameModel* (or *ChunkedGameModel*) goes through.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+public enum GameState {
+    /**
+     * No square has been selected yet; so there is no board.
+     */
+    NOT_STARTED,
+
+    /**
+     * The board is generated, and the game is being played.
+     */
+    RUNNING,
+
+    /**
+     * Every square without a mine is revealed.
+     */
+    WON,
+
+    /**
+     * A mine was selected. No more squares can be selected until the game
+     * is reset.
+     */
+    LOST
+}
@@ -1,6 +1,8 @@
 package com.dt042g.project.mvc.models;
 
+import com.dt042g.project.mvc.observer.EventType;
 import com.dt042g.project.mvc.observer.Observed;
+import com.dt042g.project.mvc.observer.RevealBatch;
 
 import java.awt.Point;
 import java.util.Arrays;
@@ -9,6 +11,10 @@ import java.util.List;
 /**
  * Class serving as the superclass of any model.
  *
+ * Squares are addressed by their x and y coordinates, so that querying or
+ * updating a square never allocates. The *Point* based methods are adapters
+ * for the coordinate based ones; kept for the Swing view and the controller.
+ *
  * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
  */
 public abstract class Model extends Observed {
@@ -17,12 +23,17 @@ public abstract class Model extends Observed {
     public static final String MODEL_WIN_EVENT = "MODEL_WIN_EVENT";
 
     /**
-     * Helper method for triggering a "Reveal Square" event.
+     * Helper method for triggering a "Reveal Square" event. If the locations
+     * are a *RevealBatch*, it is pushed as a batch event; so that observers
+     * can consume it without boxing.
      *
      * @param locations The squares which should be revealed.
      */
     public void pushRevealSquareEvent(List<Point> locations) {
-        pushEvent(MODEL_REVEAL_SQUARE_EVENT, locations);
+        if(locations instanceof RevealBatch batch)
+            pushBatchEvent(EventType.MODEL_REVEAL_SQUARE_EVENT, batch);
+        else
+            pushEvent(EventType.MODEL_REVEAL_SQUARE_EVENT, locations);
     }
 
     /**
@@ -31,14 +42,25 @@ public abstract class Model extends Observed {
      * @param location The location of the mine which was hit.
      */
     public void pushMineHitEvent(Point location) {
-        pushEvent(MODEL_MINE_HIT_EVENT, Arrays.asList(location));
+        pushEvent(EventType.MODEL_MINE_HIT_EVENT, Arrays.asList(location));
+    }
+
+    /**
+     * Helper method for triggering a "Mine Hit" event by coordinates, without
+     * creating a *Point*.
+     *
+     * @param x The x coordinate of the mine which was hit.
+     * @param y The y coordinate of the mine which was hit.
+     */
+    public void pushMineHitEvent(int x, int y) {
+        pushSquareEvent(EventType.MODEL_MINE_HIT_EVENT, x, y);
     }
 
     /**
      * Helper method for triggering a "Win" event.
      */
     public void pushWinEvent() {
-        pushEvent(MODEL_WIN_EVENT, null);
+        pushEvent(EventType.MODEL_WIN_EVENT, null);
     }
 
     /* ******************* */
@@ -46,66 +68,187 @@ public abstract class Model extends Observed {
     /**
      * Method for getting the number of neighboring mines to a square.
      *
+     * @param x The x coordinate of the square to check.
+     * @param y The y coordinate of the square to check.
+     *
+     * @return The number of neighboring mines.
+     *
+     * @throws IndexOutOfBoundsException If the coordinate is outside the size of the board.
+     */
+    abstract public int getSquareValue(int x, int y);
+
+    /**
+     * Method for checking if a square is currently flagged.
+     *
+     * @param x The x coordinate of the square to check.
+     * @param y The y coordinate of the square to check.
+     *
+     * @return Whether the square is flagged.
+     *
+     * @throws IndexOutOfBoundsException If the coordinate is outside the size of the board.
+     */
+    abstract public boolean isFlagged(int x, int y);
+
+    /**
+     * Method for checking if a square is a mine.
+     *
+     * @param x The x coordinate of the square to check.
+     * @param y The y coordinate of the square to check.
+     *
+     * @return Whether the square is a mine.
+     *
+     * @throws IndexOutOfBoundsException If the coordinate is outside the size of the board.
+     */
+    abstract public boolean isMine(int x, int y);
+
+    /**
+     * Method for checking if a square is revealed.
+     *
+     * @param x The x coordinate of the square to check.
+     * @param y The y coordinate of the square to check.
+     *
+     * @return Whether the square is revealed.
+     *
+     * @throws IndexOutOfBoundsException If the coordinate is outside the size of the board.
+     */
+    abstract public boolean isRevealed(int x, int y);
+
+    /**
+     * Method for selecting a square to be revealed.
+     *
+     * @param x The x coordinate of the square to reveal.
+     * @param y The y coordinate of the square to reveal.
+     *
+     * @throws IndexOutOfBoundsException If the coordinate is outside the size of the board.
+     */
+    abstract public void selectSquare(int x, int y);
+
+    /**
+     * Method for "chording" a square; I.E. revealing every hidden, not
+     * flagged neighbor of a revealed square at once, if the number of flagged
+     * neighbors is the value of the square. The neighbors are revealed as if
+     * each were selected, but in a single pass; pushing a single "reveal
+     * square" event, or a single "mine hit" event if a neighbor is a mine.
+     *
+     * Ignored if the square is not revealed, or the flags do not match.
+     *
+     * @param x The x coordinate of the square to chord.
+     * @param y The y coordinate of the square to chord.
+     *
+     * @throws IndexOutOfBoundsException If the coordinate is outside the size of the board.
+     */
+    abstract public void chordSquare(int x, int y);
+
+    /**
+     * Method for setting the flagged value of a square.
+     *
+     * @param x The x coordinate of the square to flag.
+     * @param y The y coordinate of the square to flag.
+     * @param value The flag value; true = flagged, false = not flagged.
+     *
+     * @throws IndexOutOfBoundsException If the coordinate is outside the size of the board.
+     */
+    abstract public void setSquareFlag(int x, int y, boolean value);
+
+    /**
+     * Method for getting the number of neighboring mines to a square.
+     * Adapter for *getSquareValue(x, y)*.
+     *
      * @param location The location of the square to check.
      *
      * @return The number of neighboring mines.
      *
      * @throws IndexOutOfBoundsException If the location is outside the size of the board.
+     * @throws NullPointerException If the location is null.
      */
-    abstract public int getSquareValue(Point location);
+    public int getSquareValue(Point location) {
+        return getSquareValue(location.x, location.y);
+    }
 
     /**
      * Method for checking if a square is currently flagged.
+     * Adapter for *isFlagged(x, y)*.
      *
      * @param location The location of the square to check.
      *
      * @return Whether the square is flagged.
      *
      * @throws IndexOutOfBoundsException If the location is outside the size of the board.
+     * @throws NullPointerException If the location is null.
      */
-    abstract public boolean isFlagged(Point location);
+    public boolean isFlagged(Point location) {
+        return isFlagged(location.x, location.y);
+    }
 
     /**
      * Method for checking if a square is a mine.
+     * Adapter for *isMine(x, y)*.
      *
      * @param location The location of the square to check.
      *
      * @return Whether the square is a mine.
      *
      * @throws IndexOutOfBoundsException If the location is outside the size of the board.
+     * @throws NullPointerException If the location is null.
      */
-    abstract public boolean isMine(Point location);
+    public boolean isMine(Point location) {
+        return isMine(location.x, location.y);
+    }
 
     /**
      * Method for checking if a square is revealed.
+     * Adapter for *isRevealed(x, y)*.
      *
      * @param location The location of the square to check.
      *
      * @return Whether the square is revealed.
      *
      * @throws IndexOutOfBoundsException If the location is outside the size of the board.
+     * @throws NullPointerException If the location is null.
      */
-    abstract public boolean isRevealed(Point location);
+    public boolean isRevealed(Point location) {
+        return isRevealed(location.x, location.y);
+    }
 
     /**
      * Method for selecting a square to be revealed.
+     * Adapter for *selectSquare(x, y)*.
      *
      * @param location The location of the square to reveal.
      *
      * @throws IndexOutOfBoundsException If the location is outside the size of the board.
+     * @throws NullPointerException If the location is null.
      */
-    abstract public void selectSquare(Point location);
+    public void selectSquare(Point location) {
+        selectSquare(location.x, location.y);
+    }
+
+    /**
+     * Method for "chording" a square.
+     * Adapter for *chordSquare(x, y)*.
+     *
+     * @param location The location of the square to chord.
+     *
+     * @throws IndexOutOfBoundsException If the location is outside the size of the board.
+     * @throws NullPointerException If the location is null.
+     */
+    public void chordSquare(Point location) {
+        chordSquare(location.x, location.y);
+    }
 
     /**
      * Method for setting the flagged value of a square.
+     * Adapter for *setSquareFlag(x, y, value)*.
      *
      * @param location The location of the square to flag.
-     *
      * @param value The flag value; true = flagged, false = not flagged.
      *
      * @throws IndexOutOfBoundsException If the location is outside the size of the board.
+     * @throws NullPointerException If the location is null.
      */
-    abstract public void setSquareFlag(Point location, boolean value);
+    public void setSquareFlag(Point location, boolean value) {
+        setSquareFlag(location.x, location.y, value);
+    }
 
     /**
      * Method for resetting the backing game board; I.E. restarting the game.
@@ -0,0 +1,429 @@
+package com.dt042g.project.mvc.models;
+
+import java.awt.Point;
+
+/**
+ * Class serving as the flat, primitive backing storage for every square on the
+ * board.
+ *
+ * Each square is stored as a single byte in one contiguous array, where the
+ * lower bits hold the mine/flagged/revealed state and the upper four bits
+ * hold the number of neighboring mines. Squares are addressed by a packed cell
+ * index (*y * width + x*), so a lookup is a single array access and no
+ * per-square objects are ever allocated.
+ *
+ * The neighboring mine counts are kept up to date incrementally by
+ * *setMine*, so they never have to be recalculated when queried.
+ *
+ * Neighbors are visited through *getNeighbors*, which writes packed cell
+ * indices into a caller supplied buffer. Squares away from the border use a
+ * precomputed offset table, so visiting neighbors never allocates.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+public class PackedBoard {
+    private static final byte MINE = 0b0000_0001;
+    private static final byte FLAGGED = 0b0000_0010;
+    private static final byte REVEALED = 0b0000_0100;
+    private static final int VALUE_SHIFT = 4;
+    private static final int VALUE_UNIT = 1 << VALUE_SHIFT;
+
+    private final int _width;
+    private final int _height;
+    private final byte[] _cells;
+    private final int[] _offsets;
+    private int _mineCount;
+
+    /**
+     * Constructor to initialize an empty board; I.E. every square is hidden,
+     * not flagged and not a mine.
+     *
+     * @param width The number of squares along the x-axis.
+     * @param height The number of squares along the y-axis.
+     *
+     * @throws IllegalArgumentException If a dimension is negative or the board is too large to be stored.
+     */
+    public PackedBoard(int width, int height) {
+        if(width < 0 || height < 0 || (long) width * height > Integer.MAX_VALUE)
+            throw new IllegalArgumentException(String.format("Invalid board dimensions %dx%d!", width, height));
+
+        _width = width;
+        _height = height;
+        _cells = new byte[width * height];
+
+        // Index offsets of the eight neighbors of a square not on the border
+        _offsets = new int[] {
+                -width - 1, -width, -width + 1,
+                -1,                 1,
+                width - 1,  width,  width + 1
+        };
+    }
+
+    /**
+     * Method for getting the width of the board.
+     *
+     * @return The number of squares along the x-axis.
+     */
+    public int getWidth() {
+        return _width;
+    }
+
+    /**
+     * Method for getting the height of the board.
+     *
+     * @return The number of squares along the y-axis.
+     */
+    public int getHeight() {
+        return _height;
+    }
+
+    /**
+     * Method for getting the total number of squares on the board.
+     *
+     * @return The number of squares.
+     */
+    public int size() {
+        return _cells.length;
+    }
+
+    /**
+     * Method for getting the number of mines on the board.
+     *
+     * @return The number of mines.
+     */
+    public int getMineCount() {
+        return _mineCount;
+    }
+
+    /**
+     * Method for converting a coordinate into a packed cell index.
+     *
+     * @param x The x coordinate of the square.
+     * @param y The y coordinate of the square.
+     *
+     * @return The packed cell index.
+     *
+     * @throws IndexOutOfBoundsException If the coordinate is outside the size of the board.
+     */
+    public int indexOf(int x, int y) {
+        if(x < 0 || x >= _width || y < 0 || y >= _height)
+            throw new IndexOutOfBoundsException(String.format(
+                    "Square (%d, %d) is outside the %dx%d board!", x, y, _width, _height));
+
+        return y * _width + x;
+    }
+
+    /**
+     * Method for converting a location into a packed cell index.
+     *
+     * @param location The location of the square.
+     *
+     * @return The packed cell index.
+     *
+     * @throws IndexOutOfBoundsException If the location is outside the size of the board.
+     * @throws NullPointerException If the location is null.
+     */
+    public int indexOf(Point location) {
+        return indexOf(location.x, location.y);
+    }
+
+    /**
+     * Method for getting the x coordinate of a packed cell index.
+     *
+     * @param index The packed cell index.
+     *
+     * @return The x coordinate.
+     */
+    public int xOf(int index) {
+        return index % _width;
+    }
+
+    /**
+     * Method for getting the y coordinate of a packed cell index.
+     *
+     * @param index The packed cell index.
+     *
+     * @return The y coordinate.
+     */
+    public int yOf(int index) {
+        return index / _width;
+    }
+
+    /**
+     * Method for converting a packed cell index back into a location.
+     *
+     * @param index The packed cell index.
+     *
+     * @return A new location object.
+     */
+    public Point locationOf(int index) {
+        return new Point(xOf(index), yOf(index));
+    }
+
+    /**
+     * Method for checking if a square is not on the border of the board; I.E.
+     * whether it has all eight neighbors.
+     *
+     * @param index The packed cell index.
+     *
+     * @return Whether the square is an interior square.
+     */
+    public boolean isInterior(int index) {
+        int x = xOf(index);
+        int y = yOf(index);
+        return x > 0 && y > 0 && x < _width - 1 && y < _height - 1;
+    }
+
+    /**
+     * Method for getting all the neighbor squares of a square, without
+     * allocating. The packed cell indices of the neighbors are written to the
+     * start of the provided buffer.
+     *
+     * @param index The packed cell index of the subject.
+     * @param neighbors The buffer to write to; must hold at least eight indices.
+     *
+     * @return The number of neighbors written to the buffer.
+     */
+    public int getNeighbors(int index, int[] neighbors) {
+        if(isInterior(index)) {
+            for(int i = 0; i < _offsets.length; i++)
+                neighbors[i] = index + _offsets[i];
+
+            return _offsets.length;
+        }
+
+        int x = xOf(index);
+        int y = yOf(index);
+        int count = 0;
+
+        for(int ny = Math.max(y - 1, 0); ny <= Math.min(y + 1, _height - 1); ny++) {
+            for(int nx = Math.max(x - 1, 0); nx <= Math.min(x + 1, _width - 1); nx++) {
+                int neighbor = ny * _width + nx;
+
+                if(neighbor != index)
+                    neighbors[count++] = neighbor;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Method for checking if a square is a mine.
+     *
+     * @param index The packed cell index.
+     *
+     * @return Whether the square is a mine.
+     */
+    public boolean isMine(int index) {
+        return (_cells[index] & MINE) != 0;
+    }
+
+    /**
+     * Method for setting if a square is a mine. This also updates the
+     * neighboring mine count of every neighbor if the value changes.
+     *
+     * @param index The packed cell index.
+     * @param mine Whether the square should be a mine.
+     */
+    public void setMine(int index, boolean mine) {
+        if(isMine(index) == mine)
+            return;
+
+        set(index, MINE, mine);
+        _mineCount += mine ? 1 : -1;
+
+        int delta = mine ? VALUE_UNIT : -VALUE_UNIT;
+
+        if(isInterior(index)) {
+            for(int offset : _offsets)
+                _cells[index + offset] += delta;
+
+            return;
+        }
+
+        int x = xOf(index);
+        int y = yOf(index);
+
+        for(int ny = Math.max(y - 1, 0); ny <= Math.min(y + 1, _height - 1); ny++) {
+            for(int nx = Math.max(x - 1, 0); nx <= Math.min(x + 1, _width - 1); nx++) {
+                int neighbor = ny * _width + nx;
+
+                if(neighbor != index)
+                    _cells[neighbor] += delta;
+            }
+        }
+    }
+
+    /**
+     * Method for making a square a mine without updating any neighboring mine
+     * counts or the mine count of the board. Used for bulk generation, where
+     * the counts are instead computed afterwards using
+     * *computeNeighborMineCounts* and *setMineCount*.
+     *
+     * @param index The packed cell index.
+     */
+    void placeMine(int index) {
+        _cells[index] |= MINE;
+    }
+
+    /**
+     * Method for (re)computing the neighboring mine count of a range of rows
+     * from the current mines. Only the squares within the rows are written
+     * to, so disjoint ranges of rows can be computed concurrently.
+     *
+     * Each row is swept with a sliding window of three column sums (the
+     * mines above, on and below the row), so each square costs a few array
+     * reads rather than a full neighbor lookup.
+     *
+     * @param fromRow The first row (inclusive).
+     * @param toRow The last row (exclusive).
+     */
+    void computeNeighborMineCounts(int fromRow, int toRow) {
+        for(int y = fromRow; y < toRow; y++) {
+            int row = y * _width;
+            int above = y > 0 ? row - _width : -1;
+            int below = y < _height - 1 ? row + _width : -1;
+
+            int previous = 0;
+            int current = _width > 0 ? columnMines(row, above, below, 0) : 0;
+
+            for(int x = 0; x < _width; x++) {
+                int next = x + 1 < _width ? columnMines(row, above, below, x + 1) : 0;
+                int value = previous + current + next - (_cells[row + x] & MINE);
+
+                _cells[row + x] = (byte) ((_cells[row + x] & (VALUE_UNIT - 1)) | (value << VALUE_SHIFT));
+
+                previous = current;
+                current = next;
+            }
+        }
+    }
+
+    /**
+     * Helper method for counting the mines in a column of up to three squares.
+     *
+     * @param row The first packed cell index of the middle row.
+     * @param above The first packed cell index of the row above, or -1.
+     * @param below The first packed cell index of the row below, or -1.
+     * @param x The column.
+     *
+     * @return The number of mines in the column.
+     */
+    private int columnMines(int row, int above, int below, int x) {
+        int mines = _cells[row + x] & MINE;
+
+        if(above >= 0)
+            mines += _cells[above + x] & MINE;
+        if(below >= 0)
+            mines += _cells[below + x] & MINE;
+
+        return mines;
+    }
+
+    /**
+     * Method for setting the mine count of the board after bulk generation.
+     *
+     * @param mineCount The number of mines on the board.
+     */
+    void setMineCount(int mineCount) {
+        _mineCount = mineCount;
+    }
+
+    /**
+     * Method for getting the number of neighboring mines of a square. Note
+     * that this is also maintained for mines themselves.
+     *
+     * @param index The packed cell index.
+     *
+     * @return The number of neighboring mines; 0 to 8.
+     */
+    public int getNeighborMineCount(int index) {
+        return (_cells[index] & 0xFF) >>> VALUE_SHIFT;
+    }
+
+    /**
+     * Method for checking if a square is currently flagged.
+     *
+     * @param index The packed cell index.
+     *
+     * @return Whether the square is flagged.
+     */
+    public boolean isFlagged(int index) {
+        return (_cells[index] & FLAGGED) != 0;
+    }
+
+    /**
+     * Method for setting if a square is currently flagged.
+     *
+     * @param index The packed cell index.
+     * @param flagged Whether the square should be flagged.
+     */
+    public void setFlagged(int index, boolean flagged) {
+        set(index, FLAGGED, flagged);
+    }
+
+    /**
+     * Method for checking if a square is currently revealed.
+     *
+     * @param index The packed cell index.
+     *
+     * @return Whether the square is revealed.
+     */
+    public boolean isRevealed(int index) {
+        return (_cells[index] & REVEALED) != 0;
+    }
+
+    /**
+     * Method for setting if a square is currently revealed.
+     *
+     * @param index The packed cell index.
+     * @param revealed Whether the square should be revealed.
+     */
+    public void setRevealed(int index, boolean revealed) {
+        set(index, REVEALED, revealed);
+    }
+
+    /**
+     * Method for checking if a square is either revealed, flagged or a mine;
+     * I.E. whether it must be skipped when revealing squares.
+     *
+     * @param index The packed cell index.
+     *
+     * @return Whether the square cannot be revealed.
+     */
+    public boolean isBlocked(int index) {
+        return (_cells[index] & (MINE | FLAGGED | REVEALED)) != 0;
+    }
+
+    /**
+     * Method for getting a detached snapshot of a square. Mainly intended for
+     * debugging and compatibility with code expecting *BackingSquare* objects;
+     * changes to the returned object are not written back to the board.
+     *
+     * @param index The packed cell index.
+     *
+     * @return A new backing square with the same state.
+     */
+    public BackingSquare getSquare(int index) {
+        BackingSquare square = new BackingSquare();
+        square.setMine(isMine(index));
+        square.setFlagged(isFlagged(index));
+        square.setRevealed(isRevealed(index));
+        return square;
+    }
+
+    /**
+     * Helper method for setting or clearing a state bit of a square.
+     *
+     * @param index The packed cell index.
+     * @param bit The state bit.
+     * @param value Whether the bit should be set.
+     */
+    private void set(int index, byte bit, boolean value) {
+        if(value)
+            _cells[index] |= bit;
+        else
+            _cells[index] &= (byte) ~bit;
+    }
+}
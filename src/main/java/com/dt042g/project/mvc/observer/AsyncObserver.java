@@ -0,0 +1,500 @@
+package com.dt042g.project.mvc.observer;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Class which delivers events to another observer asynchronously.
+ *
+ * Attach an *AsyncObserver* wrapping an observer instead of the observer
+ * itself, and every event pushed to it is put on a bounded queue and
+ * returns immediately. The queue is drained by a single task at a time on
+ * the provided executor, so the wrapped observer receives the events in the
+ * same order as they were pushed, and never concurrently. What happens when
+ * the queue is full is decided by the *BackpressurePolicy*.
+ *
+ * Note that with the *BLOCK* (or *COALESCE*) policy the executor must not run
+ * the drain task on the pushing thread, or a full queue will never drain.
+ * Events about a single square are never coalesced, since each is an input
+ * of its own; with the *COALESCE* policy they block like with *BLOCK*.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+public class AsyncObserver implements Observer, AutoCloseable {
+    private final Observer _delegate;
+    private final Executor _executor;
+    private final BackpressurePolicy _policy;
+    private final Event[] _queue;
+    private final ReentrantLock _lock = new ReentrantLock();
+    private final Condition _notFull = _lock.newCondition();
+    private final Condition _idle = _lock.newCondition();
+
+    private int _head = 0;
+    private int _size = 0;
+    private boolean _draining = false;
+    private boolean _closed = false;
+    private int _maxDepth = 0;
+    private long _delivered = 0;
+    private long _dropped = 0;
+    private long _coalesced = 0;
+
+    /**
+     * Constructor to initialize the asynchronous observer.
+     *
+     * @param delegate The observer to deliver the events to.
+     * @param executor The executor to drain the queue on.
+     * @param capacity The maximum number of queued events.
+     * @param policy What to do with new events when the queue is full.
+     *
+     * @throws IllegalArgumentException If the capacity is less than one.
+     * @throws NullPointerException If the delegate, executor or policy is null.
+     */
+    public AsyncObserver(Observer delegate, Executor executor, int capacity, BackpressurePolicy policy) {
+        if(capacity < 1)
+            throw new IllegalArgumentException(String.format("Invalid queue capacity %d!", capacity));
+        if(delegate == null || executor == null || policy == null)
+            throw new NullPointerException("The delegate, executor and policy must not be null!");
+
+        _delegate = delegate;
+        _executor = executor;
+        _policy = policy;
+        _queue = new Event[capacity];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void handleEvent(String eventName, List<Point> locations) {
+        enqueue(new Event(null, eventName, locations));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void handleTypedEvent(EventType type, List<Point> locations) {
+        enqueue(new Event(type, type.name(), locations));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void handleBatchEvent(EventType type, RevealBatch batch) {
+        enqueue(new Event(type, type.name(), batch));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void handleSquareEvent(EventType type, int x, int y) {
+        enqueue(new Event(type, x, y));
+    }
+
+    /**
+     * Method for getting the number of currently queued events.
+     *
+     * @return The queue depth.
+     */
+    public int getQueueDepth() {
+        _lock.lock();
+        try {
+            return _size;
+        } finally {
+            _lock.unlock();
+        }
+    }
+
+    /**
+     * Method for getting the highest number of events which have been queued
+     * at once.
+     *
+     * @return The maximum queue depth.
+     */
+    public int getMaxQueueDepth() {
+        _lock.lock();
+        try {
+            return _maxDepth;
+        } finally {
+            _lock.unlock();
+        }
+    }
+
+    /**
+     * Method for getting the number of events delivered to the wrapped
+     * observer; counting coalesced events once.
+     *
+     * @return The number of delivered events.
+     */
+    public long getDeliveredCount() {
+        _lock.lock();
+        try {
+            return _delivered;
+        } finally {
+            _lock.unlock();
+        }
+    }
+
+    /**
+     * Method for getting the number of events dropped because the queue was
+     * full (or the observer was closed).
+     *
+     * @return The number of dropped events.
+     */
+    public long getDroppedCount() {
+        _lock.lock();
+        try {
+            return _dropped;
+        } finally {
+            _lock.unlock();
+        }
+    }
+
+    /**
+     * Method for getting the number of events merged into an already queued
+     * event.
+     *
+     * @return The number of coalesced events.
+     */
+    public long getCoalescedCount() {
+        _lock.lock();
+        try {
+            return _coalesced;
+        } finally {
+            _lock.unlock();
+        }
+    }
+
+    /**
+     * Method for waiting until every queued event has been delivered.
+     *
+     * @param timeout The maximum time to wait.
+     * @param unit The unit of the timeout.
+     *
+     * @return Whether the queue was drained before the timeout.
+     *
+     * @throws InterruptedException If the thread is interrupted while waiting.
+     */
+    public boolean awaitIdle(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+
+        _lock.lock();
+        try {
+            while(_size > 0 || _draining) {
+                if(nanos <= 0)
+                    return false;
+
+                nanos = _idle.awaitNanos(nanos);
+            }
+
+            return true;
+        } finally {
+            _lock.unlock();
+        }
+    }
+
+    /**
+     * Method for closing the observer. Already queued events are still
+     * delivered, but new events are dropped. Note that this does not detach
+     * the observer, nor shut down the executor.
+     */
+    @Override
+    public void close() {
+        _lock.lock();
+        try {
+            _closed = true;
+            _notFull.signalAll();
+        } finally {
+            _lock.unlock();
+        }
+    }
+
+    /**
+     * Method for putting an event on the queue, applying the backpressure
+     * policy if it is full, and scheduling the drain task if it is not
+     * already running.
+     *
+     * @param event The event.
+     */
+    private void enqueue(Event event) {
+        boolean schedule;
+
+        _lock.lock();
+        try {
+            while(!_closed && _size == _queue.length) {
+                if(_policy == BackpressurePolicy.DROP) {
+                    _dropped++;
+                    return;
+                }
+
+                if(_policy == BackpressurePolicy.COALESCE) {
+                    int tail = (_head + _size - 1) % _queue.length;
+
+                    if(!_queue[tail]._square && !event._square
+                            && _queue[tail]._type == event._type && _queue[tail]._name.equals(event._name)) {
+                        _queue[tail].merge(event);
+                        _coalesced++;
+                        return;
+                    }
+                }
+
+                _notFull.awaitUninterruptibly();
+            }
+
+            if(_closed) {
+                _dropped++;
+                return;
+            }
+
+            _queue[(_head + _size) % _queue.length] = event;
+            _size++;
+            _maxDepth = Math.max(_maxDepth, _size);
+
+            schedule = !_draining;
+            _draining = true;
+        } finally {
+            _lock.unlock();
+        }
+
+        if(!schedule)
+            return;
+
+        try {
+            _executor.execute(this::drain);
+        } catch(RejectedExecutionException e) {
+            // Leave the events queued, so the next push tries to drain them again
+            _lock.lock();
+            try {
+                _draining = false;
+                _idle.signalAll();
+            } finally {
+                _lock.unlock();
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * Method for delivering queued events to the wrapped observer, until the
+     * queue is empty. Only one drain task runs at a time.
+     */
+    private void drain() {
+        while(true) {
+            Event event;
+
+            _lock.lock();
+            try {
+                if(_size == 0) {
+                    _draining = false;
+                    _idle.signalAll();
+                    return;
+                }
+
+                event = _queue[_head];
+                _queue[_head] = null;
+                _head = (_head + 1) % _queue.length;
+                _size--;
+                _notFull.signal();
+            } finally {
+                _lock.unlock();
+            }
+
+            try {
+                event.deliver(_delegate);
+            } catch(RuntimeException e) {
+                // A failing observer must not stop the delivery of later events
+                Thread thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+            }
+
+            _lock.lock();
+            try {
+                _delivered++;
+            } finally {
+                _lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Class holding a single queued event. While the event is the tail of a
+     * full queue, later events of the same type are appended to it in
+     * amortised constant time per location; a merged *RevealBatch* is only
+     * built when the event is delivered, outside the lock.
+     */
+    private static class Event {
+        private final EventType _type;
+        private final String _name;
+        private final boolean _square;
+        private final int _x;
+        private final int _y;
+        private List<Point> _locations;
+        private int[] _indices;
+        private byte[] _values;
+        private int _count;
+        private int _width;
+        private ArrayList<Point> _merged;
+
+        /**
+         * Constructor to initialize the event.
+         *
+         * @param type The type of the event, or null if it was pushed by name.
+         * @param name The name of the event.
+         * @param locations The locations of the event; possibly a *RevealBatch*.
+         */
+        Event(EventType type, String name, List<Point> locations) {
+            _type = type;
+            _name = name;
+            _locations = locations;
+            _square = false;
+            _x = 0;
+            _y = 0;
+        }
+
+        /**
+         * Constructor to initialize an event about a single square.
+         *
+         * @param type The type of the event.
+         * @param x The x coordinate of the square.
+         * @param y The y coordinate of the square.
+         */
+        Event(EventType type, int x, int y) {
+            _type = type;
+            _name = type.name();
+            _locations = null;
+            _square = true;
+            _x = x;
+            _y = y;
+        }
+
+        /**
+         * Method for appending the locations of a later event of the same type
+         * to this one. Batches of the same width are appended to a growable
+         * index and value buffer; anything else is appended to a growable list.
+         *
+         * @param later The later event.
+         */
+        void merge(Event later) {
+            List<Point> locations = later._locations;
+
+            if(locations == null)
+                return;
+
+            if(_locations == null && _indices == null && _merged == null) {
+                _locations = locations;
+                return;
+            }
+
+            if(_merged == null && locations instanceof RevealBatch batch && batch.getWidth() == batchWidth()) {
+                if(_indices == null) {
+                    RevealBatch first = (RevealBatch) _locations;
+
+                    _indices = new int[Math.max(16, 2 * (first.size() + batch.size()))];
+                    _values = new byte[_indices.length];
+                    _width = first.getWidth();
+                    _count = 0;
+                    _locations = null;
+                    append(first);
+                }
+
+                append(batch);
+                return;
+            }
+
+            if(_merged == null) {
+                List<Point> current = locations();
+
+                _merged = new ArrayList<>(Math.max(16, 2 * (current.size() + locations.size())));
+                _merged.addAll(current);
+                _locations = null;
+                _indices = null;
+                _values = null;
+            }
+
+            _merged.addAll(locations);
+        }
+
+        /**
+         * Method for appending a batch to the index and value buffer, doubling
+         * the buffer when it is full.
+         *
+         * @param batch The batch.
+         */
+        private void append(RevealBatch batch) {
+            int required = _count + batch.size();
+
+            if(required > _indices.length) {
+                int capacity = Math.max(required, 2 * _indices.length);
+
+                _indices = Arrays.copyOf(_indices, capacity);
+                _values = Arrays.copyOf(_values, capacity);
+            }
+
+            for(int i = 0; i < batch.size(); i++) {
+                _indices[_count] = batch.getIndex(i);
+                _values[_count] = (byte) batch.getValue(i);
+                _count++;
+            }
+        }
+
+        /**
+         * Method for getting the width of the batch held by the event.
+         *
+         * @return The width, or -1 if the event does not hold a batch.
+         */
+        private int batchWidth() {
+            if(_indices != null)
+                return _width;
+
+            return _locations instanceof RevealBatch batch ? batch.getWidth() : -1;
+        }
+
+        /**
+         * Method for getting the locations of the event, building the merged
+         * batch from the buffer if needed.
+         *
+         * @return The locations; possibly a *RevealBatch*.
+         */
+        private List<Point> locations() {
+            if(_merged != null)
+                return _merged;
+
+            if(_indices != null)
+                return new RevealBatch(Arrays.copyOf(_indices, _count), Arrays.copyOf(_values, _count), _width);
+
+            return _locations;
+        }
+
+        /**
+         * Method for delivering the event to an observer, through the same
+         * method it was received through.
+         *
+         * @param observer The observer.
+         */
+        void deliver(Observer observer) {
+            if(_square) {
+                observer.handleSquareEvent(_type, _x, _y);
+                return;
+            }
+
+            List<Point> locations = locations();
+
+            if(_type == null)
+                observer.handleEvent(_name, locations);
+            else if(locations instanceof RevealBatch batch)
+                observer.handleBatchEvent(_type, batch);
+            else
+                observer.handleTypedEvent(_type, locations);
+        }
+    }
+}
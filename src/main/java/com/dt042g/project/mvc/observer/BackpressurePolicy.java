@@ -0,0 +1,29 @@
+package com.dt042g.project.mvc.observer;
+
+/**
+ * Enum of what an *AsyncObserver* does with a new event when its queue is
+ * full.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+public enum BackpressurePolicy {
+    /**
+     * Block the pushing thread until there is room in the queue. No events
+     * are lost, but a slow observer stalls the observed object.
+     */
+    BLOCK,
+
+    /**
+     * Drop the new event. The pushing thread is never stalled, but the
+     * observer misses events.
+     */
+    DROP,
+
+    /**
+     * Merge the new event into the newest queued event if it is of the same
+     * type (appending its locations), and otherwise block. Bursts of the same
+     * event (such as reveals) are delivered as one event, without losing any
+     * locations.
+     */
+    COALESCE
+}
@@ -0,0 +1,43 @@
+package com.dt042g.project.mvc.observer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Enum of every event type pushed between the MVC components.
+ *
+ * Dispatching on the enum (rather than on the event name) lets observed
+ * objects keep one list of observers per type, and lets observers switch on
+ * the ordinal instead of hashing and comparing strings. The name of each type
+ * is the same as the corresponding *_EVENT* constant in *Model* or *View*.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+public enum EventType {
+    VIEW_SELECT_SQUARE_EVENT,
+    VIEW_FLAG_SQUARE_EVENT,
+    VIEW_CHORD_SQUARE_EVENT,
+    VIEW_RESET_GAME_EVENT,
+    MODEL_REVEAL_SQUARE_EVENT,
+    MODEL_MINE_HIT_EVENT,
+    MODEL_WIN_EVENT;
+
+    private static final Map<String, EventType> _byName = new HashMap<>();
+
+    static {
+        for(EventType type : values())
+            _byName.put(type.name(), type);
+    }
+
+    /**
+     * Method for looking up the event type of an event name. Only used for
+     * events pushed by name.
+     *
+     * @param eventName The name of the event.
+     *
+     * @return The event type, or null if there is no such type.
+     */
+    public static EventType fromName(String eventName) {
+        return eventName == null ? null : _byName.get(eventName);
+    }
+}
@@ -1,16 +1,55 @@
 package com.dt042g.project.mvc.observer;
 
 import java.awt.Point;
-import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Abstract class used as the "subject" in the observer pattern.
  *
+ * Observers are either attached to every event, or only to specific event
+ * types. Pushing a typed event is a single *EnumMap* lookup, and observers
+ * which are not attached to the type are never invoked.
+ *
+ * The registry is safe to use from multiple threads. Observers are stored in
+ * copy-on-write lists, so pushing an event iterates over a snapshot without
+ * any locking; while attaching and detaching (which are rare in comparison)
+ * copy the list under a lock. Observers are deduplicated by identity using an
+ * identity hash set, so checking whether an observer is already attached
+ * does not scan the list.
+ *
  * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
  */
 public abstract class Observed {
-    private final ArrayList<Observer> observers = new ArrayList<>();
+    private final Object lock = new Object();
+    private final CopyOnWriteArrayList<Observer> observers = new CopyOnWriteArrayList<>();
+    private final Set<Observer> attached = newIdentitySet();
+    private final EnumMap<EventType, CopyOnWriteArrayList<Observer>> typedObservers = new EnumMap<>(EventType.class);
+    private final EnumMap<EventType, Set<Observer>> typedAttached = new EnumMap<>(EventType.class);
+
+    /**
+     * Constructor to initialize the (empty) registry of every event type. The
+     * maps are never modified after this, so they can be read without locking.
+     */
+    protected Observed() {
+        for(EventType type : EventType.values()) {
+            typedObservers.put(type, new CopyOnWriteArrayList<>());
+            typedAttached.put(type, newIdentitySet());
+        }
+    }
+
+    /**
+     * Helper method for creating a set which compares observers by identity.
+     *
+     * @return The new set.
+     */
+    private static Set<Observer> newIdentitySet() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
+    }
 
     /**
      * Method for attaching an observer object to listen of object events.
@@ -18,26 +57,116 @@ public abstract class Observed {
      * @param observer The observer to attach.
      */
     public void attachObserver(Observer observer) {
-        if(!this.observers.contains(observer))
-            this.observers.add(observer);
+        synchronized(lock) {
+            if(attached.add(observer))
+                observers.add(observer);
+        }
     }
 
     /**
-     * Method for detaching an observer.
+     * Method for attaching an observer object to listen to specific event
+     * types only. Note that an observer also attached to every event receives
+     * those events twice.
+     *
+     * @param observer The observer to attach.
+     * @param types The event types to listen to.
+     */
+    public void attachObserver(Observer observer, EventType... types) {
+        synchronized(lock) {
+            for(EventType type : types)
+                if(typedAttached.get(type).add(observer))
+                    typedObservers.get(type).add(observer);
+        }
+    }
+
+    /**
+     * Method for detaching an observer; from every event and event type.
      *
      * @param observer The observer to detach.
      */
     public void detachObserver(Observer observer) {
-        this.observers.remove(observer);
+        synchronized(lock) {
+            if(attached.remove(observer))
+                removeIdentical(observers, observer);
+
+            for(EventType type : EventType.values())
+                if(typedAttached.get(type).remove(observer))
+                    removeIdentical(typedObservers.get(type), observer);
+        }
     }
 
     /**
-     * Method for pushing an event to all attached observers.
+     * Helper method for removing an observer from a list by identity, rather
+     * than by *equals*.
+     *
+     * @param list The list.
+     * @param observer The observer to remove.
+     */
+    private static void removeIdentical(CopyOnWriteArrayList<Observer> list, Observer observer) {
+        list.removeIf(o -> o == observer);
+    }
+
+    /**
+     * Method for pushing an event to all attached observers. If the name is
+     * one of the event types it is pushed as a typed event, otherwise it is
+     * only pushed to the observers attached to every event.
      *
      * @param eventName The name of the event.
      * @param locations An optional list of square locations relevant to the event.
      */
     public void pushEvent(String eventName, List<Point> locations) {
-        observers.forEach(o -> o.handleEvent(eventName, locations));
+        EventType type = EventType.fromName(eventName);
+
+        if(type != null)
+            pushEvent(type, locations);
+        else
+            for(Observer observer : observers)
+                observer.handleEvent(eventName, locations);
+    }
+
+    /**
+     * Method for pushing a typed event to all observers attached to every
+     * event, or to the type.
+     *
+     * @param type The type of the event.
+     * @param locations An optional list of square locations relevant to the event.
+     */
+    public void pushEvent(EventType type, List<Point> locations) {
+        for(Observer observer : observers)
+            observer.handleTypedEvent(type, locations);
+
+        for(Observer observer : typedObservers.get(type))
+            observer.handleTypedEvent(type, locations);
+    }
+
+    /**
+     * Method for pushing an event with a reveal batch to all observers
+     * attached to every event, or to the type.
+     *
+     * @param type The type of the event.
+     * @param batch The revealed squares and their values.
+     */
+    public void pushBatchEvent(EventType type, RevealBatch batch) {
+        for(Observer observer : observers)
+            observer.handleBatchEvent(type, batch);
+
+        for(Observer observer : typedObservers.get(type))
+            observer.handleBatchEvent(type, batch);
+    }
+
+    /**
+     * Method for pushing an event about a single square to all observers
+     * attached to every event, or to the type.
+     *
+     * @param type The type of the event.
+     * @param x The x coordinate of the square.
+     * @param y The y coordinate of the square.
+     */
+    public void pushSquareEvent(EventType type, int x, int y) {
+        for(Observer observer : observers)
+            observer.handleSquareEvent(type, x, y);
+
+        for(Observer observer : typedObservers.get(type))
+            observer.handleSquareEvent(type, x, y);
     }
 }
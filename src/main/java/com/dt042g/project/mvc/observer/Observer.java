@@ -1,6 +1,7 @@
 package com.dt042g.project.mvc.observer;
 
 import java.awt.Point;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -16,4 +17,42 @@ public interface Observer {
      * @param locations An optional list of square locations relevant to the event.
      */
     void handleEvent(String eventName, List<Point> locations);
+
+    /**
+     * Method which is triggered by observed objects when a typed event
+     * occurs. Override this to dispatch on the type directly; by default it
+     * is handled as an event with the name of the type.
+     *
+     * @param type The type of the event.
+     * @param locations An optional list of square locations relevant to the event.
+     */
+    default void handleTypedEvent(EventType type, List<Point> locations) {
+        handleEvent(type.name(), locations);
+    }
+
+    /**
+     * Method which is triggered by observed objects when an event with a
+     * reveal batch occurs. Override this to consume the batch without boxing;
+     * by default it is handled as a regular *List&lt;Point&gt;* event.
+     *
+     * @param type The type of the event.
+     * @param batch The revealed squares and their values.
+     */
+    default void handleBatchEvent(EventType type, RevealBatch batch) {
+        handleTypedEvent(type, batch);
+    }
+
+    /**
+     * Method which is triggered by observed objects when an event about a
+     * single square occurs. Override this to handle the coordinates without
+     * creating any *Point*; by default it is handled as a regular event with
+     * a list of the one location.
+     *
+     * @param type The type of the event.
+     * @param x The x coordinate of the square.
+     * @param y The y coordinate of the square.
+     */
+    default void handleSquareEvent(EventType type, int x, int y) {
+        handleTypedEvent(type, Arrays.asList(new Point(x, y)));
+    }
 }
@@ -0,0 +1,123 @@
+package com.dt042g.project.mvc.observer;
+
+import java.awt.Point;
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Class serving as a compact, immutable payload for "reveal square" events.
+ *
+ * The revealed squares are stored as packed cell indices (*y * width + x*)
+ * along with the value of each square, which the model already knows when
+ * revealing it. Observers overriding *Observer.handleBatchEvent* can consume
+ * the batch through *getX*, *getY* and *getValue* without any boxing or
+ * further lookups in the model.
+ *
+ * The batch is also a regular *List&lt;Point&gt;*, so observers only handling
+ * *List&lt;Point&gt;* events keep working; a location object is then created
+ * each time an element is accessed.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+public class RevealBatch extends AbstractList<Point> implements RandomAccess {
+    private final int[] _indices;
+    private final byte[] _values;
+    private final int _width;
+
+    /**
+     * Constructor to initialize the batch. Note that the arrays are not
+     * copied, so they must not be modified afterwards.
+     *
+     * @param indices The packed cell indices (*y * width + x*).
+     * @param values The value of each square; 0 to 8.
+     * @param width The width of the board the indices belong to.
+     *
+     * @throws IllegalArgumentException If the arrays are not of the same length.
+     */
+    public RevealBatch(int[] indices, byte[] values, int width) {
+        if(indices.length != values.length)
+            throw new IllegalArgumentException(String.format(
+                    "Got %d indices but %d values!", indices.length, values.length));
+
+        _indices = indices;
+        _values = values;
+        _width = width;
+    }
+
+    /**
+     * Method for getting the width of the board the indices belong to.
+     *
+     * @return The number of squares along the x-axis.
+     */
+    public int getWidth() {
+        return _width;
+    }
+
+    /**
+     * Method for getting the packed cell index of an element.
+     *
+     * @param position The position in the batch.
+     *
+     * @return The packed cell index.
+     *
+     * @throws IndexOutOfBoundsException If the position is outside the batch.
+     */
+    public int getIndex(int position) {
+        return _indices[position];
+    }
+
+    /**
+     * Method for getting the x coordinate of an element.
+     *
+     * @param position The position in the batch.
+     *
+     * @return The x coordinate.
+     *
+     * @throws IndexOutOfBoundsException If the position is outside the batch.
+     */
+    public int getX(int position) {
+        return _indices[position] % _width;
+    }
+
+    /**
+     * Method for getting the y coordinate of an element.
+     *
+     * @param position The position in the batch.
+     *
+     * @return The y coordinate.
+     *
+     * @throws IndexOutOfBoundsException If the position is outside the batch.
+     */
+    public int getY(int position) {
+        return _indices[position] / _width;
+    }
+
+    /**
+     * Method for getting the value (number of neighboring mines) of an element.
+     *
+     * @param position The position in the batch.
+     *
+     * @return The value; 0 to 8.
+     *
+     * @throws IndexOutOfBoundsException If the position is outside the batch.
+     */
+    public int getValue(int position) {
+        return _values[position];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Point get(int position) {
+        return new Point(getX(position), getY(position));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return _indices.length;
+    }
+}
@@ -0,0 +1,353 @@
+package com.dt042g.project.mvc.views;
+
+import com.dt042g.project.mvc.observer.EventType;
+import com.dt042g.project.mvc.observer.Observer;
+import com.dt042g.project.mvc.observer.RevealBatch;
+
+import javax.swing.Timer;
+import java.awt.Point;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Class which sits between the controller and another view, and coalesces
+ * square updates into one batch per frame.
+ *
+ * Calls to *setValue*, *setValues*, *setFlagged* and *setHidden* are not
+ * forwarded immediately; instead the latest state of each square is recorded,
+ * and once per frame every changed square is applied to the wrapped view in a
+ * single pass (with all values as one *setValues* call). However many events
+ * arrive within a frame, each square is therefore updated at most once per
+ * frame; so the painting work is bounded by the frame rate rather than the
+ * number of events.
+ *
+ * Every other call first applies the pending updates, and is then forwarded
+ * immediately. Events pushed by the wrapped view are pushed on unchanged.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+public class CoalescingView extends View {
+    public static final int DEFAULT_FRAME_MILLIS = 16;
+    private static final byte NONE = 0;
+    private static final byte HIDDEN = 1;
+    private static final byte FLAGGED = 2;
+    private static final byte VALUE = 3;
+
+    private final View _delegate;
+    private final int _width;
+    private final int _height;
+    private final Timer _timer;
+    private final Object _lock = new Object();
+
+    private final byte[] _pending;
+    private int[] _dirty = new int[64];
+    private int _dirtyCount = 0;
+    private boolean _scheduled = false;
+
+    /**
+     * Constructor to initialize the view with the default frame length.
+     *
+     * @param delegate The view to apply the updates to.
+     * @param width The number of squares along the x-axis.
+     * @param height The number of squares along the y-axis.
+     */
+    public CoalescingView(View delegate, int width, int height) {
+        this(delegate, width, height, DEFAULT_FRAME_MILLIS);
+    }
+
+    /**
+     * Constructor to initialize the view.
+     *
+     * @param delegate The view to apply the updates to.
+     * @param width The number of squares along the x-axis.
+     * @param height The number of squares along the y-axis.
+     * @param frameMillis The length of a frame; I.E. the longest time an update is delayed.
+     *
+     * @throws IllegalArgumentException If a dimension or the frame length is negative.
+     */
+    public CoalescingView(View delegate, int width, int height, int frameMillis) {
+        if(width < 0 || height < 0 || (long) width * height > Integer.MAX_VALUE)
+            throw new IllegalArgumentException(String.format("Invalid board dimensions %dx%d!", width, height));
+        if(frameMillis < 0)
+            throw new IllegalArgumentException(String.format("Invalid frame length %d!", frameMillis));
+
+        _delegate = delegate;
+        _width = width;
+        _height = height;
+        _pending = new byte[width * height];
+
+        // The timer fires on the event dispatch thread, right before the
+        // repaint of the applied updates.
+        _timer = new Timer(frameMillis, e -> flush());
+        _timer.setRepeats(false);
+
+        _delegate.attachObserver(new Observer() {
+            @Override
+            public void handleEvent(String eventName, List<Point> locations) {
+                pushEvent(eventName, locations);
+            }
+
+            @Override
+            public void handleTypedEvent(EventType type, List<Point> locations) {
+                pushEvent(type, locations);
+            }
+
+            @Override
+            public void handleSquareEvent(EventType type, int x, int y) {
+                pushSquareEvent(type, x, y);
+            }
+        });
+    }
+
+    /**
+     * Method for getting the number of squares with a pending update.
+     *
+     * @return The number of pending squares.
+     */
+    public int getPendingCount() {
+        synchronized(_lock) {
+            return _dirtyCount;
+        }
+    }
+
+    /**
+     * Method for applying every pending update to the wrapped view now.
+     * Called once per frame, but may also be called directly.
+     */
+    public void flush() {
+        int[] indices;
+        byte[] states;
+
+        synchronized(_lock) {
+            indices = Arrays.copyOf(_dirty, _dirtyCount);
+            states = new byte[_dirtyCount];
+
+            for(int i = 0; i < _dirtyCount; i++) {
+                states[i] = _pending[indices[i]];
+                _pending[indices[i]] = NONE;
+            }
+
+            _dirtyCount = 0;
+            _scheduled = false;
+        }
+
+        int valueCount = 0;
+        for(byte state : states)
+            if(state >= VALUE)
+                valueCount++;
+
+        int[] valueIndices = new int[valueCount];
+        byte[] values = new byte[valueCount];
+        valueCount = 0;
+
+        for(int i = 0; i < indices.length; i++) {
+            if(states[i] >= VALUE) {
+                valueIndices[valueCount] = indices[i];
+                values[valueCount++] = (byte) (states[i] - VALUE);
+            } else if(states[i] == FLAGGED) {
+                _delegate.setFlagged(indices[i] % _width, indices[i] / _width);
+            } else {
+                _delegate.setHidden(indices[i] % _width, indices[i] / _width);
+            }
+        }
+
+        if(valueCount > 0)
+            _delegate.setValues(new RevealBatch(valueIndices, values, _width));
+    }
+
+    /**
+     * Method for recording the latest state of a square, and scheduling the
+     * next frame if it is not already scheduled.
+     *
+     * @param x The x coordinate of the square.
+     * @param y The y coordinate of the square.
+     * @param state The new state.
+     */
+    private void record(int x, int y, byte state) {
+        boolean schedule;
+
+        synchronized(_lock) {
+            int index = y * _width + x;
+
+            if(_pending[index] == NONE) {
+                if(_dirtyCount == _dirty.length)
+                    _dirty = Arrays.copyOf(_dirty, _dirty.length * 2);
+
+                _dirty[_dirtyCount++] = index;
+            }
+
+            _pending[index] = state;
+
+            schedule = !_scheduled;
+            _scheduled = true;
+        }
+
+        if(schedule)
+            _timer.restart();
+    }
+
+    /**
+     * Helper method for checking if a location is on the board.
+     *
+     * @param location The location.
+     *
+     * @return Whether the location is on the board.
+     */
+    private boolean isOnBoard(Point location) {
+        return location != null && isOnBoard(location.x, location.y);
+    }
+
+    /**
+     * Helper method for checking if a coordinate is on the board.
+     *
+     * @param x The x coordinate.
+     * @param y The y coordinate.
+     *
+     * @return Whether the coordinate is on the board.
+     */
+    private boolean isOnBoard(int x, int y) {
+        return x >= 0 && x < _width && y >= 0 && y < _height;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setHidden(Point location) {
+        if(isOnBoard(location))
+            record(location.x, location.y, HIDDEN);
+        else
+            _delegate.setHidden(location);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setHidden(int x, int y) {
+        if(isOnBoard(x, y))
+            record(x, y, HIDDEN);
+        else
+            _delegate.setHidden(x, y);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setFlagged(Point location) {
+        if(isOnBoard(location))
+            record(location.x, location.y, FLAGGED);
+        else
+            _delegate.setFlagged(location);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setFlagged(int x, int y) {
+        if(isOnBoard(x, y))
+            record(x, y, FLAGGED);
+        else
+            _delegate.setFlagged(x, y);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setValue(Point location, int value) {
+        if(isOnBoard(location) && value >= 0 && value <= 8)
+            record(location.x, location.y, (byte) (VALUE + value));
+        else
+            _delegate.setValue(location, value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setValue(int x, int y, int value) {
+        if(isOnBoard(x, y) && value >= 0 && value <= 8)
+            record(x, y, (byte) (VALUE + value));
+        else
+            _delegate.setValue(x, y, value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setValues(RevealBatch batch) {
+        for(int i = 0; i < batch.size(); i++) {
+            int x = batch.getX(i);
+            int y = batch.getY(i);
+
+            if(isOnBoard(x, y))
+                record(x, y, (byte) (VALUE + batch.getValue(i)));
+            else
+                _delegate.setValue(x, y, batch.getValue(i));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setMine(Point location) {
+        flush();
+        _delegate.setMine(location);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setMine(int x, int y) {
+        flush();
+        _delegate.setMine(x, y);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void gameOver(Point location) {
+        flush();
+        _delegate.gameOver(location);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void gameOver(int x, int y) {
+        flush();
+        _delegate.gameOver(x, y);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void win() {
+        flush();
+        _delegate.win();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void reset() {
+        synchronized(_lock) {
+            for(int i = 0; i < _dirtyCount; i++)
+                _pending[_dirty[i]] = NONE;
+
+            _dirtyCount = 0;
+        }
+
+        _delegate.reset();
+    }
+}
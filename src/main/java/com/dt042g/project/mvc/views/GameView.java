@@ -1,5 +1,6 @@
 package com.dt042g.project.mvc.views;
 
+import com.dt042g.project.mvc.observer.RevealBatch;
 import com.dt042g.project.mvc.views.gui.Square;
 
 import javax.swing.BorderFactory;
@@ -73,7 +74,8 @@ public class GameView extends View {
 
     /**
      * Method to initialize the board containing the square GUI components with mouse-listeners to call
-     * the Views pushSelectEvent and pushFlagEvent methods.
+     * the Views pushSelectEvent, pushFlagEvent and pushChordEvent methods. Left clicking a revealed
+     * square, or middle clicking any square, chords it.
      */
     private void initializeBoard() {
         _board = new JPanel();
@@ -88,9 +90,15 @@ public class GameView extends View {
                 public void mousePressed(final MouseEvent mouseEvent) {
                     Point location = calculateSquareBoardPosition(boardIndex, _boardSize);
 
-                    if (mouseEvent.getButton() == MouseEvent.BUTTON1) {
+                    if (mouseEvent.getButton() == MouseEvent.BUTTON1 && square.getState() == Square.State.VALUE) {
+                        chordSquare(square, location);
+
+                    } else if (mouseEvent.getButton() == MouseEvent.BUTTON1) {
                         selectSquare(square, location);
 
+                    } else if (mouseEvent.getButton() == MouseEvent.BUTTON2) {
+                        chordSquare(square, location);
+
                     } else if (mouseEvent.getButton() == MouseEvent.BUTTON3) {
                         flagSquare(square, location);
                     }
@@ -224,16 +232,41 @@ public class GameView extends View {
         }
     }
 
+    /**
+     * Method for checking if the board is not in locked mode (game is over or won) and a square has
+     * been revealed (its state is value), to call the View push chord event.
+     * @param square the square selected for chord event pushing
+     * @param location the point location of the square in the board
+     */
+    private void chordSquare(final Square square, final Point location) {
+        if (square != null && !isBoardLocked() && square.getState() == Square.State.VALUE) {
+            pushChordEvent(location);
+        }
+    }
+
     /**
      * Method for accessing a square in the board from a point location.
      * @param location the point location
      * @return the square
      */
     private Square getSquareFromPosition(final Point location) {
-        if (location == null || location.x < 0 || location.x >= _boardSize || location.y < 0 || location.y >= _boardSize) {
+        if (location == null) {
+            return null;
+        }
+        return getSquareFromPosition(location.x, location.y);
+    }
+
+    /**
+     * Method for getting the Square GUI component of a position on the board.
+     * @param x the x coordinate of the square
+     * @param y the y coordinate of the square
+     * @return the Square GUI component, or null if the position is outside the board
+     */
+    private Square getSquareFromPosition(final int x, final int y) {
+        if (x < 0 || x >= _boardSize || y < 0 || y >= _boardSize) {
             return null;
         }
-        return (Square) _board.getComponent((_boardSize * location.y) + location.x);
+        return (Square) _board.getComponent((_boardSize * y) + x);
     }
 
     /**
@@ -323,6 +356,56 @@ public class GameView extends View {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setHidden(final int x, final int y) {
+        Square square = getSquareFromPosition(x, y);
+
+        if (square != null) {
+            square.setHidden();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setFlagged(final int x, final int y) {
+        Square square = getSquareFromPosition(x, y);
+
+        if (square != null) {
+            square.setFlagged();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setValue(final int x, final int y, final int value) {
+        Square square = getSquareFromPosition(x, y);
+
+        if (square != null) {
+            square.setValue(value);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setValues(final RevealBatch batch) {
+        for (int i = 0; i < batch.size(); i++) {
+            Square square = getSquareFromPosition(batch.getX(i), batch.getY(i));
+
+            if (square != null) {
+                square.setValue(batch.getValue(i));
+            }
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -1,6 +1,8 @@
 package com.dt042g.project.mvc.views;
 
+import com.dt042g.project.mvc.observer.EventType;
 import com.dt042g.project.mvc.observer.Observed;
+import com.dt042g.project.mvc.observer.RevealBatch;
 
 import java.awt.Point;
 import java.util.Arrays;
@@ -8,11 +10,19 @@ import java.util.Arrays;
 /**
  * Class serving as the common super class for any view.
  *
+ * Squares may be updated either by *Point* or by their x and y coordinates.
+ * The coordinate based methods create a *Point* and call the *Point* based
+ * ones by default; views which are updated on hot paths (or must not depend
+ * on AWT objects) should override them, so that updates don't allocate.
+ * Likewise, events pushed by coordinates reach the observers as square
+ * events; while the *Point* based pushes are kept for the Swing view.
+ *
  * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
  */
 public abstract class View extends Observed {
     public static final String VIEW_SELECT_SQUARE_EVENT = "VIEW_SELECT_SQUARE_EVENT";
     public static final String VIEW_FLAG_SQUARE_EVENT = "VIEW_FLAG_SQUARE_EVENT";
+    public static final String VIEW_CHORD_SQUARE_EVENT = "VIEW_CHORD_SQUARE_EVENT";
     public static final String VIEW_RESET_GAME_EVENT = "VIEW_RESET_GAME_EVENT";
 
     /**
@@ -21,7 +31,17 @@ public abstract class View extends Observed {
      * @param location The square location.
      */
     public void pushSelectEvent(Point location) {
-        pushEvent(VIEW_SELECT_SQUARE_EVENT, Arrays.asList(location));
+        pushEvent(EventType.VIEW_SELECT_SQUARE_EVENT, Arrays.asList(location));
+    }
+
+    /**
+     * Helper method for triggering a "select square" event by coordinates.
+     *
+     * @param x The x coordinate of the square.
+     * @param y The y coordinate of the square.
+     */
+    public void pushSelectEvent(int x, int y) {
+        pushSquareEvent(EventType.VIEW_SELECT_SQUARE_EVENT, x, y);
     }
 
     /**
@@ -30,14 +50,43 @@ public abstract class View extends Observed {
      * @param location The square location.
      */
     public void pushFlagEvent(Point location) {
-        pushEvent(VIEW_FLAG_SQUARE_EVENT, Arrays.asList(location));
+        pushEvent(EventType.VIEW_FLAG_SQUARE_EVENT, Arrays.asList(location));
+    }
+
+    /**
+     * Helper method for triggering a "flag square" event by coordinates.
+     *
+     * @param x The x coordinate of the square.
+     * @param y The y coordinate of the square.
+     */
+    public void pushFlagEvent(int x, int y) {
+        pushSquareEvent(EventType.VIEW_FLAG_SQUARE_EVENT, x, y);
+    }
+
+    /**
+     * Helper method for triggering a "chord square" event.
+     *
+     * @param location The square location.
+     */
+    public void pushChordEvent(Point location) {
+        pushEvent(EventType.VIEW_CHORD_SQUARE_EVENT, Arrays.asList(location));
+    }
+
+    /**
+     * Helper method for triggering a "chord square" event by coordinates.
+     *
+     * @param x The x coordinate of the square.
+     * @param y The y coordinate of the square.
+     */
+    public void pushChordEvent(int x, int y) {
+        pushSquareEvent(EventType.VIEW_CHORD_SQUARE_EVENT, x, y);
     }
 
     /**
      * Helper method for triggering a "reset" event.
      */
     public void pushResetGameEvent() {
-        pushEvent(VIEW_RESET_GAME_EVENT, null);
+        pushEvent(EventType.VIEW_RESET_GAME_EVENT, null);
     }
 
     /* *************** */
@@ -64,6 +113,48 @@ public abstract class View extends Observed {
      */
     abstract public void setValue(Point location, int value);
 
+    /**
+     * Method for hiding a square.
+     *
+     * @param x The x coordinate of the square.
+     * @param y The y coordinate of the square.
+     */
+    public void setHidden(int x, int y) {
+        setHidden(new Point(x, y));
+    }
+
+    /**
+     * Method for flagging a square.
+     *
+     * @param x The x coordinate of the square.
+     * @param y The y coordinate of the square.
+     */
+    public void setFlagged(int x, int y) {
+        setFlagged(new Point(x, y));
+    }
+
+    /**
+     * Method for setting the value of a square.
+     *
+     * @param x The x coordinate of the square.
+     * @param y The y coordinate of the square.
+     * @param value The square's value.
+     */
+    public void setValue(int x, int y, int value) {
+        setValue(new Point(x, y), value);
+    }
+
+    /**
+     * Method for setting the values of a batch of squares. By default this
+     * calls *setValue* for each square in the batch.
+     *
+     * @param batch The squares and their values.
+     */
+    public void setValues(RevealBatch batch) {
+        for(int i = 0; i < batch.size(); i++)
+            setValue(batch.getX(i), batch.getY(i), batch.getValue(i));
+    }
+
     /**
      * Method for setting a square to a mine.
      *
@@ -71,6 +162,16 @@ public abstract class View extends Observed {
      */
     abstract public void setMine(Point location);
 
+    /**
+     * Method for setting a square to a mine.
+     *
+     * @param x The x coordinate of the square.
+     * @param y The y coordinate of the square.
+     */
+    public void setMine(int x, int y) {
+        setMine(new Point(x, y));
+    }
+
     /**
      * Method for ending the game.
      *
@@ -78,6 +179,16 @@ public abstract class View extends Observed {
      */
     abstract public void gameOver(Point location);
 
+    /**
+     * Method for ending the game.
+     *
+     * @param x The x coordinate of the clicked mine which caused the game over.
+     * @param y The y coordinate of the clicked mine which caused the game over.
+     */
+    public void gameOver(int x, int y) {
+        gameOver(new Point(x, y));
+    }
+
     /**
      * Method for ending the game by winning.
      */
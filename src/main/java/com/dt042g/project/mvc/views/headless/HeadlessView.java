@@ -0,0 +1,410 @@
+package com.dt042g.project.mvc.views.headless;
+
+import com.dt042g.project.mvc.observer.RevealBatch;
+import com.dt042g.project.mvc.views.View;
+
+import java.awt.Point;
+import java.util.Arrays;
+
+/**
+ * A concrete implementation of a View which keeps the state of the board in
+ * memory instead of showing it; so the game can be played without a display,
+ * such as on servers, in bots and in tests.
+ *
+ * Input is given through *select*, *flag*, *chord* and *restart*, which
+ * follow the same rules as the mouse and buttons of *GameView*; and the state
+ * of the board is read back through the query methods. Nothing in this class
+ * (or the rest of the engine) uses Swing, so it runs with
+ * *java.awt.headless* set. The coordinate based methods push their events
+ * by coordinates, so playing through them never creates a *Point*; the
+ * *Point* based ones are adapters for them.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+public class HeadlessView extends View {
+    /**
+     * The State enum represents the states a square can possess; the same as
+     * those of the *Square* GUI component.
+     */
+    public enum State {
+        HIDDEN,
+        FLAGGED,
+        VALUE,
+        MINE
+    }
+
+    private static final byte HIDDEN = 0;
+    private static final byte FLAGGED = 1;
+    private static final byte MINE = 2;
+    private static final byte VALUE = 3;
+
+    private final int _width;
+    private final int _height;
+    private final byte[] _squares;
+    private boolean _boardLocked = false;
+    private boolean _won = false;
+    private boolean _lost = false;
+
+    /**
+     * Constructor to initialize the view with every square hidden.
+     *
+     * @param width The number of squares along the x-axis.
+     * @param height The number of squares along the y-axis.
+     *
+     * @throws IllegalArgumentException If a dimension is negative or the board is too large to be stored.
+     */
+    public HeadlessView(int width, int height) {
+        if(width < 0 || height < 0 || (long) width * height > Integer.MAX_VALUE)
+            throw new IllegalArgumentException(String.format("Invalid board dimensions %dx%d!", width, height));
+
+        _width = width;
+        _height = height;
+        _squares = new byte[width * height];
+    }
+
+    /**
+     * Method for selecting a square; I.E. the equivalent of a left click.
+     * Ignored if the board is locked or the square is not hidden.
+     *
+     * @param location The square location.
+     *
+     * @throws IndexOutOfBoundsException If the location is outside the size of the board.
+     */
+    public void select(Point location) {
+        select(location.x, location.y);
+    }
+
+    /**
+     * Method for selecting a square; I.E. the equivalent of a left click.
+     * Ignored if the board is locked or the square is not hidden.
+     *
+     * @param x The x coordinate of the square.
+     * @param y The y coordinate of the square.
+     *
+     * @throws IndexOutOfBoundsException If the coordinate is outside the size of the board.
+     */
+    public void select(int x, int y) {
+        if(!_boardLocked && getState(x, y) == State.HIDDEN)
+            pushSelectEvent(x, y);
+    }
+
+    /**
+     * Method for toggling the flag of a square; I.E. the equivalent of a right
+     * click. Ignored if the board is locked or the square is revealed.
+     *
+     * @param location The square location.
+     *
+     * @throws IndexOutOfBoundsException If the location is outside the size of the board.
+     */
+    public void flag(Point location) {
+        flag(location.x, location.y);
+    }
+
+    /**
+     * Method for toggling the flag of a square; I.E. the equivalent of a right
+     * click. Ignored if the board is locked or the square is revealed.
+     *
+     * @param x The x coordinate of the square.
+     * @param y The y coordinate of the square.
+     *
+     * @throws IndexOutOfBoundsException If the coordinate is outside the size of the board.
+     */
+    public void flag(int x, int y) {
+        if(!_boardLocked && getState(x, y) != State.VALUE)
+            pushFlagEvent(x, y);
+    }
+
+    /**
+     * Method for chording a square; I.E. the equivalent of a middle click.
+     * Ignored if the board is locked or the square is not revealed.
+     *
+     * @param location The square location.
+     *
+     * @throws IndexOutOfBoundsException If the location is outside the size of the board.
+     */
+    public void chord(Point location) {
+        chord(location.x, location.y);
+    }
+
+    /**
+     * Method for chording a square; I.E. the equivalent of a middle click.
+     * Ignored if the board is locked or the square is not revealed.
+     *
+     * @param x The x coordinate of the square.
+     * @param y The y coordinate of the square.
+     *
+     * @throws IndexOutOfBoundsException If the coordinate is outside the size of the board.
+     */
+    public void chord(int x, int y) {
+        if(!_boardLocked && getState(x, y) == State.VALUE)
+            pushChordEvent(x, y);
+    }
+
+    /**
+     * Method for restarting the game; I.E. the equivalent of the restart button.
+     */
+    public void restart() {
+        pushResetGameEvent();
+    }
+
+    /**
+     * Method for getting the width of the board.
+     *
+     * @return The number of squares along the x-axis.
+     */
+    public int getWidth() {
+        return _width;
+    }
+
+    /**
+     * Method for getting the height of the board.
+     *
+     * @return The number of squares along the y-axis.
+     */
+    public int getHeight() {
+        return _height;
+    }
+
+    /**
+     * Method for getting the state of a square.
+     *
+     * @param location The square location.
+     *
+     * @return The state.
+     *
+     * @throws IndexOutOfBoundsException If the location is outside the size of the board.
+     */
+    public State getState(Point location) {
+        return getState(location.x, location.y);
+    }
+
+    /**
+     * Method for getting the state of a square.
+     *
+     * @param x The x coordinate of the square.
+     * @param y The y coordinate of the square.
+     *
+     * @return The state.
+     *
+     * @throws IndexOutOfBoundsException If the coordinate is outside the size of the board.
+     */
+    public State getState(int x, int y) {
+        byte square = _squares[indexOf(x, y)];
+
+        return switch(square) {
+            case HIDDEN -> State.HIDDEN;
+            case FLAGGED -> State.FLAGGED;
+            case MINE -> State.MINE;
+            default -> State.VALUE;
+        };
+    }
+
+    /**
+     * Method for getting the shown value of a square.
+     *
+     * @param location The square location.
+     *
+     * @return The value, or -1 if the square is not revealed.
+     *
+     * @throws IndexOutOfBoundsException If the location is outside the size of the board.
+     */
+    public int getValue(Point location) {
+        return getValue(location.x, location.y);
+    }
+
+    /**
+     * Method for getting the shown value of a square.
+     *
+     * @param x The x coordinate of the square.
+     * @param y The y coordinate of the square.
+     *
+     * @return The value, or -1 if the square is not revealed.
+     *
+     * @throws IndexOutOfBoundsException If the coordinate is outside the size of the board.
+     */
+    public int getValue(int x, int y) {
+        byte square = _squares[indexOf(x, y)];
+        return square >= VALUE ? square - VALUE : -1;
+    }
+
+    /**
+     * Method for checking if the board is locked; I.E. the game is over.
+     *
+     * @return Whether the board is locked.
+     */
+    public boolean isBoardLocked() {
+        return _boardLocked;
+    }
+
+    /**
+     * Method for checking if the game was won.
+     *
+     * @return Whether the game was won.
+     */
+    public boolean isWon() {
+        return _won;
+    }
+
+    /**
+     * Method for checking if the game was lost.
+     *
+     * @return Whether the game was lost.
+     */
+    public boolean isLost() {
+        return _lost;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setHidden(Point location) {
+        if(location != null)
+            setHidden(location.x, location.y);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setHidden(int x, int y) {
+        set(x, y, HIDDEN);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setFlagged(Point location) {
+        if(location != null)
+            setFlagged(location.x, location.y);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setFlagged(int x, int y) {
+        set(x, y, FLAGGED);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setValue(Point location, int value) {
+        if(location != null)
+            setValue(location.x, location.y, value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setValue(int x, int y, int value) {
+        if(value >= 0 && value <= 8)
+            set(x, y, (byte) (VALUE + value));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setValues(RevealBatch batch) {
+        for(int i = 0; i < batch.size(); i++) {
+            int x = batch.getX(i);
+            int y = batch.getY(i);
+
+            if(x < _width && y < _height)
+                _squares[y * _width + x] = (byte) (VALUE + batch.getValue(i));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setMine(Point location) {
+        if(location != null)
+            setMine(location.x, location.y);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setMine(int x, int y) {
+        set(x, y, MINE);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void gameOver(Point location) {
+        setMine(location);
+        _lost = true;
+        _boardLocked = true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void gameOver(int x, int y) {
+        setMine(x, y);
+        _lost = true;
+        _boardLocked = true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void win() {
+        _won = true;
+        _boardLocked = true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void reset() {
+        Arrays.fill(_squares, HIDDEN);
+        _won = false;
+        _lost = false;
+        _boardLocked = false;
+    }
+
+    /**
+     * Helper method for setting the state of a square; ignoring coordinates
+     * outside the board, like *GameView* does.
+     *
+     * @param x The x coordinate of the square.
+     * @param y The y coordinate of the square.
+     * @param square The new state.
+     */
+    private void set(int x, int y, byte square) {
+        if(x >= 0 && x < _width && y >= 0 && y < _height)
+            _squares[y * _width + x] = square;
+    }
+
+    /**
+     * Helper method for converting a coordinate into an index.
+     *
+     * @param x The x coordinate of the square.
+     * @param y The y coordinate of the square.
+     *
+     * @return The index.
+     *
+     * @throws IndexOutOfBoundsException If the coordinate is outside the size of the board.
+     */
+    private int indexOf(int x, int y) {
+        if(x < 0 || x >= _width || y < 0 || y >= _height)
+            throw new IndexOutOfBoundsException(String.format(
+                    "Square (%d, %d) is outside the %dx%d board!", x, y, _width, _height));
+
+        return y * _width + x;
+    }
+}
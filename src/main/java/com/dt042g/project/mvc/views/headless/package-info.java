@@ -0,0 +1,4 @@
+/**
+ * Package for the headless (GUI-free) View implementation.
+ */
+package com.dt042g.project.mvc.views.headless;
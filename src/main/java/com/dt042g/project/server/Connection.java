@@ -0,0 +1,112 @@
+package com.dt042g.project.server;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Class holding the state of a single client connection to a *GameServer*.
+ *
+ * Requests are only ever read on the selector thread, while responses are
+ * queued from the shard thread of the game; and written on the selector
+ * thread once the channel is writable.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+class Connection {
+    private final SocketChannel _channel;
+    private final ByteBuffer _in = ByteBuffer.allocate(256);
+    private final Queue<ByteBuffer> _out = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean _writeRequested = new AtomicBoolean(false);
+
+    private volatile long _sessionId = 0;
+
+    /**
+     * Constructor to initialize the connection.
+     *
+     * @param channel The channel of the connection.
+     */
+    Connection(SocketChannel channel) {
+        _channel = channel;
+    }
+
+    /**
+     * Method for getting the channel of the connection.
+     *
+     * @return The channel.
+     */
+    SocketChannel getChannel() {
+        return _channel;
+    }
+
+    /**
+     * Method for getting the buffer which requests are read into.
+     *
+     * @return The read buffer; in write mode.
+     */
+    ByteBuffer getReadBuffer() {
+        return _in;
+    }
+
+    /**
+     * Method for getting the id of the session of the current game.
+     *
+     * @return The session id; or 0 if no game has been started.
+     */
+    long getSessionId() {
+        return _sessionId;
+    }
+
+    /**
+     * Method for setting the id of the session of the current game.
+     *
+     * @param sessionId The session id.
+     */
+    void setSessionId(long sessionId) {
+        _sessionId = sessionId;
+    }
+
+    /**
+     * Method for queueing a response to be written.
+     *
+     * @param frame The frame; ready to be written.
+     *
+     * @return Whether the selector must be asked to write the connection; I.E.
+     *         a write was not already requested.
+     */
+    boolean queue(ByteBuffer frame) {
+        _out.add(frame);
+        return _writeRequested.compareAndSet(false, true);
+    }
+
+    /**
+     * Method for writing as many queued responses as the channel accepts.
+     *
+     * @return Whether every queued response was written. If not, the caller
+     *         must keep waiting for the channel to become writable.
+     *
+     * @throws IOException If the write fails.
+     */
+    boolean flush() throws IOException {
+        ByteBuffer frame;
+
+        while((frame = _out.peek()) != null) {
+            _channel.write(frame);
+
+            if(frame.hasRemaining())
+                return false;
+
+            _out.poll();
+        }
+
+        _writeRequested.set(false);
+
+        // A response may have been queued after the queue was found empty,
+        // but before the flag was cleared; in which case no write was
+        // requested for it.
+        return _out.isEmpty() || !_writeRequested.compareAndSet(false, true);
+    }
+}
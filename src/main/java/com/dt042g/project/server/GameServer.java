@@ -0,0 +1,534 @@
+package com.dt042g.project.server;
+
+import com.dt042g.project.mvc.models.Model;
+import com.dt042g.project.mvc.observer.EventType;
+import com.dt042g.project.mvc.observer.Observer;
+import com.dt042g.project.mvc.observer.RevealBatch;
+import com.dt042g.project.sessions.GameSession;
+import com.dt042g.project.sessions.SessionManager;
+
+import java.awt.Point;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Class which exposes the game engine over TCP, using the binary *Protocol*.
+ *
+ * A single selector thread accepts connections, reads requests and writes
+ * responses; it never runs game logic. Each connection plays one game at a
+ * time, hosted as a session of a *SessionManager*; so every request is handed
+ * to the shard thread of its game, where it is translated into the view event
+ * the GUI would have pushed (and thereby into a *GameController* call). The
+ * reveal, mine hit and win events pushed by the model are encoded on the
+ * shard thread, and queued on the connection for the selector thread to write.
+ *
+ * Responses to the requests of a game are sent in request order, each request
+ * being terminated by a *DONE* frame.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+public class GameServer implements AutoCloseable {
+    public static final int DEFAULT_PORT = 7878;
+
+    private final SessionManager _sessions;
+    private final ServerSocketChannel _serverChannel;
+    private final Selector _selector;
+    private final Queue<Connection> _writable = new ConcurrentLinkedQueue<>();
+    private final Thread _thread;
+
+    private final AtomicInteger _connections = new AtomicInteger();
+    private final AtomicLong _requests = new AtomicLong();
+    private final AtomicLong _responses = new AtomicLong();
+
+    /**
+     * Constructor to initialize the server and bind it to an address. The
+     * server does not accept connections until started.
+     *
+     * @param sessions The session manager to host the games on.
+     * @param address The address to listen on; port 0 picks a free port.
+     *
+     * @throws IOException If the address cannot be bound.
+     */
+    public GameServer(SessionManager sessions, InetSocketAddress address) throws IOException {
+        _sessions = sessions;
+        _selector = Selector.open();
+        _serverChannel = ServerSocketChannel.open();
+        _serverChannel.bind(address);
+        _serverChannel.configureBlocking(false);
+        _serverChannel.register(_selector, SelectionKey.OP_ACCEPT);
+
+        _thread = new Thread(this::run, "game-server-selector");
+        _thread.setDaemon(true);
+    }
+
+    /**
+     * Method for starting to accept connections, on the selector thread.
+     */
+    public void start() {
+        _thread.start();
+    }
+
+    /**
+     * Method for getting the port the server is listening on.
+     *
+     * @return The port.
+     */
+    public int getPort() {
+        return _serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * Method for getting the number of open connections.
+     *
+     * @return The number of connections.
+     */
+    public int getConnectionCount() {
+        return _connections.get();
+    }
+
+    /**
+     * Method for getting the total number of handled requests.
+     *
+     * @return The number of requests.
+     */
+    public long getRequestCount() {
+        return _requests.get();
+    }
+
+    /**
+     * Method for getting the total number of queued response frames.
+     *
+     * @return The number of frames.
+     */
+    public long getResponseCount() {
+        return _responses.get();
+    }
+
+    /**
+     * The loop of the selector thread.
+     */
+    private void run() {
+        try {
+            while(_serverChannel.isOpen()) {
+                _selector.select();
+
+                Connection connection;
+                while((connection = _writable.poll()) != null) {
+                    SelectionKey key = connection.getChannel().keyFor(_selector);
+
+                    if(key != null && key.isValid())
+                        key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                }
+
+                Iterator<SelectionKey> keys = _selector.selectedKeys().iterator();
+                while(keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+
+                    try {
+                        if(key.isAcceptable())
+                            accept();
+                        if(key.isValid() && key.isReadable())
+                            read(key);
+                        if(key.isValid() && key.isWritable())
+                            write(key);
+                    } catch(IOException | RuntimeException | OutOfMemoryError e) {
+                        // Only the connection at fault is closed; the loop keeps serving the others
+                        if(key.attachment() instanceof Connection)
+                            disconnect(key);
+                    }
+                }
+            }
+        } catch(IOException | ClosedSelectorException e) {
+            // The server was closed.
+        }
+    }
+
+    /**
+     * Method for accepting a new connection.
+     *
+     * @throws IOException If the connection cannot be configured.
+     */
+    private void accept() throws IOException {
+        SocketChannel channel = _serverChannel.accept();
+
+        if(channel == null)
+            return;
+
+        channel.configureBlocking(false);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        channel.register(_selector, SelectionKey.OP_READ, new Connection(channel));
+        _connections.incrementAndGet();
+    }
+
+    /**
+     * Method for reading (and dispatching) every complete request available
+     * on a connection.
+     *
+     * @param key The key of the connection.
+     *
+     * @throws IOException If the read fails, or the client violates the protocol.
+     */
+    private void read(SelectionKey key) throws IOException {
+        Connection connection = (Connection) key.attachment();
+        ByteBuffer in = connection.getReadBuffer();
+
+        if(connection.getChannel().read(in) < 0) {
+            disconnect(key);
+            return;
+        }
+
+        in.flip();
+
+        while(in.remaining() >= Protocol.HEADER_BYTES) {
+            int length = in.getInt(in.position());
+
+            if(length < 1 || length > Protocol.MAX_REQUEST_BYTES)
+                throw new IOException(String.format("Invalid request length %d!", length));
+            if(in.remaining() < Protocol.HEADER_BYTES + length)
+                break;
+
+            in.position(in.position() + Protocol.HEADER_BYTES);
+            ByteBuffer request = in.slice(in.position(), length);
+            in.position(in.position() + length);
+
+            try {
+                handle(connection, request);
+            } catch(RuntimeException e) {
+                send(connection, Protocol.error(e.getMessage()));
+                send(connection, Protocol.empty(Protocol.DONE));
+            }
+        }
+
+        in.compact();
+    }
+
+    /**
+     * Method for writing the queued responses of a connection.
+     *
+     * @param key The key of the connection.
+     *
+     * @throws IOException If the write fails.
+     */
+    private void write(SelectionKey key) throws IOException {
+        Connection connection = (Connection) key.attachment();
+
+        if(connection.flush())
+            key.interestOps(SelectionKey.OP_READ);
+    }
+
+    /**
+     * Method for closing a connection, along with its game.
+     *
+     * @param key The key of the connection.
+     */
+    private void disconnect(SelectionKey key) {
+        Connection connection = (Connection) key.attachment();
+
+        if(!key.channel().isOpen())
+            return;
+
+        key.cancel();
+
+        try {
+            key.channel().close();
+        } catch(IOException e) {
+            // Already closed.
+        }
+
+        if(connection != null) {
+            _connections.decrementAndGet();
+            closeSessionWhenIdle(connection.getSessionId());
+        }
+    }
+
+    /**
+     * Method for dispatching a request; decoded on the selector thread, and
+     * handled on the shard thread of the game.
+     *
+     * @param connection The connection the request was read from.
+     * @param request The type and payload of the request.
+     *
+     * @throws IOException If the request is malformed.
+     */
+    private void handle(Connection connection, ByteBuffer request) throws IOException {
+        _requests.incrementAndGet();
+        byte type = request.get();
+
+        switch(type) {
+            case Protocol.NEW_GAME -> {
+                requireRemaining(request, 2 * Integer.BYTES + Double.BYTES);
+                newGame(connection, request.getInt(), request.getInt(), request.getDouble());
+            }
+            case Protocol.SELECT -> {
+                requireRemaining(request, 2 * Integer.BYTES);
+                int x = request.getInt();
+                int y = request.getInt();
+                run(connection, session -> session.getView().select(x, y));
+            }
+            case Protocol.FLAG -> {
+                requireRemaining(request, 2 * Integer.BYTES);
+                int x = request.getInt();
+                int y = request.getInt();
+                run(connection, session -> {
+                    session.getView().flag(x, y);
+                    send(connection, Protocol.flagged(x, y, session.getModel().isFlagged(x, y)));
+                });
+            }
+            case Protocol.RESET -> run(connection, GameSession::restart);
+            default -> throw new IOException(String.format("Unknown request type %d!", type));
+        }
+    }
+
+    /**
+     * Helper method for checking the payload length of a request.
+     *
+     * @param request The request.
+     * @param bytes The expected payload length.
+     *
+     * @throws IOException If the payload has a different length.
+     */
+    private static void requireRemaining(ByteBuffer request, int bytes) throws IOException {
+        if(request.remaining() != bytes)
+            throw new IOException(String.format("Invalid payload length %d; expected %d!", request.remaining(), bytes));
+    }
+
+    /**
+     * Method for starting a new game on a connection; replacing the current
+     * game (which is closed once its queued requests have been handled). The
+     * game is created on its shard thread, and any failure to do so is sent
+     * as an *ERROR* response.
+     *
+     * @param connection The connection.
+     * @param width The number of squares along the x-axis.
+     * @param height The number of squares along the y-axis.
+     * @param mineChance The chance of each square being a mine; 0 to 1.
+     */
+    private void newGame(Connection connection, int width, int height, double mineChance) {
+        if((long) width * height > Protocol.MAX_BOARD_SQUARES) {
+            send(connection, Protocol.error(String.format("Invalid board dimensions %dx%d; at most %d squares!",
+                    width, height, Protocol.MAX_BOARD_SQUARES)));
+            send(connection, Protocol.empty(Protocol.DONE));
+            return;
+        }
+
+        long previous = connection.getSessionId();
+        long id = _sessions.createSessionAsync(width, height, mineChance);
+
+        connection.setSessionId(id);
+        closeSessionWhenIdle(previous);
+
+        run(connection, session -> {
+            session.getModel().attachObserver(new EventEncoder(connection, session.getModel(), width),
+                    EventType.MODEL_REVEAL_SQUARE_EVENT, EventType.MODEL_MINE_HIT_EVENT, EventType.MODEL_WIN_EVENT);
+            send(connection, Protocol.gameStarted(id, width, height));
+        });
+    }
+
+    /**
+     * Method for closing a session once every request queued for it has been
+     * handled.
+     *
+     * @param id The id of the session; or 0 for none.
+     */
+    private void closeSessionWhenIdle(long id) {
+        if(id != 0)
+            _sessions.execute(id, session -> _sessions.closeSession(id));
+    }
+
+    /**
+     * Method for running a request on the shard thread of the current game of
+     * a connection, and terminating it with *DONE*. Errors are sent as an
+     * *ERROR* response before the *DONE*.
+     *
+     * @param connection The connection.
+     * @param action The request.
+     */
+    private void run(Connection connection, Consumer<GameSession> action) {
+        long id = connection.getSessionId();
+
+        if(id == 0) {
+            send(connection, Protocol.error("No game has been started!"));
+            send(connection, Protocol.empty(Protocol.DONE));
+            return;
+        }
+
+        _sessions.execute(id, session -> {
+            try {
+                action.accept(session);
+            } catch(RuntimeException e) {
+                send(connection, Protocol.error(e.getMessage()));
+            }
+
+            send(connection, Protocol.empty(Protocol.DONE));
+        }).whenComplete((result, error) -> {
+            // Only when the session itself is gone; errors of the request are
+            // already handled above.
+            if(error != null) {
+                send(connection, Protocol.error(error.getCause() != null ? error.getCause().getMessage() : error.getMessage()));
+                send(connection, Protocol.empty(Protocol.DONE));
+            }
+        });
+    }
+
+    /**
+     * Method for queueing a response on a connection, and waking the selector
+     * thread up to write it.
+     *
+     * @param connection The connection.
+     * @param frame The frame; ready to be written.
+     */
+    private void send(Connection connection, ByteBuffer frame) {
+        _responses.incrementAndGet();
+
+        if(connection.queue(frame)) {
+            _writable.add(connection);
+            _selector.wakeup();
+        }
+    }
+
+    /**
+     * Method for stopping the server; closing every connection. The session
+     * manager is not closed.
+     */
+    @Override
+    public void close() {
+        try {
+            _serverChannel.close();
+
+            for(SelectionKey key : _selector.keys())
+                if(key.attachment() instanceof Connection)
+                    disconnect(key);
+
+            _selector.close();
+        } catch(IOException | ClosedSelectorException e) {
+            // Already closed.
+        }
+
+        try {
+            _thread.join(1000);
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Observer which encodes the events of a model as responses; running on
+     * the shard thread of the game.
+     */
+    private class EventEncoder implements Observer {
+        private final Connection _connection;
+        private final Model _model;
+        private final int _width;
+
+        /**
+         * Constructor to initialize the encoder.
+         *
+         * @param connection The connection to send the responses on.
+         * @param model The model of the game.
+         * @param width The width of the board.
+         */
+        EventEncoder(Connection connection, Model model, int width) {
+            _connection = connection;
+            _model = model;
+            _width = width;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void handleEvent(String eventName, List<Point> locations) {
+            EventType type = EventType.fromName(eventName);
+
+            if(type != null)
+                handleTypedEvent(type, locations);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void handleTypedEvent(EventType type, List<Point> locations) {
+            switch(type) {
+                case MODEL_REVEAL_SQUARE_EVENT -> {
+                    ByteBuffer frame = Protocol.frame(Protocol.REVEAL, Integer.BYTES + locations.size() * (Integer.BYTES + 1));
+                    frame.putInt(locations.size());
+
+                    for(Point location : locations)
+                        frame.putInt(location.y * _width + location.x).put((byte) _model.getSquareValue(location));
+
+                    send(_connection, frame.flip());
+                }
+                case MODEL_MINE_HIT_EVENT -> send(_connection,
+                        Protocol.coordinate(Protocol.MINE_HIT, locations.get(0).x, locations.get(0).y));
+                case MODEL_WIN_EVENT -> send(_connection, Protocol.empty(Protocol.WIN));
+                default -> {}
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void handleBatchEvent(EventType type, RevealBatch batch) {
+            if(type != EventType.MODEL_REVEAL_SQUARE_EVENT) {
+                handleTypedEvent(type, batch);
+                return;
+            }
+
+            ByteBuffer frame = Protocol.frame(Protocol.REVEAL, Integer.BYTES + batch.size() * (Integer.BYTES + 1));
+            frame.putInt(batch.size());
+
+            for(int i = 0; i < batch.size(); i++)
+                frame.putInt(batch.getIndex(i)).put((byte) batch.getValue(i));
+
+            send(_connection, frame.flip());
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void handleSquareEvent(EventType type, int x, int y) {
+            if(type == EventType.MODEL_MINE_HIT_EVENT)
+                send(_connection, Protocol.coordinate(Protocol.MINE_HIT, x, y));
+        }
+    }
+
+    /**
+     * Entry point for running the server on its own, without any GUI.
+     *
+     * @param args Optionally the port to listen on (defaults to *DEFAULT_PORT*),
+     *             followed by the address to bind to (defaults to the loopback
+     *             address; use 0.0.0.0 to accept connections from the network).
+     *
+     * @throws IOException If the port cannot be bound.
+     * @throws InterruptedException If interrupted while running.
+     */
+    public static void main(String... args) throws IOException, InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        SessionManager sessions = new SessionManager(SessionManager.NO_TIMEOUT);
+        InetAddress host = args.length > 1 ? InetAddress.getByName(args[1]) : InetAddress.getLoopbackAddress();
+        GameServer server = new GameServer(sessions, new InetSocketAddress(host, port));
+
+        server.start();
+        System.out.println("Minesweeper server listening on port " + server.getPort());
+        server._thread.join();
+    }
+}
@@ -0,0 +1,342 @@
+package com.dt042g.project.server;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Class which generates load against a *GameServer*; and reports the latency
+ * and throughput of the moves.
+ *
+ * Each client is a thread with its own connection, playing games by selecting
+ * random hidden squares one at a time; and starting over whenever a game is
+ * won or lost. The latency of a move is the time from sending the request to
+ * receiving its *DONE*; I.E. including every response it caused.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+public class LoadClient {
+    private final InetSocketAddress _address;
+    private final int _clients;
+    private final int _movesPerClient;
+    private final int _width;
+    private final int _height;
+    private final double _mineChance;
+
+    /**
+     * Constructor to initialize the load client.
+     *
+     * @param address The address of the server.
+     * @param clients The number of concurrent clients.
+     * @param movesPerClient The number of moves each client makes.
+     * @param width The number of squares along the x-axis of each board.
+     * @param height The number of squares along the y-axis of each board.
+     * @param mineChance The chance of each square being a mine; 0 to 1.
+     *
+     * @throws IllegalArgumentException If the number of clients or moves is less than one.
+     */
+    public LoadClient(InetSocketAddress address, int clients, int movesPerClient, int width, int height, double mineChance) {
+        if(clients < 1 || movesPerClient < 1)
+            throw new IllegalArgumentException(String.format("Invalid load %d clients x %d moves!", clients, movesPerClient));
+
+        _address = address;
+        _clients = clients;
+        _movesPerClient = movesPerClient;
+        _width = width;
+        _height = height;
+        _mineChance = mineChance;
+    }
+
+    /**
+     * Method for running the load; blocking until every client is done.
+     *
+     * @return The result.
+     *
+     * @throws IOException If a client fails to talk to the server.
+     * @throws InterruptedException If interrupted while waiting for the clients.
+     */
+    public Result run() throws IOException, InterruptedException {
+        Player[] players = new Player[_clients];
+        Thread[] threads = new Thread[_clients];
+
+        for(int i = 0; i < _clients; i++) {
+            players[i] = new Player(i);
+            threads[i] = new Thread(players[i], "load-client-" + i);
+        }
+
+        long start = System.nanoTime();
+        for(Thread thread : threads)
+            thread.start();
+        for(Thread thread : threads)
+            thread.join();
+        long elapsed = System.nanoTime() - start;
+
+        long[] latencies = new long[_clients * _movesPerClient];
+        int moves = 0;
+        int games = 0;
+        int errors = 0;
+
+        for(Player player : players) {
+            if(player._failure != null)
+                throw player._failure;
+
+            System.arraycopy(player._latencies, 0, latencies, moves, player._moves);
+            moves += player._moves;
+            games += player._games;
+            errors += player._errors;
+        }
+
+        return new Result(Arrays.copyOf(latencies, moves), games, errors, elapsed);
+    }
+
+    /**
+     * Class holding the result of a load run.
+     */
+    public static class Result {
+        private final long[] _latencies;
+        private final int _games;
+        private final int _errors;
+        private final long _elapsedNanos;
+
+        /**
+         * Constructor to initialize the result.
+         *
+         * @param latencies The latency of every move, in nanoseconds.
+         * @param games The number of started games.
+         * @param errors The number of error responses.
+         * @param elapsedNanos The wall-clock time of the run, in nanoseconds.
+         */
+        Result(long[] latencies, int games, int errors, long elapsedNanos) {
+            _latencies = latencies;
+            _games = games;
+            _errors = errors;
+            _elapsedNanos = elapsedNanos;
+            Arrays.sort(_latencies);
+        }
+
+        /**
+         * Method for getting the total number of moves.
+         *
+         * @return The number of moves.
+         */
+        public int getMoves() {
+            return _latencies.length;
+        }
+
+        /**
+         * Method for getting the total number of started games.
+         *
+         * @return The number of games.
+         */
+        public int getGames() {
+            return _games;
+        }
+
+        /**
+         * Method for getting the total number of error responses.
+         *
+         * @return The number of errors.
+         */
+        public int getErrors() {
+            return _errors;
+        }
+
+        /**
+         * Method for getting the number of moves per second, over the whole run.
+         *
+         * @return The moves per second.
+         */
+        public double getMovesPerSecond() {
+            return _elapsedNanos == 0 ? 0 : _latencies.length * 1e9 / _elapsedNanos;
+        }
+
+        /**
+         * Method for getting a percentile of the move latencies.
+         *
+         * @param percentile The percentile; 0 to 100.
+         *
+         * @return The latency, in microseconds; or 0 if there were no moves.
+         */
+        public double getLatencyMicros(double percentile) {
+            if(_latencies.length == 0)
+                return 0;
+
+            int index = (int) Math.ceil(percentile / 100 * _latencies.length) - 1;
+            return _latencies[Math.max(0, Math.min(index, _latencies.length - 1))] / 1e3;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            return String.format("%d moves in %d games (%d errors); %.0f moves/s, p50 %.1f us, p99 %.1f us",
+                    getMoves(), _games, _errors, getMovesPerSecond(), getLatencyMicros(50), getLatencyMicros(99));
+        }
+    }
+
+    /**
+     * A single client; playing over its own connection.
+     */
+    private class Player implements Runnable {
+        private final SplittableRandom _random;
+        private final long[] _latencies = new long[_movesPerClient];
+        private final boolean[] _revealed = new boolean[_width * _height];
+
+        private int _moves = 0;
+        private int _games = 0;
+        private int _errors = 0;
+        private boolean _over = false;
+        private IOException _failure;
+
+        private DataInputStream _in;
+        private OutputStream _out;
+
+        /**
+         * Constructor to initialize the player.
+         *
+         * @param seed The seed of the random moves.
+         */
+        Player(long seed) {
+            _random = new SplittableRandom(seed);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void run() {
+            try(Socket socket = new Socket(_address.getAddress(), _address.getPort())) {
+                socket.setTcpNoDelay(true);
+                _in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                _out = new BufferedOutputStream(socket.getOutputStream());
+
+                request(Protocol.newGame(_width, _height, _mineChance));
+                _games++;
+
+                while(_moves < _movesPerClient) {
+                    int square = nextHiddenSquare();
+
+                    if(_over || square < 0) {
+                        request(Protocol.empty(Protocol.RESET));
+                        Arrays.fill(_revealed, false);
+                        _over = false;
+                        _games++;
+                        continue;
+                    }
+
+                    long start = System.nanoTime();
+                    request(Protocol.coordinate(Protocol.SELECT, square % _width, square / _width));
+                    _latencies[_moves++] = System.nanoTime() - start;
+                }
+            } catch(IOException e) {
+                _failure = e;
+            }
+        }
+
+        /**
+         * Method for picking a random hidden square.
+         *
+         * @return The packed cell index of the square; or -1 if there is none.
+         */
+        private int nextHiddenSquare() {
+            int start = _random.nextInt(_revealed.length);
+
+            for(int i = 0; i < _revealed.length; i++) {
+                int square = (start + i) % _revealed.length;
+
+                if(!_revealed[square])
+                    return square;
+            }
+
+            return -1;
+        }
+
+        /**
+         * Method for sending a request, and handling every response until its
+         * *DONE*.
+         *
+         * @param frame The request.
+         *
+         * @throws IOException If the connection fails.
+         */
+        private void request(ByteBuffer frame) throws IOException {
+            _out.write(frame.array(), 0, frame.limit());
+            _out.flush();
+
+            while(true) {
+                int length = _in.readInt();
+                byte type = _in.readByte();
+                byte[] payload = new byte[length - 1];
+                _in.readFully(payload);
+
+                switch(type) {
+                    case Protocol.DONE -> {
+                        return;
+                    }
+                    case Protocol.REVEAL -> {
+                        ByteBuffer reveal = ByteBuffer.wrap(payload);
+                        int count = reveal.getInt();
+
+                        for(int i = 0; i < count; i++) {
+                            _revealed[reveal.getInt()] = true;
+                            reveal.get();
+                        }
+                    }
+                    case Protocol.MINE_HIT, Protocol.WIN -> _over = true;
+                    case Protocol.ERROR -> _errors++;
+                    default -> {}
+                }
+            }
+        }
+    }
+
+    /**
+     * Entry point for running the load client from the command line.
+     *
+     * Options (each as *--name=value*): host (default localhost), port
+     * (default *GameServer.DEFAULT_PORT*), clients (default 8), moves per
+     * client (default 10000), size of the square boards (default 20) and
+     * mine-chance (default 0.15).
+     *
+     * @param args The options.
+     *
+     * @throws IOException If a client fails to talk to the server.
+     * @throws InterruptedException If interrupted while running.
+     */
+    public static void main(String... args) throws IOException, InterruptedException {
+        String host = "localhost";
+        int port = GameServer.DEFAULT_PORT;
+        int clients = 8;
+        int moves = 10000;
+        int size = 20;
+        double mineChance = 0.15;
+
+        for(String arg : args) {
+            String[] option = arg.replaceFirst("^--", "").split("=", 2);
+
+            if(option.length != 2)
+                throw new IllegalArgumentException(String.format("Invalid option %s!", arg));
+
+            switch(option[0]) {
+                case "host" -> host = option[1];
+                case "port" -> port = Integer.parseInt(option[1]);
+                case "clients" -> clients = Integer.parseInt(option[1]);
+                case "moves" -> moves = Integer.parseInt(option[1]);
+                case "size" -> size = Integer.parseInt(option[1]);
+                case "mine-chance" -> mineChance = Double.parseDouble(option[1]);
+                default -> throw new IllegalArgumentException(String.format("Unknown option %s!", option[0]));
+            }
+        }
+
+        Result result = new LoadClient(new InetSocketAddress(host, port), clients, moves, size, size, mineChance).run();
+        System.out.println(result);
+    }
+}
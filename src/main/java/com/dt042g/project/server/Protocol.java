@@ -0,0 +1,160 @@
+package com.dt042g.project.server;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Class holding the binary protocol spoken between a *GameServer* and its
+ * clients.
+ *
+ * Every message is a frame; a four byte (big-endian) length, followed by that
+ * many bytes holding a one byte message type and its payload. Coordinates are
+ * four byte integers, and revealed squares are sent as packed cell indices
+ * (*y * width + x*) followed by their one byte value; so a reveal costs five
+ * bytes per square.
+ *
+ * Requests (client to server):
+ * - *NEW_GAME*: int width, int height, double mine chance; at most
+ *   *MAX_BOARD_SQUARES* squares.
+ * - *SELECT*: int x, int y.
+ * - *FLAG*: int x, int y.
+ * - *RESET*: no payload.
+ *
+ * Responses (server to client):
+ * - *GAME_STARTED*: long session id, int width, int height.
+ * - *REVEAL*: int count, then count times; int index, byte value.
+ * - *MINE_HIT*: int x, int y.
+ * - *WIN*: no payload.
+ * - *FLAGGED*: int x, int y, byte 1 if the square is now flagged, otherwise 0.
+ * - *ERROR*: the UTF-8 encoded message.
+ * - *DONE*: no payload; sent once every request has been handled, after any
+ *   other responses it caused.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+public final class Protocol {
+    public static final byte NEW_GAME = 0x01;
+    public static final byte SELECT = 0x02;
+    public static final byte FLAG = 0x03;
+    public static final byte RESET = 0x04;
+
+    public static final byte DONE = 0x10;
+    public static final byte GAME_STARTED = 0x11;
+    public static final byte REVEAL = 0x12;
+    public static final byte MINE_HIT = 0x13;
+    public static final byte WIN = 0x14;
+    public static final byte FLAGGED = 0x15;
+    public static final byte ERROR = 0x1F;
+
+    public static final int HEADER_BYTES = Integer.BYTES;
+    public static final int MAX_REQUEST_BYTES = 1 + 2 * Integer.BYTES + Double.BYTES;
+    public static final int MAX_BOARD_SQUARES = 1 << 24;
+
+    /**
+     * Private constructor; the class only holds constants and static helpers.
+     */
+    private Protocol() {}
+
+    /**
+     * Method for allocating a frame, with the length and type already written.
+     *
+     * @param type The message type.
+     * @param payloadBytes The number of bytes of the payload.
+     *
+     * @return The frame; positioned at the start of the payload.
+     */
+    public static ByteBuffer frame(byte type, int payloadBytes) {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + 1 + payloadBytes);
+        buffer.putInt(1 + payloadBytes);
+        buffer.put(type);
+        return buffer;
+    }
+
+    /**
+     * Method for encoding a message without a payload.
+     *
+     * @param type The message type.
+     *
+     * @return The frame; ready to be written.
+     */
+    public static ByteBuffer empty(byte type) {
+        return frame(type, 0).flip();
+    }
+
+    /**
+     * Method for encoding a message with a coordinate as its payload.
+     *
+     * @param type The message type.
+     * @param x The x coordinate.
+     * @param y The y coordinate.
+     *
+     * @return The frame; ready to be written.
+     */
+    public static ByteBuffer coordinate(byte type, int x, int y) {
+        return frame(type, 2 * Integer.BYTES).putInt(x).putInt(y).flip();
+    }
+
+    /**
+     * Method for encoding a "new game" request.
+     *
+     * @param width The number of squares along the x-axis.
+     * @param height The number of squares along the y-axis.
+     * @param mineChance The chance of each square being a mine; 0 to 1.
+     *
+     * @return The frame; ready to be written.
+     */
+    public static ByteBuffer newGame(int width, int height, double mineChance) {
+        return frame(NEW_GAME, 2 * Integer.BYTES + Double.BYTES).putInt(width).putInt(height).putDouble(mineChance).flip();
+    }
+
+    /**
+     * Method for encoding a "game started" response.
+     *
+     * @param sessionId The id of the session hosting the game.
+     * @param width The number of squares along the x-axis.
+     * @param height The number of squares along the y-axis.
+     *
+     * @return The frame; ready to be written.
+     */
+    public static ByteBuffer gameStarted(long sessionId, int width, int height) {
+        return frame(GAME_STARTED, Long.BYTES + 2 * Integer.BYTES).putLong(sessionId).putInt(width).putInt(height).flip();
+    }
+
+    /**
+     * Method for encoding a "flagged" response.
+     *
+     * @param x The x coordinate of the square.
+     * @param y The y coordinate of the square.
+     * @param flagged Whether the square is now flagged.
+     *
+     * @return The frame; ready to be written.
+     */
+    public static ByteBuffer flagged(int x, int y, boolean flagged) {
+        return frame(FLAGGED, 2 * Integer.BYTES + 1).putInt(x).putInt(y).put((byte) (flagged ? 1 : 0)).flip();
+    }
+
+    /**
+     * Method for encoding an "error" response.
+     *
+     * @param message The error message.
+     *
+     * @return The frame; ready to be written.
+     */
+    public static ByteBuffer error(String message) {
+        byte[] bytes = String.valueOf(message).getBytes(StandardCharsets.UTF_8);
+        return frame(ERROR, bytes.length).put(bytes).flip();
+    }
+
+    /**
+     * Method for decoding the message of an "error" response.
+     *
+     * @param payload The payload of the frame.
+     *
+     * @return The error message.
+     */
+    public static String errorMessage(ByteBuffer payload) {
+        byte[] bytes = new byte[payload.remaining()];
+        payload.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
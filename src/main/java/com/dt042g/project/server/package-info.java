@@ -0,0 +1,5 @@
+/**
+ * Package for serving games over the network, with a binary protocol and a
+ * load client for measuring it.
+ */
+package com.dt042g.project.server;
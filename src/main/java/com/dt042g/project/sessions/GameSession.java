@@ -0,0 +1,165 @@
+package com.dt042g.project.sessions;
+
+import com.dt042g.project.mvc.controllers.GameController;
+import com.dt042g.project.mvc.models.GameModel;
+import com.dt042g.project.mvc.views.headless.HeadlessView;
+
+/**
+ * Class representing a single game hosted by a *SessionManager*; I.E. one
+ * model, one headless view and the controller wiring them together.
+ *
+ * A session is not thread-safe. It is only ever handed to actions running on
+ * the worker thread of its shard, so every game is single-threaded internally.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+public class GameSession {
+    private final long _id;
+    private final int _shard;
+    private final GameModel _model;
+    private final HeadlessView _view;
+    private final GameController _controller;
+
+    private volatile long _lastAccess;
+    private volatile boolean _closed = false;
+
+    /**
+     * Constructor to initialize the session, and wire a new game together.
+     *
+     * @param id The id of the session.
+     * @param shard The shard the session is hosted on.
+     * @param width The number of squares along the x-axis.
+     * @param height The number of squares along the y-axis.
+     * @param mineChance The chance of each square being a mine; 0 to 1.
+     * @param now The current time, in milliseconds.
+     */
+    GameSession(long id, int shard, int width, int height, double mineChance, long now) {
+        _id = id;
+        _shard = shard;
+        _model = new GameModel(width, height, mineChance);
+        _view = new HeadlessView(width, height);
+        _controller = new GameController(_model, _view);
+        _lastAccess = now;
+    }
+
+    /**
+     * Method for getting the id of the session.
+     *
+     * @return The id.
+     */
+    public long getId() {
+        return _id;
+    }
+
+    /**
+     * Method for getting the shard the session is hosted on.
+     *
+     * @return The shard index.
+     */
+    public int getShard() {
+        return _shard;
+    }
+
+    /**
+     * Method for getting the model of the game.
+     *
+     * @return The model.
+     */
+    public GameModel getModel() {
+        return _model;
+    }
+
+    /**
+     * Method for getting the view of the game; which holds what the player
+     * would see.
+     *
+     * @return The view.
+     */
+    public HeadlessView getView() {
+        return _view;
+    }
+
+    /**
+     * Method for getting the controller of the game.
+     *
+     * @return The controller.
+     */
+    public GameController getController() {
+        return _controller;
+    }
+
+    /**
+     * Method for selecting a square, as if the player clicked it.
+     *
+     * @param x The x coordinate of the square.
+     * @param y The y coordinate of the square.
+     *
+     * @throws IndexOutOfBoundsException If the coordinate is outside the size of the board.
+     */
+    public void select(int x, int y) {
+        _view.select(x, y);
+    }
+
+    /**
+     * Method for toggling the flag of a square, as if the player right
+     * clicked it.
+     *
+     * @param x The x coordinate of the square.
+     * @param y The y coordinate of the square.
+     *
+     * @throws IndexOutOfBoundsException If the coordinate is outside the size of the board.
+     */
+    public void flag(int x, int y) {
+        _view.flag(x, y);
+    }
+
+    /**
+     * Method for restarting the game.
+     */
+    public void restart() {
+        _view.restart();
+    }
+
+    /**
+     * Method for checking if the game is over; either won or lost.
+     *
+     * @return Whether the game is over.
+     */
+    public boolean isOver() {
+        return _view.isBoardLocked();
+    }
+
+    /**
+     * Method for checking if the session has been closed or evicted.
+     *
+     * @return Whether the session is closed.
+     */
+    public boolean isClosed() {
+        return _closed;
+    }
+
+    /**
+     * Method for getting the last time the session was accessed.
+     *
+     * @return The time, in milliseconds.
+     */
+    long getLastAccess() {
+        return _lastAccess;
+    }
+
+    /**
+     * Method for recording an access to the session.
+     *
+     * @param now The current time, in milliseconds.
+     */
+    void touch(long now) {
+        _lastAccess = now;
+    }
+
+    /**
+     * Method for marking the session as closed.
+     */
+    void close() {
+        _closed = true;
+    }
+}
@@ -0,0 +1,503 @@
+package com.dt042g.project.sessions;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Class which hosts many concurrent games; creating, looking up, closing and
+ * timing out sessions by id.
+ *
+ * Sessions are sharded across a fixed set of worker threads; each shard is a
+ * single thread with its own queue, and every session belongs to exactly one
+ * shard for its whole life. Every action on a session is run on the thread of
+ * its shard, so a game is never accessed concurrently (and needs no locking),
+ * while the games as a whole are spread across every shard.
+ *
+ * A session may be created on the thread of its shard (see
+ * *createSessionAsync*); so that creating a large board never blocks, or
+ * fails on, the thread asking for it. Closing a session (or the manager)
+ * while it is still being created closes it as soon as it is created.
+ *
+ * Sessions which have not been accessed for the idle timeout are evicted by a
+ * background sweep, or by calling *evictIdleSessions*.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+public class SessionManager implements AutoCloseable {
+    public static final long NO_TIMEOUT = 0;
+
+    private final ThreadPoolExecutor[] _shards;
+    private final AtomicInteger[] _shardSessions;
+    private final ConcurrentHashMap<Long, GameSession> _sessions = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, CompletableFuture<GameSession>> _creating = new ConcurrentHashMap<>();
+    private final AtomicLong _nextId = new AtomicLong(1);
+    private final long _idleTimeoutMillis;
+    private final LongSupplier _clock;
+    private final ScheduledExecutorService _sweeper;
+    private final Object _lifecycleLock = new Object();
+    private boolean _shutDown = false;
+
+    private final AtomicLong _created = new AtomicLong();
+    private final AtomicLong _closed = new AtomicLong();
+    private final AtomicLong _timedOut = new AtomicLong();
+
+    /**
+     * Constructor to initialize the manager with one shard per available
+     * processor.
+     *
+     * @param idleTimeoutMillis How long a session may go without being accessed
+     *                          before it is evicted; or *NO_TIMEOUT*.
+     *
+     * @throws IllegalArgumentException If the timeout is negative.
+     */
+    public SessionManager(long idleTimeoutMillis) {
+        this(Runtime.getRuntime().availableProcessors(), idleTimeoutMillis);
+    }
+
+    /**
+     * Constructor to initialize the manager.
+     *
+     * @param shardCount The number of shards; I.E. worker threads.
+     * @param idleTimeoutMillis How long a session may go without being accessed
+     *                          before it is evicted; or *NO_TIMEOUT*.
+     *
+     * @throws IllegalArgumentException If the shard count is less than one, or the timeout is negative.
+     */
+    public SessionManager(int shardCount, long idleTimeoutMillis) {
+        this(shardCount, idleTimeoutMillis, System::currentTimeMillis);
+    }
+
+    /**
+     * Constructor to initialize the manager with a specific clock; mainly
+     * intended for testing the timeouts.
+     *
+     * @param shardCount The number of shards; I.E. worker threads.
+     * @param idleTimeoutMillis How long a session may go without being accessed
+     *                          before it is evicted; or *NO_TIMEOUT*.
+     * @param clock The clock; the current time in milliseconds.
+     *
+     * @throws IllegalArgumentException If the shard count is less than one, or the timeout is negative.
+     */
+    SessionManager(int shardCount, long idleTimeoutMillis, LongSupplier clock) {
+        if(shardCount < 1)
+            throw new IllegalArgumentException(String.format("Invalid shard count %d!", shardCount));
+        if(idleTimeoutMillis < 0)
+            throw new IllegalArgumentException(String.format("Invalid idle timeout %d!", idleTimeoutMillis));
+
+        _idleTimeoutMillis = idleTimeoutMillis;
+        _clock = clock;
+        _shards = new ThreadPoolExecutor[shardCount];
+        _shardSessions = new AtomicInteger[shardCount];
+
+        for(int shard = 0; shard < shardCount; shard++) {
+            String name = "game-shard-" + shard;
+            _shards[shard] = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(), runnable -> daemon(runnable, name));
+            _shardSessions[shard] = new AtomicInteger();
+        }
+
+        if(idleTimeoutMillis == NO_TIMEOUT) {
+            _sweeper = null;
+        } else {
+            long period = Math.max(idleTimeoutMillis / 2, 1);
+            _sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> daemon(runnable, "game-session-sweeper"));
+            _sweeper.scheduleAtFixedRate(this::evictIdleSessions, period, period, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Helper method for creating a named daemon thread; so that the shards
+     * never keep the JVM alive.
+     *
+     * @param runnable The task of the thread.
+     * @param name The name of the thread.
+     *
+     * @return The thread.
+     */
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * Method for creating a new game.
+     *
+     * @param width The number of squares along the x-axis.
+     * @param height The number of squares along the y-axis.
+     * @param mineChance The chance of each square being a mine; 0 to 1.
+     *
+     * @return The id of the new session.
+     *
+     * @throws IllegalArgumentException If the board dimensions or mine chance are invalid.
+     */
+    public long createSession(int width, int height, double mineChance) {
+        long id = _nextId.getAndIncrement();
+
+        try {
+            open(id, width, height, mineChance);
+        } catch(IllegalStateException e) {
+            // The manager has been closed; actions for the id are rejected by submit
+        }
+
+        return id;
+    }
+
+    /**
+     * Method for creating a new game on the thread of its shard; so that the
+     * caller does not pay for (or fail on) allocating the board. The id is
+     * returned right away, and actions submitted for it are run once the game
+     * has been created. If the game cannot be created, those actions complete
+     * exceptionally with the reason.
+     *
+     * @param width The number of squares along the x-axis.
+     * @param height The number of squares along the y-axis.
+     * @param mineChance The chance of each square being a mine; 0 to 1.
+     *
+     * @return The id of the new session.
+     */
+    public long createSessionAsync(int width, int height, double mineChance) {
+        long id = _nextId.getAndIncrement();
+        ThreadPoolExecutor shard = _shards[getShardOf(id)];
+        CompletableFuture<GameSession> creating = new CompletableFuture<>();
+
+        // Held until the creation is queued; so that no action for the id is queued before it
+        synchronized(shard) {
+            _creating.put(id, creating);
+
+            try {
+                shard.execute(() -> {
+                    try {
+                        creating.complete(open(id, width, height, mineChance));
+                    } catch(RuntimeException | OutOfMemoryError e) {
+                        creating.completeExceptionally(e);
+                    } finally {
+                        _creating.remove(id);
+                    }
+                });
+            } catch(RejectedExecutionException e) {
+                // The manager has been closed
+                _creating.remove(id);
+                creating.completeExceptionally(e);
+            }
+        }
+
+        return id;
+    }
+
+    /**
+     * Helper method for creating a game, and registering it as a session.
+     *
+     * @param id The id of the session.
+     * @param width The number of squares along the x-axis.
+     * @param height The number of squares along the y-axis.
+     * @param mineChance The chance of each square being a mine; 0 to 1.
+     *
+     * @return The session.
+     *
+     * @throws IllegalArgumentException If the board dimensions or mine chance are invalid.
+     * @throws IllegalStateException If the manager has been closed; the game is then discarded.
+     */
+    private GameSession open(long id, int width, int height, double mineChance) {
+        int shard = getShardOf(id);
+
+        GameSession session = new GameSession(id, shard, width, height, mineChance, _clock.getAsLong());
+
+        // Checked under the lock; so that close() never misses a session registered concurrently
+        synchronized(_lifecycleLock) {
+            if(_shutDown) {
+                session.close();
+                throw new IllegalStateException("The session manager is closed!");
+            }
+
+            _sessions.put(id, session);
+        }
+
+        _shardSessions[shard].incrementAndGet();
+        _created.incrementAndGet();
+
+        return session;
+    }
+
+    /**
+     * Method for running an action on a session, on the thread of its shard.
+     *
+     * @param id The id of the session.
+     * @param action The action; which gets the session and returns a result.
+     * @param <T> The type of the result.
+     *
+     * @return A future completed with the result of the action; or
+     *         exceptionally if the session does not exist (or is closed before
+     *         the action runs), the manager is closed, or the action throws.
+     */
+    public <T> CompletableFuture<T> submit(long id, Function<GameSession, T> action) {
+        if(isShutDown())
+            return CompletableFuture.failedFuture(new RejectedExecutionException("The session manager is closed!"));
+
+        // Checked before the sessions; a created session is registered before it stops being created
+        CompletableFuture<GameSession> creating = _creating.get(id);
+        GameSession created = _sessions.get(id);
+
+        if(creating == null && created == null)
+            return CompletableFuture.failedFuture(new IllegalArgumentException(String.format("Unknown session %d!", id)));
+
+        if(created != null)
+            created.touch(_clock.getAsLong());
+
+        ThreadPoolExecutor shard = _shards[getShardOf(id)];
+        Supplier<T> task = () -> {
+            // The shard runs in order, so a session being created is done by now
+            GameSession session = created != null ? created : creating.join();
+
+            if(session.isClosed())
+                throw new IllegalStateException(String.format("Session %d is closed!", id));
+
+            return action.apply(session);
+        };
+
+        try {
+            if(created != null)
+                return CompletableFuture.supplyAsync(task, shard);
+
+            // Waits for the creation to be queued; see *createSessionAsync*
+            synchronized(shard) {
+                return CompletableFuture.supplyAsync(task, shard);
+            }
+        } catch(RejectedExecutionException e) {
+            // The manager has been closed
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Method for running an action without a result on a session, on the
+     * thread of its shard.
+     *
+     * @param id The id of the session.
+     * @param action The action.
+     *
+     * @return A future completed once the action has run; see *submit*.
+     */
+    public CompletableFuture<Void> execute(long id, Consumer<GameSession> action) {
+        return submit(id, session -> {
+            action.accept(session);
+            return null;
+        });
+    }
+
+    /**
+     * Method for closing a session. Actions which are already queued for the
+     * session complete exceptionally. A session which is still being created
+     * is closed once it has been created.
+     *
+     * @param id The id of the session.
+     *
+     * @return Whether the session existed.
+     */
+    public boolean closeSession(long id) {
+        // Checked before the sessions; a created session is registered before it stops being created
+        CompletableFuture<GameSession> creating = _creating.get(id);
+        GameSession session = _sessions.remove(id);
+
+        if(session == null && creating != null) {
+            // Runs right after the creation, on the shard; before any queued action
+            creating.thenAccept(created -> {
+                if(_sessions.remove(id, created)) {
+                    remove(created);
+                    _closed.incrementAndGet();
+                }
+            });
+            return true;
+        }
+
+        if(session == null)
+            return false;
+
+        remove(session);
+        _closed.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Method for evicting every session which has not been accessed for the
+     * idle timeout. Called periodically in the background, but may also be
+     * called directly.
+     *
+     * @return The number of evicted sessions.
+     */
+    public int evictIdleSessions() {
+        if(_idleTimeoutMillis == NO_TIMEOUT)
+            return 0;
+
+        long now = _clock.getAsLong();
+        int evicted = 0;
+
+        for(GameSession session : _sessions.values()) {
+            if(now - session.getLastAccess() < _idleTimeoutMillis)
+                continue;
+
+            // Only evict the session if it is still the mapped one; it may
+            // have been closed concurrently.
+            if(_sessions.remove(session.getId(), session)) {
+                remove(session);
+                evicted++;
+            }
+        }
+
+        _timedOut.addAndGet(evicted);
+        return evicted;
+    }
+
+    /**
+     * Helper method for the bookkeeping of a session which has been removed.
+     *
+     * @param session The session.
+     */
+    private void remove(GameSession session) {
+        session.close();
+        _shardSessions[session.getShard()].decrementAndGet();
+    }
+
+    /**
+     * Method for checking if a session exists.
+     *
+     * @param id The id of the session.
+     *
+     * @return Whether the session exists.
+     */
+    public boolean hasSession(long id) {
+        return _sessions.containsKey(id);
+    }
+
+    /**
+     * Method for getting the shard a session id belongs to. Ids are handed
+     * out in sequence, so sessions are spread round-robin across the shards.
+     *
+     * @param id The id of the session.
+     *
+     * @return The shard index.
+     */
+    public int getShardOf(long id) {
+        return (int) Math.floorMod(id, (long) _shards.length);
+    }
+
+    /**
+     * Method for getting the number of shards.
+     *
+     * @return The number of shards.
+     */
+    public int getShardCount() {
+        return _shards.length;
+    }
+
+    /**
+     * Method for getting the number of queued (not yet started) actions of a
+     * shard.
+     *
+     * @param shard The shard index.
+     *
+     * @return The queue depth.
+     *
+     * @throws IndexOutOfBoundsException If there is no such shard.
+     */
+    public int getShardQueueDepth(int shard) {
+        return _shards[shard].getQueue().size();
+    }
+
+    /**
+     * Method for getting the number of sessions hosted on a shard.
+     *
+     * @param shard The shard index.
+     *
+     * @return The number of sessions.
+     *
+     * @throws IndexOutOfBoundsException If there is no such shard.
+     */
+    public int getShardSessionCount(int shard) {
+        return _shardSessions[shard].get();
+    }
+
+    /**
+     * Method for getting the number of currently active sessions.
+     *
+     * @return The number of sessions.
+     */
+    public int getActiveSessionCount() {
+        return _sessions.size();
+    }
+
+    /**
+     * Method for getting the total number of created sessions.
+     *
+     * @return The number of sessions.
+     */
+    public long getCreatedSessionCount() {
+        return _created.get();
+    }
+
+    /**
+     * Method for getting the total number of explicitly closed sessions.
+     *
+     * @return The number of sessions.
+     */
+    public long getClosedSessionCount() {
+        return _closed.get();
+    }
+
+    /**
+     * Method for getting the total number of sessions evicted for being idle.
+     *
+     * @return The number of sessions.
+     */
+    public long getTimedOutSessionCount() {
+        return _timedOut.get();
+    }
+
+    /**
+     * Helper method for checking if the manager has been closed.
+     *
+     * @return Whether the manager has been closed.
+     */
+    private boolean isShutDown() {
+        synchronized(_lifecycleLock) {
+            return _shutDown;
+        }
+    }
+
+    /**
+     * Method for shutting down the manager; closing every session (so queued
+     * actions complete exceptionally) and stopping the shards. Sessions which
+     * are still being created are discarded instead of registered.
+     */
+    @Override
+    public void close() {
+        synchronized(_lifecycleLock) {
+            _shutDown = true;
+        }
+
+        if(_sweeper != null)
+            _sweeper.shutdownNow();
+
+        for(Long id : _sessions.keySet()) {
+            GameSession session = _sessions.remove(id);
+
+            if(session != null)
+                remove(session);
+        }
+
+        for(ThreadPoolExecutor shard : _shards)
+            shard.shutdown();
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Package for hosting many concurrent games in one JVM.
+ */
+package com.dt042g.project.sessions;
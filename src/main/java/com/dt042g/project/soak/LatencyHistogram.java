@@ -0,0 +1,175 @@
+package com.dt042g.project.soak;
+
+import java.util.Arrays;
+
+/**
+ * Class which records a distribution of latencies (or any other non-negative
+ * values) in constant space, in the style of HdrHistogram.
+ *
+ * Values are counted in log-linear buckets; every power of two is split into
+ * *SUB_BUCKETS* / 2 equally sized buckets, so any recorded value is reported
+ * with a relative error of less than 2 / *SUB_BUCKETS* (about 1.6%), however
+ * large it is. Recording is a few shifts and an array increment, and never
+ * allocates.
+ *
+ * A histogram is not thread-safe; use one per thread and *add* them together.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_SUB_BUCKETS = SUB_BUCKETS / 2;
+    private static final int BUCKETS = SUB_BUCKETS + (Long.SIZE - SUB_BUCKET_BITS) * HALF_SUB_BUCKETS;
+
+    private final long[] _counts = new long[BUCKETS];
+    private long _totalCount = 0;
+    private long _min = Long.MAX_VALUE;
+    private long _max = 0;
+    private double _sum = 0;
+
+    /**
+     * Method for recording a value.
+     *
+     * @param value The value.
+     *
+     * @throws IllegalArgumentException If the value is negative.
+     */
+    public void record(long value) {
+        if(value < 0)
+            throw new IllegalArgumentException(String.format("Invalid value %d!", value));
+
+        _counts[indexOf(value)]++;
+        _totalCount++;
+        _sum += value;
+        _min = Math.min(_min, value);
+        _max = Math.max(_max, value);
+    }
+
+    /**
+     * Method for adding every value recorded by another histogram to this one.
+     *
+     * @param other The other histogram.
+     */
+    public void add(LatencyHistogram other) {
+        for(int i = 0; i < BUCKETS; i++)
+            _counts[i] += other._counts[i];
+
+        _totalCount += other._totalCount;
+        _sum += other._sum;
+        _min = Math.min(_min, other._min);
+        _max = Math.max(_max, other._max);
+    }
+
+    /**
+     * Method for clearing every recorded value.
+     */
+    public void reset() {
+        Arrays.fill(_counts, 0);
+        _totalCount = 0;
+        _sum = 0;
+        _min = Long.MAX_VALUE;
+        _max = 0;
+    }
+
+    /**
+     * Method for getting the number of recorded values.
+     *
+     * @return The number of values.
+     */
+    public long getTotalCount() {
+        return _totalCount;
+    }
+
+    /**
+     * Method for getting the smallest recorded value.
+     *
+     * @return The value; or 0 if nothing has been recorded.
+     */
+    public long getMin() {
+        return _totalCount == 0 ? 0 : _min;
+    }
+
+    /**
+     * Method for getting the largest recorded value.
+     *
+     * @return The value; or 0 if nothing has been recorded.
+     */
+    public long getMax() {
+        return _max;
+    }
+
+    /**
+     * Method for getting the mean of the recorded values.
+     *
+     * @return The mean; or 0 if nothing has been recorded.
+     */
+    public double getMean() {
+        return _totalCount == 0 ? 0 : _sum / _totalCount;
+    }
+
+    /**
+     * Method for getting the value at a percentile; I.E. the (highest value
+     * equivalent to the) smallest recorded value which at least the given
+     * percentage of the values are less than or equal to.
+     *
+     * @param percentile The percentile; 0 to 100.
+     *
+     * @return The value; or 0 if nothing has been recorded.
+     *
+     * @throws IllegalArgumentException If the percentile is not within 0 to 100.
+     */
+    public long getValueAtPercentile(double percentile) {
+        if(!(percentile >= 0 && percentile <= 100))
+            throw new IllegalArgumentException(String.format("Invalid percentile %f!", percentile));
+        if(_totalCount == 0)
+            return 0;
+
+        long target = Math.max(1, (long) Math.ceil(percentile / 100 * _totalCount));
+        long count = 0;
+
+        for(int i = 0; i < BUCKETS; i++) {
+            count += _counts[i];
+
+            if(count >= target)
+                return Math.min(highestEquivalentValue(i), _max);
+        }
+
+        return _max;
+    }
+
+    /**
+     * Method for getting the bucket of a value.
+     *
+     * @param value The value.
+     *
+     * @return The bucket index.
+     */
+    static int indexOf(long value) {
+        if(value < SUB_BUCKETS)
+            return (int) value;
+
+        // Keep the top SUB_BUCKET_BITS bits of the value; the highest of
+        // which is always set, so each power of two only needs half as many
+        // buckets.
+        int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - (SUB_BUCKET_BITS - 1);
+        int top = (int) (value >>> shift);
+        return SUB_BUCKETS + (shift - 1) * HALF_SUB_BUCKETS + (top - HALF_SUB_BUCKETS);
+    }
+
+    /**
+     * Method for getting the largest value which is counted in a bucket.
+     *
+     * @param index The bucket index.
+     *
+     * @return The value.
+     */
+    static long highestEquivalentValue(int index) {
+        if(index < SUB_BUCKETS)
+            return index;
+
+        int shift = (index - SUB_BUCKETS) / HALF_SUB_BUCKETS + 1;
+        long top = (index - SUB_BUCKETS) % HALF_SUB_BUCKETS + HALF_SUB_BUCKETS;
+        return ((top + 1) << shift) - 1;
+    }
+}
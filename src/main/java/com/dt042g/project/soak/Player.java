@@ -0,0 +1,22 @@
+package com.dt042g.project.soak;
+
+import com.dt042g.project.mvc.views.headless.HeadlessView;
+
+import java.util.SplittableRandom;
+
+/**
+ * Interface for a synthetic player; deciding on (and making) moves based only
+ * on what a human player would see.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+public interface Player {
+    /**
+     * Method for making the next move of a game which is not over; by
+     * selecting or flagging a square through the view.
+     *
+     * @param view The view of the game.
+     * @param random The random source to use for any random decisions.
+     */
+    void move(HeadlessView view, SplittableRandom random);
+}
@@ -0,0 +1,34 @@
+package com.dt042g.project.soak;
+
+import com.dt042g.project.mvc.views.headless.HeadlessView;
+
+import java.util.SplittableRandom;
+
+/**
+ * Class for a player which selects a random hidden square every move.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+public class RandomPlayer implements Player {
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void move(HeadlessView view, SplittableRandom random) {
+        int squares = view.getWidth() * view.getHeight();
+        int start = random.nextInt(squares);
+
+        // Probe forward from a random square, so that every move succeeds
+        // however few hidden squares remain.
+        for(int i = 0; i < squares; i++) {
+            int square = (start + i) % squares;
+            int x = square % view.getWidth();
+            int y = square / view.getWidth();
+
+            if(view.getState(x, y) == HeadlessView.State.HIDDEN) {
+                view.select(x, y);
+                return;
+            }
+        }
+    }
+}
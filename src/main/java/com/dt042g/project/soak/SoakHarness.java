@@ -0,0 +1,384 @@
+package com.dt042g.project.soak;
+
+import com.dt042g.project.mvc.controllers.GameController;
+import com.dt042g.project.mvc.models.GameModel;
+import com.dt042g.project.mvc.views.headless.HeadlessView;
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Class which puts sustained load on the game engine; driving many headless
+ * games with synthetic players, and measuring the throughput, the latency of
+ * every move, the garbage collection pauses and the allocations.
+ *
+ * The games are split evenly across a number of driver threads. Each thread
+ * owns its games (with a *GameModel*, *HeadlessView* and *GameController*
+ * each) and a player, and makes one move at a time on its games in turn;
+ * restarting any finished game before its next move. Without a target rate
+ * the threads move as fast as they can; otherwise every thread moves on a
+ * fixed schedule, and the latency of a move includes any time it started late
+ * because of the moves before it.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+public class SoakHarness {
+    public static final double UNLIMITED_RATE = 0;
+    public static final long UNLIMITED_MOVES = 0;
+
+    private final int _games;
+    private final int _threads;
+    private final Supplier<? extends Player> _players;
+    private final int _boardSize;
+    private final double _mineChance;
+
+    /**
+     * Constructor to initialize the harness.
+     *
+     * @param games The number of concurrent games.
+     * @param threads The number of driver threads; at most one per game.
+     * @param players Supplier of the player of each driver thread.
+     * @param boardSize The width and height of every board.
+     * @param mineChance The chance of each square being a mine; 0 to 1.
+     *
+     * @throws IllegalArgumentException If there are fewer games than threads, or fewer than one thread.
+     */
+    public SoakHarness(int games, int threads, Supplier<? extends Player> players, int boardSize, double mineChance) {
+        if(threads < 1 || games < threads)
+            throw new IllegalArgumentException(String.format("Invalid load %d games on %d threads!", games, threads));
+
+        _games = games;
+        _threads = threads;
+        _players = players;
+        _boardSize = boardSize;
+        _mineChance = mineChance;
+    }
+
+    /**
+     * Method for running the load; blocking until it is done.
+     *
+     * @param durationMillis How long to run for.
+     * @param maxMoves The maximum total number of moves; or *UNLIMITED_MOVES*.
+     * @param targetMovesPerSecond The total number of moves per second to aim for; or *UNLIMITED_RATE*.
+     *
+     * @return The result.
+     *
+     * @throws InterruptedException If interrupted while waiting for the driver threads.
+     * @throws RuntimeException (or *Error*) If a driver thread failed; rethrowing its failure.
+     */
+    public SoakResult run(long durationMillis, long maxMoves, double targetMovesPerSecond) throws InterruptedException {
+        LatencyHistogram gcPauses = new LatencyHistogram();
+        List<Runnable> unregister = listenForGcPauses(gcPauses);
+        long gcCountBefore = getGcCount();
+
+        long intervalNanos = targetMovesPerSecond > UNLIMITED_RATE ? (long) (1e9 * _threads / targetMovesPerSecond) : 0;
+        long moveBudget = maxMoves == UNLIMITED_MOVES ? Long.MAX_VALUE : maxMoves;
+        AtomicLong moves = new AtomicLong();
+
+        Driver[] drivers = new Driver[_threads];
+        Thread[] threads = new Thread[_threads];
+
+        for(int i = 0; i < _threads; i++) {
+            int games = _games / _threads + (i < _games % _threads ? 1 : 0);
+            drivers[i] = new Driver(games, _players.get(), i, intervalNanos, moves, moveBudget);
+            threads[i] = new Thread(drivers[i], "soak-driver-" + i);
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + durationMillis * 1_000_000;
+
+        for(Driver driver : drivers)
+            driver._deadline = deadline;
+        for(Thread thread : threads)
+            thread.start();
+        for(Thread thread : threads)
+            thread.join();
+
+        long elapsed = System.nanoTime() - start;
+        long gcCount = getGcCount() - gcCountBefore;
+        unregister.forEach(Runnable::run);
+
+        LatencyHistogram latencies = new LatencyHistogram();
+        long won = 0;
+        long lost = 0;
+        long allocated = 0;
+
+        for(Driver driver : drivers) {
+            if(driver._failure instanceof RuntimeException e)
+                throw e;
+            if(driver._failure instanceof Error e)
+                throw e;
+            if(driver._failure != null)
+                throw new IllegalStateException("A driver thread failed!", driver._failure);
+
+            latencies.add(driver._latencies);
+            won += driver._won;
+            lost += driver._lost;
+            allocated = driver._allocatedBytes < 0 || allocated < 0 ? -1 : allocated + driver._allocatedBytes;
+        }
+
+        synchronized(gcPauses) {
+            return new SoakResult(latencies, gcPauses, elapsed, won, lost, gcCount, allocated);
+        }
+    }
+
+    /**
+     * Method for getting the total number of garbage collections so far.
+     *
+     * @return The number of collections.
+     */
+    private static long getGcCount() {
+        long count = 0;
+
+        for(GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans())
+            count += Math.max(bean.getCollectionCount(), 0);
+
+        return count;
+    }
+
+    /**
+     * Method for recording the duration of every garbage collection pause,
+     * through the notifications of the collectors. Concurrent collections are
+     * not pauses, and are skipped.
+     *
+     * @param pauses The histogram to record the durations to, in milliseconds.
+     *
+     * @return Actions which stop the recording.
+     */
+    private static List<Runnable> listenForGcPauses(LatencyHistogram pauses) {
+        List<Runnable> unregister = new ArrayList<>();
+
+        NotificationListener listener = (Notification notification, Object handback) -> {
+            if(!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType()))
+                return;
+
+            GarbageCollectionNotificationInfo info =
+                    GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+
+            if(info.getGcAction().contains("concurrent") || info.getGcName().contains("Concurrent"))
+                return;
+
+            synchronized(pauses) {
+                pauses.record(info.getGcInfo().getDuration());
+            }
+        };
+
+        for(GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if(!(bean instanceof NotificationEmitter emitter))
+                continue;
+
+            emitter.addNotificationListener(listener, null, null);
+            unregister.add(() -> {
+                try {
+                    emitter.removeNotificationListener(listener);
+                } catch(Exception e) {
+                    // Already removed.
+                }
+            });
+        }
+
+        return unregister;
+    }
+
+    /**
+     * Method for getting the number of bytes allocated by the current thread.
+     *
+     * @return The number of bytes; or -1 if not supported by the JVM.
+     */
+    private static long getAllocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+
+        if(bean instanceof com.sun.management.ThreadMXBean allocations && allocations.isThreadAllocatedMemorySupported())
+            return allocations.getThreadAllocatedBytes(Thread.currentThread().getId());
+
+        return -1;
+    }
+
+    /**
+     * A single driver thread; owning its games and player.
+     */
+    private class Driver implements Runnable {
+        private final GameModel[] _models;
+        private final HeadlessView[] _views;
+        private final Player _player;
+        private final SplittableRandom _random;
+        private final long _intervalNanos;
+        private final AtomicLong _moves;
+        private final long _moveBudget;
+        private final LatencyHistogram _latencies = new LatencyHistogram();
+
+        private volatile long _deadline;
+        private long _won = 0;
+        private long _lost = 0;
+        private long _allocatedBytes = 0;
+        private Throwable _failure;
+
+        /**
+         * Constructor to initialize the driver, and its games.
+         *
+         * @param games The number of games.
+         * @param player The player.
+         * @param seed The seed of the random moves.
+         * @param intervalNanos The time between two moves; or 0 to move as fast as possible.
+         * @param moves The total number of moves of every driver.
+         * @param moveBudget The maximum total number of moves.
+         */
+        Driver(int games, Player player, long seed, long intervalNanos, AtomicLong moves, long moveBudget) {
+            _models = new GameModel[games];
+            _views = new HeadlessView[games];
+            _player = player;
+            _random = new SplittableRandom(seed);
+            _intervalNanos = intervalNanos;
+            _moves = moves;
+            _moveBudget = moveBudget;
+
+            for(int i = 0; i < games; i++) {
+                _models[i] = new GameModel(_boardSize, _boardSize, _mineChance);
+                _views[i] = new HeadlessView(_boardSize, _boardSize);
+                new GameController(_models[i], _views[i]);
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void run() {
+            long allocatedBefore = getAllocatedBytes();
+            long scheduled = System.nanoTime();
+
+            try {
+                for(int game = 0; System.nanoTime() < _deadline; game = (game + 1) % _views.length) {
+                    if(_moves.getAndIncrement() >= _moveBudget)
+                        break;
+
+                    HeadlessView view = _views[game];
+
+                    if(view.isBoardLocked()) {
+                        if(view.isWon())
+                            _won++;
+                        else
+                            _lost++;
+
+                        view.restart();
+                    }
+
+                    long start;
+                    if(_intervalNanos > 0) {
+                        scheduled += _intervalNanos;
+                        waitUntil(scheduled);
+                        start = scheduled;
+                    } else {
+                        start = System.nanoTime();
+                    }
+
+                    _player.move(view, _random);
+                    _latencies.record(System.nanoTime() - start);
+                }
+            } catch(Throwable e) {
+                _failure = e;
+            }
+
+            // Games which ended on the last move are not revisited by the loop
+            for(HeadlessView view : _views) {
+                if(view.isBoardLocked()) {
+                    if(view.isWon())
+                        _won++;
+                    else
+                        _lost++;
+                }
+            }
+
+            long allocatedAfter = getAllocatedBytes();
+            _allocatedBytes = allocatedBefore < 0 ? -1 : allocatedAfter - allocatedBefore;
+        }
+
+        /**
+         * Method for waiting until a point in time.
+         *
+         * @param time The time, as given by *System.nanoTime*.
+         */
+        private void waitUntil(long time) {
+            long remaining;
+
+            while((remaining = time - System.nanoTime()) > 0)
+                LockSupport.parkNanos(remaining);
+        }
+    }
+
+    /**
+     * Entry point for running a soak test from the command line.
+     *
+     * Options (each as *--name=value*): games (default 1000), threads
+     * (default one per processor), player (*random*; the default, or
+     * *solver*), size of the square boards (default 20), mine-chance
+     * (default 0.15), duration in seconds (default 30), moves; the maximum
+     * total number of moves (default unlimited), and rate; the total number
+     * of moves per second to aim for (default unlimited).
+     *
+     * @param args The options.
+     *
+     * @throws InterruptedException If interrupted while running.
+     */
+    public static void main(String... args) throws InterruptedException {
+        int games = 1000;
+        int threads = Runtime.getRuntime().availableProcessors();
+        String player = "random";
+        int size = 20;
+        double mineChance = 0.15;
+        long seconds = 30;
+        long moves = UNLIMITED_MOVES;
+        double rate = UNLIMITED_RATE;
+
+        for(String arg : args) {
+            String[] option = arg.replaceFirst("^--", "").split("=", 2);
+
+            if(option.length != 2)
+                throw new IllegalArgumentException(String.format("Invalid option %s!", arg));
+
+            switch(option[0]) {
+                case "games" -> games = Integer.parseInt(option[1]);
+                case "threads" -> threads = Integer.parseInt(option[1]);
+                case "player" -> player = option[1];
+                case "size" -> size = Integer.parseInt(option[1]);
+                case "mine-chance" -> mineChance = Double.parseDouble(option[1]);
+                case "duration" -> seconds = Long.parseLong(option[1]);
+                case "moves" -> moves = Long.parseLong(option[1]);
+                case "rate" -> rate = Double.parseDouble(option[1]);
+                default -> throw new IllegalArgumentException(String.format("Unknown option %s!", option[0]));
+            }
+        }
+
+        SoakHarness harness = new SoakHarness(games, threads, createPlayers(player), size, mineChance);
+        System.out.print(harness.run(seconds * 1000, moves, rate));
+    }
+
+    /**
+     * Method for getting the supplier of a player by its name.
+     *
+     * @param name The name of the player.
+     *
+     * @return The supplier.
+     *
+     * @throws IllegalArgumentException If there is no such player.
+     */
+    static Supplier<? extends Player> createPlayers(String name) {
+        return switch(name) {
+            case "random" -> RandomPlayer::new;
+            case "solver" -> SolverPlayer::new;
+            default -> throw new IllegalArgumentException(String.format("Unknown player %s!", name));
+        };
+    }
+}
@@ -0,0 +1,154 @@
+package com.dt042g.project.soak;
+
+/**
+ * Class holding the result of a soak run.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+public class SoakResult {
+    private final LatencyHistogram _latencies;
+    private final LatencyHistogram _gcPauses;
+    private final long _elapsedNanos;
+    private final long _won;
+    private final long _lost;
+    private final long _gcCount;
+    private final long _allocatedBytes;
+
+    /**
+     * Constructor to initialize the result.
+     *
+     * @param latencies The latency of every move, in nanoseconds.
+     * @param gcPauses The duration of every garbage collection pause, in milliseconds.
+     * @param elapsedNanos The wall-clock time of the run, in nanoseconds.
+     * @param won The number of won games.
+     * @param lost The number of lost games.
+     * @param gcCount The number of garbage collections; including concurrent ones.
+     * @param allocatedBytes The number of bytes allocated by the players; or -1 if not supported.
+     */
+    SoakResult(LatencyHistogram latencies, LatencyHistogram gcPauses, long elapsedNanos,
+               long won, long lost, long gcCount, long allocatedBytes) {
+        _latencies = latencies;
+        _gcPauses = gcPauses;
+        _elapsedNanos = elapsedNanos;
+        _won = won;
+        _lost = lost;
+        _gcCount = gcCount;
+        _allocatedBytes = allocatedBytes;
+    }
+
+    /**
+     * Method for getting the total number of moves.
+     *
+     * @return The number of moves.
+     */
+    public long getMoves() {
+        return _latencies.getTotalCount();
+    }
+
+    /**
+     * Method for getting the number of moves per second, over the whole run.
+     *
+     * @return The moves per second.
+     */
+    public double getMovesPerSecond() {
+        return _elapsedNanos == 0 ? 0 : getMoves() * 1e9 / _elapsedNanos;
+    }
+
+    /**
+     * Method for getting the latencies of the moves. When running at a target
+     * rate, the latency of a move is measured from when it was scheduled to
+     * start; so moves delayed by an earlier slow move are counted as slow too.
+     *
+     * @return The histogram, in nanoseconds.
+     */
+    public LatencyHistogram getLatencies() {
+        return _latencies;
+    }
+
+    /**
+     * Method for getting the durations of the garbage collection pauses.
+     *
+     * @return The histogram, in milliseconds.
+     */
+    public LatencyHistogram getGcPauses() {
+        return _gcPauses;
+    }
+
+    /**
+     * Method for getting the number of won games.
+     *
+     * @return The number of games.
+     */
+    public long getWon() {
+        return _won;
+    }
+
+    /**
+     * Method for getting the number of lost games.
+     *
+     * @return The number of games.
+     */
+    public long getLost() {
+        return _lost;
+    }
+
+    /**
+     * Method for getting the number of garbage collections during the run;
+     * including concurrent collections, which are not pauses.
+     *
+     * @return The number of collections.
+     */
+    public long getGcCount() {
+        return _gcCount;
+    }
+
+    /**
+     * Method for getting the average number of bytes allocated per move,
+     * including restarting finished games.
+     *
+     * @return The number of bytes; or -1 if the JVM cannot measure allocations.
+     */
+    public double getAllocatedBytesPerMove() {
+        if(_allocatedBytes < 0)
+            return -1;
+
+        return getMoves() == 0 ? 0 : (double) _allocatedBytes / getMoves();
+    }
+
+    /**
+     * Method for getting the allocation rate of the players.
+     *
+     * @return The rate, in megabytes per second; or -1 if the JVM cannot measure allocations.
+     */
+    public double getAllocationRateMegabytes() {
+        if(_allocatedBytes < 0)
+            return -1;
+
+        return _elapsedNanos == 0 ? 0 : _allocatedBytes / 1e6 / (_elapsedNanos / 1e9);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+
+        builder.append(String.format("moves:       %d in %.1f s (%.0f moves/s); %d won, %d lost%n",
+                getMoves(), _elapsedNanos / 1e9, getMovesPerSecond(), _won, _lost));
+        builder.append(String.format("latency us:  min %.1f, mean %.1f, max %.1f%n",
+                _latencies.getMin() / 1e3, _latencies.getMean() / 1e3, _latencies.getMax() / 1e3));
+
+        for(String percentile : new String[] { "50", "90", "99", "99.9", "99.99" })
+            builder.append(String.format("  p%-6s    %.1f%n", percentile,
+                    _latencies.getValueAtPercentile(Double.parseDouble(percentile)) / 1e3));
+
+        builder.append(String.format("gc:          %d collections; %d pauses, max %d ms, p99 %d ms%n",
+                _gcCount, _gcPauses.getTotalCount(), _gcPauses.getMax(), _gcPauses.getValueAtPercentile(99)));
+        builder.append(_allocatedBytes < 0
+                ? String.format("allocation:  not supported%n")
+                : String.format("allocation:  %.1f bytes/move, %.1f MB/s%n", getAllocatedBytesPerMove(), getAllocationRateMegabytes()));
+
+        return builder.toString();
+    }
+}
@@ -0,0 +1,48 @@
+package com.dt042g.project.soak;
+
+import com.dt042g.project.mvc.views.headless.HeadlessView;
+import com.dt042g.project.solver.Deductions;
+import com.dt042g.project.solver.Solver;
+
+import java.util.SplittableRandom;
+
+/**
+ * Class for a player which selects a square proven safe by a *Solver* every
+ * move; or guesses a random hidden square which is not proven to be a mine
+ * if there is none.
+ *
+ * The solver is rebuilt from the view every move, since the view may belong
+ * to a different game than the last move; so this player also measures the
+ * cost of a full deduction pass over the board.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+public class SolverPlayer implements Player {
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void move(HeadlessView view, SplittableRandom random) {
+        Solver solver = Solver.fromView(view);
+        Deductions deductions = solver.deduce();
+        int width = view.getWidth();
+
+        if(deductions.getSafe().length > 0) {
+            int square = deductions.getSafe()[0];
+            view.select(square % width, square / width);
+            return;
+        }
+
+        int squares = width * view.getHeight();
+        int start = random.nextInt(squares);
+
+        for(int i = 0; i < squares; i++) {
+            int square = (start + i) % squares;
+
+            if(solver.isUnknown(square) && view.getState(square % width, square / width) == HeadlessView.State.HIDDEN) {
+                view.select(square % width, square / width);
+                return;
+            }
+        }
+    }
+}
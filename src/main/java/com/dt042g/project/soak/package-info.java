@@ -0,0 +1,4 @@
+/**
+ * Package for putting sustained, synthetic load on the game engine.
+ */
+package com.dt042g.project.soak;
@@ -0,0 +1,67 @@
+package com.dt042g.project.solver;
+
+/**
+ * Class for computing binomial coefficients of board sized arguments; in log
+ * space, since *C(1000000, 120000)* is far beyond the range of a double.
+ *
+ * The logarithms of the factorials are memoised in a table shared by every
+ * thread, which only ever grows; so after the first board of a size each
+ * coefficient costs three array reads.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+class Binomials {
+    private static volatile double[] _logFactorials = { 0 };
+
+    /**
+     * Private constructor; as this class only has static methods.
+     */
+    private Binomials() {}
+
+    /**
+     * Method for getting the natural logarithm of *C(n, k)*.
+     *
+     * @param n The number of items.
+     * @param k The number of chosen items.
+     *
+     * @return The logarithm; or negative infinity if *k* is not within 0 to *n*.
+     */
+    static double logChoose(int n, int k) {
+        if(k < 0 || k > n)
+            return Double.NEGATIVE_INFINITY;
+
+        double[] table = logFactorials(n);
+        return table[n] - table[k] - table[n - k];
+    }
+
+    /**
+     * Method for getting a table of the logarithms of the factorials; growing
+     * the shared table if needed.
+     *
+     * @param n The largest factorial needed.
+     *
+     * @return The table; at least *n + 1* long.
+     */
+    private static double[] logFactorials(int n) {
+        double[] table = _logFactorials;
+
+        if(n < table.length)
+            return table;
+
+        synchronized(Binomials.class) {
+            table = _logFactorials;
+
+            if(n < table.length)
+                return table;
+
+            double[] grown = new double[Math.max(n + 1, table.length * 2)];
+            System.arraycopy(table, 0, grown, 0, table.length);
+
+            for(int i = table.length; i < grown.length; i++)
+                grown[i] = grown[i - 1] + Math.log(i);
+
+            _logFactorials = grown;
+            return grown;
+        }
+    }
+}
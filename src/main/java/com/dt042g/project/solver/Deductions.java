@@ -0,0 +1,50 @@
+package com.dt042g.project.solver;
+
+/**
+ * Class holding the squares a *Solver* has deduced; as packed cell indices
+ * (*y * width + x*).
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+public class Deductions {
+    private final int[] _safe;
+    private final int[] _mines;
+
+    /**
+     * Constructor to initialize the deductions.
+     *
+     * @param safe The squares which are certainly not mines.
+     * @param mines The squares which are certainly mines.
+     */
+    Deductions(int[] safe, int[] mines) {
+        _safe = safe;
+        _mines = mines;
+    }
+
+    /**
+     * Method for getting the squares which are certainly not mines.
+     *
+     * @return The packed cell indices.
+     */
+    public int[] getSafe() {
+        return _safe;
+    }
+
+    /**
+     * Method for getting the squares which are certainly mines.
+     *
+     * @return The packed cell indices.
+     */
+    public int[] getMines() {
+        return _mines;
+    }
+
+    /**
+     * Method for checking if nothing was deduced.
+     *
+     * @return Whether there are no deductions.
+     */
+    public boolean isEmpty() {
+        return _safe.length == 0 && _mines.length == 0;
+    }
+}
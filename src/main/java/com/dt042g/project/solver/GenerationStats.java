@@ -0,0 +1,140 @@
+package com.dt042g.project.solver;
+
+/**
+ * Class holding the statistics of the no-guess boards generated for one
+ * board configuration; its size and number of mines.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+public class GenerationStats {
+    private final int _width;
+    private final int _height;
+    private final int _mineCount;
+    private long _boards = 0;
+    private long _failures = 0;
+    private long _attempts = 0;
+    private long _maxAttempts = 0;
+    private long _totalNanos = 0;
+    private long _maxNanos = 0;
+
+    /**
+     * Constructor to initialize empty statistics.
+     *
+     * @param width The number of squares along the x-axis.
+     * @param height The number of squares along the y-axis.
+     * @param mineCount The number of mines.
+     */
+    GenerationStats(int width, int height, int mineCount) {
+        _width = width;
+        _height = height;
+        _mineCount = mineCount;
+    }
+
+    /**
+     * Method for recording a generated board.
+     *
+     * @param attempts The number of candidate boards it took.
+     * @param nanos The time it took, in nanoseconds.
+     * @param found Whether a board without guesses was found.
+     */
+    synchronized void record(long attempts, long nanos, boolean found) {
+        _boards++;
+        _failures += found ? 0 : 1;
+        _attempts += attempts;
+        _maxAttempts = Math.max(_maxAttempts, attempts);
+        _totalNanos += nanos;
+        _maxNanos = Math.max(_maxNanos, nanos);
+    }
+
+    /**
+     * Method for getting the width of the boards.
+     *
+     * @return The number of squares along the x-axis.
+     */
+    public int getWidth() {
+        return _width;
+    }
+
+    /**
+     * Method for getting the height of the boards.
+     *
+     * @return The number of squares along the y-axis.
+     */
+    public int getHeight() {
+        return _height;
+    }
+
+    /**
+     * Method for getting the number of mines of the boards.
+     *
+     * @return The number of mines.
+     */
+    public int getMineCount() {
+        return _mineCount;
+    }
+
+    /**
+     * Method for getting the number of generated boards.
+     *
+     * @return The number of boards.
+     */
+    public synchronized long getBoards() {
+        return _boards;
+    }
+
+    /**
+     * Method for getting the number of boards for which no board without
+     * guesses was found within the maximum number of attempts.
+     *
+     * @return The number of boards.
+     */
+    public synchronized long getFailures() {
+        return _failures;
+    }
+
+    /**
+     * Method for getting the average number of candidate boards per board.
+     *
+     * @return The number of candidates; or 0 if nothing has been generated.
+     */
+    public synchronized double getMeanAttempts() {
+        return _boards == 0 ? 0 : (double) _attempts / _boards;
+    }
+
+    /**
+     * Method for getting the largest number of candidate boards of a board.
+     *
+     * @return The number of candidates.
+     */
+    public synchronized long getMaxAttempts() {
+        return _maxAttempts;
+    }
+
+    /**
+     * Method for getting the average time it took to generate a board.
+     *
+     * @return The time, in milliseconds; or 0 if nothing has been generated.
+     */
+    public synchronized double getMeanMillis() {
+        return _boards == 0 ? 0 : _totalNanos / 1e6 / _boards;
+    }
+
+    /**
+     * Method for getting the longest time it took to generate a board.
+     *
+     * @return The time, in milliseconds.
+     */
+    public synchronized double getMaxMillis() {
+        return _maxNanos / 1e6;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized String toString() {
+        return String.format("%dx%d/%d: %d boards (%d failed); %.1f attempts (max %d), %.2f ms (max %.2f ms)",
+                _width, _height, _mineCount, _boards, _failures, getMeanAttempts(), _maxAttempts,
+                getMeanMillis(), getMaxMillis());
+    }
+}
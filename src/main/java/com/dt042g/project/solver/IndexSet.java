@@ -0,0 +1,107 @@
+package com.dt042g.project.solver;
+
+import java.util.Arrays;
+
+/**
+ * Class serving as a bitset of packed cell indices, used as a work list.
+ *
+ * Adding is a single bit operation, and indices are polled in ascending
+ * order; starting from the lowest word which may hold a bit, so draining the
+ * set costs time proportional to the number of words actually touched rather
+ * than the size of the board.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+class IndexSet {
+    private final long[] _words;
+    private int _lowestWord;
+    private int _size = 0;
+
+    /**
+     * Constructor to initialize an empty set.
+     *
+     * @param capacity The number of indices; 0 to capacity (exclusive).
+     */
+    IndexSet(int capacity) {
+        _words = new long[(capacity + Long.SIZE - 1) / Long.SIZE];
+        _lowestWord = _words.length;
+    }
+
+    /**
+     * Method for adding an index.
+     *
+     * @param index The index.
+     */
+    void add(int index) {
+        int word = index >>> 6;
+        long bit = 1L << index;
+
+        if((_words[word] & bit) != 0)
+            return;
+
+        _words[word] |= bit;
+        _size++;
+
+        if(word < _lowestWord)
+            _lowestWord = word;
+    }
+
+    /**
+     * Method for checking if an index is in the set.
+     *
+     * @param index The index.
+     *
+     * @return Whether the index is in the set.
+     */
+    boolean contains(int index) {
+        return (_words[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Method for removing and returning the lowest index.
+     *
+     * @return The index; or -1 if the set is empty.
+     */
+    int poll() {
+        while(_lowestWord < _words.length) {
+            long word = _words[_lowestWord];
+
+            if(word != 0) {
+                _words[_lowestWord] = word & (word - 1);
+                _size--;
+                return (_lowestWord << 6) + Long.numberOfTrailingZeros(word);
+            }
+
+            _lowestWord++;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Method for getting the number of indices in the set.
+     *
+     * @return The number of indices.
+     */
+    int size() {
+        return _size;
+    }
+
+    /**
+     * Method for checking if the set is empty.
+     *
+     * @return Whether the set is empty.
+     */
+    boolean isEmpty() {
+        return _size == 0;
+    }
+
+    /**
+     * Method for removing every index.
+     */
+    void clear() {
+        Arrays.fill(_words, 0);
+        _lowestWord = _words.length;
+        _size = 0;
+    }
+}
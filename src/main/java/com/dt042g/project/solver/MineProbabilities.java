@@ -0,0 +1,108 @@
+package com.dt042g.project.solver;
+
+/**
+ * Class holding the chance of each square of a board being a mine; as
+ * computed by a *ProbabilityEngine*.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+public class MineProbabilities {
+    private final int _width;
+    private final int _height;
+    private final double[] _probabilities;
+    private final boolean[] _candidates;
+    private final boolean _exact;
+
+    /**
+     * Constructor to initialize the probabilities.
+     *
+     * @param width The number of squares along the x-axis.
+     * @param height The number of squares along the y-axis.
+     * @param probabilities The chance of each square being a mine; by packed cell index.
+     * @param candidates Whether each square could be selected; I.E. is neither revealed nor flagged.
+     * @param exact Whether the probabilities are exact.
+     */
+    MineProbabilities(int width, int height, double[] probabilities, boolean[] candidates, boolean exact) {
+        _width = width;
+        _height = height;
+        _probabilities = probabilities;
+        _candidates = candidates;
+        _exact = exact;
+    }
+
+    /**
+     * Method for getting the width of the board.
+     *
+     * @return The number of squares along the x-axis.
+     */
+    public int getWidth() {
+        return _width;
+    }
+
+    /**
+     * Method for getting the height of the board.
+     *
+     * @return The number of squares along the y-axis.
+     */
+    public int getHeight() {
+        return _height;
+    }
+
+    /**
+     * Method for getting the chance of a square being a mine.
+     *
+     * @param index The packed cell index (*y * width + x*) of the square.
+     *
+     * @return The chance; 0 to 1. Revealed squares are 0, and flagged squares 1.
+     */
+    public double getProbability(int index) {
+        return _probabilities[index];
+    }
+
+    /**
+     * Method for getting the chance of a square being a mine.
+     *
+     * @param x The x coordinate of the square.
+     * @param y The y coordinate of the square.
+     *
+     * @return The chance; 0 to 1. Revealed squares are 0, and flagged squares 1.
+     *
+     * @throws IndexOutOfBoundsException If the coordinate is outside the size of the board.
+     */
+    public double getProbability(int x, int y) {
+        if(x < 0 || x >= _width || y < 0 || y >= _height)
+            throw new IndexOutOfBoundsException(String.format(
+                    "Square (%d, %d) is outside the %dx%d board!", x, y, _width, _height));
+
+        return _probabilities[y * _width + x];
+    }
+
+    /**
+     * Method for checking if the probabilities are exact. They are not if a
+     * part of the frontier was too large to enumerate within the time budget,
+     * or if the frontier was too wide to weigh exactly by the number of mines
+     * left; see *ProbabilityEngine*.
+     *
+     * @return Whether the probabilities are exact.
+     */
+    public boolean isExact() {
+        return _exact;
+    }
+
+    /**
+     * Method for getting the square which is least likely to be a mine, among
+     * those which are neither revealed nor flagged. Ties go to the lowest
+     * index.
+     *
+     * @return The packed cell index of the square; or -1 if there is none.
+     */
+    public int getSafestSquare() {
+        int safest = -1;
+
+        for(int i = 0; i < _probabilities.length; i++)
+            if(_candidates[i] && (safest < 0 || _probabilities[i] < _probabilities[safest]))
+                safest = i;
+
+        return safest;
+    }
+}
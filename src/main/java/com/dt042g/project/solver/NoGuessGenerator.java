@@ -0,0 +1,185 @@
+package com.dt042g.project.solver;
+
+import com.dt042g.project.mvc.models.BoardGenerator;
+import com.dt042g.project.mvc.models.BoardSource;
+import com.dt042g.project.mvc.models.PackedBoard;
+
+import java.awt.Point;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Class which creates boards that can be solved from the first click without
+ * ever guessing; for use as the *BoardSource* of a *GameModel*.
+ *
+ * Candidate boards are generated as usual, and each is played by a *Solver*
+ * from the first click; a candidate is accepted if the solver reveals every
+ * square without a mine. Candidates are generated and played in parallel on
+ * a *ForkJoinPool*; one worker per thread of the pool, each taking the next
+ * attempt number in turn.
+ *
+ * The accepted board is always the valid candidate with the lowest attempt
+ * number; so the same seed gives the same board, however many threads there
+ * are. Once a valid candidate is found, no later attempts are started and
+ * those in progress are cancelled; only the earlier attempts still in
+ * progress are finished. If no valid candidate is found within the maximum
+ * number of attempts, the first candidate is used; so a game always starts.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+public class NoGuessGenerator implements BoardSource {
+    public static final int DEFAULT_MAX_ATTEMPTS = 1000;
+    private static final long SEED_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final int CANCEL_CHECK_INTERVAL = 1024;
+
+    private final ForkJoinPool _pool;
+    private final int _maxAttempts;
+    private final Map<String, GenerationStats> _stats = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor to initialize a generator on the common pool, with the
+     * default maximum number of attempts.
+     */
+    public NoGuessGenerator() {
+        this(ForkJoinPool.commonPool(), DEFAULT_MAX_ATTEMPTS);
+    }
+
+    /**
+     * Constructor to initialize the generator.
+     *
+     * @param pool The pool to generate and play the candidates on.
+     * @param maxAttempts The maximum number of candidates per board.
+     *
+     * @throws IllegalArgumentException If the maximum number of attempts is less than one.
+     */
+    public NoGuessGenerator(ForkJoinPool pool, int maxAttempts) {
+        if(maxAttempts < 1)
+            throw new IllegalArgumentException(String.format("Invalid maximum attempts %d!", maxAttempts));
+
+        _pool = pool;
+        _maxAttempts = maxAttempts;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PackedBoard createBoard(int width, int height, int mineCount, long seed, Point firstLocation) {
+        long start = System.nanoTime();
+        BoardGenerator generator = new BoardGenerator(width, height);
+        int first = firstLocation.y * width + firstLocation.x;
+
+        AtomicLong next = new AtomicLong();
+        AtomicLong best = new AtomicLong(Long.MAX_VALUE);
+        PackedBoard[] found = new PackedBoard[1];
+
+        Runnable worker = () -> {
+            for(long attempt; (attempt = next.getAndIncrement()) < _maxAttempts && attempt < best.get();) {
+                PackedBoard candidate = generator.generate(mineCount, seedOf(seed, attempt), firstLocation);
+                long current = attempt;
+
+                if(!isSolvable(candidate, first, () -> current > best.get()))
+                    continue;
+
+                synchronized(found) {
+                    if(attempt < best.get()) {
+                        best.set(attempt);
+                        found[0] = candidate;
+                    }
+                }
+            }
+        };
+
+        int workers = Math.min(_pool.getParallelism(), _maxAttempts);
+        ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[workers];
+
+        for(int i = 0; i < workers; i++)
+            tasks[i] = _pool.submit(worker);
+        for(ForkJoinTask<?> task : tasks)
+            task.join();
+
+        PackedBoard board;
+        synchronized(found) {
+            board = found[0];
+        }
+
+        boolean success = board != null;
+        if(!success)
+            board = generator.generate(mineCount, seed, firstLocation);
+
+        _stats.computeIfAbsent(width + "x" + height + "/" + mineCount, key -> new GenerationStats(width, height, mineCount))
+                .record(success ? best.get() + 1 : _maxAttempts, System.nanoTime() - start, success);
+
+        return board;
+    }
+
+    /**
+     * Method for checking if a board created ahead of time can be solved
+     * without guessing from the first location.
+     *
+     * @param board The board.
+     * @param firstLocation The location of the first clicked square.
+     *
+     * @return Whether the board can be solved from the first location.
+     */
+    @Override
+    public boolean isValidStart(PackedBoard board, Point firstLocation) {
+        return isSolvable(board, board.indexOf(firstLocation), () -> false);
+    }
+
+    /**
+     * Method for getting the statistics of every board configuration
+     * generated so far.
+     *
+     * @return The statistics; keyed by size and number of mines (such as *30x16/99*), in order.
+     */
+    public Map<String, GenerationStats> getStats() {
+        return Collections.unmodifiableMap(new TreeMap<>(_stats));
+    }
+
+    /**
+     * Method for getting the seed of a candidate board. The first candidate
+     * uses the seed itself; so it is the same board a *GameModel* would have
+     * generated without this source.
+     *
+     * @param seed The seed of the board.
+     * @param attempt The attempt number.
+     *
+     * @return The seed of the candidate.
+     */
+    private static long seedOf(long seed, long attempt) {
+        return seed + attempt * SEED_GAMMA;
+    }
+
+    /**
+     * Method for checking if a board can be solved from the first click
+     * without guessing.
+     *
+     * @param board The board.
+     * @param first The packed cell index of the first clicked square.
+     * @param cancelled Checked every so often; the check stops if it returns true.
+     *
+     * @return Whether every square without a mine was revealed; false if cancelled.
+     */
+    static boolean isSolvable(PackedBoard board, int first, BooleanSupplier cancelled) {
+        Solver solver = new Solver(board.getWidth(), board.getHeight());
+        int goal = board.size() - board.getMineCount();
+
+        solver.reveal(first, board.getNeighborMineCount(first));
+
+        for(int square; (square = solver.nextSafe()) >= 0;) {
+            solver.reveal(square, board.getNeighborMineCount(square));
+
+            if(solver.getRevealedCount() % CANCEL_CHECK_INTERVAL == 0 && cancelled.getAsBoolean())
+                return false;
+        }
+
+        return solver.getRevealedCount() == goal;
+    }
+}
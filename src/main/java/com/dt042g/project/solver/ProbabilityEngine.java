@@ -0,0 +1,944 @@
+package com.dt042g.project.solver;
+
+import com.dt042g.project.mvc.models.GameModel;
+import com.dt042g.project.mvc.views.headless.HeadlessView;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Class which computes the chance of every square of a game being a mine;
+ * from the revealed values, the flags and the number of mines on the board.
+ *
+ * The squares proven safe or mines by a *Solver* are settled first. The rest
+ * of the frontier (the unknown squares next to a revealed value) is split
+ * into components; squares only constrained by each other. Every component is
+ * enumerated by backtracking, counting its solutions by their number of
+ * mines, and the components are enumerated in parallel on a *ForkJoinPool*.
+ * The counts are then weighed by the number of ways the mines left can be
+ * placed on the squares outside the frontier; *C(squares, mines)*, computed
+ * from memoised log factorials.
+ *
+ * Enumeration is exponential in the size of a component, so it is bounded by
+ * a time budget; a component which does not finish in time falls back to
+ * the average density its values ask for. Weighing the components exactly
+ * is quadratic in the width of the frontier (the spread of its possible
+ * number of mines); past *EXACT_RANGE_LIMIT* the components are weighed as
+ * independent, with the odds of a square outside the frontier being a mine;
+ * which is what the exact weights converge to on a large board.
+ *
+ * Flags are trusted to be mines, unless they contradict the revealed values;
+ * in which case they are ignored.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+public class ProbabilityEngine {
+    public static final long DEFAULT_BUDGET_MILLIS = 250;
+    private static final int EXACT_RANGE_LIMIT = 1024;
+    private static final int CLOCK_CHECK_INTERVAL = 1024;
+    private static final int APPROXIMATION_ROUNDS = 16;
+    private static final double MIN_DENSITY = 1e-12;
+
+    private final ForkJoinPool _pool;
+    private final long _budgetMillis;
+
+    /**
+     * Constructor to initialize an engine on the common pool, with the
+     * default time budget.
+     */
+    public ProbabilityEngine() {
+        this(ForkJoinPool.commonPool(), DEFAULT_BUDGET_MILLIS);
+    }
+
+    /**
+     * Constructor to initialize the engine.
+     *
+     * @param pool The pool to enumerate the components on.
+     * @param budgetMillis The time budget of each computation.
+     *
+     * @throws IllegalArgumentException If the time budget is less than one millisecond.
+     */
+    public ProbabilityEngine(ForkJoinPool pool, long budgetMillis) {
+        if(budgetMillis < 1)
+            throw new IllegalArgumentException(String.format("Invalid time budget %d!", budgetMillis));
+
+        _pool = pool;
+        _budgetMillis = budgetMillis;
+    }
+
+    /**
+     * Method for computing the probabilities of the game of a model.
+     *
+     * @param model The model.
+     *
+     * @return The probabilities.
+     */
+    public MineProbabilities compute(GameModel model) {
+        Solver solver = Solver.fromModel(model);
+        boolean[] flagged = new boolean[model.getWidth() * model.getHeight()];
+
+        for(int y = 0; y < model.getHeight(); y++)
+            for(int x = 0; x < model.getWidth(); x++)
+                flagged[y * model.getWidth() + x] = model.isFlagged(x, y) && !model.isRevealed(x, y);
+
+        return compute(solver, flagged, model.getMineCount());
+    }
+
+    /**
+     * Method for computing the probabilities of what a headless view shows.
+     *
+     * @param view The view.
+     * @param mineCount The number of mines on the board.
+     *
+     * @return The probabilities.
+     */
+    public MineProbabilities compute(HeadlessView view, int mineCount) {
+        Solver solver = Solver.fromView(view);
+        boolean[] flagged = new boolean[view.getWidth() * view.getHeight()];
+
+        for(int y = 0; y < view.getHeight(); y++)
+            for(int x = 0; x < view.getWidth(); x++)
+                flagged[y * view.getWidth() + x] = view.getState(x, y) == HeadlessView.State.FLAGGED;
+
+        return compute(solver, flagged, mineCount);
+    }
+
+    /**
+     * Method for computing the probabilities of the squares known by a solver.
+     *
+     * @param solver The solver; deductions are made on it first.
+     * @param flagged Whether each square is flagged; by packed cell index.
+     * @param mineCount The number of mines on the board.
+     *
+     * @return The probabilities.
+     *
+     * @throws IllegalArgumentException If the revealed values contradict each other.
+     */
+    MineProbabilities compute(Solver solver, boolean[] flagged, int mineCount) {
+        long deadline = System.nanoTime() + _budgetMillis * 1_000_000;
+        solver.propagate();
+
+        MineProbabilities result = compute(solver, flagged, mineCount, deadline);
+
+        if(result == null)
+            result = compute(solver, new boolean[flagged.length], mineCount, deadline);
+        if(result == null)
+            throw new IllegalArgumentException("Invalid board; the revealed values contradict each other!");
+
+        return result;
+    }
+
+    /**
+     * Method for computing the probabilities; trusting the given flags.
+     *
+     * @param solver The solver; with every deduction made.
+     * @param flagged Whether each square is flagged; by packed cell index.
+     * @param mineCount The number of mines on the board.
+     * @param deadline The end of the time budget, as given by *System.nanoTime*.
+     *
+     * @return The probabilities; or null if the flags contradict the revealed values.
+     */
+    private MineProbabilities compute(Solver solver, boolean[] flagged, int mineCount, long deadline) {
+        int width = solver.getWidth();
+        int squares = width * solver.getHeight();
+        double[] probabilities = new double[squares];
+        boolean[] candidates = new boolean[squares];
+        boolean[] mine = new boolean[squares];
+        boolean[] free = new boolean[squares];
+        int knownMines = 0;
+
+        for(int i = 0; i < squares; i++) {
+            if(solver.getValue(i) >= 0)
+                continue;
+
+            candidates[i] = !flagged[i];
+
+            if(solver.isSafe(i))
+                continue;
+
+            if(solver.isMine(i) || flagged[i]) {
+                mine[i] = true;
+                probabilities[i] = 1;
+                knownMines++;
+            } else {
+                free[i] = true;
+            }
+        }
+
+        Frontier frontier = Frontier.build(solver, mine, free);
+
+        if(frontier == null)
+            return null;
+
+        Component[] components = frontier.split();
+        _pool.invoke(new EnumerationTask(components, 0, components.length, deadline));
+
+        boolean exact = true;
+        double estimatedMines = 0;
+        int range = 0;
+
+        for(Component component : components) {
+            if(component._timedOut) {
+                estimatedMines += component.estimate(probabilities);
+                exact = false;
+            } else if(!component.normalize()) {
+                return null;
+            } else {
+                range += component._maxMines - component._minMines;
+            }
+        }
+
+        int interior = 0;
+        for(int i = 0; i < squares; i++)
+            if(free[i] && !frontier.contains(i))
+                interior++;
+
+        int remaining = mineCount - knownMines;
+        double density = range <= EXACT_RANGE_LIMIT
+                ? weighExactly(components, range, interior, remaining - (int) Math.round(estimatedMines), probabilities)
+                : Double.NaN;
+
+        if(Double.isNaN(density)) {
+            density = weighIndependently(components, interior, remaining - estimatedMines, probabilities);
+            exact = false;
+        }
+
+        for(int i = 0; i < squares; i++)
+            if(free[i] && !frontier.contains(i))
+                probabilities[i] = density;
+
+        return new MineProbabilities(width, solver.getHeight(), probabilities, candidates, exact);
+    }
+
+    /**
+     * Method for weighing the solutions of every component by the number of
+     * ways to place the mines left outside the frontier; and setting the
+     * probabilities of the frontier squares.
+     *
+     * This is a pass over the components in each direction. Backwards, the
+     * weight of the mines used by the components before each one is summed
+     * over every solution of the components after it. Forwards, the number of
+     * mines used by the components before each one is convolved; so that each
+     * of its solutions can be weighed by everything around it.
+     *
+     * @param components The enumerated components.
+     * @param range The sum of the spread of the number of mines of each component.
+     * @param interior The number of unknown squares outside the frontier.
+     * @param remaining The number of mines left; minus those of timed out components.
+     * @param probabilities The probabilities to set.
+     *
+     * @return The chance of a square outside the frontier being a mine; or NaN
+     *         if the mine count cannot be satisfied.
+     */
+    private static double weighExactly(Component[] components, int range, int interior, int remaining,
+                                       double[] probabilities) {
+        // Components with a fixed number of mines do not depend on anything
+        // outside them; only the others are weighed against each other.
+        int base = 0;
+        for(Component component : components) {
+            if(component._timedOut)
+                continue;
+
+            base += component._minMines;
+
+            if(component._minMines == component._maxMines)
+                component.apply(new double[] { 1 }, probabilities);
+        }
+
+        Component[] chain = Arrays.stream(components)
+                .filter(component -> !component._timedOut && component._minMines < component._maxMines)
+                .toArray(Component[]::new);
+
+        // The weight of the frontier using base + t mines; normalized.
+        double[] outside = new double[range + 1];
+        double max = Double.NEGATIVE_INFINITY;
+
+        for(int t = 0; t <= range; t++) {
+            outside[t] = Binomials.logChoose(interior, remaining - base - t);
+            max = Math.max(max, outside[t]);
+        }
+
+        if(max == Double.NEGATIVE_INFINITY)
+            return Double.NaN;
+
+        for(int t = 0; t <= range; t++)
+            outside[t] = Math.exp(outside[t] - max);
+
+        double[][] after = new double[chain.length + 1][];
+        after[chain.length] = outside;
+        int prefix = range;
+
+        for(int c = chain.length - 1; c >= 0; c--) {
+            Component component = chain[c];
+            int spread = component._maxMines - component._minMines;
+            prefix -= spread;
+
+            double[] weights = new double[prefix + 1];
+            for(int t = 0; t <= prefix; t++)
+                for(int k = 0; k <= spread; k++)
+                    weights[t] += component._weights[component._minMines + k] * after[c + 1][t + k];
+
+            after[c] = normalize(weights);
+        }
+
+        double[] before = { 1 };
+
+        for(int c = 0; c < chain.length; c++) {
+            Component component = chain[c];
+            int spread = component._maxMines - component._minMines;
+            double[] around = new double[spread + 1];
+
+            for(int k = 0; k <= spread; k++)
+                for(int t = 0; t < before.length; t++)
+                    around[k] += before[t] * after[c + 1][t + k];
+
+            if(!component.apply(around, probabilities))
+                return Double.NaN;
+
+            double[] convolved = new double[before.length + spread];
+            for(int t = 0; t < before.length; t++)
+                for(int k = 0; k <= spread; k++)
+                    convolved[t + k] += before[t] * component._weights[component._minMines + k];
+
+            before = normalize(convolved);
+        }
+
+        double total = 0;
+        double mines = 0;
+
+        for(int t = 0; t < before.length; t++) {
+            total += before[t] * outside[t];
+            mines += before[t] * outside[t] * (remaining - base - t);
+        }
+
+        if(!(total > 0))
+            return Double.NaN;
+
+        return interior == 0 ? 0 : mines / total / interior;
+    }
+
+    /**
+     * Method for weighing the solutions of every component independently; by
+     * the odds of a square outside the frontier being a mine. The odds depend
+     * on how many mines the frontier is expected to hold, so they are refined
+     * over a few rounds.
+     *
+     * @param components The enumerated components.
+     * @param interior The number of unknown squares outside the frontier.
+     * @param remaining The number of mines left; minus those of timed out components.
+     * @param probabilities The probabilities to set.
+     *
+     * @return The chance of a square outside the frontier being a mine.
+     */
+    private static double weighIndependently(Component[] components, int interior, double remaining,
+                                             double[] probabilities) {
+        int frontier = 0;
+        for(Component component : components)
+            if(!component._timedOut)
+                frontier += component._cells.length;
+
+        double density = clamp(remaining / Math.max(1, interior + frontier));
+
+        for(int round = 0; interior > 0 && round < APPROXIMATION_ROUNDS; round++) {
+            double expected = 0;
+
+            for(Component component : components)
+                if(!component._timedOut)
+                    expected += component.expectedMines(odds(density, interior));
+
+            density = clamp((remaining - expected) / interior);
+        }
+
+        for(Component component : components)
+            if(!component._timedOut)
+                component.apply(component.oddsWeights(odds(density, interior)), probabilities);
+
+        return interior == 0 ? 0 : density;
+    }
+
+    /**
+     * Method for getting the logarithm of the odds of a square outside the
+     * frontier being a mine.
+     *
+     * @param density The chance of a square outside the frontier being a mine.
+     * @param interior The number of unknown squares outside the frontier.
+     *
+     * @return The log odds; 0 (even odds) if there are no such squares.
+     */
+    private static double odds(double density, int interior) {
+        return interior == 0 ? 0 : Math.log(density / (1 - density));
+    }
+
+    /**
+     * Method for keeping a density strictly between 0 and 1; so that its odds
+     * are finite.
+     *
+     * @param density The density.
+     *
+     * @return The clamped density.
+     */
+    private static double clamp(double density) {
+        return Math.max(MIN_DENSITY, Math.min(1 - MIN_DENSITY, density));
+    }
+
+    /**
+     * Method for scaling weights so that the largest is 1; keeping long
+     * products of them within the range of a double.
+     *
+     * @param weights The weights; scaled in place.
+     *
+     * @return The same weights.
+     */
+    private static double[] normalize(double[] weights) {
+        double max = 0;
+        for(double weight : weights)
+            max = Math.max(max, weight);
+
+        if(max > 0)
+            for(int i = 0; i < weights.length; i++)
+                weights[i] /= max;
+
+        return weights;
+    }
+
+    /**
+     * Class holding the constraints of the revealed values on the frontier;
+     * the unknown squares next to them.
+     */
+    private static class Frontier {
+        private final int[] _frontierIds;
+        private final int _size;
+        private final int[] _need;
+        private final int[] _starts;
+        private final int[] _cells;
+        private final int _constraints;
+
+        /**
+         * Constructor to initialize the frontier.
+         *
+         * @param frontierIds The frontier id of each square; or -1 if not on the frontier.
+         * @param size The number of squares on the frontier.
+         * @param need The number of mines left to place around each value.
+         * @param starts The start of the squares of each value in *cells*; plus the end.
+         * @param cells The frontier ids of the unknown squares around each value.
+         * @param constraints The number of values.
+         */
+        private Frontier(int[] frontierIds, int size, int[] need, int[] starts, int[] cells, int constraints) {
+            _frontierIds = frontierIds;
+            _size = size;
+            _need = need;
+            _starts = starts;
+            _cells = cells;
+            _constraints = constraints;
+        }
+
+        /**
+         * Method for collecting the constraints of every revealed value with
+         * unknown neighbors.
+         *
+         * @param solver The solver.
+         * @param mine Whether each square is a (proven or flagged) mine.
+         * @param free Whether each square is unknown.
+         *
+         * @return The frontier; or null if a value is contradicted.
+         */
+        static Frontier build(Solver solver, boolean[] mine, boolean[] free) {
+            int squares = mine.length;
+            int[] frontierIds = new int[squares];
+            int[] buffer = new int[8];
+            int size = 0;
+            int constraints = 0;
+            int[] need = new int[64];
+            int[] starts = new int[65];
+            int[] cells = new int[256];
+
+            Arrays.fill(frontierIds, -1);
+
+            for(int i = 0; i < squares; i++) {
+                int value = solver.getValue(i);
+
+                if(value < 0)
+                    continue;
+
+                int count = solver.neighbors(i, buffer);
+                int start = starts[constraints];
+                int open = 0;
+
+                if(start + 8 > cells.length)
+                    cells = Arrays.copyOf(cells, cells.length * 2);
+
+                for(int n = 0; n < count; n++) {
+                    int neighbor = buffer[n];
+
+                    if(mine[neighbor]) {
+                        value--;
+                    } else if(free[neighbor]) {
+                        if(frontierIds[neighbor] < 0)
+                            frontierIds[neighbor] = size++;
+
+                        cells[start + open++] = frontierIds[neighbor];
+                    }
+                }
+
+                if(value < 0 || value > open)
+                    return null;
+                if(open == 0)
+                    continue;
+
+                if(constraints + 1 == need.length) {
+                    need = Arrays.copyOf(need, need.length * 2);
+                    starts = Arrays.copyOf(starts, starts.length * 2);
+                }
+
+                need[constraints] = value;
+                starts[++constraints] = start + open;
+            }
+
+            return new Frontier(frontierIds, size, need, starts, cells, constraints);
+        }
+
+        /**
+         * Method for checking if a square is on the frontier.
+         *
+         * @param index The packed cell index of the square.
+         *
+         * @return Whether the square is on the frontier.
+         */
+        boolean contains(int index) {
+            return _frontierIds[index] >= 0;
+        }
+
+        /**
+         * Method for splitting the frontier into components; the squares
+         * connected by sharing a value, and those values.
+         *
+         * @return The components.
+         */
+        Component[] split() {
+            int[] parents = new int[_size];
+            for(int f = 0; f < _size; f++)
+                parents[f] = f;
+
+            for(int c = 0; c < _constraints; c++)
+                for(int j = _starts[c] + 1; j < _starts[c + 1]; j++)
+                    parents[find(parents, _cells[j])] = find(parents, _cells[_starts[c]]);
+
+            // Number the components by their first value, and the squares of
+            // each component in order of appearance; so that the squares of a
+            // value are close together when enumerating.
+            int[] componentOf = new int[_size];
+            Arrays.fill(componentOf, -1);
+            int[] cellCounts = new int[_size];
+            int[] constraintCounts = new int[_size];
+            int components = 0;
+
+            for(int c = 0; c < _constraints; c++) {
+                int root = find(parents, _cells[_starts[c]]);
+
+                if(componentOf[root] < 0)
+                    componentOf[root] = components++;
+
+                constraintCounts[componentOf[root]]++;
+            }
+
+            int[] localIds = new int[_size];
+            Arrays.fill(localIds, -1);
+            int[][] componentCells = new int[components][];
+            int[][][] componentConstraints = new int[components][][];
+            int[][] componentNeed = new int[components][];
+            int[] filled = new int[components];
+
+            for(int k = 0; k < components; k++) {
+                componentConstraints[k] = new int[constraintCounts[k]][];
+                componentNeed[k] = new int[constraintCounts[k]];
+            }
+
+            int[] frontierToIndex = new int[_size];
+            for(int i = 0; i < _frontierIds.length; i++)
+                if(_frontierIds[i] >= 0)
+                    frontierToIndex[_frontierIds[i]] = i;
+
+            int[][] cellsInOrder = new int[components][];
+
+            for(int c = 0; c < _constraints; c++) {
+                int k = componentOf[find(parents, _cells[_starts[c]])];
+                int[] local = new int[_starts[c + 1] - _starts[c]];
+
+                for(int j = 0; j < local.length; j++) {
+                    int f = _cells[_starts[c] + j];
+
+                    if(localIds[f] < 0) {
+                        if(cellsInOrder[k] == null)
+                            cellsInOrder[k] = new int[8];
+                        else if(cellCounts[k] == cellsInOrder[k].length)
+                            cellsInOrder[k] = Arrays.copyOf(cellsInOrder[k], cellCounts[k] * 2);
+
+                        localIds[f] = cellCounts[k];
+                        cellsInOrder[k][cellCounts[k]++] = frontierToIndex[f];
+                    }
+
+                    local[j] = localIds[f];
+                }
+
+                componentConstraints[k][filled[k]] = local;
+                componentNeed[k][filled[k]++] = _need[c];
+            }
+
+            Component[] result = new Component[components];
+            for(int k = 0; k < components; k++) {
+                componentCells[k] = Arrays.copyOf(cellsInOrder[k], cellCounts[k]);
+                result[k] = new Component(componentCells[k], componentConstraints[k], componentNeed[k]);
+            }
+
+            return result;
+        }
+
+        /**
+         * Method for finding the root of a square in a union-find forest;
+         * halving the path on the way.
+         *
+         * @param parents The parent of each square.
+         * @param f The frontier id of the square.
+         *
+         * @return The frontier id of the root.
+         */
+        private static int find(int[] parents, int f) {
+            while(parents[f] != f) {
+                parents[f] = parents[parents[f]];
+                f = parents[f];
+            }
+
+            return f;
+        }
+    }
+
+    /**
+     * Class holding an independent part of the frontier, and the solutions
+     * counted by enumerating it.
+     */
+    private static class Component {
+        private final int[] _cells;
+        private final int[][] _constraints;
+        private final int[] _need;
+        private final int[][] _cellConstraints;
+
+        private final double[] _weights;
+        private final double[][] _cellWeights;
+        private int _minMines;
+        private int _maxMines;
+        private boolean _timedOut = false;
+
+        /**
+         * Constructor to initialize the component.
+         *
+         * @param cells The packed cell index of each square.
+         * @param constraints The squares (local ids) around each value.
+         * @param need The number of mines around each value.
+         */
+        Component(int[] cells, int[][] constraints, int[] need) {
+            _cells = cells;
+            _constraints = constraints;
+            _need = need;
+            _weights = new double[cells.length + 1];
+            _cellWeights = new double[cells.length + 1][];
+
+            int[] counts = new int[cells.length];
+            for(int[] constraint : constraints)
+                for(int cell : constraint)
+                    counts[cell]++;
+
+            _cellConstraints = new int[cells.length][];
+            for(int cell = 0; cell < cells.length; cell++)
+                _cellConstraints[cell] = new int[counts[cell]];
+
+            Arrays.fill(counts, 0);
+            for(int c = 0; c < constraints.length; c++)
+                for(int cell : constraints[c])
+                    _cellConstraints[cell][counts[cell]++] = c;
+        }
+
+        /**
+         * Method for counting every solution of the component by backtracking;
+         * assigning the squares in order, and pruning as soon as a value gets
+         * too many mines or has too few squares left for its mines.
+         *
+         * @param deadline The end of the time budget, as given by *System.nanoTime*.
+         */
+        void enumerate(long deadline) {
+            int squares = _cells.length;
+            int[] need = _need.clone();
+            int[] open = new int[_constraints.length];
+            byte[] assigned = new byte[squares];
+            long steps = 0;
+
+            for(int c = 0; c < _constraints.length; c++)
+                open[c] = _constraints[c].length;
+
+            Arrays.fill(assigned, (byte) -1);
+
+            for(int square = 0; square >= 0;) {
+                if(++steps % CLOCK_CHECK_INTERVAL == 0 && System.nanoTime() > deadline) {
+                    _timedOut = true;
+                    return;
+                }
+
+                if(square == squares) {
+                    record(assigned);
+                    square--;
+                    continue;
+                }
+
+                int value = assigned[square];
+
+                if(value >= 0)
+                    unassign(square, value, need, open);
+
+                if(value == 1) {
+                    assigned[square] = -1;
+                    square--;
+                    continue;
+                }
+
+                assigned[square] = (byte) ++value;
+
+                // The assignment is kept even if it is invalid; the next
+                // iteration undoes it and tries the next value.
+                if(assign(square, value, need, open))
+                    square++;
+            }
+        }
+
+        /**
+         * Method for assigning a square; updating the values around it.
+         *
+         * @param square The local id of the square.
+         * @param value 1 for a mine, 0 for safe.
+         * @param need The number of mines left to place around each value.
+         * @param open The number of unassigned squares around each value.
+         *
+         * @return Whether every value around the square can still be satisfied.
+         */
+        private boolean assign(int square, int value, int[] need, int[] open) {
+            boolean valid = true;
+
+            for(int c : _cellConstraints[square]) {
+                open[c]--;
+                need[c] -= value;
+                valid &= need[c] >= 0 && need[c] <= open[c];
+            }
+
+            return valid;
+        }
+
+        /**
+         * Method for undoing the assignment of a square.
+         *
+         * @param square The local id of the square.
+         * @param value The assigned value.
+         * @param need The number of mines left to place around each value.
+         * @param open The number of unassigned squares around each value.
+         */
+        private void unassign(int square, int value, int[] need, int[] open) {
+            for(int c : _cellConstraints[square]) {
+                open[c]++;
+                need[c] += value;
+            }
+        }
+
+        /**
+         * Method for counting a solution.
+         *
+         * @param assigned The value of each square.
+         */
+        private void record(byte[] assigned) {
+            int mines = 0;
+            for(byte value : assigned)
+                mines += value;
+
+            _weights[mines]++;
+
+            if(_cellWeights[mines] == null)
+                _cellWeights[mines] = new double[_cells.length];
+
+            for(int square = 0; square < assigned.length; square++)
+                _cellWeights[mines][square] += assigned[square];
+        }
+
+        /**
+         * Method for finding the spread of the number of mines of the
+         * solutions, and scaling their counts so that the largest is 1.
+         *
+         * @return Whether there is any solution.
+         */
+        boolean normalize() {
+            _minMines = -1;
+            double max = 0;
+
+            for(int mines = 0; mines < _weights.length; mines++) {
+                if(_weights[mines] > 0) {
+                    if(_minMines < 0)
+                        _minMines = mines;
+
+                    _maxMines = mines;
+                    max = Math.max(max, _weights[mines]);
+                }
+            }
+
+            if(_minMines < 0)
+                return false;
+
+            for(int mines = _minMines; mines <= _maxMines; mines++) {
+                _weights[mines] /= max;
+
+                if(_cellWeights[mines] != null)
+                    for(int square = 0; square < _cells.length; square++)
+                        _cellWeights[mines][square] /= max;
+            }
+
+            return true;
+        }
+
+        /**
+         * Method for setting the probabilities of the squares, given how much
+         * each number of mines is weighed by everything outside the component.
+         *
+         * @param around The weight of each number of mines; from *_minMines*.
+         * @param probabilities The probabilities to set.
+         *
+         * @return Whether any solution has weight.
+         */
+        boolean apply(double[] around, double[] probabilities) {
+            double total = 0;
+
+            for(int k = 0; k < around.length; k++)
+                total += _weights[_minMines + k] * around[k];
+
+            if(!(total > 0))
+                return false;
+
+            for(int square = 0; square < _cells.length; square++) {
+                double mines = 0;
+
+                for(int k = 0; k < around.length; k++)
+                    if(_cellWeights[_minMines + k] != null)
+                        mines += _cellWeights[_minMines + k][square] * around[k];
+
+                probabilities[_cells[square]] = mines / total;
+            }
+
+            return true;
+        }
+
+        /**
+         * Method for getting how much each number of mines is weighed, when
+         * every mine changes the odds by the same factor.
+         *
+         * @param logOdds The logarithm of the factor.
+         *
+         * @return The weight of each number of mines; from *_minMines*.
+         */
+        double[] oddsWeights(double logOdds) {
+            double[] weights = new double[_maxMines - _minMines + 1];
+            double max = Double.NEGATIVE_INFINITY;
+
+            for(int k = 0; k < weights.length; k++)
+                max = Math.max(max, k * logOdds);
+            for(int k = 0; k < weights.length; k++)
+                weights[k] = Math.exp(k * logOdds - max);
+
+            return weights;
+        }
+
+        /**
+         * Method for getting the expected number of mines of the component,
+         * when every mine changes the odds by the same factor.
+         *
+         * @param logOdds The logarithm of the factor.
+         *
+         * @return The expected number of mines.
+         */
+        double expectedMines(double logOdds) {
+            double[] around = oddsWeights(logOdds);
+            double total = 0;
+            double mines = 0;
+
+            for(int k = 0; k < around.length; k++) {
+                total += _weights[_minMines + k] * around[k];
+                mines += _weights[_minMines + k] * around[k] * (_minMines + k);
+            }
+
+            return mines / total;
+        }
+
+        /**
+         * Method for estimating the probabilities of the squares of a
+         * component which could not be enumerated in time; as the average
+         * density asked for by the values around each square.
+         *
+         * @param probabilities The probabilities to set.
+         *
+         * @return The expected number of mines.
+         */
+        double estimate(double[] probabilities) {
+            double mines = 0;
+
+            for(int square = 0; square < _cells.length; square++) {
+                double density = 0;
+
+                for(int c : _cellConstraints[square])
+                    density += (double) _need[c] / _constraints[c].length;
+
+                density /= _cellConstraints[square].length;
+                probabilities[_cells[square]] = density;
+                mines += density;
+            }
+
+            return mines;
+        }
+    }
+
+    /**
+     * Task which enumerates a range of components; splitting the range in
+     * half until only a single component remains.
+     */
+    @SuppressWarnings("serial")
+    private static class EnumerationTask extends RecursiveAction {
+        private final Component[] _components;
+        private final int _from;
+        private final int _to;
+        private final long _deadline;
+
+        /**
+         * Constructor to initialize the task.
+         *
+         * @param components The components.
+         * @param from The first component (inclusive).
+         * @param to The last component (exclusive).
+         * @param deadline The end of the time budget, as given by *System.nanoTime*.
+         */
+        EnumerationTask(Component[] components, int from, int to, long deadline) {
+            _components = components;
+            _from = from;
+            _to = to;
+            _deadline = deadline;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected void compute() {
+            if(_to - _from <= 1) {
+                for(int component = _from; component < _to; component++)
+                    _components[component].enumerate(_deadline);
+
+                return;
+            }
+
+            int middle = (_from + _to) >>> 1;
+            invokeAll(new EnumerationTask(_components, _from, middle, _deadline),
+                    new EnumerationTask(_components, middle, _to, _deadline));
+        }
+    }
+}
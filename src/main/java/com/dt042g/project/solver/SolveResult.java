@@ -0,0 +1,72 @@
+package com.dt042g.project.solver;
+
+/**
+ * Class holding the result of letting a *Solver* play a game.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+public class SolveResult {
+    /**
+     * The Outcome enum represents how a solve ended.
+     */
+    public enum Outcome {
+        /** Every square without a mine was revealed. */
+        WON,
+        /** No square could be proven safe; the rest of the game needs a guess. */
+        STUCK,
+        /** A mine was hit. */
+        LOST
+    }
+
+    private final Outcome _outcome;
+    private final int _moves;
+    private final int _minesFound;
+
+    /**
+     * Constructor to initialize the result.
+     *
+     * @param outcome How the solve ended.
+     * @param moves The number of selected squares.
+     * @param minesFound The number of squares proven to be mines.
+     */
+    SolveResult(Outcome outcome, int moves, int minesFound) {
+        _outcome = outcome;
+        _moves = moves;
+        _minesFound = minesFound;
+    }
+
+    /**
+     * Method for getting how the solve ended.
+     *
+     * @return The outcome.
+     */
+    public Outcome getOutcome() {
+        return _outcome;
+    }
+
+    /**
+     * Method for getting the number of squares the solver selected.
+     *
+     * @return The number of moves.
+     */
+    public int getMoves() {
+        return _moves;
+    }
+
+    /**
+     * Method for getting the number of squares proven to be mines.
+     *
+     * @return The number of mines.
+     */
+    public int getMinesFound() {
+        return _minesFound;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return String.format("%s after %d moves; %d mines found", _outcome, _moves, _minesFound);
+    }
+}
@@ -0,0 +1,610 @@
+package com.dt042g.project.solver;
+
+import com.dt042g.project.mvc.models.GameModel;
+import com.dt042g.project.mvc.observer.EventType;
+import com.dt042g.project.mvc.observer.Observer;
+import com.dt042g.project.mvc.observer.RevealBatch;
+import com.dt042g.project.mvc.views.headless.HeadlessView;
+
+import java.awt.Point;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Class which deduces which squares of a game are certainly safe, and which
+ * are certainly mines; from only what a human player would see (the revealed
+ * values).
+ *
+ * Two kinds of deductions are made, on the frontier (the revealed squares
+ * next to unknown ones):
+ * - Single-point; if a value is already satisfied by the known mines around
+ *   it, the rest of its unknown neighbors are safe, and if it needs every one
+ *   of its unknown neighbors, they are all mines.
+ * - Subsets; if the unknown neighbors of a value *A* are a subset of those of
+ *   a value *B*, the squares only next to *B* hold exactly the difference of
+ *   their remaining mines; so they are all safe or all mines when that
+ *   difference is zero or their count. Two values can only share neighbors
+ *   if they are within a 5x5 window of each other, and every neighbor of
+ *   either is then within a 7x7 window; so their neighbor sets are compared
+ *   as 49-bit masks relative to that window.
+ *
+ * Only squares whose neighborhood changed are reconsidered; they are kept in
+ * bitset work lists, so a deduction costs time proportional to the squares it
+ * affects rather than to the size of the board. Flags are ignored; a solver
+ * only trusts what it has proven itself.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+public class Solver {
+    private static final byte UNKNOWN = -1;
+    private static final byte MINE = -2;
+    private static final byte SAFE = -3;
+    private static final int WINDOW = 7;
+    private static final int RADIUS = WINDOW / 2;
+
+    private final int _width;
+    private final int _height;
+    private final byte[] _cells;
+    private final IndexSet _dirty;
+    private final IndexSet _subsetDirty;
+    private final int[] _interiorOffsets;
+    private final int[] _neighborBuffer = new int[8];
+    private final int[] _windowBuffer = new int[8];
+
+    private int[] _safeFound = new int[64];
+    private int _safeCount = 0;
+    private int _safeCursor = 0;
+    private int[] _minesFound = new int[64];
+    private int _mineCount = 0;
+    private int _mineCursor = 0;
+    private int _revealedCount = 0;
+
+    /**
+     * Constructor to initialize a solver with every square unknown.
+     *
+     * @param width The number of squares along the x-axis.
+     * @param height The number of squares along the y-axis.
+     *
+     * @throws IllegalArgumentException If either dimension is less than one.
+     */
+    public Solver(int width, int height) {
+        if(width < 1 || height < 1 || (long) width * height > Integer.MAX_VALUE)
+            throw new IllegalArgumentException(String.format("Invalid board dimensions %dx%d!", width, height));
+
+        _width = width;
+        _height = height;
+        _cells = new byte[width * height];
+        _dirty = new IndexSet(_cells.length);
+        _subsetDirty = new IndexSet(_cells.length);
+        _interiorOffsets = new int[] { -width - 1, -width, -width + 1, -1, 1, width - 1, width, width + 1 };
+        Arrays.fill(_cells, UNKNOWN);
+    }
+
+    /**
+     * Method for creating a solver from what a headless view shows.
+     *
+     * @param view The view.
+     *
+     * @return The solver.
+     */
+    public static Solver fromView(HeadlessView view) {
+        Solver solver = new Solver(view.getWidth(), view.getHeight());
+
+        for(int y = 0; y < view.getHeight(); y++)
+            for(int x = 0; x < view.getWidth(); x++)
+                if(view.getState(x, y) == HeadlessView.State.VALUE)
+                    solver.reveal(y * view.getWidth() + x, view.getValue(x, y));
+
+        return solver;
+    }
+
+    /**
+     * Method for creating a solver from the revealed squares of a model.
+     *
+     * @param model The model.
+     *
+     * @return The solver.
+     */
+    public static Solver fromModel(GameModel model) {
+        Solver solver = new Solver(model.getWidth(), model.getHeight());
+
+        for(int y = 0; y < model.getHeight(); y++)
+            for(int x = 0; x < model.getWidth(); x++)
+                if(model.isRevealed(x, y))
+                    solver.reveal(y * model.getWidth() + x, model.getSquareValue(x, y));
+
+        return solver;
+    }
+
+    /**
+     * Method for getting the width of the board.
+     *
+     * @return The number of squares along the x-axis.
+     */
+    public int getWidth() {
+        return _width;
+    }
+
+    /**
+     * Method for getting the height of the board.
+     *
+     * @return The number of squares along the y-axis.
+     */
+    public int getHeight() {
+        return _height;
+    }
+
+    /**
+     * Method for telling the solver that a square has been revealed.
+     *
+     * @param index The packed cell index (*y * width + x*) of the square.
+     * @param value The number of neighboring mines.
+     *
+     * @throws IllegalArgumentException If the value is not within 0 to 8.
+     * @throws IndexOutOfBoundsException If the index is outside the size of the board.
+     */
+    public void reveal(int index, int value) {
+        if(value < 0 || value > 8)
+            throw new IllegalArgumentException(String.format("Invalid value %d!", value));
+        if(_cells[index] >= 0)
+            return;
+
+        _cells[index] = (byte) value;
+        _revealedCount++;
+        markDirty(index);
+    }
+
+    /**
+     * Method for checking if a square is neither revealed, nor proven safe or
+     * a mine.
+     *
+     * @param index The packed cell index of the square.
+     *
+     * @return Whether the square is unknown.
+     */
+    public boolean isUnknown(int index) {
+        return _cells[index] == UNKNOWN;
+    }
+
+    /**
+     * Method for checking if a square has been proven to be a mine.
+     *
+     * @param index The packed cell index of the square.
+     *
+     * @return Whether the square is a mine.
+     */
+    public boolean isMine(int index) {
+        return _cells[index] == MINE;
+    }
+
+    /**
+     * Method for checking if a square has been revealed, or proven safe.
+     *
+     * @param index The packed cell index of the square.
+     *
+     * @return Whether the square is safe.
+     */
+    public boolean isSafe(int index) {
+        return _cells[index] == SAFE || _cells[index] >= 0;
+    }
+
+    /**
+     * Method for getting the value of a revealed square.
+     *
+     * @param index The packed cell index of the square.
+     *
+     * @return The number of neighboring mines; or -1 if the square is not revealed.
+     */
+    int getValue(int index) {
+        return _cells[index] >= 0 ? _cells[index] : -1;
+    }
+
+    /**
+     * Method for getting the number of revealed squares.
+     *
+     * @return The number of squares.
+     */
+    public int getRevealedCount() {
+        return _revealedCount;
+    }
+
+    /**
+     * Method for getting the number of squares proven to be mines.
+     *
+     * @return The number of squares.
+     */
+    public int getMineCount() {
+        return _mineCount;
+    }
+
+    /**
+     * Method for making every deduction possible from the revealed squares.
+     *
+     * @return The squares proven safe (and not yet revealed) or proven to be
+     *         mines since the last call.
+     */
+    public Deductions deduce() {
+        propagate();
+
+        int[] safe = new int[_safeCount - _safeCursor];
+        int safeCount = 0;
+
+        for(; _safeCursor < _safeCount; _safeCursor++)
+            if(_cells[_safeFound[_safeCursor]] == SAFE)
+                safe[safeCount++] = _safeFound[_safeCursor];
+
+        int[] mines = Arrays.copyOfRange(_minesFound, _mineCursor, _mineCount);
+        _mineCursor = _mineCount;
+
+        return new Deductions(Arrays.copyOf(safe, safeCount), mines);
+    }
+
+    /**
+     * Method for letting a solver play a game of a model; only selecting
+     * squares which are proven safe. If nothing has been revealed yet, the
+     * center square is selected first; which the board generator keeps free
+     * of mines.
+     *
+     * @param model The model.
+     *
+     * @return The result; *STUCK* if the game cannot be finished without guessing.
+     */
+    public static SolveResult solve(GameModel model) {
+        Solver solver = fromModel(model);
+        Tracker tracker = solver.new Tracker(model);
+        int moves = 0;
+
+        model.attachObserver(tracker, EventType.MODEL_REVEAL_SQUARE_EVENT,
+                EventType.MODEL_MINE_HIT_EVENT, EventType.MODEL_WIN_EVENT);
+
+        try {
+            if(solver._revealedCount == 0) {
+                model.selectSquare(solver._width / 2, solver._height / 2);
+                moves++;
+            }
+
+            while(tracker._outcome == null) {
+                int square = solver.nextSafe();
+
+                if(square < 0)
+                    break;
+
+                model.selectSquare(square % solver._width, square / solver._width);
+                moves++;
+            }
+        } finally {
+            model.detachObserver(tracker);
+        }
+
+        return new SolveResult(tracker._outcome == null ? SolveResult.Outcome.STUCK : tracker._outcome,
+                moves, solver._mineCount);
+    }
+
+    /**
+     * Method for getting the next square proven safe but not yet revealed;
+     * deducing more if there is none.
+     *
+     * @return The packed cell index of the square; or -1 if there is none.
+     */
+    int nextSafe() {
+        while(true) {
+            for(; _safeCursor < _safeCount; _safeCursor++)
+                if(_cells[_safeFound[_safeCursor]] == SAFE)
+                    return _safeFound[_safeCursor++];
+
+            if(_dirty.isEmpty() && _subsetDirty.isEmpty())
+                return -1;
+
+            propagate();
+        }
+    }
+
+    /**
+     * Method for deducing until nothing more can be deduced. The cheap
+     * single-point deductions are always exhausted before trying subsets.
+     */
+    void propagate() {
+        while(true) {
+            int index;
+
+            while((index = _dirty.poll()) >= 0)
+                deduceSinglePoint(index);
+
+            if((index = _subsetDirty.poll()) < 0)
+                return;
+
+            deduceSubsets(index);
+        }
+    }
+
+    /**
+     * Method for making the single-point deductions of a revealed square.
+     *
+     * @param index The packed cell index of the square.
+     */
+    private void deduceSinglePoint(int index) {
+        int value = _cells[index];
+
+        if(value < 0)
+            return;
+
+        int count = neighbors(index, _neighborBuffer);
+        int unknown = 0;
+        int remaining = value;
+
+        for(int i = 0; i < count; i++) {
+            byte cell = _cells[_neighborBuffer[i]];
+
+            if(cell == UNKNOWN)
+                unknown++;
+            else if(cell == MINE)
+                remaining--;
+        }
+
+        if(unknown == 0 || (remaining != 0 && remaining != unknown))
+            return;
+
+        byte state = remaining == 0 ? SAFE : MINE;
+
+        for(int i = 0; i < count; i++)
+            if(_cells[_neighborBuffer[i]] == UNKNOWN)
+                mark(_neighborBuffer[i], state);
+    }
+
+    /**
+     * Method for making the subset deductions between a revealed square and
+     * every revealed square within two squares of it. Stops at the first
+     * deduction, and requeues the square; so the single-point deductions it
+     * enables are made before its masks are recomputed.
+     *
+     * @param index The packed cell index of the square.
+     */
+    private void deduceSubsets(int index) {
+        if(_cells[index] < 0)
+            return;
+
+        int x = index % _width;
+        int y = index / _width;
+        long mask = windowMask(index, x, y);
+
+        if(mask == 0)
+            return;
+
+        int remaining = _cells[index] - windowMines(index);
+
+        for(int oy = Math.max(0, y - 2); oy <= Math.min(_height - 1, y + 2); oy++) {
+            for(int ox = Math.max(0, x - 2); ox <= Math.min(_width - 1, x + 2); ox++) {
+                int other = oy * _width + ox;
+
+                if(other == index || _cells[other] < 0)
+                    continue;
+
+                long otherMask = windowMask(other, x, y);
+
+                if(otherMask == 0 || otherMask == mask)
+                    continue;
+
+                int otherRemaining = _cells[other] - windowMines(other);
+
+                boolean deduced = false;
+                if((mask & ~otherMask) == 0)
+                    deduced = deduceDifference(otherMask & ~mask, otherRemaining - remaining, x, y);
+                else if((otherMask & ~mask) == 0)
+                    deduced = deduceDifference(mask & ~otherMask, remaining - otherRemaining, x, y);
+
+                if(deduced) {
+                    _subsetDirty.add(index);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Method for marking the squares of a window mask which must together
+     * hold a given number of mines; if that number forces them.
+     *
+     * @param difference The window mask of the squares.
+     * @param mines The number of mines among them.
+     * @param x The x coordinate of the center of the window.
+     * @param y The y coordinate of the center of the window.
+     *
+     * @return Whether any square was marked.
+     */
+    private boolean deduceDifference(long difference, int mines, int x, int y) {
+        if(mines != 0 && mines != Long.bitCount(difference))
+            return false;
+
+        byte state = mines == 0 ? SAFE : MINE;
+
+        for(long bits = difference; bits != 0; bits &= bits - 1) {
+            int bit = Long.numberOfTrailingZeros(bits);
+            mark((y + bit / WINDOW - RADIUS) * _width + x + bit % WINDOW - RADIUS, state);
+        }
+
+        return true;
+    }
+
+    /**
+     * Method for getting the unknown neighbors of a square, as a mask of the
+     * 7x7 window around another square; within two squares of it.
+     *
+     * @param index The packed cell index of the square.
+     * @param x The x coordinate of the center of the window.
+     * @param y The y coordinate of the center of the window.
+     *
+     * @return The mask; bit *(dy + 3) * 7 + dx + 3* for the square at offset (dx, dy).
+     */
+    private long windowMask(int index, int x, int y) {
+        int count = neighbors(index, _windowBuffer);
+        long mask = 0;
+
+        for(int i = 0; i < count; i++) {
+            int neighbor = _windowBuffer[i];
+
+            if(_cells[neighbor] == UNKNOWN)
+                mask |= 1L << ((neighbor / _width - y + RADIUS) * WINDOW + neighbor % _width - x + RADIUS);
+        }
+
+        return mask;
+    }
+
+    /**
+     * Method for counting the neighbors of a square which are proven mines.
+     *
+     * @param index The packed cell index of the square.
+     *
+     * @return The number of mines.
+     */
+    private int windowMines(int index) {
+        int count = neighbors(index, _windowBuffer);
+        int mines = 0;
+
+        for(int i = 0; i < count; i++)
+            if(_cells[_windowBuffer[i]] == MINE)
+                mines++;
+
+        return mines;
+    }
+
+    /**
+     * Method for marking an unknown square as proven safe or a mine.
+     *
+     * @param index The packed cell index of the square.
+     * @param state Either *SAFE* or *MINE*.
+     */
+    private void mark(int index, byte state) {
+        if(_cells[index] != UNKNOWN)
+            return;
+
+        _cells[index] = state;
+
+        if(state == SAFE) {
+            if(_safeCount == _safeFound.length)
+                _safeFound = Arrays.copyOf(_safeFound, _safeCount * 2);
+            _safeFound[_safeCount++] = index;
+        } else {
+            if(_mineCount == _minesFound.length)
+                _minesFound = Arrays.copyOf(_minesFound, _mineCount * 2);
+            _minesFound[_mineCount++] = index;
+        }
+
+        markDirty(index);
+    }
+
+    /**
+     * Method for queueing a square and its revealed neighbors to be
+     * reconsidered; since the unknown neighbors of each of them changed.
+     *
+     * @param index The packed cell index of the square.
+     */
+    private void markDirty(int index) {
+        if(_cells[index] >= 0) {
+            _dirty.add(index);
+            _subsetDirty.add(index);
+        }
+
+        int count = neighbors(index, _windowBuffer);
+
+        for(int i = 0; i < count; i++) {
+            int neighbor = _windowBuffer[i];
+
+            if(_cells[neighbor] >= 0) {
+                _dirty.add(neighbor);
+                _subsetDirty.add(neighbor);
+            }
+        }
+    }
+
+    /**
+     * Method for getting the neighbors of a square.
+     *
+     * @param index The packed cell index of the square.
+     * @param buffer The buffer to store the neighbors in; at least 8 long.
+     *
+     * @return The number of neighbors.
+     */
+    int neighbors(int index, int[] buffer) {
+        int x = index % _width;
+        int y = index / _width;
+
+        if(x > 0 && x < _width - 1 && y > 0 && y < _height - 1) {
+            for(int i = 0; i < 8; i++)
+                buffer[i] = index + _interiorOffsets[i];
+
+            return 8;
+        }
+
+        int count = 0;
+
+        for(int ny = Math.max(0, y - 1); ny <= Math.min(_height - 1, y + 1); ny++)
+            for(int nx = Math.max(0, x - 1); nx <= Math.min(_width - 1, x + 1); nx++)
+                if(nx != x || ny != y)
+                    buffer[count++] = ny * _width + nx;
+
+        return count;
+    }
+
+    /**
+     * Observer which feeds the events of a model to the solver, and keeps
+     * track of how the game ended.
+     */
+    private class Tracker implements Observer {
+        private final GameModel _model;
+        private SolveResult.Outcome _outcome;
+
+        /**
+         * Constructor to initialize the tracker.
+         *
+         * @param model The model whose events are tracked.
+         */
+        Tracker(GameModel model) {
+            _model = model;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void handleEvent(String eventName, List<Point> locations) {
+            EventType type = EventType.fromName(eventName);
+
+            if(type != null)
+                handleTypedEvent(type, locations);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void handleTypedEvent(EventType type, List<Point> locations) {
+            switch(type) {
+                case MODEL_REVEAL_SQUARE_EVENT -> {
+                    for(Point location : locations)
+                        reveal(location.y * _width + location.x, _model.getSquareValue(location));
+                }
+                case MODEL_MINE_HIT_EVENT -> _outcome = SolveResult.Outcome.LOST;
+                case MODEL_WIN_EVENT -> _outcome = SolveResult.Outcome.WON;
+                default -> {}
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void handleBatchEvent(EventType type, RevealBatch batch) {
+            for(int i = 0; i < batch.size(); i++)
+                reveal(batch.getIndex(i), batch.getValue(i));
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void handleSquareEvent(EventType type, int x, int y) {
+            if(type == EventType.MODEL_MINE_HIT_EVENT)
+                _outcome = SolveResult.Outcome.LOST;
+        }
+    }
+}
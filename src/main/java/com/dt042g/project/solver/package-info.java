@@ -0,0 +1,4 @@
+/**
+ * Package for solving Minesweeper boards; for hints, bots and board generation.
+ */
+package com.dt042g.project.solver;
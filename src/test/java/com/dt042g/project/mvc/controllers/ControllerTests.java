@@ -1,6 +1,8 @@
 package com.dt042g.project.mvc.controllers;
 
 import com.dt042g.project.mvc.models.Model;
+import com.dt042g.project.mvc.observer.EventType;
+import com.dt042g.project.mvc.observer.RevealBatch;
 import com.dt042g.project.mvc.views.View;
 import com.dt042g.project.testinghelpers.TestingConcreteController;
 import org.junit.jupiter.api.BeforeEach;
@@ -65,6 +67,19 @@ public class ControllerTests {
         }
     }
 
+    /**
+     * Method for testing the handleEvent method; by testing that the helper
+     * method handleChordSquareEvent is triggered correctly when an appropriate
+     * event appears.
+     */
+    @Test
+    public void test_Controller_HandleChordSquareEvent() {
+        for(int i = 0; i < singleLocations.size(); i++) {
+            controller.handleEvent(View.VIEW_CHORD_SQUARE_EVENT, Arrays.asList(singleLocations.get(i)));
+            Mockito.verify(controller, Mockito.times(1)).handleChordSquareEvent(singleLocations.get(i));
+        }
+    }
+
     /**
      * Method for testing the handleEvent method; by testing that the helper
      * method handleResetGameEvent is triggered correctly when an appropriate
@@ -91,6 +106,21 @@ public class ControllerTests {
         }
     }
 
+    /**
+     * Method for testing the handleBatchEvent method; by testing that reveal
+     * batches are passed to handleRevealBatchEvent, which by default hands
+     * them on to handleRevealSquareEvent.
+     */
+    @Test
+    public void test_Controller_HandleRevealBatchEvent() {
+        RevealBatch batch = new RevealBatch(new int[] { 0, 5 }, new byte[] { 1, 2 }, 3);
+
+        controller.handleBatchEvent(EventType.MODEL_REVEAL_SQUARE_EVENT, batch);
+
+        Mockito.verify(controller, Mockito.times(1)).handleRevealBatchEvent(batch);
+        Mockito.verify(controller, Mockito.times(1)).handleRevealSquareEvent(batch);
+    }
+
     /**
      * Method for testing the handleEvent method; by testing that the helper
      * method handleMineHitEvent is triggered correctly when an appropriate
@@ -104,6 +134,30 @@ public class ControllerTests {
         }
     }
 
+    /**
+     * Method for testing the handleSquareEvent method; by testing that square
+     * events are passed to the coordinate based helper methods, which by
+     * default hand them on to the *Point* based ones.
+     */
+    @Test
+    public void test_Controller_HandleSquareEvent() {
+        controller.handleSquareEvent(EventType.VIEW_SELECT_SQUARE_EVENT, 1, 2);
+        controller.handleSquareEvent(EventType.VIEW_FLAG_SQUARE_EVENT, 3, 4);
+        controller.handleSquareEvent(EventType.VIEW_CHORD_SQUARE_EVENT, 5, 6);
+        controller.handleSquareEvent(EventType.MODEL_MINE_HIT_EVENT, 7, 8);
+        controller.handleSquareEvent(EventType.MODEL_WIN_EVENT, 0, 0);
+
+        Mockito.verify(controller, Mockito.times(1)).handleSelectSquareEvent(1, 2);
+        Mockito.verify(controller, Mockito.times(1)).handleSelectSquareEvent(new Point(1, 2));
+        Mockito.verify(controller, Mockito.times(1)).handleFlagSquareEvent(3, 4);
+        Mockito.verify(controller, Mockito.times(1)).handleFlagSquareEvent(new Point(3, 4));
+        Mockito.verify(controller, Mockito.times(1)).handleChordSquareEvent(5, 6);
+        Mockito.verify(controller, Mockito.times(1)).handleChordSquareEvent(new Point(5, 6));
+        Mockito.verify(controller, Mockito.times(1)).handleMineHitEvent(7, 8);
+        Mockito.verify(controller, Mockito.times(1)).handleMineHitEvent(new Point(7, 8));
+        Mockito.verify(controller, Mockito.times(1)).handleWinEvent();
+    }
+
     /**
      * Method for testing the handleEvent method; by testing that the helper
      * method handleWinEvent is triggered correctly when an appropriate
@@ -0,0 +1,215 @@
+package com.dt042g.project.mvc.models;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.awt.Point;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+/**
+ * Class containing unit-tests for the *BoardGenerator* class.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+public class BoardGeneratorTests {
+    /**
+     * Argument generator method for running tests with different board
+     * configurations; including boards spanning several bands and boards that
+     * cannot fit all mines.
+     *
+     * @return Argument with a width, height, mine count and first location.
+     */
+    private static Stream<Arguments> Configuration() {
+        return Stream.of(
+                Arguments.of(1, 1, 1, new Point(0, 0)),
+                Arguments.of(9, 9, 10, new Point(4, 4)),
+                Arguments.of(30, 16, 99, null),
+                Arguments.of(17, 200, 700, new Point(16, 63)),
+                Arguments.of(5, 300, 1499, new Point(2, 128)),
+                Arguments.of(3, 3, 20, new Point(0, 0)));
+    }
+
+    /**
+     * Helper method for checking whether two boards have the exact same mine
+     * layout.
+     *
+     * @param a The first board.
+     * @param b The second board.
+     *
+     * @return Whether the layouts are identical.
+     */
+    private static boolean sameLayout(PackedBoard a, PackedBoard b) {
+        if(a.size() != b.size())
+            return false;
+
+        for(int i = 0; i < a.size(); i++)
+            if(a.isMine(i) != b.isMine(i))
+                return false;
+
+        return true;
+    }
+
+    /**
+     * Method for testing that the generated board has the correct size, the
+     * exact number of mines (or as many as fit), and that the first location
+     * and its neighbors are not mines.
+     *
+     * @param width The width of the board.
+     * @param height The height of the board.
+     * @param mineCount The requested number of mines.
+     * @param first The first location.
+     */
+    @ParameterizedTest
+    @MethodSource("Configuration")
+    public void test_Generate_ExactMineCount(int width, int height, int mineCount, Point first) {
+        PackedBoard board = new BoardGenerator(width, height).generate(mineCount, 1234, first);
+
+        Assertions.assertEquals(width, board.getWidth());
+        Assertions.assertEquals(height, board.getHeight());
+
+        int protectedCount = 0;
+        int mines = 0;
+        for(int x = 0; x < width; x++) {
+            for(int y = 0; y < height; y++) {
+                boolean isProtected = first != null && Math.abs(x - first.x) <= 1 && Math.abs(y - first.y) <= 1;
+                boolean isMine = board.isMine(board.indexOf(x, y));
+
+                protectedCount += isProtected ? 1 : 0;
+                mines += isMine ? 1 : 0;
+
+                Assertions.assertFalse(isProtected && isMine);
+            }
+        }
+
+        Assertions.assertEquals(Math.min(mineCount, width * height - protectedCount), mines);
+        Assertions.assertEquals(mines, board.getMineCount());
+    }
+
+    /**
+     * Method for testing that the same seed and first location always
+     * produces the same board, and that different seeds produce different
+     * boards.
+     *
+     * @param width The width of the board.
+     * @param height The height of the board.
+     * @param mineCount The requested number of mines.
+     * @param first The first location.
+     */
+    @ParameterizedTest
+    @MethodSource("Configuration")
+    public void test_Generate_Deterministic(int width, int height, int mineCount, Point first) {
+        BoardGenerator generator = new BoardGenerator(width, height);
+
+        Assertions.assertTrue(sameLayout(generator.generate(mineCount, 42, first), generator.generate(mineCount, 42, first)));
+        Assertions.assertTrue(sameLayout(generator.generate(mineCount, 42, first), new BoardGenerator(width, height).generate(mineCount, 42, first)));
+    }
+
+    /**
+     * Method for testing that parallel generation produces the exact same
+     * board as sequential generation; including the neighboring mine counts.
+     *
+     * @param width The width of the board.
+     * @param height The height of the board.
+     * @param mineCount The requested number of mines.
+     * @param first The first location.
+     */
+    @ParameterizedTest
+    @MethodSource("Configuration")
+    public void test_Generate_ParallelIdentical(int width, int height, int mineCount, Point first) {
+        BoardGenerator generator = new BoardGenerator(width, height);
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            PackedBoard sequential = generator.generate(mineCount, 99, first);
+            PackedBoard parallel = generator.generate(mineCount, 99, first, pool);
+
+            Assertions.assertTrue(sameLayout(sequential, parallel));
+            Assertions.assertEquals(sequential.getMineCount(), parallel.getMineCount());
+            for(int i = 0; i < sequential.size(); i++)
+                Assertions.assertEquals(sequential.getNeighborMineCount(i), parallel.getNeighborMineCount(i));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Method for testing that giving the first location as a packed cell
+     * index produces the exact same board as giving it as a *Point*.
+     *
+     * @param width The width of the board.
+     * @param height The height of the board.
+     * @param mineCount The requested number of mines.
+     * @param first The first location.
+     */
+    @ParameterizedTest
+    @MethodSource("Configuration")
+    public void test_Generate_FirstSquareIndex(int width, int height, int mineCount, Point first) {
+        BoardGenerator generator = new BoardGenerator(width, height);
+        int firstSquare = first == null ? BoardGenerator.NO_FIRST_SQUARE : generator.indexOf(first.x, first.y);
+        ForkJoinPool pool = new ForkJoinPool(2);
+
+        try {
+            Assertions.assertTrue(sameLayout(generator.generate(mineCount, 5, first), generator.generate(mineCount, 5, firstSquare)));
+            Assertions.assertTrue(sameLayout(generator.generate(mineCount, 5, first), generator.generate(mineCount, 5, firstSquare, pool)));
+        } finally {
+            pool.shutdown();
+        }
+
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> generator.indexOf(width, 0));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> generator.generate(mineCount, 5, width * height));
+    }
+
+    /**
+     * Method for testing that different seeds produce different boards.
+     */
+    @Test
+    public void test_Generate_DifferentSeeds() {
+        BoardGenerator generator = new BoardGenerator(100, 100);
+
+        Assertions.assertFalse(sameLayout(generator.generate(1500, 1, new Point(0, 0)), generator.generate(1500, 2, new Point(0, 0))));
+    }
+
+    /**
+     * Method for testing the number of bands the board is split into.
+     */
+    @Test
+    public void test_GetBandCount() {
+        Assertions.assertEquals(0, new BoardGenerator(10, 0).getBandCount());
+        Assertions.assertEquals(1, new BoardGenerator(10, 1).getBandCount());
+        Assertions.assertEquals(1, new BoardGenerator(10, BoardGenerator.BAND_ROWS).getBandCount());
+        Assertions.assertEquals(2, new BoardGenerator(10, BoardGenerator.BAND_ROWS + 1).getBandCount());
+    }
+
+    /**
+     * Method for testing that mines are spread over every band of a tall
+     * board, rather than piling up in the first bands.
+     */
+    @Test
+    public void test_Generate_SpreadOverBands() {
+        int bands = 10;
+        PackedBoard board = new BoardGenerator(20, bands * BoardGenerator.BAND_ROWS).generate(2000, 7, null);
+        int bandSize = 20 * BoardGenerator.BAND_ROWS;
+
+        for(int band = 0; band < bands; band++) {
+            int mines = 0;
+            for(int i = band * bandSize; i < (band + 1) * bandSize; i++)
+                mines += board.isMine(i) ? 1 : 0;
+
+            Assertions.assertTrue(mines == 200 || mines == 201, "Band " + band + " has " + mines + " mines!");
+        }
+    }
+
+    /**
+     * Method for testing that the constructor rejects invalid dimensions.
+     */
+    @Test
+    public void test_Constructor_InvalidDimensions() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new BoardGenerator(-1, 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new BoardGenerator(1, -1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new BoardGenerator(Integer.MAX_VALUE, 2));
+    }
+}
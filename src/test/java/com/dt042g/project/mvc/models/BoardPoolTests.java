@@ -0,0 +1,188 @@
+package com.dt042g.project.mvc.models;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Point;
+import java.util.concurrent.Executor;
+
+/**
+ * Class containing unit-tests for the *BoardPool* class.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+public class BoardPoolTests {
+    private static final Executor DIRECT = Runnable::run;
+
+    /**
+     * Helper method for checking that the neighboring mine counts of a board
+     * match its mines.
+     *
+     * @param board The board.
+     */
+    private static void assertConsistent(PackedBoard board) {
+        int[] neighbors = new int[8];
+        int mines = 0;
+
+        for(int i = 0; i < board.size(); i++) {
+            int expected = 0;
+            int count = board.getNeighbors(i, neighbors);
+
+            for(int n = 0; n < count; n++)
+                if(board.isMine(neighbors[n]))
+                    expected++;
+
+            Assertions.assertEquals(expected, board.getNeighborMineCount(i));
+            mines += board.isMine(i) ? 1 : 0;
+        }
+
+        Assertions.assertEquals(mines, board.getMineCount());
+    }
+
+    /**
+     * Method for testing that invalid arguments are rejected.
+     */
+    @Test
+    public void test_BoardPool_InvalidArguments() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new BoardPool(DIRECT, 0, 1024));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new BoardPool(DIRECT, 1, -1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new BoardPool(DIRECT, 1, 1024).source(null));
+    }
+
+    /**
+     * Method for testing that mines on and around the first location are
+     * moved elsewhere, keeping the number of mines and the neighbor counts.
+     */
+    @Test
+    public void test_BoardPool_Relocate() {
+        for(long seed = 0; seed < 20; seed++) {
+            PackedBoard board = new BoardGenerator(10, 10).generate(50, seed, null);
+            Point first = new Point((int) seed % 10, (int) (seed * 7) % 10);
+
+            BoardPool.relocate(board, first, seed);
+
+            for(int y = first.y - 1; y <= first.y + 1; y++)
+                for(int x = first.x - 1; x <= first.x + 1; x++)
+                    if(x >= 0 && x < 10 && y >= 0 && y < 10)
+                        Assertions.assertFalse(board.isMine(board.indexOf(x, y)));
+
+            Assertions.assertEquals(50, board.getMineCount());
+            assertConsistent(board);
+        }
+
+        // Too many mines to fit outside of the first location; as many as fit are kept
+        PackedBoard full = new BoardGenerator(3, 4).generate(12, 0, null);
+        BoardPool.relocate(full, new Point(1, 1), 0);
+        Assertions.assertEquals(3, full.getMineCount());
+        assertConsistent(full);
+    }
+
+    /**
+     * Method for testing that the first board is created right away, that
+     * later boards are taken from the pool, and that the first click of each
+     * is safe.
+     */
+    @Test
+    public void test_BoardPool_HitsAndMisses() {
+        BoardPool pool = new BoardPool(DIRECT, 3, BoardPool.DEFAULT_MEMORY_BUDGET);
+        GameModel model = new GameModel(16, 16, 60);
+        model.setBoardSource(pool.random());
+
+        for(int game = 0; game < 10; game++) {
+            model.reset();
+            model.selectSquare(game % 16, (game * 5) % 16);
+
+            Assertions.assertEquals(60, model.getMineCount());
+            Assertions.assertEquals(0, model.getSquareValue(game % 16, (game * 5) % 16));
+        }
+
+        Assertions.assertEquals(1, pool.getMisses());
+        Assertions.assertEquals(9, pool.getHits());
+        Assertions.assertEquals(0, pool.getRejected());
+        Assertions.assertEquals(3, pool.getPooledBoardCount());
+        Assertions.assertEquals(12, pool.getGenerated());
+    }
+
+    /**
+     * Method for testing that boards the mode does not accept are skipped.
+     */
+    @Test
+    public void test_BoardPool_Rejected() {
+        BoardSource mode = new BoardSource() {
+            @Override
+            public PackedBoard createBoard(int width, int height, int mineCount, long seed, Point firstLocation) {
+                return new BoardGenerator(width, height).generate(mineCount, seed, firstLocation);
+            }
+
+            @Override
+            public boolean isValidStart(PackedBoard board, Point firstLocation) {
+                return firstLocation.x == 0;
+            }
+        };
+
+        BoardPool pool = new BoardPool(DIRECT, 2, BoardPool.DEFAULT_MEMORY_BUDGET);
+        BoardSource source = pool.source(mode);
+        pool.warm(mode, 8, 8, 10);
+
+        source.createBoard(8, 8, 10, 0, new Point(0, 0));
+        Assertions.assertEquals(1, pool.getHits());
+
+        source.createBoard(8, 8, 10, 0, new Point(4, 4));
+        Assertions.assertEquals(2, pool.getRejected());
+        Assertions.assertEquals(1, pool.getMisses());
+    }
+
+    /**
+     * Method for testing that the least recently taken configuration is
+     * evicted to stay within the memory budget.
+     */
+    @Test
+    public void test_BoardPool_Eviction() {
+        // Room for two 20x20 boards (528 bytes each)
+        BoardPool pool = new BoardPool(DIRECT, 4, 1100);
+        BoardSource source = pool.random();
+
+        source.createBoard(20, 20, 40, 0, new Point(0, 0));
+        Assertions.assertEquals(2, pool.getPooledBoardCount());
+        Assertions.assertEquals(0, pool.getEvictions());
+
+        source.createBoard(20, 20, 41, 0, new Point(0, 0));
+        Assertions.assertEquals(2, pool.getPooledBoardCount());
+        Assertions.assertEquals(2, pool.getEvictions());
+        Assertions.assertTrue(pool.getPooledBytes() <= pool.getMemoryBudget());
+
+        // Only the second configuration is left
+        source.createBoard(20, 20, 41, 0, new Point(0, 0));
+        Assertions.assertEquals(1, pool.getHits());
+        source.createBoard(20, 20, 40, 0, new Point(0, 0));
+        Assertions.assertEquals(3, pool.getMisses());
+    }
+
+    /**
+     * Method for testing that a pool of its own fills in the background, and
+     * that closing it drops every board.
+     *
+     * @throws InterruptedException If interrupted while waiting for the pool.
+     */
+    @Test
+    public void test_BoardPool_Background() throws InterruptedException {
+        try(BoardPool pool = new BoardPool(2, BoardPool.DEFAULT_MEMORY_BUDGET)) {
+            pool.warm(null, 100, 100, 2000);
+
+            for(int wait = 0; wait < 500 && pool.getPooledBoardCount() < 2; wait++)
+                Thread.sleep(10);
+
+            Assertions.assertEquals(2, pool.getPooledBoardCount());
+
+            PackedBoard board = pool.random().createBoard(100, 100, 2000, 0, new Point(50, 50));
+            Assertions.assertEquals(1, pool.getHits());
+            Assertions.assertEquals(2000, board.getMineCount());
+            Assertions.assertFalse(board.isMine(board.indexOf(50, 50)));
+
+            pool.close();
+            Assertions.assertEquals(0, pool.getPooledBoardCount());
+            pool.random().createBoard(100, 100, 2000, 0, new Point(50, 50));
+            Assertions.assertEquals(1, pool.getMisses());
+        }
+    }
+}
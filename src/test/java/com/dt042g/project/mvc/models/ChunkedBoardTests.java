@@ -0,0 +1,184 @@
+package com.dt042g.project.mvc.models;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Point;
+
+/**
+ * Class containing unit-tests for the *ChunkedBoard* class.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+public class ChunkedBoardTests {
+    private static final int size = ChunkedBoard.CHUNK_SIZE * 3 - 5;
+    private static final double mineChance = 0.2;
+    private static final long seed = 42;
+
+    /**
+     * Method for testing that invalid configurations are rejected.
+     */
+    @Test
+    public void test_ChunkedBoard_InvalidConfiguration() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ChunkedBoard(-1, 1, 0.1, seed, null));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ChunkedBoard(1, -1, 0.1, seed, null));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ChunkedBoard(1, 1, 1.5, seed, null));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ChunkedBoard(1, 1, Double.NaN, seed, null));
+    }
+
+    /**
+     * Method for testing that nothing is generated until accessed, and that
+     * only the accessed chunk is generated.
+     */
+    @Test
+    public void test_ChunkedBoard_LazyGeneration() {
+        ChunkedBoard board = new ChunkedBoard(Integer.MAX_VALUE, Integer.MAX_VALUE, mineChance, seed, null);
+
+        Assertions.assertEquals(0, board.getChunkCount());
+        Assertions.assertFalse(board.isFullyGenerated());
+
+        board.isMine(1_000_000_000, 2_000_000_000);
+        board.isFlagged(1_000_000_001, 2_000_000_001);
+
+        Assertions.assertEquals(1, board.getChunkCount());
+    }
+
+    /**
+     * Method for testing that giving the first location by coordinates gives
+     * the exact same board as giving it as a *Point*.
+     */
+    @Test
+    public void test_ChunkedBoard_FirstCoordinates() {
+        ChunkedBoard byPoint = new ChunkedBoard(size, size, 0.9, seed, new Point(5, 70));
+        ChunkedBoard byCoordinates = new ChunkedBoard(size, size, 0.9, seed, 5, 70);
+
+        for(int x = 0; x < size; x++)
+            for(int y = 0; y < size; y++)
+                Assertions.assertEquals(byPoint.isMine(x, y), byCoordinates.isMine(x, y), String.format("Mismatch at (%d, %d)!", x, y));
+
+        Assertions.assertFalse(byCoordinates.isMine(4, 69));
+        Assertions.assertFalse(byCoordinates.isMine(6, 71));
+    }
+
+    /**
+     * Method for testing that the content of a chunk only depends on the seed
+     * and its coordinates; not on the order the chunks are generated in.
+     */
+    @Test
+    public void test_ChunkedBoard_OrderIndependent() {
+        ChunkedBoard forward = new ChunkedBoard(size, size, mineChance, seed, null);
+        ChunkedBoard backward = new ChunkedBoard(size, size, mineChance, seed, null);
+
+        boolean[][] mines = new boolean[size][size];
+        for(int x = 0; x < size; x++)
+            for(int y = 0; y < size; y++)
+                mines[x][y] = forward.isMine(x, y);
+
+        for(int x = size - 1; x >= 0; x--)
+            for(int y = size - 1; y >= 0; y--)
+                Assertions.assertEquals(mines[x][y], backward.isMine(x, y), String.format("Mismatch at (%d, %d)!", x, y));
+
+        Assertions.assertTrue(forward.isFullyGenerated());
+        Assertions.assertEquals(forward.getGeneratedMineCount(), backward.getGeneratedMineCount());
+    }
+
+    /**
+     * Method for testing that chunks keep their state once more chunks are
+     * generated than the chunk table initially holds.
+     */
+    @Test
+    public void test_ChunkedBoard_ManyChunks() {
+        int chunks = 40;
+        ChunkedBoard board = new ChunkedBoard(ChunkedBoard.CHUNK_SIZE * chunks, ChunkedBoard.CHUNK_SIZE * chunks, mineChance, seed, null);
+
+        for(int cy = 0; cy < chunks; cy++)
+            for(int cx = 0; cx < chunks; cx++)
+                board.setFlagged(cx * ChunkedBoard.CHUNK_SIZE + cy, cy * ChunkedBoard.CHUNK_SIZE + cx, true);
+
+        Assertions.assertEquals(chunks * chunks, board.getChunkCount());
+        Assertions.assertTrue(board.isFullyGenerated());
+
+        for(int cy = 0; cy < chunks; cy++) {
+            for(int cx = 0; cx < chunks; cx++) {
+                Assertions.assertTrue(board.isFlagged(cx * ChunkedBoard.CHUNK_SIZE + cy, cy * ChunkedBoard.CHUNK_SIZE + cx));
+                Assertions.assertFalse(board.isFlagged(cx * ChunkedBoard.CHUNK_SIZE + cy + 1, cy * ChunkedBoard.CHUNK_SIZE + cx));
+            }
+        }
+    }
+
+    /**
+     * Method for testing that different seeds give different layouts.
+     */
+    @Test
+    public void test_ChunkedBoard_DifferentSeeds() {
+        ChunkedBoard a = new ChunkedBoard(size, size, mineChance, 1, null);
+        ChunkedBoard b = new ChunkedBoard(size, size, mineChance, 2, null);
+
+        boolean different = false;
+        for(int x = 0; x < size && !different; x++)
+            for(int y = 0; y < size && !different; y++)
+                different = a.isMine(x, y) != b.isMine(x, y);
+
+        Assertions.assertTrue(different);
+    }
+
+    /**
+     * Method for testing that the neighboring mine counts are correct,
+     * including across chunk borders, and that the first location and its
+     * neighbors are never mines.
+     */
+    @Test
+    public void test_ChunkedBoard_NeighborMineCount() {
+        Point first = new Point(ChunkedBoard.CHUNK_SIZE, ChunkedBoard.CHUNK_SIZE - 1);
+        ChunkedBoard board = new ChunkedBoard(size, size, mineChance, seed, first);
+
+        for(int x = 0; x < size; x++) {
+            for(int y = 0; y < size; y++) {
+                int expected = 0;
+
+                for(int nx = x - 1; nx <= x + 1; nx++)
+                    for(int ny = y - 1; ny <= y + 1; ny++)
+                        if((nx != x || ny != y) && nx >= 0 && ny >= 0 && nx < size && ny < size && board.isMine(nx, ny))
+                            expected++;
+
+                Assertions.assertEquals(expected, board.getNeighborMineCount(x, y), String.format("Invalid count at (%d, %d)!", x, y));
+
+                if(Math.abs(x - first.x) <= 1 && Math.abs(y - first.y) <= 1)
+                    Assertions.assertFalse(board.isMine(x, y), String.format("Protected square (%d, %d) is a mine!", x, y));
+            }
+        }
+    }
+
+    /**
+     * Method for testing that the state bits of a square are independent.
+     */
+    @Test
+    public void test_ChunkedBoard_IndependentBits() {
+        ChunkedBoard board = new ChunkedBoard(size, size, 0, seed, null);
+
+        board.setFlagged(3, 4, true);
+        Assertions.assertTrue(board.isFlagged(3, 4));
+        Assertions.assertFalse(board.isRevealed(3, 4));
+        Assertions.assertTrue(board.isBlocked(3, 4));
+
+        board.setFlagged(3, 4, false);
+        board.setRevealed(3, 4, true);
+        Assertions.assertFalse(board.isFlagged(3, 4));
+        Assertions.assertTrue(board.isRevealed(3, 4));
+        Assertions.assertEquals(0, board.getNeighborMineCount(3, 4));
+        Assertions.assertTrue(board.isRevealed(3, 4));
+    }
+
+    /**
+     * Method for testing that squares outside the board are rejected.
+     */
+    @Test
+    public void test_ChunkedBoard_InvalidLocation() {
+        ChunkedBoard board = new ChunkedBoard(size, size, mineChance, seed, null);
+
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> board.isMine(-1, 0));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> board.isMine(0, size));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> board.setFlagged(size, 0, true));
+        Assertions.assertEquals(0, board.getChunkCount());
+    }
+}
@@ -0,0 +1,257 @@
+package com.dt042g.project.mvc.models;
+
+import com.dt042g.project.mvc.observer.RevealBatch;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.awt.Point;
+import java.util.List;
+
+/**
+ * Class containing unit-tests for the *ChunkedGameModel* class.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+public class ChunkedGameModelTests {
+    /**
+     * Method for testing that a huge board only generates the chunks around
+     * the selected square.
+     */
+    @Test
+    public void test_SelectSquare_HugeBoardStaysSmall() {
+        ChunkedGameModel model = new ChunkedGameModel(Integer.MAX_VALUE, Integer.MAX_VALUE, 0.3);
+        Point location = new Point(1 << 30, 1 << 30);
+        model.setSeed(1);
+
+        Assertions.assertEquals(-1, model.getSquareValue(location));
+        Assertions.assertEquals(0, model.getChunkCount());
+
+        model.selectSquare(location);
+
+        Assertions.assertTrue(model.isRevealed(location));
+        Assertions.assertFalse(model.isMine(location));
+        Assertions.assertTrue(model.getChunkCount() <= 9, "Too many chunks generated!");
+    }
+
+    /**
+     * Method for testing that a pinned seed and first location reproduce the
+     * same board.
+     */
+    @Test
+    public void test_SelectSquare_PinnedSeedReproducible() {
+        int size = 100;
+        Point first = new Point(50, 50);
+        ChunkedGameModel a = new ChunkedGameModel(size, size, 0.2);
+        ChunkedGameModel b = new ChunkedGameModel(size, size, 0.2);
+        a.setSeed(7);
+        b.setSeed(7);
+
+        a.selectSquare(first);
+        b.selectSquare(first);
+
+        for(int x = 0; x < size; x++) {
+            for(int y = 0; y < size; y++) {
+                Point location = new Point(x, y);
+                Assertions.assertEquals(a.isMine(location), b.isMine(location));
+                Assertions.assertEquals(a.isRevealed(location), b.isRevealed(location));
+            }
+        }
+    }
+
+    /**
+     * Method for testing that revealing a mine-free board reveals every square
+     * with a single event, and is detected as a win.
+     */
+    @Test
+    public void test_SelectSquare_MineFreeBoardWins() {
+        int width = ChunkedBoard.CHUNK_SIZE * 2 + 3;
+        int height = ChunkedBoard.CHUNK_SIZE + 1;
+        ChunkedGameModel model = Mockito.spy(new ChunkedGameModel(width, height, 0));
+
+        model.selectSquare(new Point(0, 0));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Point>> reveals = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(model).pushRevealSquareEvent(reveals.capture());
+        Mockito.verify(model).pushWinEvent();
+
+        Assertions.assertEquals(width * height, reveals.getValue().size());
+        Assertions.assertEquals(width * height, reveals.getValue().stream().distinct().count());
+
+        RevealBatch batch = Assertions.assertInstanceOf(RevealBatch.class, reveals.getValue());
+        for(int i = 0; i < batch.size(); i++)
+            Assertions.assertEquals(0, batch.getValue(i));
+    }
+
+    /**
+     * Method for testing that the squares revealed on a board whose cell
+     * indices do not fit in an int are still pushed with their locations.
+     */
+    @Test
+    public void test_SelectSquare_HugeBoardLocations() {
+        // Every square is a mine except for the first location and its neighbors; so only those are revealed
+        ChunkedGameModel model = Mockito.spy(new ChunkedGameModel(Integer.MAX_VALUE, Integer.MAX_VALUE, 1));
+        Point location = new Point(Integer.MAX_VALUE - 1, 1 << 30);
+        model.setSeed(1);
+
+        model.selectSquare(location);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Point>> reveals = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(model).pushRevealSquareEvent(reveals.capture());
+
+        Assertions.assertEquals(6, reveals.getValue().size());
+        Assertions.assertEquals(location, reveals.getValue().get(0));
+        Assertions.assertTrue(reveals.getValue().contains(new Point(Integer.MAX_VALUE - 2, (1 << 30) + 1)));
+    }
+
+    /**
+     * Method for testing that selecting a flagged square does nothing, and
+     * that resetting drops every generated chunk.
+     */
+    @Test
+    public void test_SetSquareFlag_AndReset() {
+        ChunkedGameModel model = new ChunkedGameModel(1000, 1000, 0.1);
+        model.selectSquare(new Point(500, 500));
+
+        Point flagged = new Point(10, 10);
+        model.setSquareFlag(flagged, true);
+        model.selectSquare(flagged);
+
+        Assertions.assertTrue(model.isFlagged(flagged));
+        Assertions.assertFalse(model.isRevealed(flagged));
+        Assertions.assertTrue(model.getChunkCount() > 0);
+
+        model.reset();
+
+        Assertions.assertEquals(0, model.getChunkCount());
+        Assertions.assertFalse(model.isFlagged(flagged));
+    }
+
+    /**
+     * Method for testing that invalid configurations are rejected.
+     */
+    @Test
+    public void test_Constructor_InvalidConfiguration() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ChunkedGameModel(-1, 1, 0.1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ChunkedGameModel(1, 1, -0.1));
+    }
+
+    /**
+     * Method for testing that chording a square with matching flags reveals
+     * its neighbors in a single event, each only once.
+     */
+    @Test
+    public void test_ChordSquare_RevealsNeighbors() {
+        ChunkedGameModel model = Mockito.spy(new ChunkedGameModel(64, 64, 0.2));
+        model.setSeed(3);
+        model.selectSquare(32, 32);
+
+        // Find a revealed number, and flag its mines
+        Point chorded = null;
+        for(int y = 1; y < 63 && chorded == null; y++)
+            for(int x = 1; x < 63 && chorded == null; x++)
+                if(model.isRevealed(x, y) && model.getSquareValue(x, y) > 0)
+                    chorded = new Point(x, y);
+
+        Assertions.assertNotNull(chorded);
+
+        for(int y = chorded.y - 1; y <= chorded.y + 1; y++)
+            for(int x = chorded.x - 1; x <= chorded.x + 1; x++)
+                if(model.isMine(x, y))
+                    model.setSquareFlag(x, y, true);
+
+        Mockito.clearInvocations(model);
+        model.chordSquare(chorded);
+
+        for(int y = chorded.y - 1; y <= chorded.y + 1; y++)
+            for(int x = chorded.x - 1; x <= chorded.x + 1; x++)
+                Assertions.assertTrue(model.isMine(x, y) || model.isRevealed(x, y));
+
+        Mockito.verify(model, Mockito.times(0)).pushMineHitEvent(Mockito.anyInt(), Mockito.anyInt());
+        Mockito.verify(model, Mockito.atMost(1)).pushRevealSquareEvent(Mockito.anyList());
+    }
+
+    /**
+     * Method for testing that a flag on the chorded square itself does not
+     * count towards its flagged neighbors.
+     */
+    @Test
+    public void test_ChordSquare_FlaggedCenter() {
+        ChunkedGameModel model = new ChunkedGameModel(64, 64, 0.2);
+        model.setSeed(3);
+        model.selectSquare(32, 32);
+
+        // Find a revealed number with a hidden neighbor which is not a mine
+        Point chorded = null;
+        Point hidden = null;
+        for(int y = 1; y < 63 && chorded == null; y++) {
+            for(int x = 1; x < 63 && chorded == null; x++) {
+                if(!model.isRevealed(x, y) || model.getSquareValue(x, y) <= 0)
+                    continue;
+
+                for(int ny = y - 1; ny <= y + 1 && hidden == null; ny++)
+                    for(int nx = x - 1; nx <= x + 1 && hidden == null; nx++)
+                        if(!model.isRevealed(nx, ny) && !model.isMine(nx, ny))
+                            hidden = new Point(nx, ny);
+
+                if(hidden != null)
+                    chorded = new Point(x, y);
+            }
+        }
+
+        Assertions.assertNotNull(chorded);
+
+        for(int y = chorded.y - 1; y <= chorded.y + 1; y++)
+            for(int x = chorded.x - 1; x <= chorded.x + 1; x++)
+                if(model.isMine(x, y))
+                    model.setSquareFlag(x, y, true);
+
+        model.setSquareFlag(chorded, true);
+        model.chordSquare(chorded);
+
+        Assertions.assertTrue(model.isRevealed(hidden));
+    }
+
+    /**
+     * Method for testing that once a mine is hit, no more squares are
+     * selected or chorded until the game is reset.
+     */
+    @Test
+    public void test_SelectSquare_IgnoredAfterLoss() {
+        ChunkedGameModel model = Mockito.spy(new ChunkedGameModel(16, 16, 0.3));
+        model.setSeed(1);
+        model.selectSquare(8, 8);
+        Assertions.assertEquals(GameState.RUNNING, model.getState());
+
+        Point mine = null;
+        Point hidden = null;
+        for(int i = 0; i < 16 * 16; i++) {
+            if(model.isMine(i % 16, i / 16))
+                mine = mine == null ? new Point(i % 16, i / 16) : mine;
+            else if(!model.isRevealed(i % 16, i / 16))
+                hidden = hidden == null ? new Point(i % 16, i / 16) : hidden;
+        }
+
+        Assertions.assertNotNull(mine);
+        Assertions.assertNotNull(hidden);
+
+        model.selectSquare(mine);
+        Assertions.assertEquals(GameState.LOST, model.getState());
+
+        Mockito.clearInvocations(model);
+        model.selectSquare(hidden);
+        model.chordSquare(8, 8);
+
+        Assertions.assertFalse(model.isRevealed(hidden));
+        Mockito.verify(model, Mockito.times(0)).pushMineHitEvent(Mockito.anyInt(), Mockito.anyInt());
+        Mockito.verify(model, Mockito.times(0)).pushRevealSquareEvent(Mockito.anyList());
+
+        model.reset();
+        Assertions.assertEquals(GameState.NOT_STARTED, model.getState());
+        model.selectSquare(hidden);
+        Assertions.assertTrue(model.isRevealed(hidden));
+    }
+}
@@ -1,6 +1,8 @@
 package com.dt042g.project.mvc.models;
 
+import com.dt042g.project.mvc.observer.EventType;
 import com.dt042g.project.testinghelpers.TestingConcreteModel;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -45,7 +47,7 @@ public class ModelTests {
     public void test_Model_PushRevealSquareEvent() {
         for(int i = 0; i < multiLocations.size(); i++) {
             model.pushRevealSquareEvent(multiLocations.get(i));
-            Mockito.verify(model, Mockito.times(1)).pushEvent(Model.MODEL_REVEAL_SQUARE_EVENT, multiLocations.get(i));
+            Mockito.verify(model, Mockito.times(1)).pushEvent(EventType.MODEL_REVEAL_SQUARE_EVENT, multiLocations.get(i));
         }
     }
 
@@ -57,10 +59,21 @@ public class ModelTests {
     public void test_Model_pushMineHitEvent() {
         for(int i = 0; i < singleLocations.size(); i++) {
             model.pushMineHitEvent(singleLocations.get(i));
-            Mockito.verify(model, Mockito.times(1)).pushEvent(Model.MODEL_MINE_HIT_EVENT, Arrays.asList(singleLocations.get(i)));
+            Mockito.verify(model, Mockito.times(1)).pushEvent(EventType.MODEL_MINE_HIT_EVENT, Arrays.asList(singleLocations.get(i)));
         }
     }
 
+    /**
+     * Method for testing the coordinate based pushMineHitEvent method; by
+     * testing that it is pushed as a square event.
+     */
+    @Test
+    public void test_Model_pushMineHitEventCoordinates() {
+        model.pushMineHitEvent(3, Integer.MAX_VALUE);
+        Mockito.verify(model, Mockito.times(1)).pushSquareEvent(EventType.MODEL_MINE_HIT_EVENT, 3, Integer.MAX_VALUE);
+        Mockito.verify(model, Mockito.times(0)).pushEvent(Mockito.eq(EventType.MODEL_MINE_HIT_EVENT), Mockito.<List<Point>>any());
+    }
+
     /**
      * Method for testing the pushWinEvent method; by testing that the
      * pushEvent method is triggered correctly when is executed.
@@ -68,6 +81,31 @@ public class ModelTests {
     @Test
     public void test_Model_pushWinEvent() {
         model.pushWinEvent();
-        Mockito.verify(model, Mockito.times(1)).pushEvent(Mockito.eq(Model.MODEL_WIN_EVENT), Mockito.any());
+        Mockito.verify(model, Mockito.times(1)).pushEvent(Mockito.eq(EventType.MODEL_WIN_EVENT), Mockito.<List<Point>>any());
+    }
+
+    /**
+     * Method for testing that the *Point* based methods are adapters for the
+     * coordinate based methods, and reject null locations.
+     */
+    @Test
+    public void test_Model_PointAdapters() {
+        Point location = new Point(3, 4);
+
+        model.getSquareValue(location);
+        model.isFlagged(location);
+        model.isMine(location);
+        model.isRevealed(location);
+        model.selectSquare(location);
+        model.setSquareFlag(location, true);
+
+        Mockito.verify(model).getSquareValue(3, 4);
+        Mockito.verify(model).isFlagged(3, 4);
+        Mockito.verify(model).isMine(3, 4);
+        Mockito.verify(model).isRevealed(3, 4);
+        Mockito.verify(model).selectSquare(3, 4);
+        Mockito.verify(model).setSquareFlag(3, 4, true);
+
+        Assertions.assertThrows(NullPointerException.class, () -> model.selectSquare(null));
     }
 }
@@ -0,0 +1,212 @@
+package com.dt042g.project.mvc.models;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Point;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Class containing unit-tests for the *PackedBoard* class.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+public class PackedBoardTests {
+    private static final int width = 7;
+    private static final int height = 4;
+
+    private PackedBoard board;
+
+    /**
+     * Method which is triggered before each individual test method is executed.
+     */
+    @BeforeEach
+    public void setupEach() {
+        board = new PackedBoard(width, height);
+    }
+
+    /**
+     * Method for testing that the dimensions of the board are stored and that
+     * the number of squares matches them.
+     */
+    @Test
+    public void test_PackedBoard_Dimensions() {
+        Assertions.assertEquals(width, board.getWidth());
+        Assertions.assertEquals(height, board.getHeight());
+        Assertions.assertEquals(width * height, board.size());
+    }
+
+    /**
+     * Method for testing that invalid dimensions are rejected.
+     */
+    @Test
+    public void test_PackedBoard_InvalidDimensions() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new PackedBoard(-1, 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new PackedBoard(1, -1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new PackedBoard(Integer.MAX_VALUE, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Method for testing that every location maps to a unique index, and that
+     * the index maps back to the same location.
+     */
+    @Test
+    public void test_PackedBoard_IndexRoundTrip() {
+        boolean[] seen = new boolean[board.size()];
+
+        for(int x = 0; x < width; x++) {
+            for(int y = 0; y < height; y++) {
+                int index = board.indexOf(new Point(x, y));
+
+                Assertions.assertFalse(seen[index]);
+                seen[index] = true;
+
+                Assertions.assertEquals(x, board.xOf(index));
+                Assertions.assertEquals(y, board.yOf(index));
+                Assertions.assertEquals(new Point(x, y), board.locationOf(index));
+            }
+        }
+    }
+
+    /**
+     * Method for testing that out of bounds and null locations are rejected.
+     */
+    @Test
+    public void test_PackedBoard_IndexInvalidLocation() {
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> board.indexOf(-1, 0));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> board.indexOf(0, -1));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> board.indexOf(width, 0));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> board.indexOf(0, height));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> board.indexOf(new Point(Integer.MAX_VALUE, Integer.MAX_VALUE)));
+        Assertions.assertThrows(NullPointerException.class, () -> board.indexOf(null));
+    }
+
+    /**
+     * Method for testing the default state of every square.
+     */
+    @Test
+    public void test_PackedBoard_DefaultValues() {
+        for(int i = 0; i < board.size(); i++) {
+            Assertions.assertFalse(board.isMine(i));
+            Assertions.assertFalse(board.isFlagged(i));
+            Assertions.assertFalse(board.isRevealed(i));
+            Assertions.assertFalse(board.isBlocked(i));
+        }
+    }
+
+    /**
+     * Method for testing that the state bits of a square can be set and
+     * cleared independently of each other.
+     */
+    @Test
+    public void test_PackedBoard_GetSetIndependent() {
+        int index = board.indexOf(3, 2);
+
+        board.setMine(index, true);
+        board.setFlagged(index, true);
+        board.setRevealed(index, true);
+        Assertions.assertTrue(board.isMine(index));
+        Assertions.assertTrue(board.isFlagged(index));
+        Assertions.assertTrue(board.isRevealed(index));
+
+        board.setFlagged(index, false);
+        Assertions.assertTrue(board.isMine(index));
+        Assertions.assertFalse(board.isFlagged(index));
+        Assertions.assertTrue(board.isRevealed(index));
+
+        board.setMine(index, false);
+        Assertions.assertFalse(board.isMine(index));
+        Assertions.assertTrue(board.isRevealed(index));
+        Assertions.assertTrue(board.isBlocked(index));
+
+        board.setRevealed(index, false);
+        Assertions.assertFalse(board.isBlocked(index));
+
+        // Neighboring squares must be untouched
+        Assertions.assertFalse(board.isBlocked(index - 1));
+        Assertions.assertFalse(board.isBlocked(index + 1));
+    }
+
+    /**
+     * Method for testing that getNeighbors returns exactly the squares
+     * adjacent to each square on the board; including corners and borders.
+     */
+    @Test
+    public void test_PackedBoard_GetNeighbors() {
+        int[] neighbors = new int[8];
+
+        for(int x = 0; x < width; x++) {
+            for(int y = 0; y < height; y++) {
+                Set<Point> expected = new HashSet<>();
+
+                for(int dx = -1; dx <= 1; dx++)
+                    for(int dy = -1; dy <= 1; dy++)
+                        if((dx != 0 || dy != 0) && x + dx >= 0 && x + dx < width && y + dy >= 0 && y + dy < height)
+                            expected.add(new Point(x + dx, y + dy));
+
+                int count = board.getNeighbors(board.indexOf(x, y), neighbors);
+
+                Set<Point> actual = new HashSet<>();
+                for(int i = 0; i < count; i++)
+                    actual.add(board.locationOf(neighbors[i]));
+
+                Assertions.assertEquals(expected.size(), count);
+                Assertions.assertEquals(expected, actual);
+                Assertions.assertEquals(expected.size() == 8, board.isInterior(board.indexOf(x, y)));
+            }
+        }
+    }
+
+    /**
+     * Method for testing that the neighboring mine counts are kept up to date
+     * when mines are added and removed; including along the borders and when
+     * a square is surrounded by all eight mines.
+     */
+    @Test
+    public void test_PackedBoard_NeighborMineCount() {
+        Random random = new Random(42);
+
+        for(int i = 0; i < 200; i++) {
+            board.setMine(random.nextInt(board.size()), random.nextBoolean());
+
+            for(int x = 0; x < width; x++) {
+                for(int y = 0; y < height; y++) {
+                    int expected = 0;
+
+                    for(int dx = -1; dx <= 1; dx++)
+                        for(int dy = -1; dy <= 1; dy++)
+                            if((dx != 0 || dy != 0) && x + dx >= 0 && x + dx < width && y + dy >= 0 && y + dy < height)
+                                expected += board.isMine(board.indexOf(x + dx, y + dy)) ? 1 : 0;
+
+                    Assertions.assertEquals(expected, board.getNeighborMineCount(board.indexOf(x, y)));
+                }
+            }
+        }
+
+        for(int i = 0; i < board.size(); i++)
+            board.setMine(i, true);
+
+        Assertions.assertEquals(8, board.getNeighborMineCount(board.indexOf(1, 1)));
+        Assertions.assertEquals(3, board.getNeighborMineCount(board.indexOf(0, 0)));
+        Assertions.assertEquals(5, board.getNeighborMineCount(board.indexOf(0, 1)));
+    }
+
+    /**
+     * Method for testing that the square snapshot reflects the packed state.
+     */
+    @Test
+    public void test_PackedBoard_GetSquare() {
+        int index = board.indexOf(1, 1);
+        board.setMine(index, true);
+        board.setFlagged(index, true);
+
+        BackingSquare square = board.getSquare(index);
+
+        Assertions.assertTrue(square.isMine());
+        Assertions.assertTrue(square.isFlagged());
+        Assertions.assertFalse(square.isRevealed());
+    }
+}
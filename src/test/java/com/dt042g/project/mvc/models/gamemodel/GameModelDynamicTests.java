@@ -1,9 +1,11 @@
 package com.dt042g.project.mvc.models.gamemodel;
 
-import com.dt042g.project.mvc.models.BackingSquare;
 import com.dt042g.project.mvc.models.GameModel;
+import com.dt042g.project.mvc.models.GameState;
+import com.dt042g.project.mvc.models.PackedBoard;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -32,6 +34,7 @@ public class GameModelDynamicTests {
     private static Field fieldMineChance;
     private static Field fieldRevealedCount;
     private static Field fieldMineCount;
+    private static Field fieldState;
     private static Method methodGenerateSquares;
 
     /**
@@ -74,17 +77,16 @@ public class GameModelDynamicTests {
 
             try {
                 methodGenerateSquares.invoke(model, new Point(0, 0));
-                for(List<BackingSquare> row : (List<List<BackingSquare>>) fieldBoard.get(model)) {
-                    for(BackingSquare square : row) {
-                        double r = random.nextDouble();
-                        if(square.isMine()) {
-                            if (r < .5)
-                                square.setFlagged(true);
-                        } else if(r < .34) {
-                            square.setRevealed(true);
-                        } else if(r > .8) {
-                            square.setFlagged(true);
-                        }
+                PackedBoard board = (PackedBoard) fieldBoard.get(model);
+                for(int i = 0; i < board.size(); i++) {
+                    double r = random.nextDouble();
+                    if(board.isMine(i)) {
+                        if (r < .5)
+                            board.setFlagged(i, true);
+                    } else if(r < .34) {
+                        board.setRevealed(i, true);
+                    } else if(r > .8) {
+                        board.setFlagged(i, true);
                     }
                 }
             } catch (Exception e) {
@@ -99,6 +101,23 @@ public class GameModelDynamicTests {
         });
     }
 
+    /**
+     * Argument generator method for running tests with rectangular boards
+     * with exact mine counts; including boards that cannot fit all mines.
+     *
+     * @return Argument with a width, height and mine count.
+     */
+    private static Stream<Arguments> RectangularModel() {
+        return Stream.of(
+                Arguments.of(1, 1, 0),
+                Arguments.of(1, 1, 1),
+                Arguments.of(3, 7, 5),
+                Arguments.of(7, 3, 12),
+                Arguments.of(30, 16, 99),
+                Arguments.of(50, 3, 0),
+                Arguments.of(9, 9, 81));
+    }
+
     /**
      * Method which is triggered before any test method is executed.
      */
@@ -106,12 +125,14 @@ public class GameModelDynamicTests {
     public static void setupAll() throws NoSuchFieldException, NoSuchMethodException {
         fieldBoard = GameModel.class.getDeclaredField("_board");
         fieldBoard.setAccessible(true);
-        fieldMineChance = GameModel.class.getDeclaredField("MINE_CHANCE");
+        fieldMineChance = GameModel.class.getDeclaredField("_mineChance");
         fieldMineChance.setAccessible(true);
         fieldRevealedCount = GameModel.class.getDeclaredField("_revealedCount");
         fieldRevealedCount.setAccessible(true);
         fieldMineCount = GameModel.class.getDeclaredField("_mineCount");
         fieldMineCount.setAccessible(true);
+        fieldState = GameModel.class.getDeclaredField("_state");
+        fieldState.setAccessible(true);
         methodGenerateSquares = GameModel.class.getDeclaredMethod("generateSquares", Point.class);
         methodGenerateSquares.setAccessible(true);
     }
@@ -130,16 +151,16 @@ public class GameModelDynamicTests {
         methodGenerateSquares.invoke(model, location);
         Assertions.assertNotNull(fieldBoard.get(model));
 
-        List<List<BackingSquare>> board = (List<List<BackingSquare>>) fieldBoard.get(model);
+        PackedBoard board = (PackedBoard) fieldBoard.get(model);
 
-        Assertions.assertEquals(boardSize, board.size());
-        for(List<BackingSquare> row : board)
-            Assertions.assertEquals(boardSize, row.size());
+        Assertions.assertEquals(boardSize, board.getWidth());
+        Assertions.assertEquals(boardSize, board.getHeight());
+        Assertions.assertEquals(boardSize * boardSize, board.size());
     }
 
     /**
      * Method for testing the generateSquares method and check that all
-     * BackingSquares for the board were initialized correctly.
+     * squares on the board were initialized as hidden and not flagged.
      *
      * @param model The model to use.
      * @param boardSize The expected size of the board.
@@ -147,15 +168,17 @@ public class GameModelDynamicTests {
      */
     @ParameterizedTest
     @MethodSource("ModelAndLocation")
-    public void test_GenerateSquares_InitializeBackingSquares(GameModel model, int boardSize, Point location) throws InvocationTargetException, IllegalAccessException {
+    public void test_GenerateSquares_InitializeSquares(GameModel model, int boardSize, Point location) throws InvocationTargetException, IllegalAccessException {
         methodGenerateSquares.invoke(model, location);
         Assertions.assertNotNull(fieldBoard.get(model));
 
-        List<List<BackingSquare>> board = (List<List<BackingSquare>>) fieldBoard.get(model);
+        PackedBoard board = (PackedBoard) fieldBoard.get(model);
 
         for(int x = 0; x < boardSize; x++) {
-            for (int y = 0; y < boardSize; y++)
-                Assertions.assertInstanceOf(BackingSquare.class, board.get(x).get(y));
+            for (int y = 0; y < boardSize; y++) {
+                Assertions.assertFalse(board.isRevealed(board.indexOf(x, y)));
+                Assertions.assertFalse(board.isFlagged(board.indexOf(x, y)));
+            }
         }
     }
 
@@ -171,26 +194,26 @@ public class GameModelDynamicTests {
     @MethodSource("ModelAndLocation")
     public void test_GenerateSquares_FirstIsNotMine(GameModel model, int boardSize, Point location) throws InvocationTargetException, IllegalAccessException {
         methodGenerateSquares.invoke(model, location);
-        List<List<BackingSquare>> board = (List<List<BackingSquare>>) fieldBoard.get(model);
+        PackedBoard board = (PackedBoard) fieldBoard.get(model);
 
-        Assertions.assertFalse(board.get(location.x).get(location.y).isMine());
+        Assertions.assertFalse(board.isMine(board.indexOf(location.x, location.y)));
 
         if(location.x > 0)
-            Assertions.assertFalse(board.get(location.x - 1).get(location.y).isMine()); // West
+            Assertions.assertFalse(board.isMine(board.indexOf(location.x - 1, location.y))); // West
         if(location.x < boardSize - 1)
-            Assertions.assertFalse(board.get(location.x + 1).get(location.y).isMine()); // East
+            Assertions.assertFalse(board.isMine(board.indexOf(location.x + 1, location.y))); // East
         if(location.y > 0)
-            Assertions.assertFalse(board.get(location.x).get(location.y - 1).isMine()); // North
+            Assertions.assertFalse(board.isMine(board.indexOf(location.x, location.y - 1))); // North
         if(location.y < boardSize - 1)
-            Assertions.assertFalse(board.get(location.x).get(location.y + 1).isMine()); // South
+            Assertions.assertFalse(board.isMine(board.indexOf(location.x, location.y + 1))); // South
         if(location.x > 0 && location.y > 0)
-            Assertions.assertFalse(board.get(location.x - 1).get(location.y - 1).isMine()); // North-west
+            Assertions.assertFalse(board.isMine(board.indexOf(location.x - 1, location.y - 1))); // North-west
         if(location.x < boardSize - 1 && location.y < boardSize - 1)
-            Assertions.assertFalse(board.get(location.x + 1).get(location.y + 1).isMine()); // South-east
+            Assertions.assertFalse(board.isMine(board.indexOf(location.x + 1, location.y + 1))); // South-east
         if(location.x > 0 && location.y < boardSize - 1)
-            Assertions.assertFalse(board.get(location.x - 1).get(location.y + 1).isMine()); // South-west
+            Assertions.assertFalse(board.isMine(board.indexOf(location.x - 1, location.y + 1))); // South-west
         if(location.x < boardSize - 1 && location.y > 0)
-            Assertions.assertFalse(board.get(location.x + 1).get(location.y - 1).isMine()); // North-east
+            Assertions.assertFalse(board.isMine(board.indexOf(location.x + 1, location.y - 1))); // North-east
     }
 
     /**
@@ -209,12 +232,11 @@ public class GameModelDynamicTests {
 
         for(int i = 0; i < iterations; i++) {
             methodGenerateSquares.invoke(model, location);
-            List<List<BackingSquare>> board = (List<List<BackingSquare>>) fieldBoard.get(model);
+            PackedBoard board = (PackedBoard) fieldBoard.get(model);
 
             double mineCount = 0;
-            for(List<BackingSquare> row : board)
-                for(BackingSquare square: row)
-                    mineCount += square.isMine() ? 1 : 0;
+            for(int j = 0; j < board.size(); j++)
+                mineCount += board.isMine(j) ? 1 : 0;
 
             chances[i] = mineCount / (boardSize * boardSize);
         }
@@ -225,6 +247,142 @@ public class GameModelDynamicTests {
         Assertions.assertTrue(mineChance - 1 < average && mineChance + 1 > average);
     }
 
+    /**
+     * Method for testing that the constructor rejects mine chances outside of
+     * the range 0 to 1.
+     */
+    @Test
+    public void test_Constructor_InvalidMineChance() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new GameModel(5, -0.1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new GameModel(5, 1.1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new GameModel(5, Double.NaN));
+        Assertions.assertDoesNotThrow(() -> new GameModel(5, 0));
+        Assertions.assertDoesNotThrow(() -> new GameModel(5, 1));
+    }
+
+    /**
+     * Method for testing that the constructors reject invalid dimensions and
+     * mine counts.
+     */
+    @Test
+    public void test_Constructor_InvalidDimensions() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new GameModel(-1, 5, 3));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new GameModel(5, -1, 3));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new GameModel(5, 5, -1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new GameModel(Integer.MAX_VALUE, Integer.MAX_VALUE, 0.5));
+        Assertions.assertDoesNotThrow(() -> new GameModel(5, 5, 0));
+    }
+
+    /**
+     * Method for testing the generateSquares method on rectangular boards, and
+     * check that the board has the correct dimensions and exactly the
+     * requested number of mines (or as many as fit outside of the first
+     * clicked square and its neighbors), none of which are protected squares.
+     *
+     * @param width The width of the board.
+     * @param height The height of the board.
+     * @param mineCount The requested number of mines.
+     */
+    @ParameterizedTest
+    @MethodSource("RectangularModel")
+    public void test_GenerateSquares_RectangularExactMineCount(int width, int height, int mineCount) throws InvocationTargetException, IllegalAccessException {
+        GameModel model = new GameModel(width, height, mineCount);
+        Point[] firstLocations = new Point[] {
+                new Point(0, 0), new Point(width - 1, height - 1), new Point(width / 2, height / 2) };
+
+        for(Point location : firstLocations) {
+            methodGenerateSquares.invoke(model, location);
+            PackedBoard board = (PackedBoard) fieldBoard.get(model);
+
+            Assertions.assertEquals(width, board.getWidth());
+            Assertions.assertEquals(height, board.getHeight());
+
+            int protectedCount = 0;
+            int mines = 0;
+            for(int x = 0; x < width; x++) {
+                for(int y = 0; y < height; y++) {
+                    boolean isProtected = Math.abs(x - location.x) <= 1 && Math.abs(y - location.y) <= 1;
+                    boolean isMine = board.isMine(board.indexOf(x, y));
+
+                    protectedCount += isProtected ? 1 : 0;
+                    mines += isMine ? 1 : 0;
+
+                    Assertions.assertFalse(isProtected && isMine);
+                }
+            }
+
+            int expected = Math.min(mineCount, width * height - protectedCount);
+            Assertions.assertEquals(expected, mines);
+            Assertions.assertEquals(expected, fieldMineCount.getInt(model));
+        }
+    }
+
+    /**
+     * Method for testing that the density mode places exactly the mine chance
+     * times the number of squares as mines, when no first location is given.
+     */
+    @Test
+    public void test_GenerateSquares_DensityExactMineCount() throws InvocationTargetException, IllegalAccessException {
+        GameModel model = new GameModel(40, 25, 0.2);
+        methodGenerateSquares.invoke(model, new Object[] { null });
+
+        PackedBoard board = (PackedBoard) fieldBoard.get(model);
+        int mines = 0;
+        for(int i = 0; i < board.size(); i++)
+            mines += board.isMine(i) ? 1 : 0;
+
+        Assertions.assertEquals(200, mines);
+    }
+
+    /**
+     * Method for testing that a pinned seed reproduces the same board for the
+     * same first location; including after a reset.
+     *
+     * @param model The model to use.
+     * @param boardSize The expected size of the board.
+     */
+    @ParameterizedTest
+    @MethodSource("Model")
+    public void test_GenerateSquares_PinnedSeedReproducible(GameModel model, int boardSize) throws IllegalAccessException {
+        Point first = new Point(boardSize / 2, boardSize / 3);
+        model.setSeed(987654321L);
+
+        model.selectSquare(first);
+        PackedBoard original = (PackedBoard) fieldBoard.get(model);
+
+        model.reset();
+        model.selectSquare(first);
+        PackedBoard regenerated = (PackedBoard) fieldBoard.get(model);
+
+        Assertions.assertNotSame(original, regenerated);
+        Assertions.assertEquals(987654321L, model.getSeed());
+        for(int i = 0; i < original.size(); i++)
+            Assertions.assertEquals(original.isMine(i), regenerated.isMine(i));
+    }
+
+    /**
+     * Method for testing that the seed of a randomly seeded board can be used
+     * to reproduce it on another model.
+     *
+     * @param model The model to use.
+     * @param boardSize The expected size of the board.
+     */
+    @ParameterizedTest
+    @MethodSource("Model")
+    public void test_GenerateSquares_ReplayRandomSeed(GameModel model, int boardSize) throws IllegalAccessException {
+        Point first = new Point(0, boardSize - 1);
+        model.selectSquare(first);
+        PackedBoard original = (PackedBoard) fieldBoard.get(model);
+
+        GameModel replay = new GameModel(boardSize);
+        replay.setSeed(model.getSeed());
+        replay.selectSquare(first);
+        PackedBoard replayed = (PackedBoard) fieldBoard.get(replay);
+
+        for(int i = 0; i < original.size(); i++)
+            Assertions.assertEquals(original.isMine(i), replayed.isMine(i));
+    }
+
     /**
      * Method for testing behaviour of generateSquares method when a null first
      * location is passed.
@@ -288,12 +446,12 @@ public class GameModelDynamicTests {
     @MethodSource("ModelAndLocationGenerated")
     public void test_IsMine_LocationValid(GameModel model, int boardSize, Point location) throws InvocationTargetException, IllegalAccessException {
         methodGenerateSquares.invoke(model, location);
-        List<List<BackingSquare>> board = (List<List<BackingSquare>>) fieldBoard.get(model);
+        PackedBoard board = (PackedBoard) fieldBoard.get(model);
 
-        boolean originalRealValue = board.get(location.x).get(location.y).isMine();
+        boolean originalRealValue = board.isMine(board.indexOf(location.x, location.y));
         Assertions.assertEquals(originalRealValue, model.isMine(location));
 
-        board.get(location.x).get(location.y).setMine(!originalRealValue);
+        board.setMine(board.indexOf(location.x, location.y), !originalRealValue);
         Assertions.assertEquals(!originalRealValue, model.isMine(location));
     }
 
@@ -354,21 +512,21 @@ public class GameModelDynamicTests {
     @MethodSource("ModelAndLocationGenerated")
     public void test_SetSquareFlag_LocationValid(GameModel model, int boardSize, Point location) throws InvocationTargetException, IllegalAccessException {
         methodGenerateSquares.invoke(model, location);
-        List<List<BackingSquare>> board = (List<List<BackingSquare>>) fieldBoard.get(model);
+        PackedBoard board = (PackedBoard) fieldBoard.get(model);
 
-        boolean originalValue = board.get(location.x).get(location.y).isFlagged();
+        boolean originalValue = board.isFlagged(board.indexOf(location.x, location.y));
 
         model.setSquareFlag(location, originalValue);
-        Assertions.assertEquals(originalValue, board.get(location.x).get(location.y).isFlagged());
+        Assertions.assertEquals(originalValue, board.isFlagged(board.indexOf(location.x, location.y)));
 
         model.setSquareFlag(location, !originalValue);
-        Assertions.assertEquals(!originalValue, board.get(location.x).get(location.y).isFlagged());
+        Assertions.assertEquals(!originalValue, board.isFlagged(board.indexOf(location.x, location.y)));
 
         model.setSquareFlag(location, !originalValue);
-        Assertions.assertEquals(!originalValue, board.get(location.x).get(location.y).isFlagged());
+        Assertions.assertEquals(!originalValue, board.isFlagged(board.indexOf(location.x, location.y)));
 
         model.setSquareFlag(location, originalValue);
-        Assertions.assertEquals(originalValue, board.get(location.x).get(location.y).isFlagged());
+        Assertions.assertEquals(originalValue, board.isFlagged(board.indexOf(location.x, location.y)));
     }
 
     /**
@@ -431,12 +589,12 @@ public class GameModelDynamicTests {
     @MethodSource("ModelAndLocationGenerated")
     public void test_IsFlagged_LocationValid(GameModel model, int boardSize, Point location) throws InvocationTargetException, IllegalAccessException {
         methodGenerateSquares.invoke(model, location);
-        List<List<BackingSquare>> board = (List<List<BackingSquare>>) fieldBoard.get(model);
+        PackedBoard board = (PackedBoard) fieldBoard.get(model);
 
-        boolean originalRealValue = board.get(location.x).get(location.y).isFlagged();
+        boolean originalRealValue = board.isFlagged(board.indexOf(location.x, location.y));
         Assertions.assertEquals(originalRealValue, model.isFlagged(location));
 
-        board.get(location.x).get(location.y).setFlagged(!originalRealValue);
+        board.setFlagged(board.indexOf(location.x, location.y), !originalRealValue);
         Assertions.assertEquals(!originalRealValue, model.isFlagged(location));
     }
 
@@ -497,12 +655,12 @@ public class GameModelDynamicTests {
     @MethodSource("ModelAndLocationGenerated")
     public void test_IsRevealed_LocationValid(GameModel model, int boardSize, Point location) throws InvocationTargetException, IllegalAccessException {
         methodGenerateSquares.invoke(model, location);
-        List<List<BackingSquare>> board = (List<List<BackingSquare>>) fieldBoard.get(model);
+        PackedBoard board = (PackedBoard) fieldBoard.get(model);
 
-        boolean originalRealValue = board.get(location.x).get(location.y).isRevealed();
+        boolean originalRealValue = board.isRevealed(board.indexOf(location.x, location.y));
         Assertions.assertEquals(originalRealValue, model.isRevealed(location));
 
-        board.get(location.x).get(location.y).setRevealed(!originalRealValue);
+        board.setRevealed(board.indexOf(location.x, location.y), !originalRealValue);
         Assertions.assertEquals(!originalRealValue, model.isRevealed(location));
     }
 
@@ -563,26 +721,26 @@ public class GameModelDynamicTests {
     @MethodSource("ModelAndLocationGenerated")
     public void test_GetSquareValue_LocationValid(GameModel model, int boardSize, Point location) throws InvocationTargetException, IllegalAccessException {
         methodGenerateSquares.invoke(model, location);
-        List<List<BackingSquare>> board = (List<List<BackingSquare>>) fieldBoard.get(model);
+        PackedBoard board = (PackedBoard) fieldBoard.get(model);
 
         int value = 0;
 
         if(location.x > 0)
-            value += board.get(location.x - 1).get(location.y).isMine() ? 1 : 0; // West
+            value += board.isMine(board.indexOf(location.x - 1, location.y)) ? 1 : 0; // West
         if(location.x < boardSize - 1)
-            value += board.get(location.x + 1).get(location.y).isMine() ? 1 : 0; // East
+            value += board.isMine(board.indexOf(location.x + 1, location.y)) ? 1 : 0; // East
         if(location.y > 0)
-            value += board.get(location.x).get(location.y - 1).isMine() ? 1 : 0; // North
+            value += board.isMine(board.indexOf(location.x, location.y - 1)) ? 1 : 0; // North
         if(location.y < boardSize - 1)
-            value += board.get(location.x).get(location.y + 1).isMine() ? 1 : 0; // South
+            value += board.isMine(board.indexOf(location.x, location.y + 1)) ? 1 : 0; // South
         if(location.x > 0 && location.y > 0)
-            value += board.get(location.x - 1).get(location.y - 1).isMine() ? 1 : 0; // North-west
+            value += board.isMine(board.indexOf(location.x - 1, location.y - 1)) ? 1 : 0; // North-west
         if(location.x < boardSize - 1 && location.y < boardSize - 1)
-            value += board.get(location.x + 1).get(location.y + 1).isMine() ? 1 : 0; // South-east
+            value += board.isMine(board.indexOf(location.x + 1, location.y + 1)) ? 1 : 0; // South-east
         if(location.x > 0 && location.y < boardSize - 1)
-            value += board.get(location.x - 1).get(location.y + 1).isMine() ? 1 : 0; // South-west
+            value += board.isMine(board.indexOf(location.x - 1, location.y + 1)) ? 1 : 0; // South-west
         if(location.x < boardSize - 1 && location.y > 0)
-            value += board.get(location.x + 1).get(location.y - 1).isMine() ? 1 : 0; // North-east
+            value += board.isMine(board.indexOf(location.x + 1, location.y - 1)) ? 1 : 0; // North-east
 
         Assertions.assertEquals(value, model.getSquareValue(location));
     }
@@ -642,7 +800,7 @@ public class GameModelDynamicTests {
     @ParameterizedTest
     @MethodSource("Model")
     public void test_SelectSquare_LocationValid_EnsureGeneration(GameModel model, int boardSize) throws IllegalAccessException {
-        List<List<BackingSquare>> board = (List<List<BackingSquare>>) fieldBoard.get(model);
+        PackedBoard board = (PackedBoard) fieldBoard.get(model);
 
         // Check that the board is null to start with; since if it isn't this
         // test would be useless; since it wouldn't have to trigger generation.
@@ -654,7 +812,7 @@ public class GameModelDynamicTests {
 
         Assertions.assertDoesNotThrow(() -> model.selectSquare(new Point(0, 0)), "Board generation test failed due to selectSquare method throwing an error!");
 
-        board = (List<List<BackingSquare>>) fieldBoard.get(model);
+        board = (PackedBoard) fieldBoard.get(model);
 
         Assertions.assertNotNull(board, "Board not generated!");
     }
@@ -669,21 +827,25 @@ public class GameModelDynamicTests {
      */
     @ParameterizedTest
     @MethodSource("ModelAndLocationGenerated")
-    public void test_SelectSquare_LocationValid_EnsureEvents(GameModel model, int boardSize, Point location) {
+    public void test_SelectSquare_LocationValid_EnsureEvents(GameModel model, int boardSize, Point location) throws IllegalAccessException {
         Mockito.clearInvocations(model);
 
+        // The model is shared between every location; so undo the loss if a
+        // mine was selected at a previous location
+        fieldState.set(model, GameState.RUNNING);
+
         boolean originalIsRevealed = model.isRevealed(location);
 
         model.selectSquare(location);
 
         if(originalIsRevealed || model.isFlagged(location)) {
-            Mockito.verify(model, Mockito.times(0).description("Invalid number of MineHit events when calling on revealed/flagged square; expected 0!")).pushMineHitEvent(Mockito.any());
+            Mockito.verify(model, Mockito.times(0).description("Invalid number of MineHit events when calling on revealed/flagged square; expected 0!")).pushMineHitEvent(Mockito.anyInt(), Mockito.anyInt());
             Mockito.verify(model, Mockito.times(0).description("Invalid number of RevealSquare events when calling on revealed/flagged square; expected 0!")).pushRevealSquareEvent(Mockito.anyList());
         } else if(model.isMine(location)) {
-            Mockito.verify(model, Mockito.times(1).description("Invalid number of MineHit events when calling on mine square; expected 1!")).pushMineHitEvent(Mockito.any());
+            Mockito.verify(model, Mockito.times(1).description("Invalid number of MineHit events when calling on mine square; expected 1!")).pushMineHitEvent(Mockito.anyInt(), Mockito.anyInt());
             Mockito.verify(model, Mockito.times(0).description("Invalid number of RevealSquare events when calling on mine square; expected 0!")).pushRevealSquareEvent(Mockito.anyList());
         } else {
-            Mockito.verify(model, Mockito.times(0).description("Invalid number of MineHit events when calling on value square; expected 0!")).pushMineHitEvent(Mockito.any());
+            Mockito.verify(model, Mockito.times(0).description("Invalid number of MineHit events when calling on value square; expected 0!")).pushMineHitEvent(Mockito.anyInt(), Mockito.anyInt());
             Mockito.verify(model, Mockito.times(1).description("Invalid number of RevealSquare events when calling on value square; expected 1!")).pushRevealSquareEvent(Mockito.anyList());
         }
     }
@@ -721,7 +883,7 @@ public class GameModelDynamicTests {
             if(
                     foundConnected != null &&
                             (
-                                    location == foundConnected ||
+                                    location.equals(foundConnected) ||
                                             model.getSquareValue(location) == 0 ||
                                             model.getSquareValue(foundConnected) == 0
                             )
@@ -744,7 +906,7 @@ public class GameModelDynamicTests {
      */
     private Point helper_CheckPointConnection(Point subject, List<Point> locations) {
         for(Point location : locations)
-            if(subject == location || helper_PointIsNeighbor(subject, location))
+            if(subject.equals(location) || helper_PointIsNeighbor(subject, location))
                 return location;
 
         return null;
@@ -822,6 +984,33 @@ public class GameModelDynamicTests {
         Mockito.verify(model, Mockito.times(1)).pushWinEvent();
     }
 
+    /**
+     * Method for checking that the selectSquare method can reveal a very large
+     * connected zero-value area in a single call; I.E. that revealing is not
+     * limited by the depth of the call stack.
+     */
+    @Test
+    public void test_SelectSquare_LargeMineFreeBoard() throws InvocationTargetException, IllegalAccessException {
+        int boardSize = 4000;
+        GameModel model = Mockito.spy(new GameModel(boardSize));
+
+        // Generate the board, and then remove every mine from it
+        methodGenerateSquares.invoke(model, new Point(0, 0));
+        PackedBoard board = (PackedBoard) fieldBoard.get(model);
+        for(int i = 0; i < board.size(); i++)
+            board.setMine(i, false);
+        fieldMineCount.setInt(model, 0);
+
+        ArgumentCaptor<List<Point>> reveals = ArgumentCaptor.forClass(List.class);
+
+        Assertions.assertDoesNotThrow(() -> model.selectSquare(new Point(boardSize / 2, boardSize / 2)));
+        Mockito.verify(model).pushRevealSquareEvent(reveals.capture());
+
+        Assertions.assertEquals(boardSize * boardSize, reveals.getValue().size());
+        Assertions.assertEquals(boardSize * boardSize, fieldRevealedCount.getInt(model));
+        Mockito.verify(model, Mockito.times(1)).pushWinEvent();
+    }
+
     /**
      * Method for checking the behaviour of the selectSquare method when a
      * null location is provided.
@@ -904,4 +1093,69 @@ public class GameModelDynamicTests {
 
         Assertions.assertNull(fieldBoard.get(model), "Failed to reset board; board still exists after call!");
     }
+
+    /**
+     * Method for checking that a board source creates the board, with the
+     * configuration of the model; and that the mine count follows the board.
+     */
+    @Test
+    public void test_GenerateSquares_BoardSource() {
+        GameModel model = new GameModel(6, 4, 3);
+        model.setSeed(42);
+
+        PackedBoard board = new PackedBoard(6, 4);
+        board.setMine(23, true);
+        List<Object> arguments = new ArrayList<>();
+
+        model.setBoardSource((width, height, mineCount, seed, firstLocation) -> {
+            arguments.addAll(List.of(width, height, mineCount, seed, firstLocation));
+            return board;
+        });
+
+        Assertions.assertEquals(3, model.getMineCount());
+        model.selectSquare(1, 2);
+
+        Assertions.assertEquals(List.of(6, 4, 3, 42L, new Point(1, 2)), arguments);
+        Assertions.assertTrue(model.isMine(5, 3));
+        Assertions.assertEquals(board.getMineCount(), model.getMineCount());
+
+        model.setBoardSource(null);
+        model.reset();
+        model.selectSquare(1, 2);
+        Assertions.assertEquals(3, model.getMineCount());
+    }
+
+    /**
+     * Method for checking that the state and counters of the model follow
+     * the game; from before the first click until after a reset.
+     */
+    @Test
+    public void test_GameState_Lifecycle() {
+        GameModel model = new GameModel(10, 10, 10);
+        model.setSeed(7);
+
+        Assertions.assertEquals(GameState.NOT_STARTED, model.getState());
+        Assertions.assertEquals(10, model.getRemainingMineCount());
+
+        model.selectSquare(0, 0);
+        Assertions.assertEquals(GameState.RUNNING, model.getState());
+        Assertions.assertTrue(model.getRevealedCount() > 0);
+
+        int mine = 0;
+        while(!model.isMine(mine % 10, mine / 10))
+            mine++;
+
+        model.setSquareFlag(mine % 10, mine / 10, true);
+        Assertions.assertEquals(1, model.getFlaggedCount());
+        Assertions.assertEquals(9, model.getRemainingMineCount());
+
+        model.reset();
+        Assertions.assertEquals(GameState.NOT_STARTED, model.getState());
+        Assertions.assertEquals(0, model.getFlaggedCount());
+        Assertions.assertEquals(0, model.getRevealedCount());
+
+        // Only the first click of the next game generates a new board
+        model.selectSquare(0, 0);
+        Assertions.assertEquals(GameState.RUNNING, model.getState());
+    }
 }
@@ -1,7 +1,9 @@
 package com.dt042g.project.mvc.models.gamemodel;
 
-import com.dt042g.project.mvc.models.BackingSquare;
 import com.dt042g.project.mvc.models.GameModel;
+import com.dt042g.project.mvc.models.GameState;
+import com.dt042g.project.mvc.models.PackedBoard;
+import com.dt042g.project.mvc.observer.RevealBatch;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,7 +16,6 @@ import org.mockito.Mockito;
 
 import java.awt.Point;
 import java.lang.reflect.Field;
-import java.util.Arrays;
 import java.util.List;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -42,10 +43,13 @@ public class GameModelKnownBoardTests {
     };
     private static final int boardInitialMineCount = 6;
     private static final int boardInitialRevealedCount = 4;
+    private static final int boardInitialFlaggedCount = 3;
 
     private static Field fieldBoard;
     private static Field fieldRevealedCount;
     private static Field fieldMineCount;
+    private static Field fieldFlaggedCount;
+    private static Field fieldState;
 
     /**
      * Argument generator method for running tests with all possible locations.
@@ -71,6 +75,10 @@ public class GameModelKnownBoardTests {
         fieldRevealedCount.setAccessible(true);
         fieldMineCount = GameModel.class.getDeclaredField("_mineCount");
         fieldMineCount.setAccessible(true);
+        fieldFlaggedCount = GameModel.class.getDeclaredField("_flaggedCount");
+        fieldFlaggedCount.setAccessible(true);
+        fieldState = GameModel.class.getDeclaredField("_state");
+        fieldState.setAccessible(true);
     }
 
     /**
@@ -80,20 +88,25 @@ public class GameModelKnownBoardTests {
     public void setupEach() throws IllegalAccessException {
         model = Mockito.spy(new GameModel(boardTemplate.length));
 
-        // Parse board template into backing squares
-        List<List<BackingSquare>> board = Arrays.stream(boardTemplate)
-                        .map(row -> Arrays.stream(row).map(cell -> {
-                            BackingSquare square = new BackingSquare();
-                            square.setMine(cell.charAt(1) == 'M');
-                            square.setRevealed(cell.charAt(0) == 'R');
-                            square.setFlagged(cell.charAt(0) == 'F');
-                            return square;
-                        }).toList()).toList();
+        // Parse board template into a packed board; note that the template
+        // is indexed as [x][y].
+        PackedBoard board = new PackedBoard(boardTemplate.length, boardTemplate.length);
+        for(int x = 0; x < boardTemplate.length; x++) {
+            for(int y = 0; y < boardTemplate[x].length; y++) {
+                String cell = boardTemplate[x][y];
+                int index = board.indexOf(x, y);
+                board.setMine(index, cell.charAt(1) == 'M');
+                board.setRevealed(index, cell.charAt(0) == 'R');
+                board.setFlagged(index, cell.charAt(0) == 'F');
+            }
+        }
 
         fieldBoard.set(model, board);
 
         fieldRevealedCount.setInt(model, boardInitialRevealedCount);
         fieldMineCount.setInt(model, boardInitialMineCount);
+        fieldFlaggedCount.setInt(model, boardInitialFlaggedCount);
+        fieldState.set(model, GameState.RUNNING);
     }
 
     /**
@@ -169,13 +182,13 @@ public class GameModelKnownBoardTests {
                 boardTemplate[location.x][location.y].charAt(0) == 'R' ||
                 boardTemplate[location.x][location.y].charAt(0) == 'F'
         ) {
-            Mockito.verify(model, Mockito.times(0).description("Invalid number of MineHit events when calling on revealed/flagged square; expected 0!")).pushMineHitEvent(Mockito.any());
+            Mockito.verify(model, Mockito.times(0).description("Invalid number of MineHit events when calling on revealed/flagged square; expected 0!")).pushMineHitEvent(Mockito.anyInt(), Mockito.anyInt());
             Mockito.verify(model, Mockito.times(0).description("Invalid number of RevealSquare events when calling on revealed/flagged square; expected 0!")).pushRevealSquareEvent(Mockito.anyList());
         } else if(boardTemplate[location.x][location.y].charAt(1) == 'M') {
-            Mockito.verify(model, Mockito.times(1).description("Invalid number of MineHit events when calling on mine square; expected 1!")).pushMineHitEvent(Mockito.any());
+            Mockito.verify(model, Mockito.times(1).description("Invalid number of MineHit events when calling on mine square; expected 1!")).pushMineHitEvent(Mockito.anyInt(), Mockito.anyInt());
             Mockito.verify(model, Mockito.times(0).description("Invalid number of RevealSquare events when calling on mine square; expected 0!")).pushRevealSquareEvent(Mockito.anyList());
         } else {
-            Mockito.verify(model, Mockito.times(0).description("Invalid number of MineHit events when calling on value square; expected 0!")).pushMineHitEvent(Mockito.any());
+            Mockito.verify(model, Mockito.times(0).description("Invalid number of MineHit events when calling on value square; expected 0!")).pushMineHitEvent(Mockito.anyInt(), Mockito.anyInt());
             Mockito.verify(model, Mockito.times(1).description("Invalid number of RevealSquare events when calling on value square; expected 1!")).pushRevealSquareEvent(Mockito.anyList());
         }
     }
@@ -232,6 +245,26 @@ public class GameModelKnownBoardTests {
         Assertions.assertEquals(expected.size(), reveals.getValue().size());
     }
 
+    /**
+     * Method for checking that the reveal event is a *RevealBatch* which
+     * carries the value of every revealed square.
+     */
+    @Test
+    public void test_SelectSquare_RevealBatchValues() {
+        ArgumentCaptor<List<Point>> reveals = ArgumentCaptor.forClass(List.class);
+
+        model.selectSquare(new Point(4, 0));
+        Mockito.verify(model).pushRevealSquareEvent(reveals.capture());
+
+        RevealBatch batch = Assertions.assertInstanceOf(RevealBatch.class, reveals.getValue());
+        for(int i = 0; i < batch.size(); i++) {
+            Point location = new Point(batch.getX(i), batch.getY(i));
+
+            Assertions.assertEquals(location, batch.get(i));
+            Assertions.assertEquals(model.getSquareValue(location), batch.getValue(i));
+        }
+    }
+
     /**
      * Method for checking the selectSquare method to ensure that the win
      * condition is correctly detected; and pushes a "win" event.
@@ -254,5 +287,98 @@ public class GameModelKnownBoardTests {
         // Verify that win condition was detected, and that win event was
         // pushed.
         Mockito.verify(model, Mockito.times(1)).pushWinEvent();
+        Assertions.assertEquals(GameState.WON, model.getState());
+        Assertions.assertEquals(25 - boardInitialMineCount, model.getRevealedCount());
+    }
+
+    /**
+     * Method for checking that the flagged and remaining mine counts follow
+     * the flags; counting each square once.
+     */
+    @Test
+    public void test_SetSquareFlag_Counts() {
+        Assertions.assertEquals(boardInitialFlaggedCount, model.getFlaggedCount());
+        Assertions.assertEquals(boardInitialMineCount - boardInitialFlaggedCount, model.getRemainingMineCount());
+
+        model.setSquareFlag(new Point(3, 2), false);
+        model.setSquareFlag(new Point(3, 2), false);
+        Assertions.assertEquals(boardInitialFlaggedCount - 1, model.getFlaggedCount());
+
+        model.setSquareFlag(new Point(0, 0), true);
+        model.setSquareFlag(new Point(1, 0), true);
+        model.setSquareFlag(new Point(1, 0), true);
+        Assertions.assertEquals(boardInitialFlaggedCount + 1, model.getFlaggedCount());
+        Assertions.assertEquals(boardInitialMineCount - boardInitialFlaggedCount - 1, model.getRemainingMineCount());
+    }
+
+    /**
+     * Method for checking that no more squares are selected once a mine has
+     * been hit.
+     */
+    @Test
+    public void test_SelectSquare_RejectedAfterLoss() {
+        model.selectSquare(new Point(0, 2));
+
+        Assertions.assertEquals(GameState.LOST, model.getState());
+        Mockito.verify(model, Mockito.times(1)).pushMineHitEvent(Mockito.anyInt(), Mockito.anyInt());
+
+        model.selectSquare(new Point(0, 0));
+        model.selectSquare(new Point(1, 2));
+
+        Assertions.assertFalse(model.isRevealed(0, 0));
+        Assertions.assertEquals(boardInitialRevealedCount, model.getRevealedCount());
+        Mockito.verify(model, Mockito.times(1)).pushMineHitEvent(Mockito.anyInt(), Mockito.anyInt());
+        Mockito.verify(model, Mockito.times(0)).pushRevealSquareEvent(Mockito.anyList());
+    }
+
+    /**
+     * Method for checking that chording a square with matching flags reveals
+     * every neighbor in a single event; including the zero-value related
+     * squares, each only once.
+     */
+    @Test
+    public void test_ChordSquare_RevealsNeighbors() {
+        ArgumentCaptor<List<Point>> reveals = ArgumentCaptor.forClass(List.class);
+
+        model.chordSquare(new Point(1, 4));
+        Mockito.verify(model, Mockito.times(1)).pushRevealSquareEvent(reveals.capture());
+        Mockito.verify(model, Mockito.times(0)).pushMineHitEvent(Mockito.anyInt(), Mockito.anyInt());
+
+        List<Point> revealed = reveals.getValue();
+        Assertions.assertEquals(5, revealed.size());
+        Assertions.assertEquals(5, revealed.stream().distinct().count());
+        Assertions.assertTrue(revealed.containsAll(List.of(
+                new Point(2, 3), new Point(2, 4), new Point(2, 2), new Point(3, 3), new Point(3, 4))));
+        Assertions.assertEquals(boardInitialRevealedCount + 5, model.getRevealedCount());
+    }
+
+    /**
+     * Method for checking that chording is ignored on hidden squares, and on
+     * squares where the number of flags does not match.
+     */
+    @Test
+    public void test_ChordSquare_Ignored() {
+        model.chordSquare(new Point(0, 0));
+        model.chordSquare(new Point(0, 3));
+        model.chordSquare(new Point(1, 3));
+
+        Mockito.verify(model, Mockito.times(0)).pushRevealSquareEvent(Mockito.anyList());
+        Mockito.verify(model, Mockito.times(0)).pushMineHitEvent(Mockito.anyInt(), Mockito.anyInt());
+        Assertions.assertEquals(GameState.RUNNING, model.getState());
+    }
+
+    /**
+     * Method for checking that chording with a wrong flag hits the unflagged
+     * mine; pushing a single "mine hit" event and revealing nothing.
+     */
+    @Test
+    public void test_ChordSquare_WrongFlag() {
+        model.setSquareFlag(new Point(2, 2), true);
+        model.chordSquare(new Point(1, 3));
+
+        Mockito.verify(model, Mockito.times(1)).pushMineHitEvent(0, 2);
+        Mockito.verify(model, Mockito.times(0)).pushRevealSquareEvent(Mockito.anyList());
+        Assertions.assertEquals(GameState.LOST, model.getState());
+        Assertions.assertFalse(model.isRevealed(2, 3));
     }
 }
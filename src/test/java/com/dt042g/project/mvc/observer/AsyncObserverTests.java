@@ -0,0 +1,275 @@
+package com.dt042g.project.mvc.observer;
+
+import com.dt042g.project.testinghelpers.TestingConcreteObserved;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class containing unit-tests for the *AsyncObserver* class.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+public class AsyncObserverTests {
+    private ExecutorService executor;
+    private CountDownLatch started;
+    private CountDownLatch release;
+    private List<List<Point>> received;
+
+    /**
+     * Observer which records every event, and blocks on the first one until
+     * released.
+     */
+    private final Observer blocking = new Observer() {
+        @Override
+        public void handleEvent(String eventName, List<Point> locations) {
+            handleTypedEvent(EventType.fromName(eventName), locations);
+        }
+
+        @Override
+        public void handleTypedEvent(EventType type, List<Point> locations) {
+            received.add(locations);
+            started.countDown();
+
+            try {
+                release.await();
+            } catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    };
+
+    /**
+     * Method which is triggered before each individual test method is executed.
+     */
+    @BeforeEach
+    public void setupEach() {
+        executor = Executors.newSingleThreadExecutor();
+        started = new CountDownLatch(1);
+        release = new CountDownLatch(1);
+        received = Collections.synchronizedList(new ArrayList<>());
+    }
+
+    /**
+     * Method which is triggered after each individual test method is executed.
+     */
+    @AfterEach
+    public void teardownEach() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    /**
+     * Helper method for creating a single location list.
+     *
+     * @param i The x and y coordinate.
+     *
+     * @return The list.
+     */
+    private static List<Point> at(int i) {
+        return List.of(new Point(i, i));
+    }
+
+    /**
+     * Method for ensuring that invalid configurations are rejected.
+     */
+    @Test
+    public void test_AsyncObserver_InvalidConfiguration() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new AsyncObserver(blocking, executor, 0, BackpressurePolicy.BLOCK));
+        Assertions.assertThrows(NullPointerException.class, () -> new AsyncObserver(null, executor, 1, BackpressurePolicy.BLOCK));
+        Assertions.assertThrows(NullPointerException.class, () -> new AsyncObserver(blocking, executor, 1, null));
+    }
+
+    /**
+     * Method for ensuring that events pushed through an observed object are
+     * delivered in order, and on another thread.
+     */
+    @Test
+    public void test_AsyncObserver_DeliversInOrder() throws InterruptedException {
+        List<Point> order = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        Observer recorder = (eventName, locations) -> {
+            order.add(locations.get(0));
+            threads.add(Thread.currentThread());
+        };
+
+        Observed observed = new TestingConcreteObserved();
+        AsyncObserver async = new AsyncObserver(recorder, executor, 8, BackpressurePolicy.BLOCK);
+        observed.attachObserver(async);
+
+        for(int i = 0; i < 1000; i++)
+            observed.pushEvent(EventType.MODEL_MINE_HIT_EVENT, at(i));
+
+        Assertions.assertTrue(async.awaitIdle(10, TimeUnit.SECONDS));
+        Assertions.assertEquals(1000, order.size());
+        for(int i = 0; i < 1000; i++)
+            Assertions.assertEquals(new Point(i, i), order.get(i));
+
+        Assertions.assertFalse(threads.contains(Thread.currentThread()));
+        Assertions.assertEquals(1000, async.getDeliveredCount());
+        Assertions.assertEquals(0, async.getQueueDepth());
+        Assertions.assertTrue(async.getMaxQueueDepth() <= 8);
+    }
+
+    /**
+     * Method for ensuring that the *DROP* policy drops new events when the
+     * queue is full, without blocking.
+     */
+    @Test
+    public void test_AsyncObserver_Drop() throws InterruptedException {
+        AsyncObserver async = new AsyncObserver(blocking, executor, 2, BackpressurePolicy.DROP);
+
+        async.handleTypedEvent(EventType.MODEL_MINE_HIT_EVENT, at(0));
+        Assertions.assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        for(int i = 1; i <= 5; i++)
+            async.handleTypedEvent(EventType.MODEL_MINE_HIT_EVENT, at(i));
+
+        Assertions.assertEquals(2, async.getQueueDepth());
+        Assertions.assertEquals(3, async.getDroppedCount());
+
+        release.countDown();
+        Assertions.assertTrue(async.awaitIdle(10, TimeUnit.SECONDS));
+        Assertions.assertEquals(List.of(at(0), at(1), at(2)), received);
+    }
+
+    /**
+     * Method for ensuring that the *COALESCE* policy merges events of the
+     * same type into the newest queued event when the queue is full.
+     */
+    @Test
+    public void test_AsyncObserver_Coalesce() throws InterruptedException {
+        AsyncObserver async = new AsyncObserver(blocking, executor, 1, BackpressurePolicy.COALESCE);
+
+        async.handleTypedEvent(EventType.MODEL_REVEAL_SQUARE_EVENT, at(0));
+        Assertions.assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        async.handleTypedEvent(EventType.MODEL_REVEAL_SQUARE_EVENT, at(1));
+        async.handleTypedEvent(EventType.MODEL_REVEAL_SQUARE_EVENT, at(2));
+        async.handleBatchEvent(EventType.MODEL_REVEAL_SQUARE_EVENT, new RevealBatch(new int[] { 3 }, new byte[] { 1 }, 1));
+
+        Assertions.assertEquals(1, async.getQueueDepth());
+        Assertions.assertEquals(2, async.getCoalescedCount());
+
+        release.countDown();
+        Assertions.assertTrue(async.awaitIdle(10, TimeUnit.SECONDS));
+        Assertions.assertEquals(List.of(at(0), List.of(new Point(1, 1), new Point(2, 2), new Point(0, 3))), received);
+        Assertions.assertEquals(2, async.getDeliveredCount());
+    }
+
+    /**
+     * Method for ensuring that the *COALESCE* policy appends many batches of
+     * the same width into a single batch, in the order they were pushed.
+     */
+    @Test
+    public void test_AsyncObserver_CoalesceBatches() throws InterruptedException {
+        AsyncObserver async = new AsyncObserver(blocking, executor, 1, BackpressurePolicy.COALESCE);
+
+        async.handleTypedEvent(EventType.MODEL_REVEAL_SQUARE_EVENT, at(0));
+        Assertions.assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        for(int i = 0; i < 1000; i++)
+            async.handleBatchEvent(EventType.MODEL_REVEAL_SQUARE_EVENT,
+                    new RevealBatch(new int[] { i, i + 1000 }, new byte[] { (byte) (i % 9), 0 }, 50));
+
+        Assertions.assertEquals(1, async.getQueueDepth());
+        Assertions.assertEquals(999, async.getCoalescedCount());
+
+        release.countDown();
+        Assertions.assertTrue(async.awaitIdle(10, TimeUnit.SECONDS));
+        Assertions.assertEquals(2, received.size());
+        Assertions.assertInstanceOf(RevealBatch.class, received.get(1));
+
+        RevealBatch merged = (RevealBatch) received.get(1);
+        Assertions.assertEquals(2000, merged.size());
+        Assertions.assertEquals(50, merged.getWidth());
+
+        for(int i = 0; i < 1000; i++) {
+            Assertions.assertEquals(i, merged.getIndex(2 * i));
+            Assertions.assertEquals(i % 9, merged.getValue(2 * i));
+            Assertions.assertEquals(i + 1000, merged.getIndex(2 * i + 1));
+        }
+    }
+
+    /**
+     * Method for ensuring that the *BLOCK* policy blocks the pushing thread
+     * until there is room in the queue, without losing any events.
+     */
+    @Test
+    public void test_AsyncObserver_Block() throws InterruptedException {
+        AsyncObserver async = new AsyncObserver(blocking, executor, 1, BackpressurePolicy.BLOCK);
+
+        async.handleTypedEvent(EventType.MODEL_MINE_HIT_EVENT, at(0));
+        Assertions.assertTrue(started.await(10, TimeUnit.SECONDS));
+        async.handleTypedEvent(EventType.MODEL_MINE_HIT_EVENT, at(1));
+
+        Thread pusher = new Thread(() -> async.handleTypedEvent(EventType.MODEL_MINE_HIT_EVENT, at(2)));
+        pusher.start();
+        pusher.join(200);
+
+        Assertions.assertTrue(pusher.isAlive(), "Push did not block on a full queue!");
+
+        release.countDown();
+        pusher.join(10_000);
+
+        Assertions.assertFalse(pusher.isAlive());
+        Assertions.assertTrue(async.awaitIdle(10, TimeUnit.SECONDS));
+        Assertions.assertEquals(List.of(at(0), at(1), at(2)), received);
+        Assertions.assertEquals(0, async.getDroppedCount());
+    }
+
+    /**
+     * Method for ensuring that square events are delivered by coordinates,
+     * and that the *COALESCE* policy blocks on them rather than merging them.
+     */
+    @Test
+    public void test_AsyncObserver_SquareEvents() throws InterruptedException {
+        AsyncObserver async = new AsyncObserver(blocking, executor, 1, BackpressurePolicy.COALESCE);
+
+        async.handleSquareEvent(EventType.VIEW_SELECT_SQUARE_EVENT, 0, 0);
+        Assertions.assertTrue(started.await(10, TimeUnit.SECONDS));
+        async.handleSquareEvent(EventType.VIEW_SELECT_SQUARE_EVENT, 1, 1);
+
+        Thread pusher = new Thread(() -> async.handleSquareEvent(EventType.VIEW_SELECT_SQUARE_EVENT, 2, 2));
+        pusher.start();
+        pusher.join(200);
+
+        Assertions.assertTrue(pusher.isAlive(), "Square event was not blocked on a full queue!");
+        Assertions.assertEquals(0, async.getCoalescedCount());
+
+        release.countDown();
+        pusher.join(10_000);
+
+        Assertions.assertTrue(async.awaitIdle(10, TimeUnit.SECONDS));
+        Assertions.assertEquals(List.of(at(0), at(1), at(2)), received);
+    }
+
+    /**
+     * Method for ensuring that events pushed after closing are dropped, while
+     * already queued events are still delivered.
+     */
+    @Test
+    public void test_AsyncObserver_Close() throws InterruptedException {
+        AsyncObserver async = new AsyncObserver(blocking, executor, 4, BackpressurePolicy.BLOCK);
+
+        async.handleTypedEvent(EventType.MODEL_MINE_HIT_EVENT, at(0));
+        async.handleTypedEvent(EventType.MODEL_MINE_HIT_EVENT, at(1));
+        async.close();
+        async.handleTypedEvent(EventType.MODEL_MINE_HIT_EVENT, at(2));
+
+        release.countDown();
+        Assertions.assertTrue(async.awaitIdle(10, TimeUnit.SECONDS));
+        Assertions.assertEquals(List.of(at(0), at(1)), received);
+        Assertions.assertEquals(1, async.getDroppedCount());
+    }
+}
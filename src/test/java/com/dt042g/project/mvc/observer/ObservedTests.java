@@ -12,6 +12,12 @@ import java.awt.Point;
 import java.lang.reflect.Field;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Class containing unit-tests for the *Observed* class.
@@ -239,4 +245,162 @@ public class ObservedTests {
             }
         }
     }
+
+    /**
+     * Method for ensuring that observers attached to specific event types
+     * only receive events of those types, and that they can be detached.
+     */
+    @Test
+    public void test_Observed_PushEvent_Typed() {
+        observeds[0].attachObserver(observers[0], EventType.MODEL_WIN_EVENT);
+        observeds[0].attachObserver(observers[1], EventType.MODEL_WIN_EVENT, EventType.MODEL_MINE_HIT_EVENT);
+        observeds[0].attachObserver(observers[2]);
+
+        observeds[0].pushEvent(EventType.MODEL_MINE_HIT_EVENT, Arrays.asList(new Point(1, 1)));
+        observeds[0].pushEvent(EventType.MODEL_WIN_EVENT, null);
+
+        Mockito.verify(observers[0], Mockito.times(0)).handleTypedEvent(Mockito.eq(EventType.MODEL_MINE_HIT_EVENT), Mockito.any());
+        Mockito.verify(observers[0], Mockito.times(1)).handleTypedEvent(EventType.MODEL_WIN_EVENT, null);
+        Mockito.verify(observers[1], Mockito.times(2)).handleTypedEvent(Mockito.any(), Mockito.any());
+        Mockito.verify(observers[2], Mockito.times(2)).handleTypedEvent(Mockito.any(), Mockito.any());
+
+        // Observers only handling names still receive the name of the type
+        Mockito.verify(observers[2]).handleEvent(EventType.MODEL_WIN_EVENT.name(), null);
+
+        observeds[0].detachObserver(observers[1]);
+        observeds[0].pushEvent(EventType.MODEL_WIN_EVENT, null);
+
+        Mockito.verify(observers[1], Mockito.times(2)).handleTypedEvent(Mockito.any(), Mockito.any());
+        Mockito.verify(observers[0], Mockito.times(2)).handleTypedEvent(EventType.MODEL_WIN_EVENT, null);
+    }
+
+    /**
+     * Method for ensuring that square events are pushed by coordinates to
+     * the observers attached to every event, or to the type.
+     */
+    @Test
+    public void test_Observed_PushSquareEvent() {
+        observeds[0].attachObserver(observers[0], EventType.MODEL_WIN_EVENT);
+        observeds[0].attachObserver(observers[1], EventType.MODEL_MINE_HIT_EVENT);
+        observeds[0].attachObserver(observers[2]);
+
+        observeds[0].pushSquareEvent(EventType.MODEL_MINE_HIT_EVENT, 3, 4);
+
+        Mockito.verify(observers[0], Mockito.times(0)).handleSquareEvent(Mockito.any(), Mockito.anyInt(), Mockito.anyInt());
+        Mockito.verify(observers[1], Mockito.times(1)).handleSquareEvent(EventType.MODEL_MINE_HIT_EVENT, 3, 4);
+        Mockito.verify(observers[2], Mockito.times(1)).handleSquareEvent(EventType.MODEL_MINE_HIT_EVENT, 3, 4);
+
+        // Observers which do not handle coordinates receive a list of the location
+        Mockito.verify(observers[2]).handleTypedEvent(EventType.MODEL_MINE_HIT_EVENT, Arrays.asList(new Point(3, 4)));
+    }
+
+    /**
+     * Method for ensuring that events pushed by name are pushed as typed
+     * events when the name is one of the event types.
+     */
+    @Test
+    public void test_Observed_PushEvent_NameToType() {
+        observeds[0].attachObserver(observers[0], EventType.MODEL_WIN_EVENT);
+        observeds[0].attachObserver(observers[1]);
+
+        observeds[0].pushEvent(EventType.MODEL_WIN_EVENT.name(), null);
+        observeds[0].pushEvent("TEST", null);
+
+        Mockito.verify(observers[0], Mockito.times(1)).handleTypedEvent(EventType.MODEL_WIN_EVENT, null);
+        Mockito.verify(observers[0], Mockito.times(0)).handleEvent(Mockito.eq("TEST"), Mockito.any());
+        Mockito.verify(observers[1], Mockito.times(1)).handleTypedEvent(EventType.MODEL_WIN_EVENT, null);
+        Mockito.verify(observers[1], Mockito.times(1)).handleEvent("TEST", null);
+    }
+
+    /**
+     * Method for ensuring that observers are deduplicated by identity; I.E.
+     * distinct observers which are equal are both attached.
+     */
+    @Test
+    public void test_Observed_AttachObserver_IdentityDedup() throws IllegalAccessException {
+        Observer a = new EqualObserver();
+        Observer b = new EqualObserver();
+
+        observeds[0].attachObserver(a);
+        observeds[0].attachObserver(b);
+        observeds[0].attachObserver(a);
+
+        List<Observer> attached = (List<Observer>) fieldObservers.get(observeds[0]);
+        Assertions.assertEquals(2, attached.size());
+
+        observeds[0].detachObserver(b);
+        Assertions.assertEquals(1, attached.size());
+        Assertions.assertSame(a, attached.get(0));
+    }
+
+    /**
+     * Method for ensuring that observers can be attached and detached from
+     * several threads while another thread keeps pushing events.
+     */
+    @Test
+    public void test_Observed_ConcurrentAttachDetachPush() throws Exception {
+        int threads = 4;
+        int rounds = 2000;
+        Observed observed = new TestingConcreteObserved();
+        AtomicInteger received = new AtomicInteger();
+        Observer permanent = (eventName, locations) -> received.incrementAndGet();
+        observed.attachObserver(permanent);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        CountDownLatch start = new CountDownLatch(1);
+
+        try {
+            Future<?> pusher = executor.submit(() -> {
+                start.await();
+                for(int i = 0; i < rounds; i++)
+                    observed.pushEvent(EventType.MODEL_WIN_EVENT, null);
+                return null;
+            });
+
+            Future<?>[] attachers = new Future<?>[threads];
+            for(int t = 0; t < threads; t++) {
+                attachers[t] = executor.submit(() -> {
+                    start.await();
+                    for(int i = 0; i < rounds; i++) {
+                        Observer observer = (eventName, locations) -> { };
+                        observed.attachObserver(observer);
+                        observed.attachObserver(observer, EventType.MODEL_WIN_EVENT);
+                        observed.detachObserver(observer);
+                    }
+                    return null;
+                });
+            }
+
+            start.countDown();
+            pusher.get(30, TimeUnit.SECONDS);
+            for(Future<?> attacher : attachers)
+                attacher.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Only the permanent observer remains, and it received every event
+        List<Observer> attached = (List<Observer>) fieldObservers.get(observed);
+        Assertions.assertEquals(List.of(permanent), attached);
+        Assertions.assertEquals(rounds, received.get());
+    }
+
+    /**
+     * Observer which is equal to every other instance of the class.
+     */
+    private static class EqualObserver implements Observer {
+        @Override
+        public void handleEvent(String eventName, List<Point> locations) {
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof EqualObserver;
+        }
+
+        @Override
+        public int hashCode() {
+            return 1;
+        }
+    }
 }
@@ -0,0 +1,59 @@
+package com.dt042g.project.mvc.observer;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.awt.Point;
+import java.util.List;
+
+/**
+ * Class containing unit-tests for the *RevealBatch* class.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+public class RevealBatchTests {
+    private static final int width = 4;
+
+    /**
+     * Method for testing that the batch exposes the coordinates and values of
+     * its squares, both directly and as a list of locations.
+     */
+    @Test
+    public void test_RevealBatch_Elements() {
+        RevealBatch batch = new RevealBatch(new int[] { 0, 6, 11 }, new byte[] { 0, 3, 8 }, width);
+
+        Assertions.assertEquals(width, batch.getWidth());
+        Assertions.assertEquals(3, batch.size());
+        Assertions.assertEquals(List.of(new Point(0, 0), new Point(2, 1), new Point(3, 2)), batch);
+        Assertions.assertEquals(6, batch.getIndex(1));
+        Assertions.assertEquals(2, batch.getX(1));
+        Assertions.assertEquals(1, batch.getY(1));
+        Assertions.assertEquals(8, batch.getValue(2));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> batch.getValue(3));
+    }
+
+    /**
+     * Method for testing that arrays of different lengths are rejected.
+     */
+    @Test
+    public void test_RevealBatch_MismatchedArrays() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new RevealBatch(new int[2], new byte[1], width));
+    }
+
+    /**
+     * Method for testing that observers which only handle *List&lt;Point&gt;*
+     * events still receive batch events, through the default implementation
+     * of handleBatchEvent.
+     */
+    @Test
+    public void test_RevealBatch_LegacyObserver() {
+        Observer observer = Mockito.mock(Observer.class, Mockito.CALLS_REAL_METHODS);
+        Mockito.doNothing().when(observer).handleEvent(Mockito.anyString(), Mockito.anyList());
+        RevealBatch batch = new RevealBatch(new int[] { 1 }, new byte[] { 2 }, width);
+
+        observer.handleBatchEvent(EventType.MODEL_REVEAL_SQUARE_EVENT, batch);
+
+        Mockito.verify(observer).handleEvent(EventType.MODEL_REVEAL_SQUARE_EVENT.name(), batch);
+    }
+}
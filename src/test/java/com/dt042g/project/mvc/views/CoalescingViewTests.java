@@ -0,0 +1,155 @@
+package com.dt042g.project.mvc.views;
+
+import com.dt042g.project.mvc.observer.EventType;
+import com.dt042g.project.mvc.observer.Observer;
+import com.dt042g.project.mvc.observer.RevealBatch;
+import com.dt042g.project.testinghelpers.TestingConcreteView;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+
+import java.awt.Point;
+import java.util.List;
+
+/**
+ * Class containing unit-tests for the *CoalescingView* class.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+public class CoalescingViewTests {
+    private static final int size = 10;
+
+    private View delegate;
+    private CoalescingView view;
+
+    /**
+     * Method which is triggered before each individual test method is executed.
+     * The frame is made long enough to never elapse during a test, so updates
+     * are only applied when flushed.
+     */
+    @BeforeEach
+    public void setupEach() {
+        delegate = Mockito.spy(new TestingConcreteView());
+        view = new CoalescingView(delegate, size, size, 60_000);
+    }
+
+    /**
+     * Method for testing that updates are not applied until flushed, and
+     * that every value update within a frame is applied as a single batch.
+     */
+    @Test
+    public void test_CoalescingView_BatchesValues() {
+        view.setValue(new Point(1, 1), 3);
+        view.setValues(new RevealBatch(new int[] { 0, 22 }, new byte[] { 0, 5 }, size));
+        view.setValue(new Point(1, 1), 4);
+
+        Mockito.verify(delegate, Mockito.times(0)).setValues(Mockito.any());
+        Mockito.verify(delegate, Mockito.times(0)).setValue(Mockito.any(), Mockito.anyInt());
+        Assertions.assertEquals(3, view.getPendingCount());
+
+        view.flush();
+
+        ArgumentCaptor<RevealBatch> batch = ArgumentCaptor.forClass(RevealBatch.class);
+        Mockito.verify(delegate, Mockito.times(1)).setValues(batch.capture());
+        Assertions.assertEquals(List.of(new Point(1, 1), new Point(0, 0), new Point(2, 2)), batch.getValue());
+        Assertions.assertEquals(4, batch.getValue().getValue(0));
+        Assertions.assertEquals(5, batch.getValue().getValue(2));
+        Assertions.assertEquals(0, view.getPendingCount());
+
+        // Nothing is applied twice
+        view.flush();
+        Mockito.verify(delegate, Mockito.times(1)).setValues(Mockito.any());
+    }
+
+    /**
+     * Method for testing that only the latest state of a flagged/hidden square
+     * within a frame is applied.
+     */
+    @Test
+    public void test_CoalescingView_LatestFlagStateWins() {
+        Point a = new Point(3, 4);
+        Point b = new Point(5, 6);
+
+        view.setFlagged(a);
+        view.setHidden(a);
+        view.setFlagged(a);
+        view.setFlagged(b);
+        view.setHidden(b);
+        view.flush();
+
+        Mockito.verify(delegate, Mockito.times(1)).setFlagged(a);
+        Mockito.verify(delegate, Mockito.times(0)).setHidden(a);
+        Mockito.verify(delegate, Mockito.times(1)).setHidden(b);
+        Mockito.verify(delegate, Mockito.times(0)).setFlagged(b);
+    }
+
+    /**
+     * Method for testing that game over applies the pending updates before
+     * it is forwarded, and that reset discards them.
+     */
+    @Test
+    public void test_CoalescingView_ImmediateCalls() {
+        Point mine = new Point(9, 9);
+
+        view.setValue(new Point(0, 0), 1);
+        view.gameOver(mine);
+
+        InOrder order = Mockito.inOrder(delegate);
+        order.verify(delegate).setValues(Mockito.any());
+        order.verify(delegate).gameOver(mine);
+
+        view.setFlagged(new Point(1, 0));
+        view.reset();
+        view.flush();
+
+        Mockito.verify(delegate).reset();
+        Mockito.verify(delegate, Mockito.times(0)).setFlagged(Mockito.any());
+    }
+
+    /**
+     * Method for testing that locations outside the board, and values outside
+     * of 0 to 8, are forwarded immediately.
+     */
+    @Test
+    public void test_CoalescingView_ForwardsUnknown() {
+        view.setValue(null, 1);
+        view.setFlagged(new Point(size, 0));
+        view.setValue(new Point(1, 1), -1);
+
+        Mockito.verify(delegate).setValue(null, 1);
+        Mockito.verify(delegate).setFlagged(new Point(size, 0));
+        Mockito.verify(delegate).setValue(new Point(1, 1), -1);
+        Assertions.assertEquals(0, view.getPendingCount());
+    }
+
+    /**
+     * Method for testing that events pushed by the wrapped view are pushed on
+     * to the observers of the coalescing view.
+     */
+    @Test
+    public void test_CoalescingView_ForwardsEvents() {
+        Observer observer = Mockito.mock(Observer.class);
+        view.attachObserver(observer);
+
+        delegate.pushSelectEvent(new Point(2, 3));
+
+        Mockito.verify(observer).handleTypedEvent(EventType.VIEW_SELECT_SQUARE_EVENT, List.of(new Point(2, 3)));
+    }
+
+    /**
+     * Method for testing that pending updates are applied by the frame timer
+     * without an explicit flush.
+     */
+    @Test
+    public void test_CoalescingView_FlushesEachFrame() {
+        CoalescingView framed = new CoalescingView(delegate, size, size, 1);
+
+        framed.setValue(new Point(0, 0), 2);
+
+        Mockito.verify(delegate, Mockito.timeout(5000).times(1)).setValues(Mockito.any());
+        Assertions.assertEquals(0, framed.getPendingCount());
+    }
+}
@@ -1,5 +1,6 @@
 package com.dt042g.project.mvc.views;
 
+import com.dt042g.project.mvc.observer.EventType;
 import com.dt042g.project.testinghelpers.TestingConcreteView;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -45,7 +46,7 @@ public class ViewTests {
     public void test_View_PushSelectEvent() {
         for(int i = 0; i < singleLocations.size(); i++) {
             view.pushSelectEvent(singleLocations.get(i));
-            Mockito.verify(view, Mockito.times(1)).pushEvent(View.VIEW_SELECT_SQUARE_EVENT, Arrays.asList(singleLocations.get(i)));
+            Mockito.verify(view, Mockito.times(1)).pushEvent(EventType.VIEW_SELECT_SQUARE_EVENT, Arrays.asList(singleLocations.get(i)));
         }
     }
 
@@ -57,10 +58,38 @@ public class ViewTests {
     public void test_View_PushFlagEvent() {
         for(int i = 0; i < singleLocations.size(); i++) {
             view.pushFlagEvent(singleLocations.get(i));
-            Mockito.verify(view, Mockito.times(1)).pushEvent(View.VIEW_FLAG_SQUARE_EVENT, Arrays.asList(singleLocations.get(i)));
+            Mockito.verify(view, Mockito.times(1)).pushEvent(EventType.VIEW_FLAG_SQUARE_EVENT, Arrays.asList(singleLocations.get(i)));
         }
     }
 
+    /**
+     * Method for testing the pushChordEvent method; by testing that the
+     * pushEvent method is triggered correctly when is executed.
+     */
+    @Test
+    public void test_View_PushChordEvent() {
+        for(int i = 0; i < singleLocations.size(); i++) {
+            view.pushChordEvent(singleLocations.get(i));
+            Mockito.verify(view, Mockito.times(1)).pushEvent(EventType.VIEW_CHORD_SQUARE_EVENT, Arrays.asList(singleLocations.get(i)));
+        }
+    }
+
+    /**
+     * Method for testing the coordinate based push methods; by testing that
+     * they are pushed as square events.
+     */
+    @Test
+    public void test_View_PushSquareEvents() {
+        view.pushSelectEvent(1, 2);
+        view.pushFlagEvent(3, 4);
+        view.pushChordEvent(5, Integer.MAX_VALUE);
+
+        Mockito.verify(view, Mockito.times(1)).pushSquareEvent(EventType.VIEW_SELECT_SQUARE_EVENT, 1, 2);
+        Mockito.verify(view, Mockito.times(1)).pushSquareEvent(EventType.VIEW_FLAG_SQUARE_EVENT, 3, 4);
+        Mockito.verify(view, Mockito.times(1)).pushSquareEvent(EventType.VIEW_CHORD_SQUARE_EVENT, 5, Integer.MAX_VALUE);
+        Mockito.verify(view, Mockito.times(0)).pushEvent(Mockito.any(EventType.class), Mockito.<List<Point>>any());
+    }
+
     /**
      * Method for testing the pushResetGameEvent method; by testing that the
      * pushEvent method is triggered correctly when is executed.
@@ -68,6 +97,25 @@ public class ViewTests {
     @Test
     public void test_View_PushResetGameEvent() {
         view.pushResetGameEvent();
-        Mockito.verify(view, Mockito.times(1)).pushEvent(Mockito.eq(View.VIEW_RESET_GAME_EVENT), Mockito.any());
+        Mockito.verify(view, Mockito.times(1)).pushEvent(Mockito.eq(EventType.VIEW_RESET_GAME_EVENT), Mockito.<List<Point>>any());
+    }
+
+    /**
+     * Method for testing that the coordinate based methods call the *Point*
+     * based methods by default.
+     */
+    @Test
+    public void test_View_CoordinateDefaults() {
+        view.setHidden(1, 2);
+        view.setFlagged(3, 4);
+        view.setValue(5, 6, 7);
+        view.setMine(8, 9);
+        view.gameOver(10, 11);
+
+        Mockito.verify(view, Mockito.times(1)).setHidden(new Point(1, 2));
+        Mockito.verify(view, Mockito.times(1)).setFlagged(new Point(3, 4));
+        Mockito.verify(view, Mockito.times(1)).setValue(new Point(5, 6), 7);
+        Mockito.verify(view, Mockito.times(1)).setMine(new Point(8, 9));
+        Mockito.verify(view, Mockito.times(1)).gameOver(new Point(10, 11));
     }
 }
@@ -0,0 +1,215 @@
+package com.dt042g.project.mvc.views.headless;
+
+import com.dt042g.project.mvc.controllers.GameController;
+import com.dt042g.project.mvc.models.GameModel;
+import com.dt042g.project.mvc.observer.RevealBatch;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Point;
+
+/**
+ * Class containing unit-tests for the *HeadlessView* class; playing full games
+ * through a *GameModel* and *GameController* without any GUI.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+public class HeadlessViewTests {
+    private static final int size = 6;
+
+    /**
+     * Method for testing that a new view has every square hidden.
+     */
+    @Test
+    public void test_HeadlessView_Defaults() {
+        HeadlessView view = new HeadlessView(size, size + 1);
+
+        Assertions.assertEquals(size, view.getWidth());
+        Assertions.assertEquals(size + 1, view.getHeight());
+        Assertions.assertEquals(HeadlessView.State.HIDDEN, view.getState(new Point(size - 1, size)));
+        Assertions.assertEquals(-1, view.getValue(new Point(0, 0)));
+        Assertions.assertFalse(view.isBoardLocked());
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> view.getState(new Point(size, 0)));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new HeadlessView(-1, 1));
+    }
+
+    /**
+     * Method for testing that a game on a mine-free board is won with one
+     * selection, and that the view shows every value.
+     */
+    @Test
+    public void test_HeadlessView_PlayToWin() {
+        HeadlessView view = new HeadlessView(size, size);
+        new GameController(new GameModel(size, size, 0), view);
+
+        view.select(new Point(2, 3));
+
+        Assertions.assertTrue(view.isWon());
+        Assertions.assertTrue(view.isBoardLocked());
+        for(int x = 0; x < size; x++)
+            for(int y = 0; y < size; y++)
+                Assertions.assertEquals(0, view.getValue(new Point(x, y)));
+    }
+
+    /**
+     * Method for testing that selecting a mine loses the game and locks the
+     * board, and that restarting unlocks it again.
+     */
+    @Test
+    public void test_HeadlessView_PlayToLoss() {
+        GameModel model = new GameModel(size, size, 20);
+        HeadlessView view = new HeadlessView(size, size);
+        new GameController(model, view);
+
+        view.select(new Point(0, 0));
+        Assertions.assertEquals(HeadlessView.State.VALUE, view.getState(new Point(0, 0)));
+
+        Point mine = null;
+        for(int x = 0; x < size && mine == null; x++)
+            for(int y = 0; y < size && mine == null; y++)
+                if(model.isMine(new Point(x, y)))
+                    mine = new Point(x, y);
+
+        view.select(mine);
+
+        Assertions.assertTrue(view.isLost());
+        Assertions.assertEquals(HeadlessView.State.MINE, view.getState(mine));
+
+        // Locked boards ignore input
+        Point hidden = new Point(size - 1, size - 1);
+        view.flag(hidden);
+        Assertions.assertNotEquals(HeadlessView.State.FLAGGED, view.getState(hidden));
+
+        view.restart();
+        Assertions.assertFalse(view.isBoardLocked());
+        Assertions.assertEquals(HeadlessView.State.HIDDEN, view.getState(new Point(0, 0)));
+    }
+
+    /**
+     * Method for testing that a game can be played by coordinates only; with
+     * the selects, flags and the mine hit passed as square events.
+     */
+    @Test
+    public void test_HeadlessView_PlayByCoordinates() {
+        GameModel model = new GameModel(size, size, 20);
+        HeadlessView view = new HeadlessView(size, size);
+        new GameController(model, view);
+
+        view.select(0, 0);
+        Assertions.assertEquals(HeadlessView.State.VALUE, view.getState(0, 0));
+
+        int mine = -1;
+        for(int i = 0; i < size * size && mine < 0; i++)
+            if(model.isMine(i % size, i / size))
+                mine = i;
+
+        view.flag(mine % size, mine / size);
+        Assertions.assertEquals(HeadlessView.State.FLAGGED, view.getState(mine % size, mine / size));
+        Assertions.assertTrue(model.isFlagged(mine % size, mine / size));
+
+        view.flag(mine % size, mine / size);
+        view.select(mine % size, mine / size);
+
+        Assertions.assertTrue(view.isLost());
+        Assertions.assertEquals(HeadlessView.State.MINE, view.getState(mine % size, mine / size));
+    }
+
+    /**
+     * Method for testing that flagging toggles the flag of a hidden square,
+     * and that revealed squares cannot be flagged.
+     */
+    @Test
+    public void test_HeadlessView_Flag() {
+        HeadlessView view = new HeadlessView(size, size);
+        new GameController(new GameModel(size, size, 3), view);
+
+        Point flagged = new Point(5, 5);
+        view.select(new Point(0, 0));
+
+        if(view.getState(flagged) == HeadlessView.State.HIDDEN) {
+            view.flag(flagged);
+            Assertions.assertEquals(HeadlessView.State.FLAGGED, view.getState(flagged));
+
+            view.flag(flagged);
+            Assertions.assertEquals(HeadlessView.State.HIDDEN, view.getState(flagged));
+        }
+
+        view.flag(new Point(0, 0));
+        Assertions.assertEquals(HeadlessView.State.VALUE, view.getState(new Point(0, 0)));
+    }
+
+    /**
+     * Method for testing that reveal batches are applied.
+     */
+    @Test
+    public void test_HeadlessView_SetValues() {
+        HeadlessView view = new HeadlessView(size, size);
+
+        view.setValues(new RevealBatch(new int[] { 0, size + 1 }, new byte[] { 2, 8 }, size));
+
+        Assertions.assertEquals(2, view.getValue(new Point(0, 0)));
+        Assertions.assertEquals(8, view.getValue(new Point(1, 1)));
+    }
+
+    /**
+     * Method for testing the coordinate based methods, and that they agree
+     * with the *Point* based ones.
+     */
+    @Test
+    public void test_HeadlessView_Coordinates() {
+        HeadlessView view = new HeadlessView(size, size);
+
+        view.setValue(2, 3, 5);
+        view.setFlagged(4, 1);
+        view.setHidden(size, 0);
+
+        Assertions.assertEquals(5, view.getValue(2, 3));
+        Assertions.assertEquals(5, view.getValue(new Point(2, 3)));
+        Assertions.assertEquals(HeadlessView.State.FLAGGED, view.getState(4, 1));
+        Assertions.assertEquals(HeadlessView.State.FLAGGED, view.getState(new Point(4, 1)));
+
+        view.setHidden(4, 1);
+        Assertions.assertEquals(HeadlessView.State.HIDDEN, view.getState(4, 1));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> view.getValue(-1, 0));
+    }
+
+    /**
+     * Method for testing that chording a number with its mines flagged
+     * reveals every neighbor, through the controller.
+     */
+    @Test
+    public void test_HeadlessView_Chord() {
+        GameModel model = new GameModel(16, 16, 40);
+        HeadlessView view = new HeadlessView(16, 16);
+        new GameController(model, view);
+        model.setSeed(11);
+
+        view.select(new Point(8, 8));
+
+        Point chorded = null;
+        for(int y = 1; y < 15 && chorded == null; y++)
+            for(int x = 1; x < 15 && chorded == null; x++)
+                if(view.getValue(new Point(x, y)) > 0)
+                    chorded = new Point(x, y);
+
+        Assertions.assertNotNull(chorded);
+
+        // Hidden squares cannot be chorded
+        view.chord(new Point(0, 0));
+        Assertions.assertFalse(view.isBoardLocked());
+
+        for(int y = chorded.y - 1; y <= chorded.y + 1; y++)
+            for(int x = chorded.x - 1; x <= chorded.x + 1; x++)
+                if(model.isMine(x, y))
+                    view.flag(new Point(x, y));
+
+        view.chord(chorded);
+
+        for(int y = chorded.y - 1; y <= chorded.y + 1; y++) {
+            for(int x = chorded.x - 1; x <= chorded.x + 1; x++) {
+                HeadlessView.State expected = model.isMine(x, y) ? HeadlessView.State.FLAGGED : HeadlessView.State.VALUE;
+                Assertions.assertEquals(expected, view.getState(new Point(x, y)));
+            }
+        }
+    }
+}
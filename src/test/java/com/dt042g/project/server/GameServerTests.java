@@ -0,0 +1,239 @@
+package com.dt042g.project.server;
+
+import com.dt042g.project.sessions.SessionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+
+/**
+ * Class containing unit-tests for the *GameServer* and *LoadClient* classes;
+ * talking to a server on the loopback address.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+public class GameServerTests {
+    private SessionManager sessions;
+    private GameServer server;
+    private Socket socket;
+    private DataInputStream in;
+    private OutputStream out;
+
+    /**
+     * Method which is triggered before each individual test method is executed.
+     */
+    @BeforeEach
+    public void setupEach() throws IOException {
+        sessions = new SessionManager(2, SessionManager.NO_TIMEOUT);
+        server = new GameServer(sessions, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        server.start();
+
+        socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+        socket.setSoTimeout(5000);
+        in = new DataInputStream(socket.getInputStream());
+        out = socket.getOutputStream();
+    }
+
+    /**
+     * Method which is triggered after each individual test method is executed.
+     */
+    @AfterEach
+    public void teardownEach() throws IOException {
+        socket.close();
+        server.close();
+        sessions.close();
+    }
+
+    /**
+     * Helper method for sending a request.
+     *
+     * @param frame The request.
+     */
+    private void send(ByteBuffer frame) throws IOException {
+        out.write(frame.array(), 0, frame.limit());
+        out.flush();
+    }
+
+    /**
+     * Helper method for reading a response.
+     *
+     * @return The type followed by the payload of the response.
+     */
+    private ByteBuffer receive() throws IOException {
+        int length = in.readInt();
+        byte[] frame = new byte[length];
+        in.readFully(frame);
+        return ByteBuffer.wrap(frame);
+    }
+
+    /**
+     * Helper method for reading a response, and checking its type.
+     *
+     * @param type The expected type.
+     *
+     * @return The payload of the response.
+     */
+    private ByteBuffer receive(byte type) throws IOException {
+        ByteBuffer frame = receive();
+        Assertions.assertEquals(type, frame.get());
+        return frame;
+    }
+
+    /**
+     * Method for testing that a game is won by selecting any square of a
+     * board without mines; revealing every square in one response.
+     */
+    @Test
+    public void test_GameServer_PlayToWin() throws IOException {
+        send(Protocol.newGame(5, 4, 0));
+
+        ByteBuffer started = receive(Protocol.GAME_STARTED);
+        Assertions.assertTrue(started.getLong() > 0);
+        Assertions.assertEquals(5, started.getInt());
+        Assertions.assertEquals(4, started.getInt());
+        receive(Protocol.DONE);
+
+        send(Protocol.coordinate(Protocol.SELECT, 2, 2));
+
+        ByteBuffer reveal = receive(Protocol.REVEAL);
+        Assertions.assertEquals(20, reveal.getInt());
+        boolean[] revealed = new boolean[20];
+        for(int i = 0; i < 20; i++) {
+            revealed[reveal.getInt()] = true;
+            Assertions.assertEquals(0, reveal.get());
+        }
+        for(boolean square : revealed)
+            Assertions.assertTrue(square);
+
+        receive(Protocol.WIN);
+        receive(Protocol.DONE);
+        Assertions.assertEquals(2, server.getRequestCount());
+    }
+
+    /**
+     * Method for testing that flagging responds with the new flag state, and
+     * that revealed squares cannot be flagged.
+     */
+    @Test
+    public void test_GameServer_Flag() throws IOException {
+        send(Protocol.newGame(10, 10, 0.5));
+        receive(Protocol.GAME_STARTED);
+        receive(Protocol.DONE);
+
+        // Squares can only be flagged once the board has been generated; and
+        // with this many mines the first select only reveals the corner.
+        send(Protocol.coordinate(Protocol.SELECT, 0, 0));
+        while(receive().get() != Protocol.DONE);
+
+        send(Protocol.coordinate(Protocol.FLAG, 9, 9));
+        ByteBuffer flagged = receive(Protocol.FLAGGED);
+        Assertions.assertEquals(9, flagged.getInt());
+        Assertions.assertEquals(9, flagged.getInt());
+        Assertions.assertEquals(1, flagged.get());
+        receive(Protocol.DONE);
+
+        send(Protocol.coordinate(Protocol.FLAG, 9, 9));
+        flagged = receive(Protocol.FLAGGED);
+        flagged.getInt();
+        flagged.getInt();
+        Assertions.assertEquals(0, flagged.get());
+        receive(Protocol.DONE);
+
+        send(Protocol.coordinate(Protocol.FLAG, 0, 0));
+        flagged = receive(Protocol.FLAGGED);
+        flagged.getInt();
+        flagged.getInt();
+        Assertions.assertEquals(0, flagged.get());
+        receive(Protocol.DONE);
+    }
+
+    /**
+     * Method for testing that invalid requests are answered with an error,
+     * and that the connection can still be used.
+     */
+    @Test
+    public void test_GameServer_Errors() throws IOException {
+        send(Protocol.coordinate(Protocol.SELECT, 0, 0));
+        receive(Protocol.ERROR);
+        receive(Protocol.DONE);
+
+        send(Protocol.newGame(-1, 5, 0.1));
+        receive(Protocol.ERROR);
+        receive(Protocol.DONE);
+
+        send(Protocol.newGame(3, 3, 0));
+        receive(Protocol.GAME_STARTED);
+        receive(Protocol.DONE);
+
+        send(Protocol.coordinate(Protocol.SELECT, 3, 0));
+        Assertions.assertFalse(Protocol.errorMessage(receive(Protocol.ERROR)).isEmpty());
+        receive(Protocol.DONE);
+
+        Assertions.assertEquals(1, sessions.getActiveSessionCount());
+    }
+
+    /**
+     * Method for testing that a board larger than the protocol allows is
+     * answered with an error, without allocating it, and that the server
+     * keeps serving.
+     */
+    @Test
+    public void test_GameServer_BoardTooLarge() throws IOException {
+        send(Protocol.newGame(46340, 46340, 0.1));
+        Assertions.assertTrue(Protocol.errorMessage(receive(Protocol.ERROR)).contains("46340x46340"));
+        receive(Protocol.DONE);
+
+        send(Protocol.newGame(3, 3, 0));
+        receive(Protocol.GAME_STARTED);
+        receive(Protocol.DONE);
+
+        Assertions.assertEquals(1, sessions.getCreatedSessionCount());
+        Assertions.assertEquals(1, server.getConnectionCount());
+    }
+
+    /**
+     * Method for testing that a malformed request closes the connection, along
+     * with its game.
+     */
+    @Test
+    public void test_GameServer_ProtocolViolation() throws IOException, InterruptedException {
+        send(Protocol.newGame(3, 3, 0));
+        receive(Protocol.GAME_STARTED);
+        receive(Protocol.DONE);
+
+        send(Protocol.empty((byte) 0x7F));
+        Assertions.assertThrows(EOFException.class, () -> in.readInt());
+
+        for(int i = 0; i < 100 && sessions.getActiveSessionCount() > 0; i++)
+            Thread.sleep(10);
+
+        Assertions.assertEquals(0, sessions.getActiveSessionCount());
+        Assertions.assertEquals(0, server.getConnectionCount());
+    }
+
+    /**
+     * Method for testing that the load client makes every move, and reports
+     * consistent latencies.
+     */
+    @Test
+    public void test_LoadClient_Run() throws IOException, InterruptedException {
+        LoadClient.Result result = new LoadClient(new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort()),
+                3, 200, 8, 8, 0.15).run();
+
+        Assertions.assertEquals(600, result.getMoves());
+        Assertions.assertTrue(result.getGames() >= 3);
+        Assertions.assertEquals(0, result.getErrors());
+        Assertions.assertTrue(result.getLatencyMicros(50) > 0);
+        Assertions.assertTrue(result.getLatencyMicros(50) <= result.getLatencyMicros(99));
+        Assertions.assertTrue(result.getMovesPerSecond() > 0);
+    }
+}
@@ -0,0 +1,293 @@
+package com.dt042g.project.sessions;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Class containing unit-tests for the *SessionManager* class.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+public class SessionManagerTests {
+    private static final int shards = 4;
+    private static final long timeout = TimeUnit.HOURS.toMillis(1);
+
+    private AtomicLong clock;
+    private SessionManager manager;
+
+    /**
+     * Method which is triggered before each individual test method is executed.
+     */
+    @BeforeEach
+    public void setupEach() {
+        clock = new AtomicLong(0);
+        manager = new SessionManager(shards, timeout, clock::get);
+    }
+
+    /**
+     * Method which is triggered after each individual test method is executed.
+     */
+    @AfterEach
+    public void teardownEach() {
+        manager.close();
+    }
+
+    /**
+     * Method for testing that invalid arguments are rejected.
+     */
+    @Test
+    public void test_SessionManager_InvalidArguments() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new SessionManager(0, 0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new SessionManager(1, -1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> manager.createSession(-1, 1, 0.1));
+    }
+
+    /**
+     * Method for testing that a full game can be played through a session; on
+     * a board without mines, the first selection wins.
+     */
+    @Test
+    public void test_SessionManager_PlayToWin() throws ExecutionException, InterruptedException {
+        long id = manager.createSession(8, 8, 0);
+
+        manager.execute(id, session -> session.select(3, 3)).get();
+
+        Assertions.assertTrue(manager.submit(id, session -> session.getView().isWon()).get());
+        Assertions.assertTrue(manager.submit(id, GameSession::isOver).get());
+        Assertions.assertEquals(0, (int) manager.submit(id, session -> session.getView().getValue(0, 0)).get());
+    }
+
+    /**
+     * Method for testing that sessions are spread across the shards, and that
+     * every action on a session runs on the same thread.
+     */
+    @Test
+    public void test_SessionManager_Sharding() throws ExecutionException, InterruptedException {
+        List<Long> ids = new ArrayList<>();
+        for(int i = 0; i < shards * 3; i++)
+            ids.add(manager.createSession(4, 4, 0.1));
+
+        for(int shard = 0; shard < shards; shard++)
+            Assertions.assertEquals(3, manager.getShardSessionCount(shard));
+
+        Set<String> allThreads = new HashSet<>();
+        for(long id : ids) {
+            Set<String> threads = new HashSet<>();
+
+            for(int i = 0; i < 5; i++)
+                threads.add(manager.submit(id, session -> Thread.currentThread().getName()).get());
+
+            Assertions.assertEquals(1, threads.size());
+            Assertions.assertEquals(manager.getShardOf(id), (int) manager.submit(id, GameSession::getShard).get());
+            allThreads.addAll(threads);
+        }
+
+        Assertions.assertEquals(shards, allThreads.size());
+    }
+
+    /**
+     * Method for testing that closed and unknown sessions are rejected.
+     */
+    @Test
+    public void test_SessionManager_Close() {
+        long id = manager.createSession(4, 4, 0.1);
+
+        Assertions.assertTrue(manager.hasSession(id));
+        Assertions.assertTrue(manager.closeSession(id));
+        Assertions.assertFalse(manager.closeSession(id));
+        Assertions.assertFalse(manager.hasSession(id));
+
+        ExecutionException exception = Assertions.assertThrows(ExecutionException.class,
+                () -> manager.execute(id, session -> session.select(0, 0)).get());
+        Assertions.assertInstanceOf(IllegalArgumentException.class, exception.getCause());
+
+        Assertions.assertEquals(1, manager.getCreatedSessionCount());
+        Assertions.assertEquals(1, manager.getClosedSessionCount());
+        Assertions.assertEquals(0, manager.getActiveSessionCount());
+        Assertions.assertEquals(0, manager.getShardSessionCount(manager.getShardOf(id)));
+    }
+
+    /**
+     * Method for testing that a session created on its shard runs the actions
+     * submitted right after it, and that a failed creation fails them.
+     */
+    @Test
+    public void test_SessionManager_CreateAsync() throws ExecutionException, InterruptedException {
+        long id = manager.createSessionAsync(8, 8, 0);
+        Assertions.assertTrue(manager.submit(id, session -> session.getModel().getWidth() == 8).get());
+        Assertions.assertTrue(manager.hasSession(id));
+        Assertions.assertEquals(1, manager.getCreatedSessionCount());
+
+        long invalid = manager.createSessionAsync(-1, 8, 0);
+        ExecutionException exception = Assertions.assertThrows(ExecutionException.class,
+                () -> manager.execute(invalid, session -> session.select(0, 0)).get());
+        Assertions.assertInstanceOf(IllegalArgumentException.class, exception.getCause());
+        Assertions.assertFalse(manager.hasSession(invalid));
+        Assertions.assertEquals(1, manager.getActiveSessionCount());
+    }
+
+    /**
+     * Helper method for blocking the only shard of a manager until released.
+     *
+     * @param single The manager; with a single shard.
+     * @param release The latch releasing the shard.
+     *
+     * @throws InterruptedException If interrupted while waiting for the shard.
+     */
+    private static void blockShard(SessionManager single, CountDownLatch release) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+
+        single.execute(single.createSession(4, 4, 0), session -> {
+            started.countDown();
+
+            try {
+                release.await();
+            } catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        started.await();
+    }
+
+    /**
+     * Method for testing that a session closed while it is still being
+     * created is closed once it has been created.
+     *
+     * @throws InterruptedException If interrupted while waiting for the shard.
+     */
+    @Test
+    public void test_SessionManager_CloseWhileCreating() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+
+        try(SessionManager single = new SessionManager(1, SessionManager.NO_TIMEOUT)) {
+            blockShard(single, release);
+
+            long id = single.createSessionAsync(8, 8, 0);
+            CompletableFuture<Void> queued = single.execute(id, session -> session.select(0, 0));
+
+            Assertions.assertTrue(single.closeSession(id));
+            release.countDown();
+
+            ExecutionException exception = Assertions.assertThrows(ExecutionException.class, queued::get);
+            Assertions.assertInstanceOf(IllegalStateException.class, exception.getCause());
+            Assertions.assertFalse(single.hasSession(id));
+            Assertions.assertEquals(1, single.getActiveSessionCount());
+            Assertions.assertEquals(1, single.getShardSessionCount(0));
+            Assertions.assertEquals(1, single.getClosedSessionCount());
+        }
+    }
+
+    /**
+     * Method for testing that a session still being created when the manager
+     * is closed is discarded, rather than registered in the closed manager.
+     *
+     * @throws InterruptedException If interrupted while waiting for the shard.
+     */
+    @Test
+    public void test_SessionManager_CloseManagerWhileCreating() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        SessionManager single = new SessionManager(1, SessionManager.NO_TIMEOUT);
+        blockShard(single, release);
+
+        long id = single.createSessionAsync(8, 8, 0);
+        CompletableFuture<Void> queued = single.execute(id, session -> session.select(0, 0));
+
+        single.close();
+        release.countDown();
+
+        ExecutionException exception = Assertions.assertThrows(ExecutionException.class, queued::get);
+        Assertions.assertInstanceOf(IllegalStateException.class, exception.getCause());
+        Assertions.assertFalse(single.hasSession(id));
+        Assertions.assertEquals(0, single.getActiveSessionCount());
+        Assertions.assertEquals(0, single.getShardSessionCount(0));
+    }
+
+    /**
+     * Method for testing that actions submitted after the manager is closed
+     * complete exceptionally, rather than throwing.
+     */
+    @Test
+    public void test_SessionManager_SubmitAfterClose() {
+        manager.close();
+        long id = manager.createSession(4, 4, 0.1);
+
+        CompletableFuture<Void> future = Assertions.assertDoesNotThrow(() -> manager.execute(id, session -> session.select(0, 0)));
+        ExecutionException exception = Assertions.assertThrows(ExecutionException.class, future::get);
+        Assertions.assertInstanceOf(RejectedExecutionException.class, exception.getCause());
+    }
+
+    /**
+     * Method for testing that only sessions which have been idle for the
+     * timeout are evicted.
+     */
+    @Test
+    public void test_SessionManager_EvictIdle() throws ExecutionException, InterruptedException {
+        long idle = manager.createSession(4, 4, 0.1);
+        long active = manager.createSession(4, 4, 0.1);
+
+        clock.set(timeout / 2);
+        manager.execute(active, session -> session.flag(0, 0)).get();
+
+        clock.set(timeout);
+        Assertions.assertEquals(1, manager.evictIdleSessions());
+        Assertions.assertFalse(manager.hasSession(idle));
+        Assertions.assertTrue(manager.hasSession(active));
+
+        clock.set(timeout * 2);
+        Assertions.assertEquals(1, manager.evictIdleSessions());
+        Assertions.assertEquals(0, manager.getActiveSessionCount());
+        Assertions.assertEquals(2, manager.getTimedOutSessionCount());
+    }
+
+    /**
+     * Method for testing the queue depth of a shard, and that actions queued
+     * for a session which is closed before they run complete exceptionally.
+     */
+    @Test
+    public void test_SessionManager_QueueDepth() throws InterruptedException {
+        long id = manager.createSession(4, 4, 0.1);
+        int shard = manager.getShardOf(id);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        manager.execute(id, session -> {
+            started.countDown();
+
+            try {
+                release.await();
+            } catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        started.await();
+
+        List<CompletableFuture<Void>> queued = new ArrayList<>();
+        for(int i = 0; i < 3; i++)
+            queued.add(manager.execute(id, session -> session.select(0, 0)));
+
+        Assertions.assertEquals(3, manager.getShardQueueDepth(shard));
+
+        manager.closeSession(id);
+        release.countDown();
+
+        for(CompletableFuture<Void> future : queued) {
+            ExecutionException exception = Assertions.assertThrows(ExecutionException.class, future::get);
+            Assertions.assertInstanceOf(IllegalStateException.class, exception.getCause());
+        }
+
+        Assertions.assertEquals(0, manager.getShardQueueDepth(shard));
+    }
+}
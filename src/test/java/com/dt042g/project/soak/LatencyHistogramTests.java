@@ -0,0 +1,90 @@
+package com.dt042g.project.soak;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Class containing unit-tests for the *LatencyHistogram* class.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+public class LatencyHistogramTests {
+    /**
+     * Method for testing that every value maps to a bucket which holds it, and
+     * that the buckets are in ascending order.
+     */
+    @Test
+    public void test_LatencyHistogram_Buckets() {
+        long previous = -1;
+
+        for(int index = 0; index <= LatencyHistogram.indexOf(Long.MAX_VALUE); index++) {
+            long highest = LatencyHistogram.highestEquivalentValue(index);
+
+            Assertions.assertTrue(highest > previous);
+            Assertions.assertEquals(index, LatencyHistogram.indexOf(highest));
+            Assertions.assertEquals(index, LatencyHistogram.indexOf(previous + 1));
+            previous = highest;
+        }
+
+        Assertions.assertEquals(Long.MAX_VALUE, previous);
+    }
+
+    /**
+     * Method for testing that percentiles are within the precision of the
+     * histogram, compared to the exact percentiles of the same values.
+     */
+    @Test
+    public void test_LatencyHistogram_Percentiles() {
+        SplittableRandom random = new SplittableRandom(1);
+        LatencyHistogram histogram = new LatencyHistogram();
+        long[] values = new long[100_000];
+
+        for(int i = 0; i < values.length; i++) {
+            // Log-uniform between 1 and 1e9; like latencies in nanoseconds
+            values[i] = (long) Math.pow(10, random.nextDouble() * 9);
+            histogram.record(values[i]);
+        }
+
+        Arrays.sort(values);
+        Assertions.assertEquals(values.length, histogram.getTotalCount());
+        Assertions.assertEquals(values[0], histogram.getMin());
+        Assertions.assertEquals(values[values.length - 1], histogram.getMax());
+
+        for(double percentile : new double[] { 1, 50, 90, 99, 99.9, 100 }) {
+            long exact = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            long estimate = histogram.getValueAtPercentile(percentile);
+
+            Assertions.assertTrue(estimate >= exact);
+            Assertions.assertTrue(estimate <= exact * 1.016 + 1, String.format("p%s: %d vs %d", percentile, estimate, exact));
+        }
+    }
+
+    /**
+     * Method for testing adding histograms together, and resetting them.
+     */
+    @Test
+    public void test_LatencyHistogram_AddAndReset() {
+        LatencyHistogram a = new LatencyHistogram();
+        LatencyHistogram b = new LatencyHistogram();
+
+        for(int i = 1; i <= 50; i++)
+            a.record(i);
+        for(int i = 51; i <= 100; i++)
+            b.record(i);
+
+        a.add(b);
+        Assertions.assertEquals(100, a.getTotalCount());
+        Assertions.assertEquals(50, a.getValueAtPercentile(50));
+        Assertions.assertEquals(99, a.getValueAtPercentile(99));
+        Assertions.assertEquals(50.5, a.getMean());
+
+        a.reset();
+        Assertions.assertEquals(0, a.getTotalCount());
+        Assertions.assertEquals(0, a.getValueAtPercentile(99));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> a.record(-1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> a.getValueAtPercentile(101));
+    }
+}
@@ -0,0 +1,94 @@
+package com.dt042g.project.soak;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Class containing unit-tests for the *SoakHarness* class.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+public class SoakHarnessTests {
+    /**
+     * Method for testing that invalid arguments are rejected.
+     */
+    @Test
+    public void test_SoakHarness_InvalidArguments() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new SoakHarness(1, 0, RandomPlayer::new, 8, 0.1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new SoakHarness(1, 2, RandomPlayer::new, 8, 0.1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> SoakHarness.createPlayers("unknown"));
+    }
+
+    /**
+     * Method for testing that a run stops after the maximum number of moves,
+     * and plays (and restarts) games to completion.
+     */
+    @Test
+    public void test_SoakHarness_MaxMoves() throws InterruptedException {
+        SoakResult result = new SoakHarness(10, 2, SoakHarness.createPlayers("random"), 8, 0.15)
+                .run(60_000, 5_000, SoakHarness.UNLIMITED_RATE);
+
+        Assertions.assertEquals(5_000, result.getMoves());
+        Assertions.assertTrue(result.getWon() + result.getLost() > 0);
+        Assertions.assertTrue(result.getMovesPerSecond() > 0);
+        Assertions.assertTrue(result.getLatencies().getValueAtPercentile(50) <= result.getLatencies().getValueAtPercentile(99));
+        Assertions.assertFalse(result.toString().isEmpty());
+    }
+
+    /**
+     * Method for testing that a target rate is (roughly) kept, and that the
+     * run stops after the duration.
+     */
+    @Test
+    public void test_SoakHarness_TargetRate() throws InterruptedException {
+        long start = System.nanoTime();
+        SoakResult result = new SoakHarness(4, 1, RandomPlayer::new, 8, 0.15)
+                .run(500, SoakHarness.UNLIMITED_MOVES, 1000);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        Assertions.assertTrue(elapsedMillis >= 500);
+        Assertions.assertTrue(result.getMoves() <= 600, String.valueOf(result.getMoves()));
+        Assertions.assertTrue(result.getMoves() >= 100, String.valueOf(result.getMoves()));
+    }
+
+    /**
+     * Method for testing that the solver player wins games; which a random
+     * player practically never does.
+     */
+    @Test
+    public void test_SoakHarness_SolverPlayer() throws InterruptedException {
+        SoakResult result = new SoakHarness(4, 1, SoakHarness.createPlayers("solver"), 9, 0.12)
+                .run(60_000, 2_000, SoakHarness.UNLIMITED_RATE);
+
+        Assertions.assertEquals(2_000, result.getMoves());
+        Assertions.assertTrue(result.getWon() > 0);
+    }
+
+    /**
+     * Method for testing that a game which ends on the very last move is
+     * still counted.
+     */
+    @Test
+    public void test_SoakHarness_LastMoveCounted() throws InterruptedException {
+        SoakResult result = new SoakHarness(1, 1, () -> (view, random) -> view.select(0, 0), 1, 0)
+                .run(60_000, 1, SoakHarness.UNLIMITED_RATE);
+
+        Assertions.assertEquals(1, result.getMoves());
+        Assertions.assertEquals(1, result.getWon());
+        Assertions.assertEquals(0, result.getLost());
+    }
+
+    /**
+     * Method for testing that any failure of a driver thread, not only runtime
+     * exceptions, is rethrown by the run.
+     */
+    @Test
+    public void test_SoakHarness_DriverFailure() {
+        Assertions.assertThrows(AssertionError.class, () -> new SoakHarness(2, 2, () -> (view, random) -> {
+            throw new AssertionError("Failing player!");
+        }, 8, 0.1).run(60_000, 100, SoakHarness.UNLIMITED_RATE));
+        Assertions.assertThrows(IllegalStateException.class, () -> new SoakHarness(1, 1, () -> (view, random) -> {
+            throw new IllegalStateException("Failing player!");
+        }, 8, 0.1).run(60_000, 100, SoakHarness.UNLIMITED_RATE));
+    }
+}
@@ -0,0 +1,110 @@
+package com.dt042g.project.solver;
+
+import com.dt042g.project.mvc.models.BoardPool;
+import com.dt042g.project.mvc.models.GameModel;
+import com.dt042g.project.mvc.models.PackedBoard;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Point;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Class containing unit-tests for the *NoGuessGenerator* class.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+public class NoGuessGeneratorTests {
+    /**
+     * Method for testing that invalid arguments are rejected.
+     */
+    @Test
+    public void test_NoGuessGenerator_InvalidArguments() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new NoGuessGenerator(ForkJoinPool.commonPool(), 0));
+    }
+
+    /**
+     * Method for testing that every generated board is won by the solver,
+     * and that the statistics count every board.
+     */
+    @Test
+    public void test_NoGuessGenerator_Solvable() {
+        NoGuessGenerator generator = new NoGuessGenerator();
+
+        for(long seed = 0; seed < 10; seed++) {
+            GameModel model = new GameModel(30, 16, 99);
+            model.setSeed(seed);
+            model.setBoardSource(generator);
+
+            Assertions.assertEquals(SolveResult.Outcome.WON, Solver.solve(model).getOutcome());
+        }
+
+        GenerationStats stats = generator.getStats().get("30x16/99");
+        Assertions.assertEquals(10, stats.getBoards());
+        Assertions.assertEquals(0, stats.getFailures());
+        Assertions.assertTrue(stats.getMeanAttempts() >= 1);
+        Assertions.assertTrue(stats.getMaxAttempts() >= stats.getMeanAttempts());
+        Assertions.assertTrue(stats.getMeanMillis() > 0);
+    }
+
+    /**
+     * Method for testing that the same seed gives the same board, however
+     * many threads generate it.
+     */
+    @Test
+    public void test_NoGuessGenerator_Deterministic() {
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool quad = new ForkJoinPool(4);
+
+        try {
+            for(long seed = 0; seed < 5; seed++) {
+                PackedBoard a = new NoGuessGenerator(single, 1000).createBoard(30, 16, 99, seed, new Point(5, 5));
+                PackedBoard b = new NoGuessGenerator(quad, 1000).createBoard(30, 16, 99, seed, new Point(5, 5));
+
+                for(int i = 0; i < a.size(); i++)
+                    Assertions.assertEquals(a.isMine(i), b.isMine(i));
+            }
+        } finally {
+            single.shutdown();
+            quad.shutdown();
+        }
+    }
+
+    /**
+     * Method for testing that a board is still created when no candidate can
+     * be solved without guessing.
+     */
+    @Test
+    public void test_NoGuessGenerator_Fallback() {
+        NoGuessGenerator generator = new NoGuessGenerator(ForkJoinPool.commonPool(), 3);
+        PackedBoard board = generator.createBoard(10, 10, 80, 1, new Point(0, 0));
+
+        Assertions.assertEquals(80, board.getMineCount());
+        Assertions.assertFalse(board.isMine(0));
+
+        GenerationStats stats = generator.getStats().get("10x10/80");
+        Assertions.assertEquals(1, stats.getFailures());
+        Assertions.assertEquals(3, stats.getMaxAttempts());
+    }
+
+    /**
+     * Method for testing that boards taken from a pool are still solvable
+     * without guessing, whichever square is clicked first.
+     */
+    @Test
+    public void test_NoGuessGenerator_Pooled() {
+        BoardPool pool = new BoardPool(Runnable::run, 4, BoardPool.DEFAULT_MEMORY_BUDGET);
+        GameModel model = new GameModel(16, 16, 40);
+        model.setBoardSource(pool.source(new NoGuessGenerator()));
+
+        for(int game = 0; game < 50; game++) {
+            model.reset();
+            model.selectSquare((game * 3) % 16, (game * 7) % 16);
+
+            Assertions.assertEquals(SolveResult.Outcome.WON, Solver.solve(model).getOutcome());
+        }
+
+        Assertions.assertEquals(50, pool.getHits() + pool.getMisses());
+        Assertions.assertTrue(pool.getHits() > 0);
+    }
+}
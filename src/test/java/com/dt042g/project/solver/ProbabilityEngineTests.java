@@ -0,0 +1,199 @@
+package com.dt042g.project.solver;
+
+import com.dt042g.project.mvc.models.GameModel;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Class containing unit-tests for the *ProbabilityEngine* class.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+public class ProbabilityEngineTests {
+    /**
+     * Method for testing that invalid arguments are rejected.
+     */
+    @Test
+    public void test_ProbabilityEngine_InvalidArguments() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ProbabilityEngine(ForkJoinPool.commonPool(), 0));
+
+        Solver solver = new Solver(2, 1);
+        solver.reveal(0, 1);
+        solver.reveal(1, 1);
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new ProbabilityEngine().compute(solver, new boolean[2], 1));
+    }
+
+    /**
+     * Method for testing that every square is equally likely to be a mine
+     * before anything is revealed.
+     */
+    @Test
+    public void test_ProbabilityEngine_NothingRevealed() {
+        MineProbabilities probabilities = new ProbabilityEngine().compute(new GameModel(8, 5, 10));
+
+        Assertions.assertTrue(probabilities.isExact());
+        for(int i = 0; i < 40; i++)
+            Assertions.assertEquals(0.25, probabilities.getProbability(i), 1e-9);
+    }
+
+    /**
+     * Method for testing that the probabilities of small boards are the same
+     * as counting every placement of the mines consistent with what is shown.
+     */
+    @Test
+    public void test_ProbabilityEngine_MatchesBruteForce() {
+        int tested = 0;
+
+        for(long seed = 0; seed < 200 && tested < 30; seed++) {
+            GameModel model = new GameModel(6, 4, 5);
+            model.setSeed(seed);
+            model.selectSquare(0, 0);
+
+            double[] expected = bruteForce(model);
+            if(expected == null)
+                continue;
+
+            MineProbabilities probabilities = new ProbabilityEngine().compute(model);
+            Assertions.assertTrue(probabilities.isExact());
+
+            for(int i = 0; i < 24; i++)
+                Assertions.assertEquals(expected[i], probabilities.getProbability(i), 1e-9, "seed " + seed + " square " + i);
+
+            tested++;
+        }
+
+        Assertions.assertTrue(tested > 0);
+    }
+
+    /**
+     * Method for testing that flags are trusted to be mines, unless they
+     * contradict the revealed values.
+     */
+    @Test
+    public void test_ProbabilityEngine_Flags() {
+        // A one with two unknown neighbors; either could be the mine.
+        Solver solver = new Solver(3, 1);
+        solver.reveal(1, 1);
+
+        MineProbabilities probabilities = new ProbabilityEngine().compute(solver, new boolean[3], 1);
+        Assertions.assertEquals(0.5, probabilities.getProbability(0), 1e-9);
+        Assertions.assertEquals(0.5, probabilities.getProbability(2), 1e-9);
+
+        probabilities = new ProbabilityEngine().compute(solver, new boolean[] { true, false, false }, 1);
+        Assertions.assertEquals(1, probabilities.getProbability(0));
+        Assertions.assertEquals(0, probabilities.getProbability(2));
+        Assertions.assertEquals(2, probabilities.getSafestSquare());
+
+        probabilities = new ProbabilityEngine().compute(solver, new boolean[] { true, false, true }, 1);
+        Assertions.assertEquals(0.5, probabilities.getProbability(0), 1e-9);
+    }
+
+    /**
+     * Method for testing that a frontier too large to enumerate within the
+     * time budget still gives probabilities; which are reported as inexact.
+     */
+    @Test
+    public void test_ProbabilityEngine_TimeBudget() {
+        // A long row of twos on every other square between two hidden rows;
+        // with a mine above every other square it is consistent, nothing can
+        // be deduced, and it has exponentially many solutions.
+        int width = 601;
+        Solver solver = new Solver(width, 3);
+        for(int x = 1; x < width; x += 2)
+            solver.reveal(width + x, 2);
+
+        long start = System.nanoTime();
+        MineProbabilities probabilities = new ProbabilityEngine(ForkJoinPool.commonPool(), 20)
+                .compute(solver, new boolean[width * 3], width / 2 + 1);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        Assertions.assertFalse(probabilities.isExact());
+        Assertions.assertTrue(elapsedMillis < 2000, String.valueOf(elapsedMillis));
+        for(int x = 0; x < width; x++)
+            Assertions.assertTrue(probabilities.getProbability(x) >= 0 && probabilities.getProbability(x) <= 1);
+        for(int x = 1; x < width; x += 2)
+            Assertions.assertEquals(0, probabilities.getProbability(width + x));
+    }
+
+    /**
+     * Helper method for computing the probabilities of a board by counting
+     * every placement of its mines on the unrevealed squares.
+     *
+     * @param model The model.
+     *
+     * @return The probabilities; or null if there are too many unrevealed squares.
+     */
+    private static double[] bruteForce(GameModel model) {
+        int width = model.getWidth();
+        int squares = width * model.getHeight();
+        int[] hidden = new int[squares];
+        int count = 0;
+
+        for(int i = 0; i < squares; i++)
+            if(!model.isRevealed(i % width, i / width))
+                hidden[count++] = i;
+
+        if(count > 20 || count == 0)
+            return null;
+
+        double[] mines = new double[squares];
+        double total = 0;
+        boolean[] mine = new boolean[squares];
+
+        for(int placement = 0; placement < 1 << count; placement++) {
+            if(Integer.bitCount(placement) != model.getMineCount())
+                continue;
+
+            for(int j = 0; j < count; j++)
+                mine[hidden[j]] = (placement >> j & 1) != 0;
+
+            if(!isConsistent(model, mine))
+                continue;
+
+            total++;
+            for(int j = 0; j < count; j++)
+                if(mine[hidden[j]])
+                    mines[hidden[j]]++;
+        }
+
+        for(int i = 0; i < squares; i++)
+            mines[i] /= total;
+
+        return mines;
+    }
+
+    /**
+     * Helper method for checking if a placement of mines gives every revealed
+     * square its value.
+     *
+     * @param model The model.
+     * @param mine Whether each square is a mine.
+     *
+     * @return Whether the placement is consistent.
+     */
+    private static boolean isConsistent(GameModel model, boolean[] mine) {
+        int width = model.getWidth();
+        int height = model.getHeight();
+
+        for(int y = 0; y < height; y++) {
+            for(int x = 0; x < width; x++) {
+                if(!model.isRevealed(x, y))
+                    continue;
+
+                int around = 0;
+                for(int ny = Math.max(0, y - 1); ny <= Math.min(height - 1, y + 1); ny++)
+                    for(int nx = Math.max(0, x - 1); nx <= Math.min(width - 1, x + 1); nx++)
+                        if(mine[ny * width + nx])
+                            around++;
+
+                if(around != model.getSquareValue(x, y))
+                    return false;
+            }
+        }
+
+        return true;
+    }
+}
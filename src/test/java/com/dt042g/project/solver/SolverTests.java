@@ -0,0 +1,172 @@
+package com.dt042g.project.solver;
+
+import com.dt042g.project.mvc.controllers.GameController;
+import com.dt042g.project.mvc.models.GameModel;
+import com.dt042g.project.mvc.views.headless.HeadlessView;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Point;
+import java.util.Arrays;
+
+/**
+ * Class containing unit-tests for the *Solver* class.
+ *
+ * @author Martin K. Herkules (makr1906) & Albin Eliasson (alel2104)
+ */
+public class SolverTests {
+    /**
+     * Method for testing that invalid arguments are rejected.
+     */
+    @Test
+    public void test_Solver_InvalidArguments() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new Solver(0, 5));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new Solver(5, -1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new Solver(3, 3).reveal(0, 9));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> new Solver(3, 3).reveal(9, 0));
+    }
+
+    /**
+     * Method for testing the single-point deductions; and that each deduction
+     * is only reported once.
+     */
+    @Test
+    public void test_Solver_SinglePoint() {
+        Solver solver = new Solver(3, 1);
+        solver.reveal(0, 1);
+
+        Deductions deductions = solver.deduce();
+        Assertions.assertArrayEquals(new int[0], deductions.getSafe());
+        Assertions.assertArrayEquals(new int[] { 1 }, deductions.getMines());
+        Assertions.assertTrue(solver.isMine(1));
+        Assertions.assertTrue(solver.isUnknown(2));
+        Assertions.assertTrue(solver.deduce().isEmpty());
+
+        solver = new Solver(3, 1);
+        solver.reveal(1, 0);
+
+        deductions = solver.deduce();
+        int[] safe = deductions.getSafe();
+        Arrays.sort(safe);
+        Assertions.assertArrayEquals(new int[] { 0, 2 }, safe);
+        Assertions.assertTrue(solver.isSafe(0));
+        Assertions.assertEquals(0, solver.getMineCount());
+    }
+
+    /**
+     * Method for testing the subset deductions; with a hidden top row above a
+     * row of ones, where only the middle square can be a mine.
+     */
+    @Test
+    public void test_Solver_Subset() {
+        Solver solver = new Solver(3, 2);
+        solver.reveal(3, 1);
+        solver.reveal(4, 1);
+        solver.reveal(5, 1);
+
+        Deductions deductions = solver.deduce();
+        int[] safe = deductions.getSafe();
+        Arrays.sort(safe);
+        Assertions.assertArrayEquals(new int[] { 0, 2 }, safe);
+        Assertions.assertArrayEquals(new int[] { 1 }, deductions.getMines());
+    }
+
+    /**
+     * Method for testing that every deduction on generated boards is correct;
+     * revealing the safe squares one round at a time.
+     */
+    @Test
+    public void test_Solver_DeductionsAreCorrect() {
+        for(long seed = 0; seed < 20; seed++) {
+            GameModel model = new GameModel(30, 20, 0.15);
+            model.setSeed(seed);
+            model.selectSquare(15, 10);
+
+            Solver solver = Solver.fromModel(model);
+            Deductions deductions;
+
+            while(!(deductions = solver.deduce()).isEmpty()) {
+                for(int mine : deductions.getMines())
+                    Assertions.assertTrue(model.isMine(mine % 30, mine / 30));
+
+                for(int safe : deductions.getSafe()) {
+                    Assertions.assertFalse(model.isMine(safe % 30, safe / 30));
+                    solver.reveal(safe, model.getSquareValue(safe % 30, safe / 30));
+                }
+            }
+        }
+    }
+
+    /**
+     * Method for testing that solving never hits a mine, and wins some games.
+     */
+    @Test
+    public void test_Solver_Solve() {
+        int won = 0;
+
+        for(long seed = 0; seed < 50; seed++) {
+            GameModel model = new GameModel(16, 16, 0.12);
+            model.setSeed(seed);
+
+            SolveResult result = Solver.solve(model);
+
+            Assertions.assertNotEquals(SolveResult.Outcome.LOST, result.getOutcome());
+            Assertions.assertTrue(result.getMoves() > 0);
+
+            if(result.getOutcome() == SolveResult.Outcome.WON)
+                won++;
+        }
+
+        Assertions.assertTrue(won > 0);
+    }
+
+    /**
+     * Method for testing that solving a large board is quick.
+     */
+    @Test
+    public void test_Solver_SolveLarge() {
+        GameModel model = new GameModel(1000, 1000, 0.12);
+        model.setSeed(1);
+        model.selectSquare(500, 500);
+
+        long start = System.nanoTime();
+        SolveResult result = Solver.solve(model);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        Assertions.assertNotEquals(SolveResult.Outcome.LOST, result.getOutcome());
+        Assertions.assertTrue(elapsedMillis < 5000, String.valueOf(elapsedMillis));
+    }
+
+    /**
+     * Method for testing that a solver built from a view deduces the same as
+     * one built from the model behind it.
+     */
+    @Test
+    public void test_Solver_FromView() {
+        GameModel model = new GameModel(20, 20, 0.15);
+        HeadlessView view = new HeadlessView(20, 20);
+        new GameController(model, view);
+        model.setSeed(7);
+        view.select(new Point(10, 10));
+
+        Deductions fromView = Solver.fromView(view).deduce();
+        Deductions fromModel = Solver.fromModel(model).deduce();
+
+        Assertions.assertFalse(fromModel.isEmpty());
+        Assertions.assertArrayEquals(sorted(fromModel.getSafe()), sorted(fromView.getSafe()));
+        Assertions.assertArrayEquals(sorted(fromModel.getMines()), sorted(fromView.getMines()));
+    }
+
+    /**
+     * Helper method for sorting a copy of an array.
+     *
+     * @param array The array.
+     *
+     * @return The sorted copy.
+     */
+    private static int[] sorted(int[] array) {
+        int[] copy = array.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+}
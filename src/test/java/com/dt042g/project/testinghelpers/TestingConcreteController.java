@@ -38,6 +38,16 @@ public class TestingConcreteController extends Controller {
 
     }
 
+    /**
+     * Method used to handle "chord square" events.
+     *
+     * @param location The square location.
+     */
+    @Override
+    public void handleChordSquareEvent(Point location) {
+
+    }
+
     /**
      * Method used to handle "reset" events.
      */
@@ -2,8 +2,6 @@ package com.dt042g.project.testinghelpers;
 
 import com.dt042g.project.mvc.models.Model;
 
-import java.awt.Point;
-
 /**
  * A concrete class for the *Model* abstract class.
  *
@@ -20,71 +18,88 @@ public class TestingConcreteModel extends Model {
     /**
      * Method for getting the number of neighboring mines to a square.
      *
-     * @param location The location of the square to check.
+     * @param x The x coordinate of the square to check.
+     * @param y The y coordinate of the square to check.
      * @return The number of neighboring mines.
-     * @throws IndexOutOfBoundsException If the location is outside the size of the board.
+     * @throws IndexOutOfBoundsException If the coordinate is outside the size of the board.
      */
     @Override
-    public int getSquareValue(Point location) {
+    public int getSquareValue(int x, int y) {
         return 0;
     }
 
     /**
      * Method for checking if a square is currently flagged.
      *
-     * @param location The location of the square to check.
+     * @param x The x coordinate of the square to check.
+     * @param y The y coordinate of the square to check.
      * @return Whether the square is flagged.
-     * @throws IndexOutOfBoundsException If the location is outside the size of the board.
+     * @throws IndexOutOfBoundsException If the coordinate is outside the size of the board.
      */
     @Override
-    public boolean isFlagged(Point location) {
+    public boolean isFlagged(int x, int y) {
         return false;
     }
 
     /**
      * Method for checking if a square is a mine.
      *
-     * @param location The location of the square to check.
+     * @param x The x coordinate of the square to check.
+     * @param y The y coordinate of the square to check.
      * @return Whether the square is a mine.
-     * @throws IndexOutOfBoundsException If the location is outside the size of the board.
+     * @throws IndexOutOfBoundsException If the coordinate is outside the size of the board.
      */
     @Override
-    public boolean isMine(Point location) {
+    public boolean isMine(int x, int y) {
         return false;
     }
 
     /**
      * Method for checking if a square is revealed.
      *
-     * @param location The location of the square to check.
+     * @param x The x coordinate of the square to check.
+     * @param y The y coordinate of the square to check.
      * @return Whether the square is revealed.
-     * @throws IndexOutOfBoundsException If the location is outside the size of the board.
+     * @throws IndexOutOfBoundsException If the coordinate is outside the size of the board.
      */
     @Override
-    public boolean isRevealed(Point location) {
+    public boolean isRevealed(int x, int y) {
         return false;
     }
 
     /**
      * Method for selecting a square to be revealed.
      *
-     * @param location The location of the square to reveal.
-     * @throws IndexOutOfBoundsException If the location is outside the size of the board.
+     * @param x The x coordinate of the square to reveal.
+     * @param y The y coordinate of the square to reveal.
+     * @throws IndexOutOfBoundsException If the coordinate is outside the size of the board.
      */
     @Override
-    public void selectSquare(Point location) {
+    public void selectSquare(int x, int y) {
 
     }
 
     /**
      * Method for setting the flagged value of a square.
      *
-     * @param location The location of the square to flag.
-     * @param value    The flag value; true = flagged, false = not flagged.
-     * @throws IndexOutOfBoundsException If the location is outside the size of the board.
+     * @param x The x coordinate of the square to flag.
+     * @param y The y coordinate of the square to flag.
+     * @param value The flag value; true = flagged, false = not flagged.
+     * @throws IndexOutOfBoundsException If the coordinate is outside the size of the board.
+     */
+    /**
+     * Method for "chording" a square.
+     *
+     * @param x The x coordinate of the square to chord.
+     * @param y The y coordinate of the square to chord.
      */
     @Override
-    public void setSquareFlag(Point location, boolean value) {
+    public void chordSquare(int x, int y) {
+
+    }
+
+    @Override
+    public void setSquareFlag(int x, int y, boolean value) {
 
     }
 